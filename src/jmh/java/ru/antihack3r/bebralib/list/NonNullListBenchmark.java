@@ -0,0 +1,99 @@
+/*
+ * This file is a part of bebralib -- you can get yo copy at https://github.com/antihack3r/bebralib
+ *
+ * This code is free software. It comes without any warranty, to the extent permitted by
+ * applicable law. You can redistribute it and/or modify it under the terms of the
+ * Do What The Fuck You Want To Public License, Version 2, as published by Sam Hocevar.
+ * See http://www.wtfpl.net/ for more details.
+ */
+
+package ru.antihack3r.bebralib.list;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares {@link NonNullList} with a plain {@link ArrayList}, to show what the null checks cost
+ * in <tt>add</tt>, <tt>addAll</tt>, <tt>contains</tt> and the copying constructor.
+ */
+@State(Scope.Benchmark)
+public class NonNullListBenchmark {
+	
+	@Param({"16", "1024", "65536"})
+	public int size;
+	
+	private List<String> source;
+	private ArrayList<String> arrayList;
+	private NonNullList<String> nonNullList;
+	private String missing;
+	
+	@Setup
+	public void setup() {
+		this.source = new ArrayList<>(this.size);
+		for (int i = 0; i < this.size; i++)
+			this.source.add(Integer.toString(i));
+		
+		this.arrayList = new ArrayList<>(this.source);
+		this.nonNullList = new NonNullList<>(this.source);
+		this.missing = Integer.toString(-1);
+	}
+	
+	@Benchmark
+	public ArrayList<String> arrayListAdd() {
+		ArrayList<String> list = new ArrayList<>();
+		for (String element: this.source)
+			list.add(element);
+		
+		return list;
+	}
+	
+	@Benchmark
+	public NonNullList<String> nonNullListAdd() {
+		NonNullList<String> list = new NonNullList<>();
+		for (String element: this.source)
+			list.add(element);
+		
+		return list;
+	}
+	
+	@Benchmark
+	public ArrayList<String> arrayListAddAll() {
+		ArrayList<String> list = new ArrayList<>();
+		list.addAll(this.source);
+		return list;
+	}
+	
+	@Benchmark
+	public NonNullList<String> nonNullListAddAll() {
+		NonNullList<String> list = new NonNullList<>();
+		list.addAll(this.source);
+		return list;
+	}
+	
+	@Benchmark
+	public ArrayList<String> arrayListCopy() {
+		return new ArrayList<>(this.source);
+	}
+	
+	@Benchmark
+	public NonNullList<String> nonNullListCopy() {
+		return new NonNullList<>(this.source);
+	}
+	
+	@Benchmark
+	public boolean arrayListContains() {
+		return this.arrayList.contains(this.missing);
+	}
+	
+	@Benchmark
+	public boolean nonNullListContains() {
+		return this.nonNullList.contains(this.missing);
+	}
+	
+}
@@ -0,0 +1,107 @@
+/*
+ * This file is a part of bebralib -- you can get yo copy at https://github.com/antihack3r/bebralib
+ *
+ * This code is free software. It comes without any warranty, to the extent permitted by
+ * applicable law. You can redistribute it and/or modify it under the terms of the
+ * Do What The Fuck You Want To Public License, Version 2, as published by Sam Hocevar.
+ * See http://www.wtfpl.net/ for more details.
+ */
+
+package ru.antihack3r.bebralib.math;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Compares the bulk {@link Hash#computeAll} methods with hashing every key with its own call.
+ * The keys are 16 to 200 bytes long, and every invocation hashes the whole batch.
+ */
+@State(Scope.Benchmark)
+public class HashBenchmark {
+	
+	private static final int BATCH = 10_000;
+	
+	@Param({"SHA_256", "MD5", "CRC_32"})
+	public String method;
+	
+	private Hash hash;
+	private List<byte[]> arrays;
+	private String[] strings;
+	private byte[] packed;
+	private int[] offsets;
+	
+	@Setup
+	public void setup() {
+		this.hash = Hash.valueOf(this.method);
+		this.arrays = new ArrayList<>(BATCH);
+		this.strings = new String[BATCH];
+		this.offsets = new int[BATCH + 1];
+		
+		Random random = new Random(7);
+		int total = 0;
+		for (int i = 0; i < BATCH; i++) {
+			char[] chars = new char[16 + random.nextInt(185)];
+			for (int j = 0; j < chars.length; j++)
+				chars[j] = (char) ('a' + random.nextInt(26));
+			
+			this.strings[i] = new String(chars);
+			this.arrays.add(this.strings[i].getBytes(StandardCharsets.UTF_8));
+			this.offsets[i] = total;
+			total += chars.length;
+		}
+		
+		this.offsets[BATCH] = total;
+		this.packed = new byte[total];
+		for (int i = 0; i < BATCH; i++)
+			System.arraycopy(this.arrays.get(i), 0, this.packed, this.offsets[i], this.arrays.get(i).length);
+	}
+	
+	@Benchmark
+	@OperationsPerInvocation(BATCH)
+	public void computeStrings(Blackhole blackhole) {
+		for (String value: this.strings)
+			blackhole.consume(this.hash.compute(value, StandardCharsets.UTF_8));
+	}
+	
+	@Benchmark
+	@OperationsPerInvocation(BATCH)
+	public void computeArrays(Blackhole blackhole) {
+		for (byte[] array: this.arrays)
+			blackhole.consume(this.hash.compute(array));
+	}
+	
+	@Benchmark
+	@OperationsPerInvocation(BATCH)
+	public byte[] computeAllStrings() {
+		return this.hash.computeAll(this.strings, StandardCharsets.UTF_8);
+	}
+	
+	@Benchmark
+	@OperationsPerInvocation(BATCH)
+	public byte[] computeAllArrays() {
+		return this.hash.computeAll(this.arrays);
+	}
+	
+	@Benchmark
+	@OperationsPerInvocation(BATCH)
+	public byte[] computeAllPacked() {
+		return this.hash.computeAll(this.packed, this.offsets);
+	}
+	
+	@Benchmark
+	@OperationsPerInvocation(BATCH)
+	public byte[] computeAllPackedParallel() {
+		return this.hash.computeAll(this.packed, this.offsets, true);
+	}
+	
+}
@@ -0,0 +1,77 @@
+/*
+ * This file is a part of bebralib -- you can get yo copy at https://github.com/antihack3r/bebralib
+ *
+ * This code is free software. It comes without any warranty, to the extent permitted by
+ * applicable law. You can redistribute it and/or modify it under the terms of the
+ * Do What The Fuck You Want To Public License, Version 2, as published by Sam Hocevar.
+ * See http://www.wtfpl.net/ for more details.
+ */
+
+package ru.antihack3r.bebralib.misc;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares {@link MoreArrays#asArray} and {@link MoreArrays#newArray} with the stream and
+ * {@link Array#newInstance} path they used to take. The old {@link MoreArrays#asArray(List)} took the
+ * component type of the list class, which has none, so here it's given the right type to measure the cost alone.
+ */
+@State(Scope.Benchmark)
+public class ArrayCreationBenchmark {
+	
+	@Param({"0", "16", "1024"})
+	public int size;
+	
+	private List<String> list;
+	
+	@Setup
+	public void setup() {
+		this.list = new ArrayList<>(this.size);
+		for (int i = 0; i < this.size; i++)
+			this.list.add(Integer.toString(i));
+	}
+	
+	@Benchmark
+	public String[] streamAsArray() {
+		return this.list.stream().toArray(size -> reflectiveNewArray(String.class, size));
+	}
+	
+	@Benchmark
+	public String[] asArray() {
+		return MoreArrays.asArray(this.list);
+	}
+	
+	@Benchmark
+	public String[] asArrayOfClass() {
+		return MoreArrays.asArray(this.list, String.class);
+	}
+	
+	@Benchmark
+	public String[] asArrayWithGenerator() {
+		return MoreArrays.asArray(this.list, String[]::new);
+	}
+	
+	@Benchmark
+	public String[] reflectiveNewArray() {
+		return reflectiveNewArray(String.class, this.size);
+	}
+	
+	@Benchmark
+	public String[] newArray() {
+		return MoreArrays.newArray(String.class, this.size);
+	}
+	
+	@SuppressWarnings("unchecked")
+	private static <T> T[] reflectiveNewArray(Class<?> typeOfArray, int size) {
+		return (T[]) Array.newInstance(typeOfArray, size);
+	}
+	
+}
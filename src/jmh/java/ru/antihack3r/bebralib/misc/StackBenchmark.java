@@ -0,0 +1,80 @@
+/*
+ * This file is a part of bebralib -- you can get yo copy at https://github.com/antihack3r/bebralib
+ *
+ * This code is free software. It comes without any warranty, to the extent permitted by
+ * applicable law. You can redistribute it and/or modify it under the terms of the
+ * Do What The Fuck You Want To Public License, Version 2, as published by Sam Hocevar.
+ * See http://www.wtfpl.net/ for more details.
+ */
+
+package ru.antihack3r.bebralib.misc;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Compares the locking {@link Stack} with the {@link LockFreeStack} under contention.
+ * Every invocation pushes an element and pops one back, so the stacks keep their size across iterations.
+ */
+@State(Scope.Benchmark)
+public class StackBenchmark {
+	
+	private static final int PREFILL = 1024;
+	
+	private Stack<Integer> stack;
+	private LockFreeStack<Integer> lockFreeStack;
+	
+	@Setup
+	public void setup() {
+		this.stack = new Stack<>();
+		this.lockFreeStack = new LockFreeStack<>();
+		for (int i = 0; i < PREFILL; i++) {
+			this.stack.push(i);
+			this.lockFreeStack.push(i);
+		}
+	}
+	
+	@Benchmark
+	@Threads(1)
+	public Integer stackUncontended() {
+		this.stack.push(1);
+		return this.stack.pop();
+	}
+	
+	@Benchmark
+	@Threads(1)
+	public Integer lockFreeStackUncontended() {
+		this.lockFreeStack.push(1);
+		return this.lockFreeStack.pop();
+	}
+	
+	@Benchmark
+	@Threads(8)
+	public Integer stackContended() {
+		this.stack.push(1);
+		return this.stack.pop();
+	}
+	
+	@Benchmark
+	@Threads(8)
+	public Integer lockFreeStackContended() {
+		this.lockFreeStack.push(1);
+		return this.lockFreeStack.pop();
+	}
+	
+	@Benchmark
+	@Threads(8)
+	public Integer stackBottom() {
+		return this.stack.bottom();
+	}
+	
+	@Benchmark
+	@Threads(8)
+	public Integer lockFreeStackBottom() {
+		return this.lockFreeStack.bottom();
+	}
+	
+}
@@ -0,0 +1,303 @@
+/*
+ * This file is a part of bebralib -- you can get yo copy at https://github.com/antihack3r/bebralib
+ *
+ * This code is free software. It comes without any warranty, to the extent permitted by
+ * applicable law. You can redistribute it and/or modify it under the terms of the
+ * Do What The Fuck You Want To Public License, Version 2, as published by Sam Hocevar.
+ * See http://www.wtfpl.net/ for more details.
+ */
+
+package ru.antihack3r.bebralib.list;
+
+import javax.annotation.Nonnull;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * A growable list of <tt>boolean</tt> values, kept in a packed <tt>boolean[]</tt> instead of boxed {@link Boolean}s.
+ * It is a regular {@link java.util.List} of {@link Boolean}, so it can be handed to any code expecting one,
+ * but {@link BooleanArrayList#add(boolean)}, {@link BooleanArrayList#getBoolean(int)}, {@link BooleanArrayList#setBoolean(int, boolean)}
+ * and {@link BooleanArrayList#removeAt(int)} access the elements without boxing.
+ * The list doesn't accept <tt>null</tt> elements.
+ */
+public class BooleanArrayList extends AbstractList<Boolean> implements RandomAccess {
+	
+	private static final boolean[] EMPTY = {};
+	
+	private boolean[] values;
+	private int size;
+	
+	/**
+	 * Constructs an empty list.
+	 */
+	public BooleanArrayList() {
+		this.values = EMPTY;
+	}
+	
+	/**
+	 * Constructs an empty list which can hold <tt>initialCapacity</tt> elements before it has to grow.
+	 * @param initialCapacity the initial capacity of the list.
+	 * @throws IllegalArgumentException if <tt>initialCapacity</tt> is negative.
+	 */
+	public BooleanArrayList(int initialCapacity) {
+		if (initialCapacity < 0)
+			throw new IllegalArgumentException("Illegal Capacity: " + initialCapacity);
+		
+		this.values = initialCapacity == 0? EMPTY: new boolean[initialCapacity];
+	}
+	
+	/**
+	 * Constructs a list containing a copy of the given array.
+	 * @param values the initial elements of the list.
+	 */
+	public BooleanArrayList(@Nonnull boolean[] values) {
+		this.values = values.length == 0? EMPTY: values.clone();
+		this.size = values.length;
+	}
+	
+	/**
+	 * Returns the element at the specified position in this list, without boxing it.
+	 * @param index index of the element to return.
+	 * @return the element at the specified position in this list.
+	 * @throws IndexOutOfBoundsException if <tt>index</tt> is out of this list's bounds.
+	 */
+	public boolean getBoolean(int index) {
+		return this.values[this.checkIndex(index)];
+	}
+	
+	/**
+	 * Replaces the element at the specified position in this list, without boxing it.
+	 * @param index index of the element to replace.
+	 * @param value the element to be stored at the specified position.
+	 * @return the element previously at the specified position.
+	 * @throws IndexOutOfBoundsException if <tt>index</tt> is out of this list's bounds.
+	 */
+	public boolean setBoolean(int index, boolean value) {
+		boolean old = this.values[this.checkIndex(index)];
+		this.values[index] = value;
+		return old;
+	}
+	
+	/**
+	 * Appends the specified element to the end of this list, without boxing it.
+	 * @param value element to be appended to this list.
+	 * @return <tt>true</tt> (as specified by {@link java.util.Collection#add}).
+	 */
+	public boolean add(boolean value) {
+		if (this.size == this.values.length)
+			this.grow(this.size + 1);
+		
+		this.values[this.size++] = value;
+		this.modCount++;
+		return true;
+	}
+	
+	/**
+	 * Inserts the specified element at the specified position in this list, without boxing it.
+	 * Shifts the element currently at that position (if any) and any subsequent elements to the right.
+	 * @param index index at which the specified element is to be inserted.
+	 * @param value element to be inserted.
+	 * @throws IndexOutOfBoundsException if <tt>index</tt> is out of this list's bounds.
+	 */
+	public void add(int index, boolean value) {
+		if (index < 0 || index > this.size)
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.size);
+		
+		if (this.size == this.values.length)
+			this.grow(this.size + 1);
+		
+		System.arraycopy(this.values, index, this.values, index + 1, this.size - index);
+		this.values[index] = value;
+		this.size++;
+		this.modCount++;
+	}
+	
+	/**
+	 * Appends all the elements of the given array to the end of this list.
+	 * @param values the elements to be appended.
+	 * @return <tt>true</tt> if this list changed as a result of the call.
+	 */
+	public boolean addAll(@Nonnull boolean[] values) {
+		this.ensureCapacity(this.size + values.length);
+		System.arraycopy(values, 0, this.values, this.size, values.length);
+		this.size += values.length;
+		this.modCount++;
+		return values.length != 0;
+	}
+	
+	/**
+	 * Removes the element at the specified position in this list, without boxing it.
+	 * Shifts any subsequent elements to the left.
+	 * @param index the index of the element to be removed.
+	 * @return the element that was removed from the list.
+	 * @throws IndexOutOfBoundsException if <tt>index</tt> is out of this list's bounds.
+	 */
+	public boolean removeAt(int index) {
+		boolean old = this.values[this.checkIndex(index)];
+		System.arraycopy(this.values, index + 1, this.values, index, this.size - index - 1);
+		this.size--;
+		this.modCount++;
+		return old;
+	}
+	
+	@Override
+	public @Nonnull Boolean get(int index) {
+		return this.getBoolean(index);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * @throws NullPointerException if <tt>element</tt> is null.
+	 */
+	@Override
+	public @Nonnull Boolean set(int index, @Nonnull Boolean element) {
+		return this.setBoolean(index, element);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * @throws NullPointerException if <tt>element</tt> is null.
+	 */
+	@Override
+	public void add(int index, @Nonnull Boolean element) {
+		this.add(index, element.booleanValue());
+	}
+	
+	@Override
+	public @Nonnull Boolean remove(int index) {
+		return this.removeAt(index);
+	}
+	
+	@Override
+	protected void removeRange(int fromIndex, int toIndex) {
+		System.arraycopy(this.values, toIndex, this.values, fromIndex, this.size - toIndex);
+		this.size -= toIndex - fromIndex;
+		this.modCount++;
+	}
+	
+	@Override
+	public void clear() {
+		this.size = 0;
+		this.modCount++;
+	}
+	
+	@Override
+	public int size() {
+		return this.size;
+	}
+	
+	@Override
+	public int indexOf(Object o) {
+		if (!(o instanceof Boolean))
+			return -1;
+		
+		boolean value = (Boolean) o;
+		for (int i = 0; i < this.size; i++)
+			if (this.values[i] == value)
+				return i;
+		
+		return -1;
+	}
+	
+	@Override
+	public int lastIndexOf(Object o) {
+		if (!(o instanceof Boolean))
+			return -1;
+		
+		boolean value = (Boolean) o;
+		for (int i = this.size - 1; i >= 0; i--)
+			if (this.values[i] == value)
+				return i;
+		
+		return -1;
+	}
+	
+	@Override
+	public boolean contains(Object o) {
+		return this.indexOf(o) >= 0;
+	}
+	
+	/**
+	 * Sorts this list into ascending order, <tt>false</tt> before <tt>true</tt>.
+	 */
+	public void sort() {
+		int falses = 0;
+		for (int i = 0; i < this.size; i++)
+			if (!this.values[i])
+				falses++;
+		
+		Arrays.fill(this.values, 0, falses, false);
+		Arrays.fill(this.values, falses, this.size, true);
+		this.modCount++;
+	}
+	
+	/**
+	 * Searches this list for the specified value using the binary search algorithm.
+	 * The list must be sorted, as by {@link BooleanArrayList#sort()}, or the result is undefined.
+	 * @param key the value to be searched for.
+	 * @return the index of the value, if it's in the list; otherwise, <tt>(-(insertion point) - 1)</tt>.
+	 * @see Arrays#binarySearch(boolean[], int, int, boolean)
+	 */
+	public int binarySearch(boolean key) {
+		int low = 0;
+		int high = this.size - 1;
+		while (low <= high) {
+			int middle = (low + high) >>> 1;
+			int comparison = Boolean.compare(this.values[middle], key);
+			if (comparison < 0)
+				low = middle + 1;
+			else if (comparison > 0)
+				high = middle - 1;
+			else
+				return middle;
+		}
+		
+		return -(low + 1);
+	}
+	
+	/**
+	 * Copies the elements of this list into a new array.
+	 * @return a new array containing the elements of this list.
+	 */
+	public @Nonnull boolean[] toBooleanArray() {
+		return Arrays.copyOf(this.values, this.size);
+	}
+	
+	/**
+	 * Makes sure the list can hold at least <tt>capacity</tt> elements without growing.
+	 * @param capacity the desired capacity.
+	 */
+	public void ensureCapacity(int capacity) {
+		if (capacity > this.values.length)
+			this.grow(capacity);
+	}
+	
+	/**
+	 * Shrinks the capacity of the list to its size.
+	 */
+	public void trimToSize() {
+		if (this.size < this.values.length)
+			this.values = this.size == 0? EMPTY: Arrays.copyOf(this.values, this.size);
+	}
+	
+	private void grow(int capacity) {
+		if (capacity < 0)
+			throw new OutOfMemoryError();
+		
+		int length = this.values.length;
+		int newLength = length + (length >> 1);
+		if (newLength < capacity)
+			newLength = Math.max(capacity, 10);
+		
+		this.values = Arrays.copyOf(this.values, newLength);
+	}
+	
+	private int checkIndex(int index) {
+		if (index < 0 || index >= this.size)
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.size);
+		
+		return index;
+	}
+	
+}
@@ -0,0 +1,158 @@
+/*
+ * This file is a part of bebralib -- you can get yo copy at https://github.com/antihack3r/bebralib
+ *
+ * This code is free software. It comes without any warranty, to the extent permitted by
+ * applicable law. You can redistribute it and/or modify it under the terms of the
+ * Do What The Fuck You Want To Public License, Version 2, as published by Sam Hocevar.
+ * See http://www.wtfpl.net/ for more details.
+ */
+
+package ru.antihack3r.bebralib.list;
+
+import javax.annotation.Nonnull;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * A fixed-size list view of a <tt>byte[]</tt>, or of a range of it. Nothing is copied:
+ * reading the list reads the array, and writing the list writes the array.
+ * {@link ByteArrayView#getByte(int)} and {@link ByteArrayView#setByte(int, byte)} access the elements without boxing.
+ * The list doesn't support adding or removing elements, nor <tt>null</tt> elements.
+ */
+public class ByteArrayView extends AbstractList<Byte> implements RandomAccess {
+	
+	private final byte[] array;
+	private final int offset;
+	private final int size;
+	
+	/**
+	 * Constructs a view of the whole array.
+	 * @param array the array backing the list.
+	 */
+	public ByteArrayView(@Nonnull byte[] array) {
+		this(array, 0, array.length);
+	}
+	
+	/**
+	 * Constructs a view of the range <tt>[fromIndex, toIndex)</tt> of the array.
+	 * @param array the array backing the list.
+	 * @param fromIndex the index of the first element of the view, inclusive.
+	 * @param toIndex the index of the last element of the view, exclusive.
+	 * @throws IndexOutOfBoundsException if the range is out of the array's bounds.
+	 */
+	public ByteArrayView(@Nonnull byte[] array, int fromIndex, int toIndex) {
+		if (fromIndex < 0 || toIndex > array.length || fromIndex > toIndex)
+			throw new IndexOutOfBoundsException("fromIndex: " + fromIndex + ", toIndex: " + toIndex + ", length: " + array.length);
+		
+		this.array = array;
+		this.offset = fromIndex;
+		this.size = toIndex - fromIndex;
+	}
+	
+	/**
+	 * Returns the element at the specified position in this list, without boxing it.
+	 * @param index index of the element to return.
+	 * @return the element at the specified position in this list.
+	 * @throws IndexOutOfBoundsException if <tt>index</tt> is out of this list's bounds.
+	 */
+	public byte getByte(int index) {
+		return this.array[this.offset + this.checkIndex(index)];
+	}
+	
+	/**
+	 * Replaces the element at the specified position in this list, without boxing it.
+	 * @param index index of the element to replace.
+	 * @param value the element to be stored at the specified position.
+	 * @return the element previously at the specified position.
+	 * @throws IndexOutOfBoundsException if <tt>index</tt> is out of this list's bounds.
+	 */
+	public byte setByte(int index, byte value) {
+		int position = this.offset + this.checkIndex(index);
+		byte old = this.array[position];
+		this.array[position] = value;
+		return old;
+	}
+	
+	@Override
+	public @Nonnull Byte get(int index) {
+		return this.getByte(index);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * @throws NullPointerException if <tt>element</tt> is null.
+	 */
+	@Override
+	public @Nonnull Byte set(int index, @Nonnull Byte element) {
+		return this.setByte(index, element);
+	}
+	
+	@Override
+	public int size() {
+		return this.size;
+	}
+	
+	@Override
+	public int indexOf(Object o) {
+		if (!(o instanceof Byte))
+			return -1;
+		
+		byte value = (Byte) o;
+		for (int i = 0; i < this.size; i++)
+			if (this.array[this.offset + i] == value)
+				return i;
+		
+		return -1;
+	}
+	
+	@Override
+	public int lastIndexOf(Object o) {
+		if (!(o instanceof Byte))
+			return -1;
+		
+		byte value = (Byte) o;
+		for (int i = this.size - 1; i >= 0; i--)
+			if (this.array[this.offset + i] == value)
+				return i;
+		
+		return -1;
+	}
+	
+	@Override
+	public boolean contains(Object o) {
+		return this.indexOf(o) >= 0;
+	}
+	
+	/**
+	 * Returns a view of the range <tt>[fromIndex, toIndex)</tt> of this list,
+	 * backed by the same array.
+	 * @param fromIndex the index of the first element of the view, inclusive.
+	 * @param toIndex the index of the last element of the view, exclusive.
+	 * @return a view of the range.
+	 * @throws IndexOutOfBoundsException if the range is out of this list's bounds.
+	 */
+	@Override
+	public @Nonnull ByteArrayView subList(int fromIndex, int toIndex) {
+		if (fromIndex < 0 || toIndex > this.size || fromIndex > toIndex)
+			throw new IndexOutOfBoundsException("fromIndex: " + fromIndex + ", toIndex: " + toIndex + ", size: " + this.size);
+		
+		return new ByteArrayView(this.array, this.offset + fromIndex, this.offset + toIndex);
+	}
+	
+	/**
+	 * Copies the elements of this list into a new array.
+	 * @return a new array containing the elements of this list.
+	 */
+	public @Nonnull byte[] toByteArray() {
+		return Arrays.copyOfRange(this.array, this.offset, this.offset + this.size);
+	}
+	
+	private int checkIndex(int index) {
+		if (index < 0 || index >= this.size)
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.size);
+		
+		return index;
+	}
+	
+}
@@ -0,0 +1,325 @@
+/*
+ * This file is a part of bebralib -- you can get yo copy at https://github.com/antihack3r/bebralib
+ *
+ * This code is free software. It comes without any warranty, to the extent permitted by
+ * applicable law. You can redistribute it and/or modify it under the terms of the
+ * Do What The Fuck You Want To Public License, Version 2, as published by Sam Hocevar.
+ * See http://www.wtfpl.net/ for more details.
+ */
+
+package ru.antihack3r.bebralib.list;
+
+import javax.annotation.Nonnull;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.RandomAccess;
+import java.util.stream.IntStream;
+
+/**
+ * A growable list of <tt>char</tt> values, kept in a packed <tt>char[]</tt> instead of boxed {@link Character}s.
+ * It is a regular {@link java.util.List} of {@link Character}, so it can be handed to any code expecting one,
+ * but {@link CharArrayList#add(char)}, {@link CharArrayList#getChar(int)}, {@link CharArrayList#setChar(int, char)}
+ * and {@link CharArrayList#removeAt(int)} access the elements without boxing.
+ * The list doesn't accept <tt>null</tt> elements.
+ */
+public class CharArrayList extends AbstractList<Character> implements RandomAccess {
+	
+	private static final char[] EMPTY = {};
+	
+	private char[] values;
+	private int size;
+	
+	/**
+	 * Constructs an empty list.
+	 */
+	public CharArrayList() {
+		this.values = EMPTY;
+	}
+	
+	/**
+	 * Constructs an empty list which can hold <tt>initialCapacity</tt> elements before it has to grow.
+	 * @param initialCapacity the initial capacity of the list.
+	 * @throws IllegalArgumentException if <tt>initialCapacity</tt> is negative.
+	 */
+	public CharArrayList(int initialCapacity) {
+		if (initialCapacity < 0)
+			throw new IllegalArgumentException("Illegal Capacity: " + initialCapacity);
+		
+		this.values = initialCapacity == 0? EMPTY: new char[initialCapacity];
+	}
+	
+	/**
+	 * Constructs a list containing a copy of the given array.
+	 * @param values the initial elements of the list.
+	 */
+	public CharArrayList(@Nonnull char[] values) {
+		this.values = values.length == 0? EMPTY: values.clone();
+		this.size = values.length;
+	}
+	
+	/**
+	 * Returns the element at the specified position in this list, without boxing it.
+	 * @param index index of the element to return.
+	 * @return the element at the specified position in this list.
+	 * @throws IndexOutOfBoundsException if <tt>index</tt> is out of this list's bounds.
+	 */
+	public char getChar(int index) {
+		return this.values[this.checkIndex(index)];
+	}
+	
+	/**
+	 * Replaces the element at the specified position in this list, without boxing it.
+	 * @param index index of the element to replace.
+	 * @param value the element to be stored at the specified position.
+	 * @return the element previously at the specified position.
+	 * @throws IndexOutOfBoundsException if <tt>index</tt> is out of this list's bounds.
+	 */
+	public char setChar(int index, char value) {
+		char old = this.values[this.checkIndex(index)];
+		this.values[index] = value;
+		return old;
+	}
+	
+	/**
+	 * Appends the specified element to the end of this list, without boxing it.
+	 * @param value element to be appended to this list.
+	 * @return <tt>true</tt> (as specified by {@link java.util.Collection#add}).
+	 */
+	public boolean add(char value) {
+		if (this.size == this.values.length)
+			this.grow(this.size + 1);
+		
+		this.values[this.size++] = value;
+		this.modCount++;
+		return true;
+	}
+	
+	/**
+	 * Inserts the specified element at the specified position in this list, without boxing it.
+	 * Shifts the element currently at that position (if any) and any subsequent elements to the right.
+	 * @param index index at which the specified element is to be inserted.
+	 * @param value element to be inserted.
+	 * @throws IndexOutOfBoundsException if <tt>index</tt> is out of this list's bounds.
+	 */
+	public void add(int index, char value) {
+		if (index < 0 || index > this.size)
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.size);
+		
+		if (this.size == this.values.length)
+			this.grow(this.size + 1);
+		
+		System.arraycopy(this.values, index, this.values, index + 1, this.size - index);
+		this.values[index] = value;
+		this.size++;
+		this.modCount++;
+	}
+	
+	/**
+	 * Appends all the elements of the given array to the end of this list.
+	 * @param values the elements to be appended.
+	 * @return <tt>true</tt> if this list changed as a result of the call.
+	 */
+	public boolean addAll(@Nonnull char[] values) {
+		this.ensureCapacity(this.size + values.length);
+		System.arraycopy(values, 0, this.values, this.size, values.length);
+		this.size += values.length;
+		this.modCount++;
+		return values.length != 0;
+	}
+	
+	/**
+	 * Removes the element at the specified position in this list, without boxing it.
+	 * Shifts any subsequent elements to the left.
+	 * @param index the index of the element to be removed.
+	 * @return the element that was removed from the list.
+	 * @throws IndexOutOfBoundsException if <tt>index</tt> is out of this list's bounds.
+	 */
+	public char removeAt(int index) {
+		char old = this.values[this.checkIndex(index)];
+		System.arraycopy(this.values, index + 1, this.values, index, this.size - index - 1);
+		this.size--;
+		this.modCount++;
+		return old;
+	}
+	
+	@Override
+	public @Nonnull Character get(int index) {
+		return this.getChar(index);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * @throws NullPointerException if <tt>element</tt> is null.
+	 */
+	@Override
+	public @Nonnull Character set(int index, @Nonnull Character element) {
+		return this.setChar(index, element);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * @throws NullPointerException if <tt>element</tt> is null.
+	 */
+	@Override
+	public void add(int index, @Nonnull Character element) {
+		this.add(index, element.charValue());
+	}
+	
+	@Override
+	public @Nonnull Character remove(int index) {
+		return this.removeAt(index);
+	}
+	
+	@Override
+	protected void removeRange(int fromIndex, int toIndex) {
+		System.arraycopy(this.values, toIndex, this.values, fromIndex, this.size - toIndex);
+		this.size -= toIndex - fromIndex;
+		this.modCount++;
+	}
+	
+	@Override
+	public void clear() {
+		this.size = 0;
+		this.modCount++;
+	}
+	
+	@Override
+	public int size() {
+		return this.size;
+	}
+	
+	@Override
+	public int indexOf(Object o) {
+		if (!(o instanceof Character))
+			return -1;
+		
+		char value = (Character) o;
+		for (int i = 0; i < this.size; i++)
+			if (this.values[i] == value)
+				return i;
+		
+		return -1;
+	}
+	
+	@Override
+	public int lastIndexOf(Object o) {
+		if (!(o instanceof Character))
+			return -1;
+		
+		char value = (Character) o;
+		for (int i = this.size - 1; i >= 0; i--)
+			if (this.values[i] == value)
+				return i;
+		
+		return -1;
+	}
+	
+	@Override
+	public boolean contains(Object o) {
+		return this.indexOf(o) >= 0;
+	}
+	
+	/**
+	 * Sorts this list into ascending order.
+	 */
+	public void sort() {
+		Arrays.sort(this.values, 0, this.size);
+		this.modCount++;
+	}
+	
+	/**
+	 * Searches this list for the specified value using the binary search algorithm.
+	 * The list must be sorted, as by {@link CharArrayList#sort()}, or the result is undefined.
+	 * @param key the value to be searched for.
+	 * @return the index of the value, if it's in the list; otherwise, <tt>(-(insertion point) - 1)</tt>.
+	 * @see Arrays#binarySearch(char[], int, int, char)
+	 */
+	public int binarySearch(char key) {
+		return Arrays.binarySearch(this.values, 0, this.size, key);
+	}
+	
+	/**
+	 * Copies the elements of this list into a new array.
+	 * @return a new array containing the elements of this list.
+	 */
+	public @Nonnull char[] toCharArray() {
+		return Arrays.copyOf(this.values, this.size);
+	}
+	
+	/**
+	 * Returns an iterator over the elements of this list which doesn't box them (they are widened to <tt>int</tt>).
+	 * @return a primitive iterator over the elements of this list.
+	 */
+	public @Nonnull PrimitiveIterator.OfInt intIterator() {
+		return new PrimitiveIterator.OfInt() {
+			private final int expectedModCount = CharArrayList.this.modCount;
+			private int cursor;
+			
+			@Override
+			public boolean hasNext() {
+				return this.cursor < CharArrayList.this.size;
+			}
+			
+			@Override
+			public int nextInt() {
+				if (CharArrayList.this.modCount != this.expectedModCount)
+					throw new ConcurrentModificationException();
+				
+				if (this.cursor >= CharArrayList.this.size)
+					throw new NoSuchElementException();
+				
+				return CharArrayList.this.values[this.cursor++];
+			}
+		};
+	}
+	
+	/**
+	 * Returns a sequential stream of the elements of this list which doesn't box them (they are widened to <tt>int</tt>).
+	 * The list must not be structurally modified while the stream is in use.
+	 * @return a primitive stream of the elements of this list.
+	 */
+	public @Nonnull IntStream intStream() {
+		char[] values = this.values;
+		return IntStream.range(0, this.size).map(i -> values[i]);
+	}
+	
+	/**
+	 * Makes sure the list can hold at least <tt>capacity</tt> elements without growing.
+	 * @param capacity the desired capacity.
+	 */
+	public void ensureCapacity(int capacity) {
+		if (capacity > this.values.length)
+			this.grow(capacity);
+	}
+	
+	/**
+	 * Shrinks the capacity of the list to its size.
+	 */
+	public void trimToSize() {
+		if (this.size < this.values.length)
+			this.values = this.size == 0? EMPTY: Arrays.copyOf(this.values, this.size);
+	}
+	
+	private void grow(int capacity) {
+		if (capacity < 0)
+			throw new OutOfMemoryError();
+		
+		int length = this.values.length;
+		int newLength = length + (length >> 1);
+		if (newLength < capacity)
+			newLength = Math.max(capacity, 10);
+		
+		this.values = Arrays.copyOf(this.values, newLength);
+	}
+	
+	private int checkIndex(int index) {
+		if (index < 0 || index >= this.size)
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.size);
+		
+		return index;
+	}
+	
+}
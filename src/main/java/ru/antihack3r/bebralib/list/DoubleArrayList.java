@@ -0,0 +1,324 @@
+/*
+ * This file is a part of bebralib -- you can get yo copy at https://github.com/antihack3r/bebralib
+ *
+ * This code is free software. It comes without any warranty, to the extent permitted by
+ * applicable law. You can redistribute it and/or modify it under the terms of the
+ * Do What The Fuck You Want To Public License, Version 2, as published by Sam Hocevar.
+ * See http://www.wtfpl.net/ for more details.
+ */
+
+package ru.antihack3r.bebralib.list;
+
+import javax.annotation.Nonnull;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.RandomAccess;
+import java.util.stream.DoubleStream;
+
+/**
+ * A growable list of <tt>double</tt> values, kept in a packed <tt>double[]</tt> instead of boxed {@link Double}s.
+ * It is a regular {@link java.util.List} of {@link Double}, so it can be handed to any code expecting one,
+ * but {@link DoubleArrayList#add(double)}, {@link DoubleArrayList#getDouble(int)}, {@link DoubleArrayList#setDouble(int, double)}
+ * and {@link DoubleArrayList#removeAt(int)} access the elements without boxing.
+ * The list doesn't accept <tt>null</tt> elements.
+ */
+public class DoubleArrayList extends AbstractList<Double> implements RandomAccess {
+	
+	private static final double[] EMPTY = {};
+	
+	private double[] values;
+	private int size;
+	
+	/**
+	 * Constructs an empty list.
+	 */
+	public DoubleArrayList() {
+		this.values = EMPTY;
+	}
+	
+	/**
+	 * Constructs an empty list which can hold <tt>initialCapacity</tt> elements before it has to grow.
+	 * @param initialCapacity the initial capacity of the list.
+	 * @throws IllegalArgumentException if <tt>initialCapacity</tt> is negative.
+	 */
+	public DoubleArrayList(int initialCapacity) {
+		if (initialCapacity < 0)
+			throw new IllegalArgumentException("Illegal Capacity: " + initialCapacity);
+		
+		this.values = initialCapacity == 0? EMPTY: new double[initialCapacity];
+	}
+	
+	/**
+	 * Constructs a list containing a copy of the given array.
+	 * @param values the initial elements of the list.
+	 */
+	public DoubleArrayList(@Nonnull double[] values) {
+		this.values = values.length == 0? EMPTY: values.clone();
+		this.size = values.length;
+	}
+	
+	/**
+	 * Returns the element at the specified position in this list, without boxing it.
+	 * @param index index of the element to return.
+	 * @return the element at the specified position in this list.
+	 * @throws IndexOutOfBoundsException if <tt>index</tt> is out of this list's bounds.
+	 */
+	public double getDouble(int index) {
+		return this.values[this.checkIndex(index)];
+	}
+	
+	/**
+	 * Replaces the element at the specified position in this list, without boxing it.
+	 * @param index index of the element to replace.
+	 * @param value the element to be stored at the specified position.
+	 * @return the element previously at the specified position.
+	 * @throws IndexOutOfBoundsException if <tt>index</tt> is out of this list's bounds.
+	 */
+	public double setDouble(int index, double value) {
+		double old = this.values[this.checkIndex(index)];
+		this.values[index] = value;
+		return old;
+	}
+	
+	/**
+	 * Appends the specified element to the end of this list, without boxing it.
+	 * @param value element to be appended to this list.
+	 * @return <tt>true</tt> (as specified by {@link java.util.Collection#add}).
+	 */
+	public boolean add(double value) {
+		if (this.size == this.values.length)
+			this.grow(this.size + 1);
+		
+		this.values[this.size++] = value;
+		this.modCount++;
+		return true;
+	}
+	
+	/**
+	 * Inserts the specified element at the specified position in this list, without boxing it.
+	 * Shifts the element currently at that position (if any) and any subsequent elements to the right.
+	 * @param index index at which the specified element is to be inserted.
+	 * @param value element to be inserted.
+	 * @throws IndexOutOfBoundsException if <tt>index</tt> is out of this list's bounds.
+	 */
+	public void add(int index, double value) {
+		if (index < 0 || index > this.size)
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.size);
+		
+		if (this.size == this.values.length)
+			this.grow(this.size + 1);
+		
+		System.arraycopy(this.values, index, this.values, index + 1, this.size - index);
+		this.values[index] = value;
+		this.size++;
+		this.modCount++;
+	}
+	
+	/**
+	 * Appends all the elements of the given array to the end of this list.
+	 * @param values the elements to be appended.
+	 * @return <tt>true</tt> if this list changed as a result of the call.
+	 */
+	public boolean addAll(@Nonnull double[] values) {
+		this.ensureCapacity(this.size + values.length);
+		System.arraycopy(values, 0, this.values, this.size, values.length);
+		this.size += values.length;
+		this.modCount++;
+		return values.length != 0;
+	}
+	
+	/**
+	 * Removes the element at the specified position in this list, without boxing it.
+	 * Shifts any subsequent elements to the left.
+	 * @param index the index of the element to be removed.
+	 * @return the element that was removed from the list.
+	 * @throws IndexOutOfBoundsException if <tt>index</tt> is out of this list's bounds.
+	 */
+	public double removeAt(int index) {
+		double old = this.values[this.checkIndex(index)];
+		System.arraycopy(this.values, index + 1, this.values, index, this.size - index - 1);
+		this.size--;
+		this.modCount++;
+		return old;
+	}
+	
+	@Override
+	public @Nonnull Double get(int index) {
+		return this.getDouble(index);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * @throws NullPointerException if <tt>element</tt> is null.
+	 */
+	@Override
+	public @Nonnull Double set(int index, @Nonnull Double element) {
+		return this.setDouble(index, element);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * @throws NullPointerException if <tt>element</tt> is null.
+	 */
+	@Override
+	public void add(int index, @Nonnull Double element) {
+		this.add(index, element.doubleValue());
+	}
+	
+	@Override
+	public @Nonnull Double remove(int index) {
+		return this.removeAt(index);
+	}
+	
+	@Override
+	protected void removeRange(int fromIndex, int toIndex) {
+		System.arraycopy(this.values, toIndex, this.values, fromIndex, this.size - toIndex);
+		this.size -= toIndex - fromIndex;
+		this.modCount++;
+	}
+	
+	@Override
+	public void clear() {
+		this.size = 0;
+		this.modCount++;
+	}
+	
+	@Override
+	public int size() {
+		return this.size;
+	}
+	
+	@Override
+	public int indexOf(Object o) {
+		if (!(o instanceof Double))
+			return -1;
+		
+		double value = (Double) o;
+		for (int i = 0; i < this.size; i++)
+			if (Double.doubleToLongBits(this.values[i]) == Double.doubleToLongBits(value))
+				return i;
+		
+		return -1;
+	}
+	
+	@Override
+	public int lastIndexOf(Object o) {
+		if (!(o instanceof Double))
+			return -1;
+		
+		double value = (Double) o;
+		for (int i = this.size - 1; i >= 0; i--)
+			if (Double.doubleToLongBits(this.values[i]) == Double.doubleToLongBits(value))
+				return i;
+		
+		return -1;
+	}
+	
+	@Override
+	public boolean contains(Object o) {
+		return this.indexOf(o) >= 0;
+	}
+	
+	/**
+	 * Sorts this list into ascending order.
+	 */
+	public void sort() {
+		Arrays.sort(this.values, 0, this.size);
+		this.modCount++;
+	}
+	
+	/**
+	 * Searches this list for the specified value using the binary search algorithm.
+	 * The list must be sorted, as by {@link DoubleArrayList#sort()}, or the result is undefined.
+	 * @param key the value to be searched for.
+	 * @return the index of the value, if it's in the list; otherwise, <tt>(-(insertion point) - 1)</tt>.
+	 * @see Arrays#binarySearch(double[], int, int, double)
+	 */
+	public int binarySearch(double key) {
+		return Arrays.binarySearch(this.values, 0, this.size, key);
+	}
+	
+	/**
+	 * Copies the elements of this list into a new array.
+	 * @return a new array containing the elements of this list.
+	 */
+	public @Nonnull double[] toDoubleArray() {
+		return Arrays.copyOf(this.values, this.size);
+	}
+	
+	/**
+	 * Returns an iterator over the elements of this list which doesn't box them.
+	 * @return a primitive iterator over the elements of this list.
+	 */
+	public @Nonnull PrimitiveIterator.OfDouble doubleIterator() {
+		return new PrimitiveIterator.OfDouble() {
+			private final int expectedModCount = DoubleArrayList.this.modCount;
+			private int cursor;
+			
+			@Override
+			public boolean hasNext() {
+				return this.cursor < DoubleArrayList.this.size;
+			}
+			
+			@Override
+			public double nextDouble() {
+				if (DoubleArrayList.this.modCount != this.expectedModCount)
+					throw new ConcurrentModificationException();
+				
+				if (this.cursor >= DoubleArrayList.this.size)
+					throw new NoSuchElementException();
+				
+				return DoubleArrayList.this.values[this.cursor++];
+			}
+		};
+	}
+	
+	/**
+	 * Returns a sequential stream of the elements of this list which doesn't box them.
+	 * The list must not be structurally modified while the stream is in use.
+	 * @return a primitive stream of the elements of this list.
+	 */
+	public @Nonnull DoubleStream doubleStream() {
+		return Arrays.stream(this.values, 0, this.size);
+	}
+	
+	/**
+	 * Makes sure the list can hold at least <tt>capacity</tt> elements without growing.
+	 * @param capacity the desired capacity.
+	 */
+	public void ensureCapacity(int capacity) {
+		if (capacity > this.values.length)
+			this.grow(capacity);
+	}
+	
+	/**
+	 * Shrinks the capacity of the list to its size.
+	 */
+	public void trimToSize() {
+		if (this.size < this.values.length)
+			this.values = this.size == 0? EMPTY: Arrays.copyOf(this.values, this.size);
+	}
+	
+	private void grow(int capacity) {
+		if (capacity < 0)
+			throw new OutOfMemoryError();
+		
+		int length = this.values.length;
+		int newLength = length + (length >> 1);
+		if (newLength < capacity)
+			newLength = Math.max(capacity, 10);
+		
+		this.values = Arrays.copyOf(this.values, newLength);
+	}
+	
+	private int checkIndex(int index) {
+		if (index < 0 || index >= this.size)
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.size);
+		
+		return index;
+	}
+	
+}
@@ -11,7 +11,7 @@ package ru.antihack3r.bebralib.list;
 
 import javax.annotation.Nonnull;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.function.UnaryOperator;
 
 /**
  * A list in which all the elements are guaranteed to be non-null.
@@ -20,6 +20,24 @@ import java.util.stream.Collectors;
  */
 public class NonNullList<E> extends ArrayList<E> {
 	
+	/**
+	 * Constructs an empty list with an initial capacity of ten.
+	 */
+	public NonNullList() {
+		super();
+	}
+	
+	/**
+	 * Constructs an empty list with the specified initial capacity.
+	 *
+	 * @param initialCapacity the initial capacity of the list
+	 * @throws IllegalArgumentException if the specified initial capacity
+	 * is negative
+	 */
+	public NonNullList(int initialCapacity) {
+		super(initialCapacity);
+	}
+	
 	/**
 	 * Constructs a list containing the elements of the specified
 	 * collection, in the order they are returned by the collection's
@@ -28,7 +46,7 @@ public class NonNullList<E> extends ArrayList<E> {
 	 * @param c the collection whose elements are to be placed into this list
 	 */
 	public NonNullList(@Nonnull Collection<? extends E> c) {
-		super(c.stream().filter(Objects::nonNull).collect(Collectors.toList()));
+		super(c instanceof NonNullList? c: new Snapshot<E>(withoutNulls(c.toArray())));
 	}
 	
 	/**
@@ -155,8 +173,7 @@ public class NonNullList<E> extends ArrayList<E> {
 	 */
 	@Override
 	public boolean addAll(@Nonnull Collection<? extends E> c) {
-		for (E element: c) NonNullList.throwIfNull(element);
-		return super.addAll(c);
+		return super.addAll(checked(c));
 	}
 	
 	/**
@@ -177,8 +194,45 @@ public class NonNullList<E> extends ArrayList<E> {
 	 */
 	@Override
 	public boolean addAll(int index, @Nonnull Collection<? extends E> c) {
-		for (E element: c) NonNullList.throwIfNull(element);
-		return super.addAll(index, c);
+		return super.addAll(index, checked(c));
+	}
+	
+	/**
+	 * Replaces each element of this list with the result of applying the
+	 * operator to that element. The list is left unchanged if any of the
+	 * results is null.
+	 *
+	 * @param operator the operator to apply to each element
+	 * @throws NullPointerException if the specified operator is null,
+	 * or if it returns null for any of the elements
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public void replaceAll(@Nonnull UnaryOperator<E> operator) {
+		int expectedModCount = this.modCount;
+		Object[] results = replacements(this, operator);
+		if (this.modCount != expectedModCount)
+			throw new ConcurrentModificationException();
+		
+		for (int i = 0; i < results.length; i++)
+			super.set(i, (E) results[i]);
+		this.modCount++;
+	}
+	
+	/**
+	 * Returns a view of the portion of this list between the specified
+	 * <tt>fromIndex</tt>, inclusive, and <tt>toIndex</tt>, exclusive.
+	 * Like this list, the view rejects null elements.
+	 *
+	 * @param fromIndex low endpoint (inclusive) of the subList
+	 * @param toIndex   high endpoint (exclusive) of the subList
+	 * @return a view of the specified range within this list
+	 * @throws IndexOutOfBoundsException {@inheritDoc}
+	 * @throws IllegalArgumentException  {@inheritDoc}
+	 */
+	@Override
+	public @Nonnull List<E> subList(int fromIndex, int toIndex) {
+		return new NonNullSubList<>(super.subList(fromIndex, toIndex));
 	}
 	
 	private static void throwIfNull(Object object) {
@@ -186,4 +240,151 @@ public class NonNullList<E> extends ArrayList<E> {
 			throw new NullPointerException();
 	}
 	
+	/**
+	 * Takes a single snapshot of <tt>c</tt> and checks it for nulls, so that {@link ArrayList}
+	 * copies the very same array instead of traversing <tt>c</tt> again.
+	 * Another {@link NonNullList} is trusted not to contain nulls and is returned as is.
+	 */
+	private static <E> Collection<? extends E> checked(Collection<? extends E> c) {
+		if (c instanceof NonNullList)
+			return c;
+		
+		Object[] elements = c.toArray();
+		for (Object element: elements) throwIfNull(element);
+		return new Snapshot<>(elements);
+	}
+	
+	/**
+	 * Applies <tt>operator</tt> to every element of <tt>list</tt> and checks the results
+	 * before any of them is stored, so that a null leaves <tt>list</tt> unchanged.
+	 */
+	private static <E> Object[] replacements(List<E> list, UnaryOperator<E> operator) {
+		Objects.requireNonNull(operator);
+		Object[] results = new Object[list.size()];
+		for (int i = 0; i < results.length; i++) {
+			results[i] = operator.apply(list.get(i));
+			throwIfNull(results[i]);
+		}
+		
+		return results;
+	}
+	
+	/**
+	 * Moves the non-null elements of <tt>elements</tt> to its start, in order,
+	 * and returns them, in the same array if there were no nulls.
+	 */
+	private static Object[] withoutNulls(Object[] elements) {
+		int count = 0;
+		for (Object element: elements)
+			if (element != null)
+				elements[count++] = element;
+		
+		return count == elements.length? elements: Arrays.copyOf(elements, count);
+	}
+	
+	/**
+	 * A collection which hands {@link ArrayList} an array which has already been checked,
+	 * without copying it once more in {@link Snapshot#toArray()}.
+	 */
+	private static final class Snapshot<E> extends AbstractCollection<E> {
+		
+		private final Object[] elements;
+		
+		private Snapshot(Object[] elements) {
+			this.elements = elements;
+		}
+		
+		@Override
+		public @Nonnull Object[] toArray() {
+			return this.elements;
+		}
+		
+		@Override
+		@SuppressWarnings("unchecked")
+		public @Nonnull Iterator<E> iterator() {
+			return Arrays.asList((E[]) this.elements).iterator();
+		}
+		
+		@Override
+		public int size() {
+			return this.elements.length;
+		}
+		
+	}
+	
+	/**
+	 * A view of a range of a {@link NonNullList}. {@link ArrayList#subList(int, int)} writes
+	 * {@link List#set(int, Object)} and {@link List#replaceAll(UnaryOperator)} straight into the array,
+	 * so the view checks those itself; insertions already go through {@link NonNullList}.
+	 */
+	private static final class NonNullSubList<E> extends AbstractList<E> implements RandomAccess {
+		
+		private final List<E> list;
+		
+		private NonNullSubList(List<E> list) {
+			this.list = list;
+		}
+		
+		@Override
+		public E get(int index) {
+			return this.list.get(index);
+		}
+		
+		@Override
+		public E set(int index, @Nonnull E element) {
+			throwIfNull(element);
+			return this.list.set(index, element);
+		}
+		
+		@Override
+		public void add(int index, @Nonnull E element) {
+			this.list.add(index, element);
+			this.modCount++;
+		}
+		
+		@Override
+		public E remove(int index) {
+			E old = this.list.remove(index);
+			this.modCount++;
+			return old;
+		}
+		
+		@Override
+		public boolean addAll(int index, @Nonnull Collection<? extends E> c) {
+			boolean changed = this.list.addAll(index, c);
+			this.modCount++;
+			return changed;
+		}
+		
+		@Override
+		protected void removeRange(int fromIndex, int toIndex) {
+			this.list.subList(fromIndex, toIndex).clear();
+			this.modCount++;
+		}
+		
+		@Override
+		@SuppressWarnings("unchecked")
+		public void replaceAll(@Nonnull UnaryOperator<E> operator) {
+			Object[] results = replacements(this.list, operator);
+			for (int i = 0; i < results.length; i++)
+				this.list.set(i, (E) results[i]);
+		}
+		
+		@Override
+		public void sort(Comparator<? super E> c) {
+			this.list.sort(c);
+		}
+		
+		@Override
+		public @Nonnull List<E> subList(int fromIndex, int toIndex) {
+			return new NonNullSubList<>(this.list.subList(fromIndex, toIndex));
+		}
+		
+		@Override
+		public int size() {
+			return this.list.size();
+		}
+		
+	}
+	
 }
@@ -0,0 +1,225 @@
+/*
+ * This file is a part of bebralib -- you can get yo copy at https://github.com/antihack3r/bebralib
+ *
+ * This code is free software. It comes without any warranty, to the extent permitted by
+ * applicable law. You can redistribute it and/or modify it under the terms of the
+ * Do What The Fuck You Want To Public License, Version 2, as published by Sam Hocevar.
+ * See http://www.wtfpl.net/ for more details.
+ */
+
+package ru.antihack3r.bebralib.list;
+
+import ru.antihack3r.bebralib.misc.OffHeapStorage;
+import ru.antihack3r.bebralib.misc.RecordCodec;
+
+import javax.annotation.Nonnull;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.RandomAccess;
+
+/**
+ * A list of fixed-width records kept outside the Java heap, in an {@link OffHeapStorage}.
+ * Like in {@link NonNullList}, all the elements are guaranteed to be non-null.
+ * Elements are converted to and from their records by a {@link RecordCodec}, so {@link OffHeapList#get(int)}
+ * returns a new object on every call, and changing it doesn't change the list.<br>
+ * <br>
+ * The memory is released by {@link OffHeapList#close()}, after which the list must not be used.
+ * The list must not be used from several threads at once.
+ *
+ * @param <E> A type of the list.
+ */
+public class OffHeapList<E> extends AbstractList<E> implements RandomAccess, Closeable {
+	
+	private final RecordCodec<E> codec;
+	private final OffHeapStorage storage;
+	private int size;
+	
+	/**
+	 * Constructs an empty list kept in direct buffers.
+	 *
+	 * @param codec the codec converting the elements to and from their records
+	 */
+	public OffHeapList(@Nonnull RecordCodec<E> codec) {
+		this.codec = codec;
+		this.storage = new OffHeapStorage(codec.getSize());
+	}
+	
+	/**
+	 * Constructs an empty list kept in a memory-mapped file.
+	 * The file is created if it doesn't exist and truncated if it does.
+	 *
+	 * @param codec the codec converting the elements to and from their records
+	 * @param file the path of the file
+	 * @throws IOException if the file can't be opened
+	 */
+	public OffHeapList(@Nonnull RecordCodec<E> codec, @Nonnull Path file) throws IOException {
+		this.codec = codec;
+		this.storage = new OffHeapStorage(codec.getSize(), file);
+	}
+	
+	/**
+	 * Returns the element at the specified position in this list.
+	 *
+	 * @param index index of the element to return
+	 * @return the element at the specified position in this list
+	 * @throws IndexOutOfBoundsException {@inheritDoc}
+	 */
+	@Override
+	public @Nonnull E get(int index) {
+		this.checkIndex(index);
+		return this.codec.read(this.storage.segment(index), this.storage.offset(index));
+	}
+	
+	/**
+	 * Replaces the element at the specified position in this list with
+	 * the specified element.
+	 *
+	 * @param index   index of the element to replace
+	 * @param element element to be stored at the specified position
+	 * @return the element previously at the specified position
+	 * @throws IndexOutOfBoundsException {@inheritDoc}
+	 * @throws NullPointerException if <tt>element</tt> is null
+	 */
+	@Override
+	public @Nonnull E set(int index, @Nonnull E element) {
+		throwIfNull(element);
+		E old = this.get(index);
+		this.grow(1);
+		this.write(this.size, element);
+		this.storage.move(this.size, index, 1);
+		return old;
+	}
+	
+	/**
+	 * Inserts the specified element at the specified position in this
+	 * list. Shifts the element currently at that position (if any) and
+	 * any subsequent elements to the right (adds one to their indices).
+	 *
+	 * @param index   index at which the specified element is to be inserted
+	 * @param element element to be inserted
+	 * @throws IndexOutOfBoundsException {@inheritDoc}
+	 * @throws NullPointerException if <tt>element</tt> is null
+	 */
+	@Override
+	public void add(int index, @Nonnull E element) {
+		throwIfNull(element);
+		if (index < 0 || index > this.size)
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.size);
+		
+		this.grow(2);
+		this.write(this.size + 1, element);
+		this.storage.move(index, index + 1, this.size - index);
+		this.storage.move(this.size + 1, index, 1);
+		this.size++;
+		this.modCount++;
+	}
+	
+	/**
+	 * Appends all the elements in the specified collection to the end of
+	 * this list, in the order that they are returned by the
+	 * specified collection's Iterator. The list is left unchanged if
+	 * any of the elements is null or can't be written.
+	 *
+	 * @param c collection containing elements to be added to this list
+	 * @return <tt>true</tt> if this list changed as a result of the call
+	 * @throws NullPointerException if the specified collection is null,
+	 * or if at least one of the elements of the specified collection is null
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public boolean addAll(@Nonnull Collection<? extends E> c) {
+		Object[] elements = c.toArray();
+		for (Object element: elements) throwIfNull(element);
+		
+		this.grow(elements.length);
+		for (int i = 0; i < elements.length; i++)
+			this.write(this.size + i, (E) elements[i]);
+		
+		this.size += elements.length;
+		this.modCount++;
+		return elements.length != 0;
+	}
+	
+	/**
+	 * Removes the element at the specified position in this list.
+	 * Shifts any subsequent elements to the left (subtracts one from their
+	 * indices).
+	 *
+	 * @param index the index of the element to be removed
+	 * @return the element that was removed from the list
+	 * @throws IndexOutOfBoundsException {@inheritDoc}
+	 */
+	@Override
+	public @Nonnull E remove(int index) {
+		E old = this.get(index);
+		this.storage.move(index + 1, index, this.size - index - 1);
+		this.size--;
+		this.modCount++;
+		return old;
+	}
+	
+	@Override
+	protected void removeRange(int fromIndex, int toIndex) {
+		this.storage.move(toIndex, fromIndex, this.size - toIndex);
+		this.size -= toIndex - fromIndex;
+		this.modCount++;
+	}
+	
+	/**
+	 * Removes all the elements from this list. The memory is kept for the elements to come;
+	 * use {@link OffHeapList#close()} to release it.
+	 */
+	@Override
+	public void clear() {
+		this.size = 0;
+		this.modCount++;
+	}
+	
+	/**
+	 * Returns the number of elements in this list.
+	 *
+	 * @return the number of elements in this list
+	 */
+	@Override
+	public int size() {
+		return this.size;
+	}
+	
+	/**
+	 * Releases the memory of this list and closes its file, if any.
+	 *
+	 * @throws IOException if the file can't be closed
+	 */
+	@Override
+	public void close() throws IOException {
+		this.size = 0;
+		this.storage.close();
+	}
+	
+	// records past the size aren't part of the list, so the elements are written there first and only
+	// then moved in or counted, and a codec that throws halfway leaves the list as it was
+	private void write(int index, E element) {
+		this.codec.write(this.storage.segment(index), this.storage.offset(index), element);
+	}
+	
+	private void grow(int count) {
+		if (this.size + count < 0)
+			throw new OutOfMemoryError();
+		
+		this.storage.ensureCapacity(this.size + count);
+	}
+	
+	private void checkIndex(int index) {
+		if (index < 0 || index >= this.size)
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.size);
+	}
+	
+	private static void throwIfNull(Object object) {
+		if (object == null)
+			throw new NullPointerException();
+	}
+	
+}
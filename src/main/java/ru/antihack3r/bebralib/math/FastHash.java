@@ -0,0 +1,860 @@
+/*
+ * This file is a part of bebralib -- you can get yo copy at https://github.com/antihack3r/bebralib
+ *
+ * This code is free software. It comes without any warranty, to the extent permitted by
+ * applicable law. You can redistribute it and/or modify it under the terms of the
+ * Do What The Fuck You Want To Public License, Version 2, as published by Sam Hocevar.
+ * See http://www.wtfpl.net/ for more details.
+ */
+
+package ru.antihack3r.bebralib.math;
+
+import javax.annotation.Nonnull;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Contains fast non-cryptographic 64-bit hash algorithms, for when the hash only needs to
+ * spread values well (sharding, deduplication, cache keys) and doesn't need to be secure.
+ * Unlike {@link Hash}, the hash is returned as a <tt>long</tt> and nothing is allocated.
+ * For example, to get the xxHash64 of "12345678", you go
+ * <pre>{@code FastHash.XX_HASH_64.hash("12345678");}</pre>
+ * The results are the same as the ones of the reference implementations with the same seed.
+ * A {@link CharSequence} is hashed as its UTF-16LE bytes, without encoding it, and
+ * <tt>long</tt> and <tt>int</tt> values are hashed as their little-endian bytes.<br>
+ * <br>
+ * Every method can be used from any number of threads at once.
+ */
+public enum FastHash {
+	
+	/**
+	 * xxHash64 by Yann Collet.
+	 * @see <a href="https://github.com/Cyan4973/xxHash">the reference implementation</a>
+	 */
+	XX_HASH_64 {
+		@Override
+		<T> long hash(Access<T> access, T input, int offset, int length, long seed) {
+			int end = offset + length;
+			long h;
+			if (length >= 32) {
+				int limit = end - 32;
+				long v1 = seed + XX_P1 + XX_P2, v2 = seed + XX_P2, v3 = seed, v4 = seed - XX_P1;
+				do {
+					v1 = xxRound(v1, access.getLong(input, offset));
+					v2 = xxRound(v2, access.getLong(input, offset + 8));
+					v3 = xxRound(v3, access.getLong(input, offset + 16));
+					v4 = xxRound(v4, access.getLong(input, offset + 24));
+					offset += 32;
+				} while (offset <= limit);
+				
+				h = xxMerge(v1, v2, v3, v4);
+			} else {
+				h = seed + XX_P5;
+			}
+			
+			return xxFinish(access, input, offset, end, h + length);
+		}
+		
+		@Override
+		public long hashLong(long value, long seed) {
+			long h = seed + XX_P5 + Long.BYTES;
+			h ^= xxRound(0L, value);
+			return xxAvalanche(Long.rotateLeft(h, 27) * XX_P1 + XX_P4);
+		}
+		
+		@Override
+		public long hashInt(int value, long seed) {
+			long h = seed + XX_P5 + Integer.BYTES;
+			h ^= (value & 0xFFFFFFFFL) * XX_P1;
+			return xxAvalanche(Long.rotateLeft(h, 23) * XX_P2 + XX_P3);
+		}
+		
+		@Override
+		public @Nonnull Streaming newStreaming(long seed) {
+			return new XxStreaming(seed);
+		}
+		
+	},
+	
+	/**
+	 * wyhash (the "final4" version) by Wang Yi, with the default secret.
+	 * @see <a href="https://github.com/wangyi-fudan/wyhash">the reference implementation</a>
+	 */
+	WY_HASH {
+		@Override
+		<T> long hash(Access<T> access, T input, int offset, int length, long seed) {
+			seed ^= wyMix(seed ^ WY_S0, WY_S1);
+			if (length <= 16) {
+				long a, b;
+				if (length >= 4) {
+					int shift = (length >>> 3) << 2;
+					a = access.getUnsignedInt(input, offset) << 32 | access.getUnsignedInt(input, offset + shift);
+					b = access.getUnsignedInt(input, offset + length - 4) << 32
+						| access.getUnsignedInt(input, offset + length - 4 - shift);
+				} else if (length > 0) {
+					a = (long) access.getUnsignedByte(input, offset) << 16
+						| (long) access.getUnsignedByte(input, offset + (length >>> 1)) << 8
+						| access.getUnsignedByte(input, offset + length - 1);
+					b = 0L;
+				} else {
+					a = b = 0L;
+				}
+				
+				return wyFinish(a, b, seed, length);
+			}
+			
+			int remaining = length;
+			if (remaining > 48) {
+				long see1 = seed, see2 = seed;
+				do {
+					seed = wyMix(access.getLong(input, offset) ^ WY_S1, access.getLong(input, offset + 8) ^ seed);
+					see1 = wyMix(access.getLong(input, offset + 16) ^ WY_S2, access.getLong(input, offset + 24) ^ see1);
+					see2 = wyMix(access.getLong(input, offset + 32) ^ WY_S3, access.getLong(input, offset + 40) ^ see2);
+					offset += 48;
+					remaining -= 48;
+				} while (remaining > 48);
+				
+				seed ^= see1 ^ see2;
+			}
+			
+			return wyTail(access, input, offset, remaining, seed, length);
+		}
+		
+		@Override
+		public long hashLong(long value, long seed) {
+			seed ^= wyMix(seed ^ WY_S0, WY_S1);
+			return wyFinish(Long.rotateLeft(value, 32), value, seed, Long.BYTES);
+		}
+		
+		@Override
+		public long hashInt(int value, long seed) {
+			seed ^= wyMix(seed ^ WY_S0, WY_S1);
+			long a = (value & 0xFFFFFFFFL) << 32 | (value & 0xFFFFFFFFL);
+			return wyFinish(a, a, seed, Integer.BYTES);
+		}
+		
+		@Override
+		public @Nonnull Streaming newStreaming(long seed) {
+			return new WyStreaming(seed);
+		}
+		
+	},
+	
+	/**
+	 * The first 64 bits of MurmurHash3 (x64, 128-bit variant) by Austin Appleby, which are the first eight
+	 * bytes of its result read as a little-endian <tt>long</tt>. The reference takes a 32-bit seed, so only
+	 * the lower 32 bits of the seed are used.
+	 * @see <a href="https://github.com/aappleby/smhasher">the reference implementation</a>
+	 */
+	MURMUR3_64 {
+		@Override
+		<T> long hash(Access<T> access, T input, int offset, int length, long seed) {
+			long h1 = seed & 0xFFFFFFFFL, h2 = h1;
+			int end = offset + (length & ~15);
+			for (; offset < end; offset += 16) {
+				h1 = murmurMixH1(h1, h2, access.getLong(input, offset));
+				h2 = murmurMixH2(h2, h1, access.getLong(input, offset + 8));
+			}
+			
+			long k1 = 0L, k2 = 0L;
+			int tail = length & 15;
+			for (int i = tail - 1; i >= 8; i--)
+				k2 |= (long) access.getUnsignedByte(input, offset + i) << ((i - 8) * 8);
+			
+			for (int i = Math.min(tail, 8) - 1; i >= 0; i--)
+				k1 |= (long) access.getUnsignedByte(input, offset + i) << (i * 8);
+			
+			return murmurFinish(h1, h2, k1, k2, tail, length);
+		}
+		
+		@Override
+		public long hashLong(long value, long seed) {
+			long h = seed & 0xFFFFFFFFL;
+			return murmurFinish(h, h, value, 0L, Long.BYTES, Long.BYTES);
+		}
+		
+		@Override
+		public long hashInt(int value, long seed) {
+			long h = seed & 0xFFFFFFFFL;
+			return murmurFinish(h, h, value & 0xFFFFFFFFL, 0L, Integer.BYTES, Integer.BYTES);
+		}
+		
+		@Override
+		public @Nonnull Streaming newStreaming(long seed) {
+			return new MurmurStreaming(seed);
+		}
+		
+	};
+	
+	private static final long XX_P1 = 0x9E3779B185EBCA87L;
+	private static final long XX_P2 = 0xC2B2AE3D27D4EB4FL;
+	private static final long XX_P3 = 0x165667B19E3779F9L;
+	private static final long XX_P4 = 0x85EBCA77C2B2AE63L;
+	private static final long XX_P5 = 0x27D4EB2F165667C5L;
+	
+	private static final long WY_S0 = 0x2D358DCCAA6C78A5L;
+	private static final long WY_S1 = 0x8BB84B93962EACC9L;
+	private static final long WY_S2 = 0x4B33A62ED433D4A3L;
+	private static final long WY_S3 = 0x4D5A2DA51DE1AA47L;
+	
+	private static final long MURMUR_C1 = 0x87C37B91114253D5L;
+	private static final long MURMUR_C2 = 0x4CF5AD432745937FL;
+	
+	/**
+	 * Hashes <tt>length</tt> bytes of the input, starting at <tt>offset</tt>.
+	 */
+	abstract <T> long hash(Access<T> access, T input, int offset, int length, long seed);
+	
+	/**
+	 * Generates the hash of a byte array using the current method.
+	 * @param array the bytes to be hashed.
+	 * @return the hash.
+	 */
+	public long hash(@Nonnull byte[] array) {
+		return hash(ByteArrayAccess.INSTANCE, array, 0, array.length, 0L);
+	}
+	
+	/**
+	 * Generates the hash of a byte array using the current method with the given seed.
+	 * @param array the bytes to be hashed.
+	 * @param seed the seed.
+	 * @return the hash.
+	 */
+	public long hash(@Nonnull byte[] array, long seed) {
+		return hash(ByteArrayAccess.INSTANCE, array, 0, array.length, seed);
+	}
+	
+	/**
+	 * Generates the hash of <tt>length</tt> bytes of a byte array, starting at <tt>offset</tt>,
+	 * using the current method with the given seed.
+	 * @param array the bytes to be hashed.
+	 * @param offset the index of the first byte to be hashed.
+	 * @param length the number of bytes to be hashed.
+	 * @param seed the seed.
+	 * @return the hash.
+	 * @throws IndexOutOfBoundsException if the range is out of the array's bounds.
+	 */
+	public long hash(@Nonnull byte[] array, int offset, int length, long seed) {
+		if (offset < 0 || length < 0 || offset > array.length - length)
+			throw new IndexOutOfBoundsException();
+		
+		return hash(ByteArrayAccess.INSTANCE, array, offset, length, seed);
+	}
+	
+	/**
+	 * Generates the hash of the remaining bytes of a buffer using the current method.
+	 * The buffer's position is not changed.
+	 * @param buffer the bytes to be hashed.
+	 * @return the hash.
+	 */
+	public long hash(@Nonnull ByteBuffer buffer) {
+		return hash(buffer, 0L);
+	}
+	
+	/**
+	 * Generates the hash of the remaining bytes of a buffer using the current method with the given seed.
+	 * The buffer's position is not changed.
+	 * @param buffer the bytes to be hashed.
+	 * @param seed the seed.
+	 * @return the hash.
+	 */
+	public long hash(@Nonnull ByteBuffer buffer, long seed) {
+		if (buffer.hasArray())
+			return hash(ByteArrayAccess.INSTANCE, buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining(), seed);
+		
+		return hash(ByteBufferAccess.of(buffer), buffer, buffer.position(), buffer.remaining(), seed);
+	}
+	
+	/**
+	 * Generates the hash of a {@link CharSequence} using the current method. The result is the
+	 * same as the one for its UTF-16LE bytes, but the sequence isn't encoded.
+	 * @param value the value to be hashed.
+	 * @return the hash.
+	 */
+	public long hash(@Nonnull CharSequence value) {
+		return hash(value, 0L);
+	}
+	
+	/**
+	 * Generates the hash of a {@link CharSequence} using the current method with the given seed.
+	 * The result is the same as the one for its UTF-16LE bytes, but the sequence isn't encoded.
+	 * @param value the value to be hashed.
+	 * @param seed the seed.
+	 * @return the hash.
+	 */
+	public long hash(@Nonnull CharSequence value, long seed) {
+		return hash(CharSequenceAccess.INSTANCE, value, 0, value.length() * Character.BYTES, seed);
+	}
+	
+	/**
+	 * Generates the hash of a <tt>long</tt> value using the current method. The result is the
+	 * same as the one for its little-endian bytes.
+	 * @param value the value to be hashed.
+	 * @return the hash.
+	 */
+	public long hashLong(long value) {
+		return hashLong(value, 0L);
+	}
+	
+	/**
+	 * Generates the hash of a <tt>long</tt> value using the current method with the given seed.
+	 * The result is the same as the one for its little-endian bytes.
+	 * @param value the value to be hashed.
+	 * @param seed the seed.
+	 * @return the hash.
+	 */
+	public abstract long hashLong(long value, long seed);
+	
+	/**
+	 * Generates the hash of an <tt>int</tt> value using the current method. The result is the
+	 * same as the one for its little-endian bytes.
+	 * @param value the value to be hashed.
+	 * @return the hash.
+	 */
+	public long hashInt(int value) {
+		return hashInt(value, 0L);
+	}
+	
+	/**
+	 * Generates the hash of an <tt>int</tt> value using the current method with the given seed.
+	 * The result is the same as the one for its little-endian bytes.
+	 * @param value the value to be hashed.
+	 * @param seed the seed.
+	 * @return the hash.
+	 */
+	public abstract long hashInt(int value, long seed);
+	
+	/**
+	 * Makes a new {@link Streaming} hash using the current method.
+	 * @return a new {@link Streaming} hash.
+	 */
+	public @Nonnull Streaming newStreaming() {
+		return newStreaming(0L);
+	}
+	
+	/**
+	 * Makes a new {@link Streaming} hash using the current method with the given seed.
+	 * @param seed the seed.
+	 * @return a new {@link Streaming} hash.
+	 */
+	public abstract @Nonnull Streaming newStreaming(long seed);
+	
+	private static long xxRound(long accumulator, long input) {
+		accumulator += input * XX_P2;
+		return Long.rotateLeft(accumulator, 31) * XX_P1;
+	}
+	
+	private static long xxMerge(long v1, long v2, long v3, long v4) {
+		long h = Long.rotateLeft(v1, 1) + Long.rotateLeft(v2, 7) + Long.rotateLeft(v3, 12) + Long.rotateLeft(v4, 18);
+		h = (h ^ xxRound(0L, v1)) * XX_P1 + XX_P4;
+		h = (h ^ xxRound(0L, v2)) * XX_P1 + XX_P4;
+		h = (h ^ xxRound(0L, v3)) * XX_P1 + XX_P4;
+		return (h ^ xxRound(0L, v4)) * XX_P1 + XX_P4;
+	}
+	
+	/**
+	 * Hashes the last (less than 32) bytes of the input.
+	 */
+	private static <T> long xxFinish(Access<T> access, T input, int offset, int end, long h) {
+		for (; offset + 8 <= end; offset += 8) {
+			h ^= xxRound(0L, access.getLong(input, offset));
+			h = Long.rotateLeft(h, 27) * XX_P1 + XX_P4;
+		}
+		
+		if (offset + 4 <= end) {
+			h ^= access.getUnsignedInt(input, offset) * XX_P1;
+			h = Long.rotateLeft(h, 23) * XX_P2 + XX_P3;
+			offset += 4;
+		}
+		
+		for (; offset < end; offset++) {
+			h ^= access.getUnsignedByte(input, offset) * XX_P5;
+			h = Long.rotateLeft(h, 11) * XX_P1;
+		}
+		
+		return xxAvalanche(h);
+	}
+	
+	private static long xxAvalanche(long h) {
+		h ^= h >>> 33;
+		h *= XX_P2;
+		h ^= h >>> 29;
+		h *= XX_P3;
+		return h ^ (h >>> 32);
+	}
+	
+	/**
+	 * Returns the upper 64 bits of the unsigned 128-bit product of two values.
+	 */
+	private static long multiplyHigh(long x, long y) {
+		long x0 = x & 0xFFFFFFFFL, x1 = x >>> 32;
+		long y0 = y & 0xFFFFFFFFL, y1 = y >>> 32;
+		long p01 = x0 * y1;
+		long middle = x1 * y0 + ((x0 * y0) >>> 32) + (p01 & 0xFFFFFFFFL);
+		return x1 * y1 + (middle >>> 32) + (p01 >>> 32);
+	}
+	
+	private static long wyMix(long a, long b) {
+		return a * b ^ multiplyHigh(a, b);
+	}
+	
+	/**
+	 * Hashes the last (more than 16, but no more than 48) bytes of the input. At least 16 bytes
+	 * have to be readable right before <tt>offset</tt> if there are fewer than 16 bytes left.
+	 */
+	private static <T> long wyTail(Access<T> access, T input, int offset, int remaining, long seed, long length) {
+		for (; remaining > 16; remaining -= 16, offset += 16)
+			seed = wyMix(access.getLong(input, offset) ^ WY_S1, access.getLong(input, offset + 8) ^ seed);
+		
+		long a = access.getLong(input, offset + remaining - 16);
+		long b = access.getLong(input, offset + remaining - 8);
+		return wyFinish(a, b, seed, length);
+	}
+	
+	private static long wyFinish(long a, long b, long seed, long length) {
+		a ^= WY_S1;
+		b ^= seed;
+		long low = a * b, high = multiplyHigh(a, b);
+		return wyMix(low ^ WY_S0 ^ length, high ^ WY_S1);
+	}
+	
+	private static long murmurMixH1(long h1, long h2, long k1) {
+		h1 ^= Long.rotateLeft(k1 * MURMUR_C1, 31) * MURMUR_C2;
+		return (Long.rotateLeft(h1, 27) + h2) * 5 + 0x52DCE729;
+	}
+	
+	private static long murmurMixH2(long h2, long h1, long k2) {
+		h2 ^= Long.rotateLeft(k2 * MURMUR_C2, 33) * MURMUR_C1;
+		return (Long.rotateLeft(h2, 31) + h1) * 5 + 0x38495AB5;
+	}
+	
+	/**
+	 * Mixes in the last (less than 16) bytes of the input, which are in <tt>k1</tt> and <tt>k2</tt>,
+	 * and finalizes the hash.
+	 */
+	private static long murmurFinish(long h1, long h2, long k1, long k2, int tail, long length) {
+		if (tail > 8)
+			h2 ^= Long.rotateLeft(k2 * MURMUR_C2, 33) * MURMUR_C1;
+		
+		if (tail > 0)
+			h1 ^= Long.rotateLeft(k1 * MURMUR_C1, 31) * MURMUR_C2;
+		
+		h1 ^= length;
+		h2 ^= length;
+		h1 += h2;
+		h2 += h1;
+		h1 = murmurAvalanche(h1);
+		h2 = murmurAvalanche(h2);
+		return h1 + h2;
+	}
+	
+	private static long murmurAvalanche(long k) {
+		k ^= k >>> 33;
+		k *= 0xFF51AFD7ED558CCDL;
+		k ^= k >>> 33;
+		k *= 0xC4CEB9FE1A85EC53L;
+		return k ^ (k >>> 33);
+	}
+	
+	/**
+	 * Reads little-endian values from some kind of input.
+	 * @param <T> the type of the input.
+	 */
+	static abstract class Access<T> {
+		
+		abstract long getLong(T input, int offset);
+		
+		abstract long getUnsignedInt(T input, int offset);
+		
+		abstract int getUnsignedByte(T input, int offset);
+		
+	}
+	
+	private static final class ByteArrayAccess extends Access<byte[]> {
+		
+		static final ByteArrayAccess INSTANCE = new ByteArrayAccess();
+		
+		@Override
+		long getLong(byte[] input, int offset) {
+			return (input[offset] & 0xFFL)
+				| (input[offset + 1] & 0xFFL) << 8
+				| (input[offset + 2] & 0xFFL) << 16
+				| (input[offset + 3] & 0xFFL) << 24
+				| (input[offset + 4] & 0xFFL) << 32
+				| (input[offset + 5] & 0xFFL) << 40
+				| (input[offset + 6] & 0xFFL) << 48
+				| (input[offset + 7] & 0xFFL) << 56;
+		}
+		
+		@Override
+		long getUnsignedInt(byte[] input, int offset) {
+			return (input[offset] & 0xFFL)
+				| (input[offset + 1] & 0xFFL) << 8
+				| (input[offset + 2] & 0xFFL) << 16
+				| (input[offset + 3] & 0xFFL) << 24;
+		}
+		
+		@Override
+		int getUnsignedByte(byte[] input, int offset) {
+			return input[offset] & 0xFF;
+		}
+		
+	}
+	
+	/**
+	 * Reads a buffer with absolute gets, so its position doesn't change.
+	 */
+	private static final class ByteBufferAccess extends Access<ByteBuffer> {
+		
+		private static final ByteBufferAccess LITTLE_ENDIAN = new ByteBufferAccess(false);
+		private static final ByteBufferAccess BIG_ENDIAN = new ByteBufferAccess(true);
+		
+		private final boolean reverse;
+		
+		private ByteBufferAccess(boolean reverse) {
+			this.reverse = reverse;
+		}
+		
+		static ByteBufferAccess of(ByteBuffer buffer) {
+			return buffer.order() == ByteOrder.LITTLE_ENDIAN? LITTLE_ENDIAN: BIG_ENDIAN;
+		}
+		
+		@Override
+		long getLong(ByteBuffer input, int offset) {
+			long value = input.getLong(offset);
+			return this.reverse? Long.reverseBytes(value): value;
+		}
+		
+		@Override
+		long getUnsignedInt(ByteBuffer input, int offset) {
+			int value = input.getInt(offset);
+			return (this.reverse? Integer.reverseBytes(value): value) & 0xFFFFFFFFL;
+		}
+		
+		@Override
+		int getUnsignedByte(ByteBuffer input, int offset) {
+			return input.get(offset) & 0xFF;
+		}
+		
+	}
+	
+	/**
+	 * Reads the UTF-16LE bytes of a {@link CharSequence}.
+	 */
+	private static final class CharSequenceAccess extends Access<CharSequence> {
+		
+		static final CharSequenceAccess INSTANCE = new CharSequenceAccess();
+		
+		@Override
+		long getLong(CharSequence input, int offset) {
+			if ((offset & 1) != 0)
+				return getUnsignedInt(input, offset) | getUnsignedInt(input, offset + 4) << 32;
+			
+			int index = offset >>> 1;
+			return (long) input.charAt(index)
+				| (long) input.charAt(index + 1) << 16
+				| (long) input.charAt(index + 2) << 32
+				| (long) input.charAt(index + 3) << 48;
+		}
+		
+		@Override
+		long getUnsignedInt(CharSequence input, int offset) {
+			if ((offset & 1) != 0)
+				return getUnsignedByte(input, offset)
+					| (long) input.charAt((offset + 1) >>> 1) << 8
+					| (long) getUnsignedByte(input, offset + 3) << 24;
+			
+			int index = offset >>> 1;
+			return (long) input.charAt(index) | (long) input.charAt(index + 1) << 16;
+		}
+		
+		@Override
+		int getUnsignedByte(CharSequence input, int offset) {
+			char c = input.charAt(offset >>> 1);
+			return (offset & 1) == 0? c & 0xFF: c >>> 8;
+		}
+		
+	}
+	
+	/**
+	 * A hash which is fed the data in chunks, giving the same result as hashing all the data at once.
+	 * A streaming hash is not thread-safe.
+	 * @see FastHash#newStreaming(long)
+	 */
+	public static abstract class Streaming {
+		
+		private final FastHash hash;
+		final long seed;
+		
+		Streaming(FastHash hash, long seed) {
+			this.hash = hash;
+			this.seed = seed;
+		}
+		
+		/**
+		 * Returns the method this hash uses.
+		 * @return the method this hash uses.
+		 */
+		public @Nonnull FastHash getHash() {
+			return this.hash;
+		}
+		
+		/**
+		 * Updates the hash with the given byte array.
+		 * @param array the bytes to be hashed.
+		 * @return this hash.
+		 */
+		public @Nonnull Streaming update(@Nonnull byte[] array) {
+			update(ByteArrayAccess.INSTANCE, array, 0, array.length);
+			return this;
+		}
+		
+		/**
+		 * Updates the hash with <tt>length</tt> bytes of the given byte array, starting at <tt>offset</tt>.
+		 * @param array the bytes to be hashed.
+		 * @param offset the index of the first byte to be hashed.
+		 * @param length the number of bytes to be hashed.
+		 * @return this hash.
+		 * @throws IndexOutOfBoundsException if the range is out of the array's bounds.
+		 */
+		public @Nonnull Streaming update(@Nonnull byte[] array, int offset, int length) {
+			if (offset < 0 || length < 0 || offset > array.length - length)
+				throw new IndexOutOfBoundsException();
+			
+			update(ByteArrayAccess.INSTANCE, array, offset, length);
+			return this;
+		}
+		
+		/**
+		 * Updates the hash with the remaining bytes of the given buffer.
+		 * Upon return, the buffer's position will be equal to its limit.
+		 * @param buffer the bytes to be hashed.
+		 * @return this hash.
+		 */
+		public @Nonnull Streaming update(@Nonnull ByteBuffer buffer) {
+			if (buffer.hasArray())
+				update(ByteArrayAccess.INSTANCE, buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+			else
+				update(ByteBufferAccess.of(buffer), buffer, buffer.position(), buffer.remaining());
+			
+			buffer.position(buffer.limit());
+			return this;
+		}
+		
+		/**
+		 * Updates the hash with the UTF-16LE bytes of a {@link CharSequence}, without encoding it.
+		 * @param value the value to be hashed.
+		 * @return this hash.
+		 */
+		public @Nonnull Streaming update(@Nonnull CharSequence value) {
+			update(CharSequenceAccess.INSTANCE, value, 0, value.length() * Character.BYTES);
+			return this;
+		}
+		
+		/**
+		 * Returns the hash of all the data fed so far. The hash can still be updated afterwards.
+		 * @return the hash.
+		 */
+		public abstract long getValue();
+		
+		/**
+		 * Resets the hash, discarding all the data fed into it so far.
+		 * @return this hash.
+		 */
+		public abstract @Nonnull Streaming reset();
+		
+		abstract <T> void update(Access<T> access, T input, int offset, int length);
+		
+	}
+	
+	private static final class XxStreaming extends Streaming {
+		
+		private final byte[] buffer = new byte[32];
+		private int buffered;
+		private long length;
+		private long v1, v2, v3, v4;
+		
+		XxStreaming(long seed) {
+			super(XX_HASH_64, seed);
+			reset();
+		}
+		
+		@Override
+		<T> void update(Access<T> access, T input, int offset, int length) {
+			this.length += length;
+			int end = offset + length;
+			if (this.buffered > 0) {
+				int count = Math.min(32 - this.buffered, length);
+				for (int i = 0; i < count; i++)
+					this.buffer[this.buffered + i] = (byte) access.getUnsignedByte(input, offset + i);
+				
+				this.buffered += count;
+				offset += count;
+				if (this.buffered < 32)
+					return;
+				
+				consume(ByteArrayAccess.INSTANCE, this.buffer, 0);
+				this.buffered = 0;
+			}
+			
+			for (; end - offset >= 32; offset += 32)
+				consume(access, input, offset);
+			
+			for (; offset < end; offset++)
+				this.buffer[this.buffered++] = (byte) access.getUnsignedByte(input, offset);
+		}
+		
+		private <T> void consume(Access<T> access, T input, int offset) {
+			this.v1 = xxRound(this.v1, access.getLong(input, offset));
+			this.v2 = xxRound(this.v2, access.getLong(input, offset + 8));
+			this.v3 = xxRound(this.v3, access.getLong(input, offset + 16));
+			this.v4 = xxRound(this.v4, access.getLong(input, offset + 24));
+		}
+		
+		@Override
+		public long getValue() {
+			long h = this.length >= 32? xxMerge(this.v1, this.v2, this.v3, this.v4): this.seed + XX_P5;
+			return xxFinish(ByteArrayAccess.INSTANCE, this.buffer, 0, this.buffered, h + this.length);
+		}
+		
+		@Override
+		public @Nonnull Streaming reset() {
+			this.buffered = 0;
+			this.length = 0L;
+			this.v1 = this.seed + XX_P1 + XX_P2;
+			this.v2 = this.seed + XX_P2;
+			this.v3 = this.seed;
+			this.v4 = this.seed - XX_P1;
+			return this;
+		}
+		
+	}
+	
+	/**
+	 * Keeps up to 48 bytes that haven't been hashed yet after the last 16 bytes that have,
+	 * as wyhash reads them again at the end.
+	 */
+	private static final class WyStreaming extends Streaming {
+		
+		private final byte[] buffer = new byte[16 + 48];
+		private int buffered;
+		private long length;
+		private long state, see1, see2;
+		
+		WyStreaming(long seed) {
+			super(WY_HASH, seed);
+			reset();
+		}
+		
+		@Override
+		<T> void update(Access<T> access, T input, int offset, int length) {
+			this.length += length;
+			for (int end = offset + length; offset < end; ) {
+				if (this.buffered == 48) {
+					consume();
+					this.buffered = 0;
+				}
+				
+				int count = Math.min(48 - this.buffered, end - offset);
+				for (int i = 0; i < count; i++)
+					this.buffer[16 + this.buffered + i] = (byte) access.getUnsignedByte(input, offset + i);
+				
+				this.buffered += count;
+				offset += count;
+			}
+		}
+		
+		private void consume() {
+			ByteArrayAccess access = ByteArrayAccess.INSTANCE;
+			byte[] buffer = this.buffer;
+			this.state = wyMix(access.getLong(buffer, 16) ^ WY_S1, access.getLong(buffer, 24) ^ this.state);
+			this.see1 = wyMix(access.getLong(buffer, 32) ^ WY_S2, access.getLong(buffer, 40) ^ this.see1);
+			this.see2 = wyMix(access.getLong(buffer, 48) ^ WY_S3, access.getLong(buffer, 56) ^ this.see2);
+			System.arraycopy(buffer, 48, buffer, 0, 16);
+		}
+		
+		@Override
+		public long getValue() {
+			if (this.length <= 48)
+				return WY_HASH.hash(ByteArrayAccess.INSTANCE, this.buffer, 16, this.buffered, this.seed);
+			
+			return wyTail(ByteArrayAccess.INSTANCE, this.buffer, 16, this.buffered, this.state ^ this.see1 ^ this.see2, this.length);
+		}
+		
+		@Override
+		public @Nonnull Streaming reset() {
+			this.buffered = 0;
+			this.length = 0L;
+			this.state = this.seed ^ wyMix(this.seed ^ WY_S0, WY_S1);
+			this.see1 = this.state;
+			this.see2 = this.state;
+			return this;
+		}
+		
+	}
+	
+	private static final class MurmurStreaming extends Streaming {
+		
+		private final byte[] buffer = new byte[16];
+		private int buffered;
+		private long length;
+		private long h1, h2;
+		
+		MurmurStreaming(long seed) {
+			super(MURMUR3_64, seed);
+			reset();
+		}
+		
+		@Override
+		<T> void update(Access<T> access, T input, int offset, int length) {
+			this.length += length;
+			int end = offset + length;
+			if (this.buffered > 0) {
+				int count = Math.min(16 - this.buffered, length);
+				for (int i = 0; i < count; i++)
+					this.buffer[this.buffered + i] = (byte) access.getUnsignedByte(input, offset + i);
+				
+				this.buffered += count;
+				offset += count;
+				if (this.buffered < 16)
+					return;
+				
+				consume(ByteArrayAccess.INSTANCE, this.buffer, 0);
+				this.buffered = 0;
+			}
+			
+			for (; end - offset >= 16; offset += 16)
+				consume(access, input, offset);
+			
+			for (; offset < end; offset++)
+				this.buffer[this.buffered++] = (byte) access.getUnsignedByte(input, offset);
+		}
+		
+		private <T> void consume(Access<T> access, T input, int offset) {
+			this.h1 = murmurMixH1(this.h1, this.h2, access.getLong(input, offset));
+			this.h2 = murmurMixH2(this.h2, this.h1, access.getLong(input, offset + 8));
+		}
+		
+		@Override
+		public long getValue() {
+			long k1 = 0L, k2 = 0L;
+			for (int i = this.buffered - 1; i >= 8; i--)
+				k2 |= (this.buffer[i] & 0xFFL) << ((i - 8) * 8);
+			
+			for (int i = Math.min(this.buffered, 8) - 1; i >= 0; i--)
+				k1 |= (this.buffer[i] & 0xFFL) << (i * 8);
+			
+			return murmurFinish(this.h1, this.h2, k1, k2, this.buffered, this.length);
+		}
+		
+		@Override
+		public @Nonnull Streaming reset() {
+			this.buffered = 0;
+			this.length = 0L;
+			this.h1 = this.h2 = this.seed & 0xFFFFFFFFL;
+			return this;
+		}
+		
+	}
+	
+}
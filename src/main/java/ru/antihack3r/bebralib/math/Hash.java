@@ -9,57 +9,117 @@
 
 package ru.antihack3r.bebralib.math;
 
+import ru.antihack3r.bebralib.misc.ByteCodec;
+
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestException;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.function.ObjIntConsumer;
+import java.util.stream.IntStream;
+import java.util.zip.Adler32;
 import java.util.zip.CRC32;
+import java.util.zip.Checksum;
 
 /**
- * Contains four hash algorithms which can be used by
+ * Contains three hash algorithms and three checksums which can be used by
  * calling {@link Hash#compute(String, Charset)}.
  * For example, to get the MD5 hash of "12345678", you
  * go <pre>{@code Hash.MD5.compute("12345678", null);}</pre>.
+ * Data that doesn't fit in a single array can be hashed
+ * in chunks with a {@link Hasher}:
+ * <pre>{@code Hash.SHA_256.hasher().update(chunk1).update(chunk2).digest();}</pre>
+ * The checksums produce their value in its big-endian <tt>long</tt> representation.<br>
+ * <br>
+ * Every method can be used from any number of threads at once, as each thread
+ * gets its own digest or checksum.
  */
 public enum Hash {
 	
-	SHA_256("SHA-256"),
-	SHA_512("SHA-512"),
-	CRC_32("CRC-32") {
-		private CRC32 crc32;
+	SHA_256("SHA-256", 32),
+	SHA_512("SHA-512", 64),
+	CRC_32("CRC-32", Long.BYTES) {
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public @Nonnull Hasher newHasher() {
+			return new ChecksumHasher(this, new CRC32());
+		}
 		
+	},
+	CRC_32C("CRC-32C", Long.BYTES) {
 		/**
 		 * {@inheritDoc}
 		 */
 		@Override
-		public @Nonnull byte[] compute(@Nonnull byte[] array) {
-			if (crc32 == null)
-				crc32 = new CRC32();
-			
-			crc32.update(array);
-			long v = crc32.getValue();
-			crc32.reset();
-			
-			return longToBytes(v);
+		public @Nonnull Hasher newHasher() {
+			return new ChecksumHasher(this, CRC32C.newChecksum());
 		}
 		
+	},
+	ADLER_32("Adler-32", Long.BYTES) {
 		/**
 		 * {@inheritDoc}
 		 */
 		@Override
-		public @Nonnull byte[] compute(@Nonnull String value, Charset charset) {
-			return compute(value.getBytes(charset == null? StandardCharsets.UTF_8: charset));
+		public @Nonnull Hasher newHasher() {
+			return new ChecksumHasher(this, new Adler32());
 		}
 		
 	},
-	MD5("MD5");
+	MD5("MD5", 16);
+	
+	/**
+	 * The number of inputs each thread hashes at once when a batch is hashed in parallel.
+	 */
+	private static final int PARALLEL_BLOCK = 1024;
 	
 	private final String method;
+	private final int digestLength;
+	
+	/**
+	 * A digest in its initial state, cloned for every new {@link Hasher}
+	 * instead of looking the algorithm up through the providers again.
+	 */
+	private volatile MessageDigest prototype;
 	
-	Hash(String method) {
+	/**
+	 * A reusable {@link Hasher} for each thread.
+	 */
+	private final ThreadLocal<Hasher> hashers = ThreadLocal.withInitial(this::newHasher);
+	
+	Hash(String method, int digestLength) {
 		this.method = method;
+		this.digestLength = digestLength;
+	}
+	
+	/**
+	 * Returns the length of the hash produced by the current method.
+	 * @return the length of the hash, in bytes.
+	 */
+	public int getDigestLength() {
+		return this.digestLength;
 	}
 	
 	/**
@@ -69,39 +129,910 @@ public enum Hash {
 	 * @return a byte array representing the hash of.
 	 */
 	public @Nonnull byte[] compute(@Nonnull String value, @Nullable Charset charset) {
-		return compute(value.getBytes(charset == null? StandardCharsets.UTF_8: charset));
+		return hasher().update(value, charset).digest();
 	}
 	
 	/**
 	 * Generates the hash using the current method.
 	 * @param array a byte array the values of which need to be hashed.
-	 * @return the hexadecimal hash value.
+	 * @return a byte array representing the hash.
 	 */
 	public @Nonnull byte[] compute(@Nonnull byte[] array) {
-		MessageDigest digest;
+		return hasher().update(array).digest();
+	}
+	
+	/**
+	 * Generates the hash using the current method and returns it in lower case hexadecimal.
+	 * The resulting {@link String} is the only thing allocated.
+	 * @param value the value.
+	 * @param charset the charset to be used for extracting bytes from {@code value}.
+	 * @return the hexadecimal hash value.
+	 */
+	public @Nonnull String computeHex(@Nonnull String value, @Nullable Charset charset) {
+		return hasher().update(value, charset).digestHex();
+	}
+	
+	/**
+	 * Generates the hash using the current method and returns it in lower case hexadecimal.
+	 * The resulting {@link String} is the only thing allocated.
+	 * @param array a byte array the values of which need to be hashed.
+	 * @return the hexadecimal hash value.
+	 */
+	public @Nonnull String computeHex(@Nonnull byte[] array) {
+		return hasher().update(array).digestHex();
+	}
+	
+	/**
+	 * Generates the hash using the current method and writes it into <tt>output</tt>,
+	 * starting at <tt>offset</tt>.
+	 * @param value the value.
+	 * @param charset the charset to be used for extracting bytes from {@code value}.
+	 * @param output the array to write the hash into.
+	 * @param offset the index at which the hash should start.
+	 * @return the number of bytes written, which is {@link Hash#getDigestLength()}.
+	 * @throws IndexOutOfBoundsException if the hash doesn't fit into <tt>output</tt>.
+	 */
+	public int compute(@Nonnull String value, @Nullable Charset charset, @Nonnull byte[] output, int offset) {
+		return hasher().update(value, charset).digestInto(output, offset);
+	}
+	
+	/**
+	 * Generates the hash using the current method and writes it into <tt>output</tt>,
+	 * starting at <tt>offset</tt>.
+	 * @param array a byte array the values of which need to be hashed.
+	 * @param output the array to write the hash into.
+	 * @param offset the index at which the hash should start.
+	 * @return the number of bytes written, which is {@link Hash#getDigestLength()}.
+	 * @throws IndexOutOfBoundsException if the hash doesn't fit into <tt>output</tt>.
+	 */
+	public int compute(@Nonnull byte[] array, @Nonnull byte[] output, int offset) {
+		return hasher().update(array).digestInto(output, offset);
+	}
+	
+	/**
+	 * Generates the hash of the remaining bytes of <tt>input</tt> using the current method
+	 * and writes it into <tt>output</tt> at its position. Upon return, the position of <tt>input</tt>
+	 * will be equal to its limit, and the position of <tt>output</tt> will be after the hash.
+	 * @param input the bytes to be hashed.
+	 * @param output the buffer to write the hash into.
+	 * @return the number of bytes written, which is {@link Hash#getDigestLength()}.
+	 * @throws BufferOverflowException if the hash doesn't fit into <tt>output</tt>.
+	 */
+	public int compute(@Nonnull ByteBuffer input, @Nonnull ByteBuffer output) {
+		return hasher().update(input).digestInto(output);
+	}
+	
+	/**
+	 * Generates the hash using the current method and returns it as a <tt>long</tt>. For the checksums,
+	 * it's the value of the checksum; for the other methods, it's the first eight bytes of the hash
+	 * in big-endian order. Nothing is allocated.
+	 * @param array a byte array the values of which need to be hashed.
+	 * @return the hash as a <tt>long</tt>.
+	 */
+	public long computeLong(@Nonnull byte[] array) {
+		return hasher().update(array).digestLong();
+	}
+	
+	/**
+	 * Generates the hash using the current method and returns it as a <tt>long</tt>.
+	 * @param value the value.
+	 * @param charset the charset to be used for extracting bytes from {@code value}.
+	 * @return the hash as a <tt>long</tt>.
+	 * @see Hash#computeLong(byte[])
+	 */
+	public long computeLong(@Nonnull String value, @Nullable Charset charset) {
+		return hasher().update(value, charset).digestLong();
+	}
+	
+	/**
+	 * Generates the hash using the current method and returns it as an <tt>int</tt>. For the checksums,
+	 * it's the lower 32 bits of the value of the checksum; for the other methods, it's the first four
+	 * bytes of the hash in big-endian order. Nothing is allocated.
+	 * @param array a byte array the values of which need to be hashed.
+	 * @return the hash as an <tt>int</tt>.
+	 */
+	public int computeInt(@Nonnull byte[] array) {
+		return hasher().update(array).digestInt();
+	}
+	
+	/**
+	 * Generates the hash using the current method and returns it as an <tt>int</tt>.
+	 * @param value the value.
+	 * @param charset the charset to be used for extracting bytes from {@code value}.
+	 * @return the hash as an <tt>int</tt>.
+	 * @see Hash#computeInt(byte[])
+	 */
+	public int computeInt(@Nonnull String value, @Nullable Charset charset) {
+		return hasher().update(value, charset).digestInt();
+	}
+	
+	/**
+	 * Generates the hashes of many byte arrays using the current method.
+	 * @param arrays the byte arrays which need to be hashed.
+	 * @return an array containing the hashes one after another, the <tt>i</tt>th hash starting
+	 * at <tt>i * getDigestLength()</tt>.
+	 */
+	public @Nonnull byte[] computeAll(@Nonnull List<byte[]> arrays) {
+		return computeAll(arrays, false);
+	}
+	
+	/**
+	 * Generates the hashes of many byte arrays using the current method,
+	 * optionally splitting the work between the threads of the common pool.
+	 * @param arrays the byte arrays which need to be hashed.
+	 * @param parallel whether the work should be split between threads. Only large batches are split.
+	 * @return an array containing the hashes one after another, the <tt>i</tt>th hash starting
+	 * at <tt>i * getDigestLength()</tt>.
+	 */
+	public @Nonnull byte[] computeAll(@Nonnull List<byte[]> arrays, boolean parallel) {
+		byte[][] inputs = arrays.toArray(new byte[0][]);
+		return computeAll(inputs.length, parallel, (hasher, i) -> hasher.update(inputs[i]));
+	}
+	
+	/**
+	 * Generates the hashes of many strings using the current method.
+	 * @param values the strings which need to be hashed.
+	 * @param charset the charset to be used for extracting bytes from the strings.
+	 * @return an array containing the hashes one after another, the <tt>i</tt>th hash starting
+	 * at <tt>i * getDigestLength()</tt>.
+	 */
+	public @Nonnull byte[] computeAll(@Nonnull String[] values, @Nullable Charset charset) {
+		return computeAll(values, charset, false);
+	}
+	
+	/**
+	 * Generates the hashes of many strings using the current method,
+	 * optionally splitting the work between the threads of the common pool.
+	 * @param values the strings which need to be hashed.
+	 * @param charset the charset to be used for extracting bytes from the strings.
+	 * @param parallel whether the work should be split between threads. Only large batches are split.
+	 * @return an array containing the hashes one after another, the <tt>i</tt>th hash starting
+	 * at <tt>i * getDigestLength()</tt>.
+	 */
+	public @Nonnull byte[] computeAll(@Nonnull String[] values, @Nullable Charset charset, boolean parallel) {
+		return computeAll(values.length, parallel, (hasher, i) -> hasher.update(values[i], charset));
+	}
+	
+	/**
+	 * Generates the hashes of many inputs packed into a single array using the current method.
+	 * The <tt>i</tt>th input is the bytes from <tt>offsets[i]</tt> (inclusive) to <tt>offsets[i + 1]</tt>
+	 * (exclusive), so there is one offset more than there are inputs.
+	 * @param data the array containing the inputs one after another.
+	 * @param offsets the offsets of the inputs in <tt>data</tt>, followed by the end of the last one.
+	 * @return an array containing the hashes one after another, the <tt>i</tt>th hash starting
+	 * at <tt>i * getDigestLength()</tt>.
+	 * @throws IllegalArgumentException if <tt>offsets</tt> is empty or decreasing.
+	 * @throws IndexOutOfBoundsException if any of the offsets is out of the bounds of <tt>data</tt>.
+	 */
+	public @Nonnull byte[] computeAll(@Nonnull byte[] data, @Nonnull int[] offsets) {
+		return computeAll(data, offsets, false);
+	}
+	
+	/**
+	 * Generates the hashes of many inputs packed into a single array using the current method,
+	 * optionally splitting the work between the threads of the common pool.
+	 * @param data the array containing the inputs one after another.
+	 * @param offsets the offsets of the inputs in <tt>data</tt>, followed by the end of the last one.
+	 * @param parallel whether the work should be split between threads. Only large batches are split.
+	 * @return an array containing the hashes one after another, the <tt>i</tt>th hash starting
+	 * at <tt>i * getDigestLength()</tt>.
+	 * @throws IllegalArgumentException if <tt>offsets</tt> is empty or decreasing.
+	 * @throws IndexOutOfBoundsException if any of the offsets is out of the bounds of <tt>data</tt>.
+	 * @see Hash#computeAll(byte[], int[])
+	 */
+	public @Nonnull byte[] computeAll(@Nonnull byte[] data, @Nonnull int[] offsets, boolean parallel) {
+		if (offsets.length == 0)
+			throw new IllegalArgumentException("offsets is empty");
+		
+		if (offsets[0] < 0 || offsets[offsets.length - 1] > data.length)
+			throw new IndexOutOfBoundsException("offsets are out of the bounds of data");
+		
+		for (int i = 1; i < offsets.length; i++)
+			if (offsets[i] < offsets[i - 1])
+				throw new IllegalArgumentException("offsets are decreasing");
+		
+		return computeAll(offsets.length - 1, parallel,
+			(hasher, i) -> hasher.update(data, offsets[i], offsets[i + 1] - offsets[i]));
+	}
+	
+	/**
+	 * Hashes a batch of inputs into a single array.
+	 * @param count the number of inputs.
+	 * @param parallel whether the work should be split between threads.
+	 * @param input feeds the <tt>i</tt>th input into a hasher.
+	 */
+	private byte[] computeAll(int count, boolean parallel, ObjIntConsumer<Hasher> input) {
+		byte[] output = new byte[Math.multiplyExact(count, this.digestLength)];
+		if (parallel && count > PARALLEL_BLOCK) {
+			IntStream.range(0, (count + PARALLEL_BLOCK - 1) / PARALLEL_BLOCK).parallel().forEach(block ->
+				computeAll(block * PARALLEL_BLOCK, Math.min(count, (block + 1) * PARALLEL_BLOCK), input, output));
+		} else {
+			computeAll(0, count, input, output);
+		}
+		
+		return output;
+	}
+	
+	private void computeAll(int from, int to, ObjIntConsumer<Hasher> input, byte[] output) {
+		Hasher hasher = hasher();
+		for (int i = from; i < to; i++) {
+			input.accept(hasher, i);
+			hasher.digestInto(output, i * this.digestLength);
+		}
+	}
+	
+	/**
+	 * Generates the hash of a file using the current method. The file is mapped into memory
+	 * window by window, so its contents never get copied onto the heap.
+	 * @param path the path to the file.
+	 * @return a byte array representing the hash of the file.
+	 * @throws IOException if the file can't be read.
+	 * @see Hasher#update(FileChannel, long, long)
+	 */
+	public @Nonnull byte[] computeFile(@Nonnull Path path) throws IOException {
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			return computeFile(channel, 0L, channel.size());
+		}
+	}
+	
+	/**
+	 * Generates the hash of a region of a file using the current method.
+	 * The channel's position is not changed.
+	 * @param channel the channel of the file.
+	 * @param position the position in the file at which the region starts.
+	 * @param length the length of the region.
+	 * @return a byte array representing the hash of the region.
+	 * @throws IOException if the file can't be read.
+	 * @throws EOFException if the region ends beyond the end of the file.
+	 * @throws IllegalArgumentException if <tt>position</tt> or <tt>length</tt> is negative.
+	 * @see Hasher#update(FileChannel, long, long)
+	 */
+	public @Nonnull byte[] computeFile(@Nonnull FileChannel channel, long position, long length) throws IOException {
+		return hasher().update(channel, position, length).digest();
+	}
+	
+	/**
+	 * Returns the {@link Hasher} of the calling thread, reset to its initial state.
+	 * The returned hasher is reused by every call on the same thread, including
+	 * the {@code compute} methods, so it must not be shared with other threads or kept
+	 * across such calls. Use {@link Hash#newHasher()} to get a hasher of your own.
+	 * @return the {@link Hasher} of the calling thread.
+	 */
+	public @Nonnull Hasher hasher() {
+		return this.hashers.get().reset();
+	}
+	
+	/**
+	 * Makes a new independent {@link Hasher} using the current method.
+	 * @return a new {@link Hasher}.
+	 */
+	public @Nonnull Hasher newHasher() {
+		return new DigestHasher(this, newDigest());
+	}
+	
+	/**
+	 * Makes a new {@link MessageDigest} for the current method, cloning the prototype if possible.
+	 * @return a new {@link MessageDigest} in its initial state.
+	 */
+	private MessageDigest newDigest() {
+		MessageDigest prototype = this.prototype;
+		if (prototype == null)
+			this.prototype = prototype = getDigest(this.method);
+		
 		try {
-			digest = MessageDigest.getInstance(method);
+			return (MessageDigest) prototype.clone();
+		} catch (CloneNotSupportedException exception) {
+			return getDigest(this.method);
+		}
+	}
+	
+	private static MessageDigest getDigest(String method) {
+		try {
+			return MessageDigest.getInstance(method);
 		} catch (NoSuchAlgorithmException exception) {
-			throw new RuntimeException("This shouldn't happen...");
+			throw new RuntimeException("This shouldn't happen...", exception);
+		}
+	}
+	
+	/**
+	 * An incremental hashing session. The data is fed in chunks with the {@code update}
+	 * methods, and the hash is taken with {@link Hasher#digest()} or
+	 * {@link Hasher#digestInto(byte[], int)}, which also reset the hasher, so it can be reused.<br>
+	 * <br>
+	 * A hasher is not thread-safe.
+	 * @see Hash#hasher()
+	 * @see Hash#newHasher()
+	 */
+	public static abstract class Hasher {
+		
+		private static final int BUFFER_SIZE = 8192;
+		
+		/**
+		 * The size of the regions of a file mapped into memory at once.
+		 */
+		private static final long MAP_WINDOW = 64L << 20;
+		
+		/**
+		 * The size of the direct buffer used for files that can't be mapped.
+		 */
+		private static final int DIRECT_BUFFER_SIZE = 1 << 20;
+		
+		private final Hash hash;
+		
+		/**
+		 * The buffer used for reading streams and encoding strings, allocated when it's needed for the first time.
+		 */
+		private byte[] buffer;
+		
+		/**
+		 * The buffer the hash is completed into when it isn't written into an array, allocated when
+		 * it's needed for the first time.
+		 */
+		private byte[] output;
+		
+		/**
+		 * The encoder used for strings in charsets other than UTF-8.
+		 */
+		private CharsetEncoder encoder;
+		
+		/**
+		 * The buffer used for reading files that can't be mapped, allocated when it's needed for the first time.
+		 */
+		private ByteBuffer directBuffer;
+		
+		Hasher(Hash hash) {
+			this.hash = hash;
+		}
+		
+		/**
+		 * Returns the method this hasher uses.
+		 * @return the method this hasher uses.
+		 */
+		public @Nonnull Hash getHash() {
+			return this.hash;
+		}
+		
+		/**
+		 * Updates the hash with the given byte array.
+		 * @param array the bytes to be hashed.
+		 * @return this hasher.
+		 */
+		public @Nonnull Hasher update(@Nonnull byte[] array) {
+			return update(array, 0, array.length);
+		}
+		
+		/**
+		 * Updates the hash with <tt>length</tt> bytes of the given byte array, starting at <tt>offset</tt>.
+		 * @param array the bytes to be hashed.
+		 * @param offset the index of the first byte to be hashed.
+		 * @param length the number of bytes to be hashed.
+		 * @return this hasher.
+		 * @throws IndexOutOfBoundsException if the range is out of the array's bounds.
+		 */
+		public abstract @Nonnull Hasher update(@Nonnull byte[] array, int offset, int length);
+		
+		/**
+		 * Updates the hash with the remaining bytes of the given buffer.
+		 * Upon return, the buffer's position will be equal to its limit.
+		 * @param buffer the bytes to be hashed.
+		 * @return this hasher.
+		 */
+		public abstract @Nonnull Hasher update(@Nonnull ByteBuffer buffer);
+		
+		/**
+		 * Updates the hash with everything that can be read from the given stream.
+		 * The stream is read to the end, but not closed.
+		 * @param stream the stream to be hashed.
+		 * @return this hasher.
+		 * @throws IOException if the stream throws one.
+		 */
+		public @Nonnull Hasher update(@Nonnull InputStream stream) throws IOException {
+			byte[] buffer = buffer();
+			int read;
+			while ((read = stream.read(buffer)) != -1)
+				update(buffer, 0, read);
+			
+			return this;
+		}
+		
+		/**
+		 * Updates the hash with the bytes of a {@link CharSequence} in the given charset.
+		 * The result is the same as with {@link String#getBytes(Charset)}, but the bytes are encoded
+		 * into a buffer owned by this hasher, so the whole value is never copied into a new array.
+		 * @param value the value to be hashed.
+		 * @param charset the charset to be used for extracting bytes from {@code value},
+		 * UTF-8 if <tt>null</tt>.
+		 * @return this hasher.
+		 */
+		public @Nonnull Hasher update(@Nonnull CharSequence value, @Nullable Charset charset) {
+			if (charset == null || charset.equals(StandardCharsets.UTF_8))
+				return updateUtf8(value);
+			
+			CharsetEncoder encoder = this.encoder;
+			if (encoder == null || !encoder.charset().equals(charset)) {
+				this.encoder = encoder = charset.newEncoder()
+					.onMalformedInput(CodingErrorAction.REPLACE)
+					.onUnmappableCharacter(CodingErrorAction.REPLACE);
+			}
+			
+			byte[] buffer = buffer();
+			ByteBuffer out = ByteBuffer.wrap(buffer);
+			CharBuffer in = CharBuffer.wrap(value);
+			encoder.reset();
+			
+			boolean flushing = false;
+			while (true) {
+				CoderResult result = flushing? encoder.flush(out): encoder.encode(in, out, true);
+				update(buffer, 0, out.position());
+				out.clear();
+				
+				if (result.isUnderflow()) {
+					if (flushing)
+						return this;
+					
+					flushing = true;
+				}
+			}
+		}
+		
+		/**
+		 * Encodes a {@link CharSequence} in UTF-8, the same way {@link String#getBytes(Charset)} does.
+		 */
+		private Hasher updateUtf8(CharSequence value) {
+			byte[] buffer = buffer();
+			int length = value.length();
+			int position = 0;
+			for (int i = 0; i < length; i++) {
+				if (position > buffer.length - 4) {
+					update(buffer, 0, position);
+					position = 0;
+				}
+				
+				char c = value.charAt(i);
+				if (c < 0x80) {
+					buffer[position++] = (byte) c;
+				} else if (c < 0x800) {
+					buffer[position++] = (byte) (0xC0 | c >> 6);
+					buffer[position++] = (byte) (0x80 | c & 0x3F);
+				} else if (Character.isSurrogate(c)) {
+					char low;
+					if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(low = value.charAt(i + 1))) {
+						int codePoint = Character.toCodePoint(c, low);
+						buffer[position++] = (byte) (0xF0 | codePoint >> 18);
+						buffer[position++] = (byte) (0x80 | codePoint >> 12 & 0x3F);
+						buffer[position++] = (byte) (0x80 | codePoint >> 6 & 0x3F);
+						buffer[position++] = (byte) (0x80 | codePoint & 0x3F);
+						i++;
+					} else {
+						buffer[position++] = '?';
+					}
+				} else {
+					buffer[position++] = (byte) (0xE0 | c >> 12);
+					buffer[position++] = (byte) (0x80 | c >> 6 & 0x3F);
+					buffer[position++] = (byte) (0x80 | c & 0x3F);
+				}
+			}
+			
+			return update(buffer, 0, position);
+		}
+		
+		private byte[] buffer() {
+			if (this.buffer == null)
+				this.buffer = new byte[BUFFER_SIZE];
+			
+			return this.buffer;
+		}
+		
+		private byte[] output() {
+			if (this.output == null)
+				this.output = new byte[this.hash.getDigestLength()];
+			
+			return this.output;
+		}
+		
+		/**
+		 * Updates the hash with a region of a file. The region is mapped into memory in windows
+		 * which are fed straight into the hash; if the file can't be mapped, it is read through
+		 * a direct buffer instead. Either way, the contents of the file are not copied onto the heap.
+		 * The channel's position is not changed.
+		 * @param channel the channel of the file.
+		 * @param position the position in the file at which the region starts.
+		 * @param length the length of the region.
+		 * @return this hasher.
+		 * @throws IOException if the file can't be read.
+		 * @throws EOFException if the region ends beyond the end of the file.
+		 * @throws IllegalArgumentException if <tt>position</tt> or <tt>length</tt> is negative.
+		 */
+		public @Nonnull Hasher update(@Nonnull FileChannel channel, long position, long length) throws IOException {
+			if (position < 0L || length < 0L)
+				throw new IllegalArgumentException("position or length is negative");
+			
+			long end = position + length;
+			if (end > channel.size())
+				throw new EOFException("the region ends beyond the end of the file");
+			
+			while (position < end) {
+				long window = Math.min(end - position, MAP_WINDOW);
+				MappedByteBuffer mapped;
+				try {
+					mapped = channel.map(FileChannel.MapMode.READ_ONLY, position, window);
+				} catch (IOException | UnsupportedOperationException exception) {
+					return updateDirect(channel, position, end);
+				}
+				
+				update(mapped);
+				position += window;
+			}
+			
+			return this;
+		}
+		
+		/**
+		 * Updates the hash with a region of a file, reading it through a direct buffer.
+		 */
+		private Hasher updateDirect(FileChannel channel, long position, long end) throws IOException {
+			if (this.directBuffer == null)
+				this.directBuffer = ByteBuffer.allocateDirect(DIRECT_BUFFER_SIZE);
+			
+			ByteBuffer buffer = this.directBuffer;
+			while (position < end) {
+				buffer.clear();
+				buffer.limit((int) Math.min(end - position, buffer.capacity()));
+				
+				int read = channel.read(buffer, position);
+				if (read == -1)
+					throw new EOFException("the region ends beyond the end of the file");
+				
+				buffer.flip();
+				update(buffer);
+				position += read;
+			}
+			
+			return this;
+		}
+		
+		/**
+		 * Completes the hash and writes it into <tt>output</tt>, starting at <tt>offset</tt>.
+		 * The hasher is reset afterwards.
+		 * @param output the array to write the hash into.
+		 * @param offset the index at which the hash should start.
+		 * @return the number of bytes written, which is {@link Hash#getDigestLength()}.
+		 * @throws IndexOutOfBoundsException if the hash doesn't fit into <tt>output</tt>.
+		 */
+		public abstract int digestInto(@Nonnull byte[] output, int offset);
+		
+		/**
+		 * Completes the hash and returns it in a new array. The hasher is reset afterwards.
+		 * @return a byte array representing the hash.
+		 */
+		public @Nonnull byte[] digest() {
+			byte[] result = new byte[this.hash.getDigestLength()];
+			digestInto(result, 0);
+			return result;
+		}
+		
+		/**
+		 * Completes the hash and writes it into <tt>output</tt> at its position, which is moved
+		 * after the hash. The hasher is reset afterwards.
+		 * @param output the buffer to write the hash into.
+		 * @return the number of bytes written, which is {@link Hash#getDigestLength()}.
+		 * @throws BufferOverflowException if the hash doesn't fit into <tt>output</tt>.
+		 */
+		public int digestInto(@Nonnull ByteBuffer output) {
+			int length = this.hash.getDigestLength();
+			if (output.remaining() < length)
+				throw new BufferOverflowException();
+			
+			if (output.hasArray()) {
+				digestInto(output.array(), output.arrayOffset() + output.position());
+				output.position(output.position() + length);
+			} else {
+				byte[] result = output();
+				digestInto(result, 0);
+				output.put(result, 0, length);
+			}
+			
+			return length;
+		}
+		
+		/**
+		 * Completes the hash and returns it as a <tt>long</tt>. The hasher is reset afterwards.
+		 * @return the hash as a <tt>long</tt>.
+		 * @see Hash#computeLong(byte[])
+		 */
+		public long digestLong() {
+			byte[] result = output();
+			digestInto(result, 0);
+			
+			long value = 0L;
+			for (int i = 0; i < Long.BYTES; i++)
+				value = value << Byte.SIZE | (result[i] & 0xFF);
+			
+			return value;
+		}
+		
+		/**
+		 * Completes the hash and returns it as an <tt>int</tt>. The hasher is reset afterwards.
+		 * @return the hash as an <tt>int</tt>.
+		 * @see Hash#computeInt(byte[])
+		 */
+		public int digestInt() {
+			return (int) (digestLong() >>> 32);
+		}
+		
+		/**
+		 * Completes the hash and returns it in lower case hexadecimal. The hasher is reset afterwards.
+		 * @return the hexadecimal hash value.
+		 * @see ByteCodec#toHex(byte[], int, int)
+		 */
+		public @Nonnull String digestHex() {
+			byte[] result = output();
+			digestInto(result, 0);
+			return ByteCodec.toHex(result, 0, this.hash.getDigestLength());
+		}
+		
+		/**
+		 * Resets the hasher, discarding all the data fed into it so far.
+		 * @return this hasher.
+		 */
+		public abstract @Nonnull Hasher reset();
+		
+		void checkOutput(byte[] output, int offset) {
+			if (offset < 0 || output.length - offset < this.hash.getDigestLength())
+				throw new IndexOutOfBoundsException("the hash doesn't fit into the output array");
+		}
+		
+	}
+	
+	/**
+	 * A {@link Hasher} backed by a {@link MessageDigest}.
+	 */
+	private static final class DigestHasher extends Hasher {
+		
+		private final MessageDigest digest;
+		
+		DigestHasher(Hash hash, MessageDigest digest) {
+			super(hash);
+			this.digest = digest;
+		}
+		
+		@Override
+		public @Nonnull Hasher update(@Nonnull byte[] array, int offset, int length) {
+			this.digest.update(array, offset, length);
+			return this;
+		}
+		
+		@Override
+		public @Nonnull Hasher update(@Nonnull ByteBuffer buffer) {
+			this.digest.update(buffer);
+			return this;
+		}
+		
+		@Override
+		public int digestInto(@Nonnull byte[] output, int offset) {
+			checkOutput(output, offset);
+			try {
+				return this.digest.digest(output, offset, output.length - offset);
+			} catch (DigestException exception) {
+				throw new RuntimeException("This shouldn't happen...", exception);
+			}
+		}
+		
+		@Override
+		public @Nonnull Hasher reset() {
+			this.digest.reset();
+			return this;
+		}
+		
+	}
+	
+	/**
+	 * A {@link Hasher} backed by a {@link Checksum}. The hash is the value
+	 * of the checksum in its big-endian <tt>long</tt> representation.
+	 */
+	private static final class ChecksumHasher extends Hasher {
+		
+		/**
+		 * {@code Checksum.update(ByteBuffer)}, or <tt>null</tt> if it's unavailable (Java 8).
+		 */
+		private static final MethodHandle UPDATE_BUFFER;
+		
+		static {
+			MethodHandle updateBuffer;
+			try {
+				updateBuffer = MethodHandles.publicLookup().findVirtual(
+					Checksum.class, "update", MethodType.methodType(void.class, ByteBuffer.class));
+			} catch (ReflectiveOperationException exception) {
+				updateBuffer = null;
+			}
+			
+			UPDATE_BUFFER = updateBuffer;
+		}
+		
+		private final Checksum checksum;
+		
+		/**
+		 * The buffer used for copying direct buffers the checksum can't read by itself.
+		 */
+		private byte[] chunk;
+		
+		ChecksumHasher(Hash hash, Checksum checksum) {
+			super(hash);
+			this.checksum = checksum;
+		}
+		
+		@Override
+		public @Nonnull Hasher update(@Nonnull byte[] array, int offset, int length) {
+			if (offset < 0 || length < 0 || offset > array.length - length)
+				throw new IndexOutOfBoundsException();
+			
+			this.checksum.update(array, offset, length);
+			return this;
+		}
+		
+		@Override
+		public @Nonnull Hasher update(@Nonnull ByteBuffer buffer) {
+			if (buffer.hasArray()) {
+				this.checksum.update(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+				buffer.position(buffer.limit());
+			} else if (this.checksum instanceof CRC32) {
+				((CRC32) this.checksum).update(buffer);
+			} else if (this.checksum instanceof Adler32) {
+				((Adler32) this.checksum).update(buffer);
+			} else if (UPDATE_BUFFER != null) {
+				try {
+					UPDATE_BUFFER.invokeExact(this.checksum, buffer);
+				} catch (Throwable throwable) {
+					throw new RuntimeException("This shouldn't happen...", throwable);
+				}
+			} else {
+				if (this.chunk == null)
+					this.chunk = new byte[Hasher.BUFFER_SIZE];
+				
+				while (buffer.hasRemaining()) {
+					int length = Math.min(buffer.remaining(), this.chunk.length);
+					buffer.get(this.chunk, 0, length);
+					this.checksum.update(this.chunk, 0, length);
+				}
+			}
+			
+			return this;
+		}
+		
+		@Override
+		public int digestInto(@Nonnull byte[] output, int offset) {
+			checkOutput(output, offset);
+			long value = digestLong();
+			
+			for (int i = offset + Long.BYTES - 1; i >= offset; i--) {
+				output[i] = (byte) (value & 0xFF);
+				
+				value >>= Byte.SIZE;
+			}
+			
+			return Long.BYTES;
+		}
+		
+		@Override
+		public long digestLong() {
+			long value = this.checksum.getValue();
+			this.checksum.reset();
+			return value;
+		}
+		
+		@Override
+		public int digestInt() {
+			return (int) digestLong();
+		}
+		
+		@Override
+		public @Nonnull Hasher reset() {
+			this.checksum.reset();
+			return this;
 		}
 		
-		return digest.digest(array);
 	}
 	
 	/**
-	 * Turns a <tt>long</tt> value in its byte representation.
-	 * @param l a value which needs to be represented as a byte array.
-	 * @return a <tt>long</tt> value in its byte representation.
+	 * The CRC-32C (Castagnoli) checksum. {@link java.util.zip.CRC32C} is used when the runtime
+	 * has it (Java 9+), otherwise this table-driven implementation takes its place.
 	 */
-	private static byte[] longToBytes(long l) {
-		byte[] result = new byte[Long.BYTES];
-		for (int i = Long.BYTES - 1; i >= 0; i--) {
-			result[i] = (byte)(l & 0xFF);
+	private static final class CRC32C implements Checksum {
+		
+		/**
+		 * The constructor of {@link java.util.zip.CRC32C}, or <tt>null</tt> if it's unavailable.
+		 */
+		private static final MethodHandle CONSTRUCTOR;
+		
+		/**
+		 * Lookup tables for the slicing-by-8 algorithm.
+		 */
+		private static final int[][] TABLES = new int[8][256];
+		
+		static {
+			MethodHandle constructor;
+			try {
+				constructor = MethodHandles.publicLookup().findConstructor(
+					Class.forName("java.util.zip.CRC32C"), MethodType.methodType(void.class));
+			} catch (ReflectiveOperationException exception) {
+				constructor = null;
+			}
+			
+			CONSTRUCTOR = constructor;
+			
+			for (int i = 0; i < 256; i++) {
+				int crc = i;
+				for (int bit = 0; bit < Byte.SIZE; bit++)
+					crc = (crc & 1) != 0? (crc >>> 1) ^ 0x82F63B78: crc >>> 1;
+				
+				TABLES[0][i] = crc;
+			}
+			
+			for (int i = 0; i < 256; i++)
+				for (int table = 1; table < TABLES.length; table++)
+					TABLES[table][i] = (TABLES[table - 1][i] >>> 8) ^ TABLES[0][TABLES[table - 1][i] & 0xFF];
+		}
+		
+		/**
+		 * The inverted checksum.
+		 */
+		private int crc = ~0;
+		
+		/**
+		 * Makes a new CRC-32C checksum.
+		 * @return {@link java.util.zip.CRC32C} if it's available, a new {@link CRC32C} otherwise.
+		 */
+		static Checksum newChecksum() {
+			if (CONSTRUCTOR != null) {
+				try {
+					return (Checksum) CONSTRUCTOR.invoke();
+				} catch (Throwable throwable) {
+					throw new RuntimeException("This shouldn't happen...", throwable);
+				}
+			}
 			
-			l >>= Byte.SIZE;
+			return new CRC32C();
+		}
+		
+		@Override
+		public void update(int b) {
+			this.crc = (this.crc >>> 8) ^ TABLES[0][(this.crc ^ b) & 0xFF];
+		}
+		
+		@Override
+		public void update(byte[] array, int offset, int length) {
+			int[] t0 = TABLES[0], t1 = TABLES[1], t2 = TABLES[2], t3 = TABLES[3];
+			int[] t4 = TABLES[4], t5 = TABLES[5], t6 = TABLES[6], t7 = TABLES[7];
+			int crc = this.crc;
+			int end = offset + length;
+			
+			for (; end - offset >= Long.BYTES; offset += Long.BYTES) {
+				crc ^= (array[offset] & 0xFF)
+					| (array[offset + 1] & 0xFF) << 8
+					| (array[offset + 2] & 0xFF) << 16
+					| (array[offset + 3] & 0xFF) << 24;
+				
+				crc = t7[crc & 0xFF] ^ t6[(crc >>> 8) & 0xFF] ^ t5[(crc >>> 16) & 0xFF] ^ t4[crc >>> 24]
+					^ t3[array[offset + 4] & 0xFF] ^ t2[array[offset + 5] & 0xFF]
+					^ t1[array[offset + 6] & 0xFF] ^ t0[array[offset + 7] & 0xFF];
+			}
+			
+			for (; offset < end; offset++)
+				crc = (crc >>> 8) ^ t0[(crc ^ array[offset]) & 0xFF];
+			
+			this.crc = crc;
+		}
+		
+		@Override
+		public long getValue() {
+			return ~this.crc & 0xFFFFFFFFL;
+		}
+		
+		@Override
+		public void reset() {
+			this.crc = ~0;
 		}
 		
-		return result;
 	}
-
+	
 }
@@ -0,0 +1,270 @@
+/*
+ * This file is a part of bebralib -- you can get yo copy at https://github.com/antihack3r/bebralib
+ *
+ * This code is free software. It comes without any warranty, to the extent permitted by
+ * applicable law. You can redistribute it and/or modify it under the terms of the
+ * Do What The Fuck You Want To Public License, Version 2, as published by Sam Hocevar.
+ * See http://www.wtfpl.net/ for more details.
+ */
+
+package ru.antihack3r.bebralib.math;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Remembers the hashes of byte arrays and files produced by a {@link Hash},
+ * so that hashing the same data again only costs a lookup.<br>
+ * <br>
+ * Byte arrays are remembered by identity, so an array must not be modified after it's been hashed
+ * through the cache. They are only referenced weakly: the cache never keeps an array from being
+ * garbage collected, and forgets the hash of an array once it is. Files are remembered by their path along with their size and the time
+ * they were last modified; a file whose size or modification time has changed is hashed again.<br>
+ * <br>
+ * The cache holds at most {@link HashCache#getMaxSize()} hashes, dropping the least recently used one
+ * when it's full. Every method can be used from any number of threads at once.
+ */
+public class HashCache {
+	
+	private final Hash hash;
+	private final int maxSize;
+	private final Map<Object, CachedHash> entries;
+	
+	/**
+	 * The keys of the arrays which have been garbage collected, the hashes of which must be dropped.
+	 */
+	private final ReferenceQueue<byte[]> collected = new ReferenceQueue<>();
+	
+	private long hits;
+	private long misses;
+	
+	/**
+	 * Constructs a new {@link HashCache}.
+	 * @param hash the method to generate the hashes with.
+	 * @param maxSize the maximum number of hashes to be remembered.
+	 * @throws IllegalArgumentException if <tt>maxSize</tt> is not positive.
+	 */
+	public HashCache(@Nonnull Hash hash, int maxSize) {
+		if (maxSize <= 0)
+			throw new IllegalArgumentException("maxSize must be positive");
+		
+		this.hash = hash;
+		this.maxSize = maxSize;
+		this.entries = new LinkedHashMap<Object, CachedHash>(16, 0.75F, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Object, CachedHash> eldest) {
+				return this.size() > HashCache.this.maxSize;
+			}
+		};
+	}
+	
+	/**
+	 * Returns the method the hashes are generated with.
+	 * @return the {@link Hash} of this cache.
+	 */
+	public @Nonnull Hash getHash() {
+		return this.hash;
+	}
+	
+	/**
+	 * Returns the maximum number of hashes this cache remembers.
+	 * @return the maximum size of this cache.
+	 */
+	public int getMaxSize() {
+		return this.maxSize;
+	}
+	
+	/**
+	 * Returns the hash of a byte array, generating it only if the same array
+	 * hasn't been hashed through this cache yet.
+	 * @param array a byte array the values of which need to be hashed.
+	 * @return a byte array representing the hash.
+	 */
+	public @Nonnull byte[] compute(@Nonnull byte[] array) {
+		Object key = new IdentityKey(array, this.collected);
+		byte[] cached = this.lookup(key, 0L, 0L);
+		if (cached != null)
+			return cached;
+		
+		byte[] result = this.hash.compute(array);
+		this.store(key, new CachedHash(0L, 0L, result));
+		return result.clone();
+	}
+	
+	/**
+	 * Returns the hash of a file, generating it only if the file hasn't been hashed through
+	 * this cache yet or its size or modification time has changed since.
+	 * @param path the path of the file.
+	 * @return a byte array representing the hash of the file.
+	 * @throws IOException if the file can't be read.
+	 */
+	public @Nonnull byte[] computeFile(@Nonnull Path path) throws IOException {
+		Path key = path.toAbsolutePath().normalize();
+		BasicFileAttributes before = Files.readAttributes(key, BasicFileAttributes.class);
+		byte[] cached = this.lookup(key, before.size(), before.lastModifiedTime().toMillis());
+		if (cached != null)
+			return cached;
+		
+		byte[] result = this.hash.computeFile(key);
+		BasicFileAttributes after = Files.readAttributes(key, BasicFileAttributes.class);
+		if (after.size() == before.size() && after.lastModifiedTime().equals(before.lastModifiedTime()))
+			this.store(key, new CachedHash(before.size(), before.lastModifiedTime().toMillis(), result));
+		
+		return result.clone();
+	}
+	
+	/**
+	 * Makes the cache forget the hash of a byte array.
+	 * @param array the byte array.
+	 */
+	public void invalidate(@Nonnull byte[] array) {
+		synchronized (this) {
+			this.entries.remove(new IdentityKey(array, null));
+		}
+	}
+	
+	/**
+	 * Makes the cache forget the hash of a file.
+	 * @param path the path of the file.
+	 */
+	public void invalidateFile(@Nonnull Path path) {
+		synchronized (this) {
+			this.entries.remove(path.toAbsolutePath().normalize());
+		}
+	}
+	
+	/**
+	 * Makes the cache forget every hash. The counters are left as they are.
+	 */
+	public void clear() {
+		synchronized (this) {
+			this.entries.clear();
+		}
+	}
+	
+	/**
+	 * Returns the number of hashes remembered by this cache.
+	 * @return the number of hashes.
+	 */
+	public int size() {
+		synchronized (this) {
+			this.expunge();
+			return this.entries.size();
+		}
+	}
+	
+	/**
+	 * Returns the number of times a hash was found in the cache.
+	 * @return the number of hits.
+	 */
+	public long getHits() {
+		synchronized (this) {
+			return this.hits;
+		}
+	}
+	
+	/**
+	 * Returns the number of times a hash had to be generated.
+	 * @return the number of misses.
+	 */
+	public long getMisses() {
+		synchronized (this) {
+			return this.misses;
+		}
+	}
+	
+	/**
+	 * Resets the hit and miss counters to zero.
+	 */
+	public void resetCounters() {
+		synchronized (this) {
+			this.hits = 0L;
+			this.misses = 0L;
+		}
+	}
+	
+	private @Nullable byte[] lookup(Object key, long size, long modified) {
+		synchronized (this) {
+			this.expunge();
+			CachedHash cached = this.entries.get(key);
+			if (cached != null && cached.size == size && cached.modified == modified) {
+				this.hits++;
+				return cached.digest.clone();
+			}
+			
+			this.misses++;
+			return null;
+		}
+	}
+	
+	private void store(Object key, CachedHash value) {
+		synchronized (this) {
+			this.expunge();
+			this.entries.put(key, value);
+		}
+	}
+	
+	/**
+	 * Drops the hashes of the arrays which have been garbage collected. Must be called while holding the lock.
+	 */
+	private void expunge() {
+		for (Reference<? extends byte[]> key; (key = this.collected.poll()) != null; )
+			this.entries.remove(key);
+	}
+	
+	private static final class CachedHash {
+		
+		private final long size;
+		private final long modified;
+		private final byte[] digest;
+		
+		private CachedHash(long size, long modified, byte[] digest) {
+			this.size = size;
+			this.modified = modified;
+			this.digest = digest;
+		}
+		
+	}
+	
+	/**
+	 * A weak reference to an array which is equal to the references to the same array.
+	 * Once cleared, it's only equal to itself, so that it can still be removed from the map.
+	 */
+	private static final class IdentityKey extends WeakReference<byte[]> {
+		
+		private final int hash;
+		
+		private IdentityKey(byte[] array, @Nullable ReferenceQueue<byte[]> queue) {
+			super(array, queue);
+			this.hash = System.identityHashCode(array);
+		}
+		
+		@Override
+		public boolean equals(Object o) {
+			if (o == this)
+				return true;
+			
+			if (!(o instanceof IdentityKey))
+				return false;
+			
+			byte[] array = this.get();
+			return array != null && array == ((IdentityKey) o).get();
+		}
+		
+		@Override
+		public int hashCode() {
+			return this.hash;
+		}
+		
+	}
+	
+}
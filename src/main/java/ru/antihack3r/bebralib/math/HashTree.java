@@ -0,0 +1,562 @@
+/*
+ * This file is a part of bebralib -- you can get yo copy at https://github.com/antihack3r/bebralib
+ *
+ * This code is free software. It comes without any warranty, to the extent permitted by
+ * applicable law. You can redistribute it and/or modify it under the terms of the
+ * Do What The Fuck You Want To Public License, Version 2, as published by Sam Hocevar.
+ * See http://www.wtfpl.net/ for more details.
+ */
+
+package ru.antihack3r.bebralib.math;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * A hash tree (Merkle tree) of some data. The data is split into chunks of a fixed size,
+ * which are hashed in parallel on a {@link ForkJoinPool}; the hashes of the chunks (the leaves)
+ * are then combined pairwise into a single root hash.<br>
+ * <br>
+ * A leaf is the hash of the byte {@code 0x00} followed by the chunk, and a node is the hash of
+ * the byte {@code 0x01} followed by the hashes of its children, so a leaf can never be mistaken
+ * for a node. A node without a pair is moved one level up as is. Empty data has a single leaf,
+ * the hash of an empty chunk.<br>
+ * <br>
+ * As the leaves are kept, data that has changed can be checked by hashing only the chunks
+ * that have changed, see {@link HashTree#diff(HashTree)} and {@link HashTree#rehash(FileChannel, int...)}.
+ */
+public final class HashTree {
+	
+	private static final byte[] LEAF_PREFIX = { 0x00 };
+	private static final byte[] NODE_PREFIX = { 0x01 };
+	
+	private final Hash hash;
+	private final int chunkSize;
+	private final long length;
+	
+	/**
+	 * The leaves, one after another.
+	 */
+	private final byte[] leaves;
+	private final byte[] root;
+	
+	private HashTree(Hash hash, int chunkSize, long length, byte[] leaves) {
+		this.hash = hash;
+		this.chunkSize = chunkSize;
+		this.length = length;
+		this.leaves = leaves;
+		this.root = combine(hash, leaves);
+	}
+	
+	/**
+	 * Builds the hash tree of a byte array in the common pool.
+	 * @param hash the method used for hashing.
+	 * @param array the data.
+	 * @param chunkSize the size of a chunk, in bytes.
+	 * @return the hash tree of the data.
+	 * @throws IllegalArgumentException if <tt>chunkSize</tt> is not positive.
+	 */
+	public static @Nonnull HashTree compute(@Nonnull Hash hash, @Nonnull byte[] array, int chunkSize) {
+		return compute(hash, array, chunkSize, ForkJoinPool.commonPool());
+	}
+	
+	/**
+	 * Builds the hash tree of a byte array.
+	 * @param hash the method used for hashing.
+	 * @param array the data.
+	 * @param chunkSize the size of a chunk, in bytes.
+	 * @param pool the pool in which the chunks are hashed.
+	 * @return the hash tree of the data.
+	 * @throws IllegalArgumentException if <tt>chunkSize</tt> is not positive.
+	 */
+	public static @Nonnull HashTree compute(@Nonnull Hash hash, @Nonnull byte[] array, int chunkSize, @Nonnull ForkJoinPool pool) {
+		return compute(hash, ByteBuffer.wrap(array), chunkSize, pool);
+	}
+	
+	/**
+	 * Builds the hash tree of the remaining bytes of a buffer in the common pool.
+	 * The buffer's position is not changed.
+	 * @param hash the method used for hashing.
+	 * @param buffer the data.
+	 * @param chunkSize the size of a chunk, in bytes.
+	 * @return the hash tree of the data.
+	 * @throws IllegalArgumentException if <tt>chunkSize</tt> is not positive.
+	 */
+	public static @Nonnull HashTree compute(@Nonnull Hash hash, @Nonnull ByteBuffer buffer, int chunkSize) {
+		return compute(hash, buffer, chunkSize, ForkJoinPool.commonPool());
+	}
+	
+	/**
+	 * Builds the hash tree of the remaining bytes of a buffer.
+	 * The buffer's position is not changed.
+	 * @param hash the method used for hashing.
+	 * @param buffer the data.
+	 * @param chunkSize the size of a chunk, in bytes.
+	 * @param pool the pool in which the chunks are hashed.
+	 * @return the hash tree of the data.
+	 * @throws IllegalArgumentException if <tt>chunkSize</tt> is not positive.
+	 */
+	public static @Nonnull HashTree compute(@Nonnull Hash hash, @Nonnull ByteBuffer buffer, int chunkSize, @Nonnull ForkJoinPool pool) {
+		try {
+			return build(hash, new BufferSource(buffer), chunkSize, pool);
+		} catch (IOException exception) {
+			throw new RuntimeException("This shouldn't happen...", exception);
+		}
+	}
+	
+	/**
+	 * Builds the hash tree of a file in the common pool.
+	 * @param hash the method used for hashing.
+	 * @param path the path to the file.
+	 * @param chunkSize the size of a chunk, in bytes.
+	 * @return the hash tree of the file.
+	 * @throws IOException if the file can't be read.
+	 * @throws IllegalArgumentException if <tt>chunkSize</tt> is not positive.
+	 */
+	public static @Nonnull HashTree compute(@Nonnull Hash hash, @Nonnull Path path, int chunkSize) throws IOException {
+		return compute(hash, path, chunkSize, ForkJoinPool.commonPool());
+	}
+	
+	/**
+	 * Builds the hash tree of a file.
+	 * @param hash the method used for hashing.
+	 * @param path the path to the file.
+	 * @param chunkSize the size of a chunk, in bytes.
+	 * @param pool the pool in which the chunks are hashed.
+	 * @return the hash tree of the file.
+	 * @throws IOException if the file can't be read.
+	 * @throws IllegalArgumentException if <tt>chunkSize</tt> is not positive.
+	 */
+	public static @Nonnull HashTree compute(@Nonnull Hash hash, @Nonnull Path path, int chunkSize, @Nonnull ForkJoinPool pool) throws IOException {
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			return compute(hash, channel, chunkSize, pool);
+		}
+	}
+	
+	/**
+	 * Builds the hash tree of a whole file in the common pool.
+	 * The channel's position is not changed.
+	 * @param hash the method used for hashing.
+	 * @param channel the channel of the file.
+	 * @param chunkSize the size of a chunk, in bytes.
+	 * @return the hash tree of the file.
+	 * @throws IOException if the file can't be read.
+	 * @throws IllegalArgumentException if <tt>chunkSize</tt> is not positive.
+	 */
+	public static @Nonnull HashTree compute(@Nonnull Hash hash, @Nonnull FileChannel channel, int chunkSize) throws IOException {
+		return compute(hash, channel, chunkSize, ForkJoinPool.commonPool());
+	}
+	
+	/**
+	 * Builds the hash tree of a whole file. The channel's position is not changed.
+	 * @param hash the method used for hashing.
+	 * @param channel the channel of the file.
+	 * @param chunkSize the size of a chunk, in bytes.
+	 * @param pool the pool in which the chunks are hashed.
+	 * @return the hash tree of the file.
+	 * @throws IOException if the file can't be read.
+	 * @throws IllegalArgumentException if <tt>chunkSize</tt> is not positive.
+	 */
+	public static @Nonnull HashTree compute(@Nonnull Hash hash, @Nonnull FileChannel channel, int chunkSize, @Nonnull ForkJoinPool pool) throws IOException {
+		return build(hash, new ChannelSource(channel), chunkSize, pool);
+	}
+	
+	/**
+	 * Returns the method used for hashing.
+	 * @return the method used for hashing.
+	 */
+	public @Nonnull Hash getHash() {
+		return this.hash;
+	}
+	
+	/**
+	 * Returns the size of a chunk.
+	 * @return the size of a chunk, in bytes.
+	 */
+	public int getChunkSize() {
+		return this.chunkSize;
+	}
+	
+	/**
+	 * Returns the length of the data.
+	 * @return the length of the data, in bytes.
+	 */
+	public long getLength() {
+		return this.length;
+	}
+	
+	/**
+	 * Returns the number of leaves, which is the number of chunks (but at least one).
+	 * @return the number of leaves.
+	 */
+	public int getLeafCount() {
+		return this.leaves.length / this.hash.getDigestLength();
+	}
+	
+	/**
+	 * Returns the hash of a chunk.
+	 * @param index the index of the chunk.
+	 * @return a new array containing the hash of the <tt>index</tt>th chunk.
+	 * @throws IndexOutOfBoundsException if there is no such chunk.
+	 */
+	public @Nonnull byte[] getLeaf(int index) {
+		if (index < 0 || index >= getLeafCount())
+			throw new IndexOutOfBoundsException("Index: " + index + ", Leaves: " + getLeafCount());
+		
+		int digestLength = this.hash.getDigestLength();
+		return Arrays.copyOfRange(this.leaves, index * digestLength, (index + 1) * digestLength);
+	}
+	
+	/**
+	 * Returns the root hash.
+	 * @return a new array containing the root hash.
+	 */
+	public @Nonnull byte[] getRoot() {
+		return this.root.clone();
+	}
+	
+	/**
+	 * Finds the chunks that differ between this tree and another one.
+	 * A chunk that only one of the trees has counts as differing.
+	 * @param other the other tree.
+	 * @return the indices of the differing chunks, in ascending order.
+	 * @throws IllegalArgumentException if the trees use different methods or chunk sizes.
+	 */
+	public @Nonnull int[] diff(@Nonnull HashTree other) {
+		checkCompatible(other);
+		
+		int digestLength = this.hash.getDigestLength();
+		int common = Math.min(getLeafCount(), other.getLeafCount());
+		int total = Math.max(getLeafCount(), other.getLeafCount());
+		int[] differing = new int[total];
+		int count = 0;
+		for (int i = 0; i < common; i++) {
+			int offset = i * digestLength;
+			for (int j = offset; j < offset + digestLength; j++) {
+				if (this.leaves[j] != other.leaves[j]) {
+					differing[count++] = i;
+					break;
+				}
+			}
+		}
+		
+		for (int i = common; i < total; i++)
+			differing[count++] = i;
+		
+		return Arrays.copyOf(differing, count);
+	}
+	
+	/**
+	 * Checks whether a chunk of a file still has the hash recorded in this tree.
+	 * Only that chunk is read.
+	 * @param channel the channel of the file.
+	 * @param index the index of the chunk.
+	 * @return <tt>true</tt> if the chunk has the same hash, <tt>false</tt> otherwise,
+	 * or if the file has become too short to hold the whole chunk.
+	 * @throws IOException if the file can't be read.
+	 * @throws IndexOutOfBoundsException if there is no such chunk.
+	 */
+	public boolean verify(@Nonnull FileChannel channel, int index) throws IOException {
+		return verify(new ChannelSource(channel), index);
+	}
+	
+	/**
+	 * Checks whether a chunk of the remaining bytes of a buffer still has the hash recorded in this tree.
+	 * Only that chunk is read, and the buffer's position is not changed.
+	 * @param buffer the data.
+	 * @param index the index of the chunk.
+	 * @return <tt>true</tt> if the chunk has the same hash, <tt>false</tt> otherwise,
+	 * or if the data has become too short to hold the whole chunk.
+	 * @throws IndexOutOfBoundsException if there is no such chunk.
+	 */
+	public boolean verify(@Nonnull ByteBuffer buffer, int index) {
+		try {
+			return verify(new BufferSource(buffer), index);
+		} catch (IOException exception) {
+			throw new RuntimeException("This shouldn't happen...", exception);
+		}
+	}
+	
+	/**
+	 * Builds the hash tree of a file that has changed since this tree was built, in the common pool.
+	 * Only the given chunks are hashed, the others are taken from this tree. If the length
+	 * of the file has changed, the chunks after the last common one are hashed as well.
+	 * @param channel the channel of the file.
+	 * @param chunks the indices of the chunks that have changed.
+	 * @return the hash tree of the changed file.
+	 * @throws IOException if the file can't be read.
+	 * @throws IndexOutOfBoundsException if any of the chunks is beyond the end of the file.
+	 */
+	public @Nonnull HashTree rehash(@Nonnull FileChannel channel, @Nonnull int... chunks) throws IOException {
+		return rehash(new ChannelSource(channel), chunks, ForkJoinPool.commonPool());
+	}
+	
+	/**
+	 * Builds the hash tree of the remaining bytes of a buffer that have changed since this tree
+	 * was built, in the common pool. Only the given chunks are hashed, the others are taken from
+	 * this tree. If the length of the data has changed, the chunks after the last common one
+	 * are hashed as well. The buffer's position is not changed.
+	 * @param buffer the data.
+	 * @param chunks the indices of the chunks that have changed.
+	 * @return the hash tree of the changed data.
+	 * @throws IndexOutOfBoundsException if any of the chunks is beyond the end of the data.
+	 */
+	public @Nonnull HashTree rehash(@Nonnull ByteBuffer buffer, @Nonnull int... chunks) {
+		try {
+			return rehash(new BufferSource(buffer), chunks, ForkJoinPool.commonPool());
+		} catch (IOException exception) {
+			throw new RuntimeException("This shouldn't happen...", exception);
+		}
+	}
+	
+	/**
+	 * Builds the hash tree of a byte array that has changed since this tree was built,
+	 * in the common pool. Only the given chunks are hashed, the others are taken from this tree.
+	 * If the length of the data has changed, the chunks after the last common one are hashed as well.
+	 * @param array the data.
+	 * @param chunks the indices of the chunks that have changed.
+	 * @return the hash tree of the changed data.
+	 * @throws IndexOutOfBoundsException if any of the chunks is beyond the end of the data.
+	 */
+	public @Nonnull HashTree rehash(@Nonnull byte[] array, @Nonnull int... chunks) {
+		return rehash(ByteBuffer.wrap(array), chunks);
+	}
+	
+	private void checkCompatible(HashTree other) {
+		if (this.hash != other.hash || this.chunkSize != other.chunkSize)
+			throw new IllegalArgumentException("the trees use different methods or chunk sizes");
+	}
+	
+	private boolean verify(Source source, int index) throws IOException {
+		if (index < 0 || index >= getLeafCount())
+			throw new IndexOutOfBoundsException("Index: " + index + ", Leaves: " + getLeafCount());
+		
+		long length = source.length();
+		long position = (long) index * this.chunkSize;
+		if (length - position < Math.min(this.chunkSize, this.length - position))
+			return false;
+		
+		int digestLength = this.hash.getDigestLength();
+		byte[] leaf = new byte[digestLength];
+		hashLeaf(this.hash.hasher(), source, length, this.chunkSize, index, leaf, 0);
+		
+		for (int i = 0; i < digestLength; i++)
+			if (leaf[i] != this.leaves[index * digestLength + i])
+				return false;
+		
+		return true;
+	}
+	
+	private HashTree rehash(Source source, int[] chunks, ForkJoinPool pool) throws IOException {
+		long length = source.length();
+		int digestLength = this.hash.getDigestLength();
+		int leafCount = leafCount(length, this.chunkSize, digestLength);
+		byte[] leaves = Arrays.copyOf(this.leaves, leafCount * digestLength);
+		
+		boolean[] changed = new boolean[leafCount];
+		for (int index: chunks) {
+			if (index < 0 || index >= leafCount)
+				throw new IndexOutOfBoundsException("Index: " + index + ", Leaves: " + leafCount);
+			
+			changed[index] = true;
+		}
+		
+		if (length != this.length)
+			Arrays.fill(changed, Math.min(getLeafCount(), leafCount) - 1, leafCount, true);
+		
+		int[] indices = new int[leafCount];
+		int count = 0;
+		for (int index = 0; index < leafCount; index++)
+			if (changed[index])
+				indices[count++] = index;
+		
+		run(pool, new LeafTask(this.hash, source, length, this.chunkSize, indices, 0, count, leaves));
+		return new HashTree(this.hash, this.chunkSize, length, leaves);
+	}
+	
+	private static HashTree build(Hash hash, Source source, int chunkSize, ForkJoinPool pool) throws IOException {
+		if (chunkSize <= 0)
+			throw new IllegalArgumentException("chunkSize is not positive");
+		
+		long length = source.length();
+		int leafCount = leafCount(length, chunkSize, hash.getDigestLength());
+		byte[] leaves = new byte[leafCount * hash.getDigestLength()];
+		
+		run(pool, new LeafTask(hash, source, length, chunkSize, null, 0, leafCount, leaves));
+		return new HashTree(hash, chunkSize, length, leaves);
+	}
+	
+	/**
+	 * Counts the leaves of data of the given length, making sure they all fit in one array,
+	 * so the offset of any leaf can be computed in an <tt>int</tt>.
+	 */
+	private static int leafCount(long length, int chunkSize, int digestLength) {
+		long count = Math.max(1L, (length + chunkSize - 1) / chunkSize);
+		if (count > Integer.MAX_VALUE / digestLength)
+			throw new IllegalArgumentException("too many chunks, the chunk size is too small");
+		
+		return (int) count;
+	}
+	
+	private static void run(ForkJoinPool pool, LeafTask task) throws IOException {
+		try {
+			pool.invoke(task);
+		} catch (UncheckedIOException exception) {
+			throw exception.getCause();
+		}
+	}
+	
+	/**
+	 * Hashes a chunk of the source into a leaf.
+	 */
+	private static void hashLeaf(Hash.Hasher hasher, Source source, long length, int chunkSize, int index, byte[] output, int offset) throws IOException {
+		long position = (long) index * chunkSize;
+		
+		hasher.update(LEAF_PREFIX);
+		source.update(hasher, position, (int) Math.min(chunkSize, length - position));
+		hasher.digestInto(output, offset);
+	}
+	
+	/**
+	 * Combines the leaves into the root hash.
+	 */
+	private static byte[] combine(Hash hash, byte[] leaves) {
+		int digestLength = hash.getDigestLength();
+		int count = leaves.length / digestLength;
+		if (count == 1)
+			return leaves.clone();
+		
+		Hash.Hasher hasher = hash.hasher();
+		byte[] level = leaves.clone();
+		while (count > 1) {
+			int pairs = count / 2;
+			for (int i = 0; i < pairs; i++) {
+				hasher.update(NODE_PREFIX).update(level, 2 * i * digestLength, 2 * digestLength);
+				hasher.digestInto(level, i * digestLength);
+			}
+			
+			if (count % 2 != 0)
+				System.arraycopy(level, (count - 1) * digestLength, level, pairs * digestLength, digestLength);
+			
+			count = pairs + count % 2;
+		}
+		
+		return Arrays.copyOf(level, digestLength);
+	}
+	
+	/**
+	 * Hashes a range of chunks, splitting it in halves until it's a single chunk.
+	 */
+	private static final class LeafTask extends RecursiveAction {
+		
+		private static final long serialVersionUID = 1L;
+		
+		private final Hash hash;
+		private final Source source;
+		private final long length;
+		private final int chunkSize;
+		
+		/**
+		 * The indices of the chunks to hash, or <tt>null</tt> to hash the chunks <tt>from</tt> to <tt>to</tt>.
+		 */
+		private final int[] indices;
+		private final int from, to;
+		private final byte[] leaves;
+		
+		LeafTask(Hash hash, Source source, long length, int chunkSize, int[] indices, int from, int to, byte[] leaves) {
+			this.hash = hash;
+			this.source = source;
+			this.length = length;
+			this.chunkSize = chunkSize;
+			this.indices = indices;
+			this.from = from;
+			this.to = to;
+			this.leaves = leaves;
+		}
+		
+		@Override
+		protected void compute() {
+			if (this.to - this.from > 1) {
+				int middle = (this.from + this.to) >>> 1;
+				invokeAll(
+					new LeafTask(this.hash, this.source, this.length, this.chunkSize, this.indices, this.from, middle, this.leaves),
+					new LeafTask(this.hash, this.source, this.length, this.chunkSize, this.indices, middle, this.to, this.leaves));
+				return;
+			}
+			
+			if (this.to == this.from)
+				return;
+			
+			int index = this.indices == null? this.from: this.indices[this.from];
+			try {
+				hashLeaf(this.hash.hasher(), this.source, this.length, this.chunkSize, index, this.leaves, index * this.hash.getDigestLength());
+			} catch (IOException exception) {
+				throw new UncheckedIOException(exception);
+			}
+		}
+		
+	}
+	
+	/**
+	 * The data a tree is built of. Chunks of it can be read by many threads at once.
+	 */
+	private interface Source {
+		
+		long length() throws IOException;
+		
+		void update(Hash.Hasher hasher, long position, int length) throws IOException;
+		
+	}
+	
+	private static final class BufferSource implements Source {
+		
+		private final ByteBuffer buffer;
+		
+		BufferSource(ByteBuffer buffer) {
+			this.buffer = buffer;
+		}
+		
+		@Override
+		public long length() {
+			return this.buffer.remaining();
+		}
+		
+		@Override
+		public void update(Hash.Hasher hasher, long position, int length) {
+			ByteBuffer chunk = this.buffer.duplicate();
+			int start = this.buffer.position() + (int) position;
+			chunk.limit(start + length).position(start);
+			hasher.update(chunk);
+		}
+		
+	}
+	
+	private static final class ChannelSource implements Source {
+		
+		private final FileChannel channel;
+		
+		ChannelSource(FileChannel channel) {
+			this.channel = channel;
+		}
+		
+		@Override
+		public long length() throws IOException {
+			return this.channel.size();
+		}
+		
+		@Override
+		public void update(Hash.Hasher hasher, long position, int length) throws IOException {
+			hasher.update(this.channel, position, length);
+		}
+		
+	}
+	
+}
@@ -0,0 +1,242 @@
+/*
+ * This file is a part of bebralib -- you can get yo copy at https://github.com/antihack3r/bebralib
+ *
+ * This code is free software. It comes without any warranty, to the extent permitted by
+ * applicable law. You can redistribute it and/or modify it under the terms of the
+ * Do What The Fuck You Want To Public License, Version 2, as published by Sam Hocevar.
+ * See http://www.wtfpl.net/ for more details.
+ */
+
+package ru.antihack3r.bebralib.misc;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.NoSuchElementException;
+
+/**
+ * A stack for use inside a single thread, with the same contract as {@link Stack}.
+ * The elements are kept in an array with the top of the stack at its end,
+ * so pushing and popping take amortized constant time.
+ * @param <T> The element type for the stack.
+ */
+public class ArrayStack<T> {
+	
+	private static final Object[] EMPTY = {};
+	
+	/**
+	 * The elements of the stack, the bottom at index 0 and the top at <tt>size - 1</tt>.
+	 */
+	private Object[] elements;
+	private int size;
+	
+	/**
+	 * Constructs a new empty {@link ArrayStack}.
+	 */
+	public ArrayStack() {
+		this.elements = EMPTY;
+	}
+	
+	/**
+	 * Constructs a new empty {@link ArrayStack} which can hold <tt>initialCapacity</tt>
+	 * elements before it has to grow.
+	 * @param initialCapacity the initial capacity of the stack.
+	 * @throws IllegalArgumentException if <tt>initialCapacity</tt> is negative.
+	 */
+	public ArrayStack(int initialCapacity) {
+		if (initialCapacity < 0)
+			throw new IllegalArgumentException("Illegal Capacity: " + initialCapacity);
+		
+		this.elements = initialCapacity == 0? EMPTY: new Object[initialCapacity];
+	}
+	
+	/**
+	 * Constructs a new {@link ArrayStack}, containing elements of the specified collection,
+	 * in the order that they are in the specified collection.
+	 */
+	public ArrayStack(@Nonnull Collection<T> initialElements) {
+		this.elements = reversed(initialElements.toArray());
+		this.size = this.elements.length;
+	}
+	
+	/**
+	 * Constructs a new {@link ArrayStack}, containing elements of the specified array,
+	 * in the order that they are in the specified array.
+	 */
+	public ArrayStack(@Nonnull T[] initialElements) {
+		this.elements = reversed(initialElements);
+		this.size = this.elements.length;
+	}
+	
+	private static Object[] reversed(Object[] array) {
+		int length = array.length;
+		Object[] result = length == 0? EMPTY: new Object[length];
+		for (int i = 0; i < length; i++)
+			result[i] = array[length - 1 - i];
+		
+		return result;
+	}
+	
+	/**
+	 * Pushes the given element onto the top of the stack.
+	 * @param thing the element that must be pushed to the top of the stack.
+	 */
+	public void push(@Nullable T thing) {
+		if (this.size == this.elements.length)
+			this.grow(this.size + 1);
+		
+		this.elements[this.size++] = thing;
+	}
+	
+	/**
+	 * Pushes the elements of the given array onto the stack, one by one,
+	 * so that the last element of the array ends up at the top.
+	 * @param things the elements that must be pushed onto the stack.
+	 */
+	public void pushAll(@Nonnull T[] things) {
+		this.ensureCapacity(this.size + things.length);
+		System.arraycopy(things, 0, this.elements, this.size, things.length);
+		this.size += things.length;
+	}
+	
+	/**
+	 * Pushes the elements of the given collection onto the stack, one by one,
+	 * in the order of its iterator, so that the last element ends up at the top.
+	 * @param things the elements that must be pushed onto the stack.
+	 */
+	public void pushAll(@Nonnull Collection<? extends T> things) {
+		Object[] array = things.toArray();
+		this.ensureCapacity(this.size + array.length);
+		System.arraycopy(array, 0, this.elements, this.size, array.length);
+		this.size += array.length;
+	}
+	
+	/**
+	 * Pops the top-most element off the stack and returns it.
+	 * @return the top of the stack.
+	 * @throws NoSuchElementException if the stack is empty.
+	 */
+	@SuppressWarnings("unchecked")
+	public @Nullable T pop() {
+		if (this.size == 0)
+			throw new NoSuchElementException();
+		
+		T thing = (T) this.elements[--this.size];
+		this.elements[this.size] = null;
+		return thing;
+	}
+	
+	/**
+	 * Pops <tt>count</tt> elements off the stack into <tt>output</tt>, in the order they are popped,
+	 * so the former top of the stack ends up at index 0.
+	 * @param output the array to write the elements into.
+	 * @param count the number of elements to be popped.
+	 * @throws NoSuchElementException if the stack has fewer than <tt>count</tt> elements.
+	 * @throws IndexOutOfBoundsException if <tt>count</tt> is negative or greater than the length of <tt>output</tt>.
+	 */
+	@SuppressWarnings("unchecked")
+	public void popInto(@Nonnull T[] output, int count) {
+		if (count < 0 || count > output.length)
+			throw new IndexOutOfBoundsException("Count: " + count + ", Length: " + output.length);
+		
+		if (count > this.size)
+			throw new NoSuchElementException();
+		
+		for (int i = 0; i < count; i++) {
+			output[i] = (T) this.elements[--this.size];
+			this.elements[this.size] = null;
+		}
+	}
+	
+	/**
+	 * Peeks at an element in the stack.
+	 * @param index the index of the element on the stack (0 represents the top of the stack).
+	 * @return the <tt>index</tt>th element of the stack.
+	 * @throws IndexOutOfBoundsException if <tt>index</tt> is out of this stack's bounds.
+	 * @throws NoSuchElementException if the stack is empty.
+	 */
+	@SuppressWarnings("unchecked")
+	public @Nullable T peek(int index) {
+		if (this.size == 0)
+			throw new NoSuchElementException();
+		
+		if (index < 0 || index >= this.size)
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.size);
+		
+		return (T) this.elements[this.size - 1 - index];
+	}
+	
+	/**
+	 * Peeks at the first element in the stack.
+	 * @return the first element of the stack.
+	 * @throws NoSuchElementException if the stack is empty.
+	 */
+	public @Nullable T top() {
+		return peek(0);
+	}
+	
+	/**
+	 * Peeks at the last element in the stack.
+	 * @return the last element of the stack.
+	 * @throws NoSuchElementException if the stack is empty.
+	 */
+	public @Nullable T bottom() {
+		return peek(this.size - 1);
+	}
+	
+	/**
+	 * Returns <tt>true</tt> if the stack is empty.
+	 * @return <tt>true</tt> if the stack is empty, <tt>false</tt>
+	 * otherwise.
+	 */
+	public boolean isEmpty() {
+		return this.size == 0;
+	}
+	
+	/**
+	 * Returns the size of the stack.
+	 * @return size of the stack.
+	 */
+	public int size() {
+		return this.size;
+	}
+	
+	/**
+	 * Removes every element from the stack. The capacity is left as it is.
+	 */
+	public void clear() {
+		Arrays.fill(this.elements, 0, this.size, null);
+		this.size = 0;
+	}
+	
+	/**
+	 * Makes sure the stack can hold at least <tt>capacity</tt> elements without growing.
+	 * @param capacity the desired capacity.
+	 */
+	public void ensureCapacity(int capacity) {
+		if (capacity > this.elements.length)
+			this.grow(capacity);
+	}
+	
+	/**
+	 * Shrinks the capacity of the stack to its size.
+	 */
+	public void trimToSize() {
+		if (this.size < this.elements.length)
+			this.elements = this.size == 0? EMPTY: Arrays.copyOf(this.elements, this.size);
+	}
+	
+	private void grow(int capacity) {
+		if (capacity < 0)
+			throw new OutOfMemoryError();
+		
+		int length = this.elements.length;
+		int newLength = length + (length >> 1);
+		if (newLength < capacity)
+			newLength = Math.max(capacity, 10);
+		
+		this.elements = Arrays.copyOf(this.elements, newLength);
+	}
+	
+}
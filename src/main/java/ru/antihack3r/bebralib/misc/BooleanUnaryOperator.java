@@ -0,0 +1,39 @@
+/*
+ * This file is a part of bebralib -- you can get yo copy at https://github.com/antihack3r/bebralib
+ *
+ * This code is free software. It comes without any warranty, to the extent permitted by
+ * applicable law. You can redistribute it and/or modify it under the terms of the
+ * Do What The Fuck You Want To Public License, Version 2, as published by Sam Hocevar.
+ * See http://www.wtfpl.net/ for more details.
+ */
+
+package ru.antihack3r.bebralib.misc;
+
+import java.util.function.UnaryOperator;
+
+/**
+ * An operation on a single <tt>boolean</tt>-valued operand that produces a <tt>boolean</tt>-valued result,
+ * which can also be used where a {@link UnaryOperator} of {@link Boolean} is expected.
+ * @see java.util.function.IntUnaryOperator
+ */
+@FunctionalInterface
+public interface BooleanUnaryOperator extends UnaryOperator<Boolean> {
+	
+	/**
+	 * Applies this operator to the given operand.
+	 * @param value the operand.
+	 * @return the result of the operator.
+	 */
+	boolean applyAsBoolean(boolean value);
+	
+	/**
+	 * Applies this operator to the given operand, unboxing it.
+	 * @param value the operand.
+	 * @return the result of the operator.
+	 */
+	@Override
+	default Boolean apply(Boolean value) {
+		return applyAsBoolean(value.booleanValue());
+	}
+	
+}
@@ -0,0 +1,299 @@
+/*
+ * This file is a part of bebralib -- you can get yo copy at https://github.com/antihack3r/bebralib
+ *
+ * This code is free software. It comes without any warranty, to the extent permitted by
+ * applicable law. You can redistribute it and/or modify it under the terms of the
+ * Do What The Fuck You Want To Public License, Version 2, as published by Sam Hocevar.
+ * See http://www.wtfpl.net/ for more details.
+ */
+
+package ru.antihack3r.bebralib.misc;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A thread-safe stack with a fixed capacity, which can be used as a LIFO work queue.
+ * Threads pushing onto a full stack can wait for space with {@link BoundedStack#push(Object)},
+ * and threads popping off an empty one can wait for an element with {@link BoundedStack#take()},
+ * instead of spinning. Unlike {@link Stack}, it doesn't accept <tt>null</tt> elements,
+ * as <tt>null</tt> is what {@link BoundedStack#poll()} returns on an empty stack.
+ * @param <T> The element type for the stack.
+ */
+public class BoundedStack<T> {
+	
+	/**
+	 * The elements of the stack, the bottom at index 0 and the top at <tt>size - 1</tt>.
+	 */
+	private final Object[] elements;
+	private int size;
+	
+	private final ReentrantLock lock;
+	private final Condition notEmpty;
+	private final Condition notFull;
+	
+	/**
+	 * Constructs a new empty {@link BoundedStack}.
+	 * @param capacity the maximum number of elements in the stack.
+	 * @throws IllegalArgumentException if <tt>capacity</tt> is not positive.
+	 */
+	public BoundedStack(int capacity) {
+		this(capacity, false);
+	}
+	
+	/**
+	 * Constructs a new empty {@link BoundedStack}.
+	 * @param capacity the maximum number of elements in the stack.
+	 * @param fair whether the waiting threads should be let through in the order they came.
+	 * @throws IllegalArgumentException if <tt>capacity</tt> is not positive.
+	 */
+	public BoundedStack(int capacity, boolean fair) {
+		if (capacity <= 0)
+			throw new IllegalArgumentException("capacity must be positive");
+		
+		this.elements = new Object[capacity];
+		this.lock = new ReentrantLock(fair);
+		this.notEmpty = this.lock.newCondition();
+		this.notFull = this.lock.newCondition();
+	}
+	
+	/**
+	 * Pushes the given element onto the top of the stack, waiting for space if the stack is full.
+	 * @param thing the element that must be pushed to the top of the stack.
+	 * @throws InterruptedException if the thread is interrupted while waiting.
+	 */
+	public void push(@Nonnull T thing) throws InterruptedException {
+		Objects.requireNonNull(thing);
+		this.lock.lockInterruptibly();
+		try {
+			while (this.size == this.elements.length)
+				this.notFull.await();
+			
+			this.insert(thing);
+		} finally {
+			this.lock.unlock();
+		}
+	}
+	
+	/**
+	 * Pushes the given element onto the top of the stack if there is space for it.
+	 * @param thing the element that must be pushed to the top of the stack.
+	 * @return <tt>true</tt> if the element was pushed, <tt>false</tt> if the stack is full.
+	 */
+	public boolean offer(@Nonnull T thing) {
+		Objects.requireNonNull(thing);
+		this.lock.lock();
+		try {
+			if (this.size == this.elements.length)
+				return false;
+			
+			this.insert(thing);
+			return true;
+		} finally {
+			this.lock.unlock();
+		}
+	}
+	
+	/**
+	 * Pushes the given element onto the top of the stack, waiting up to <tt>timeout</tt>
+	 * for space if the stack is full.
+	 * @param thing the element that must be pushed to the top of the stack.
+	 * @param timeout how long to wait.
+	 * @param unit the unit of <tt>timeout</tt>.
+	 * @return <tt>true</tt> if the element was pushed, <tt>false</tt> if the stack stayed full.
+	 * @throws InterruptedException if the thread is interrupted while waiting.
+	 */
+	public boolean offer(@Nonnull T thing, long timeout, @Nonnull TimeUnit unit) throws InterruptedException {
+		Objects.requireNonNull(thing);
+		long nanos = unit.toNanos(timeout);
+		this.lock.lockInterruptibly();
+		try {
+			while (this.size == this.elements.length) {
+				if (nanos <= 0L)
+					return false;
+				
+				nanos = this.notFull.awaitNanos(nanos);
+			}
+			
+			this.insert(thing);
+			return true;
+		} finally {
+			this.lock.unlock();
+		}
+	}
+	
+	/**
+	 * Pops the top-most element off the stack and returns it.
+	 * @return the top of the stack.
+	 * @throws NoSuchElementException if the stack is empty.
+	 */
+	public @Nonnull T pop() {
+		T thing = this.poll();
+		if (thing == null)
+			throw new NoSuchElementException();
+		
+		return thing;
+	}
+	
+	/**
+	 * Pops the top-most element off the stack and returns it, if there is one.
+	 * @return the top of the stack, <tt>null</tt> if the stack is empty.
+	 */
+	public @Nullable T poll() {
+		this.lock.lock();
+		try {
+			return this.size == 0? null: this.extract();
+		} finally {
+			this.lock.unlock();
+		}
+	}
+	
+	/**
+	 * Pops the top-most element off the stack and returns it, waiting up to <tt>timeout</tt>
+	 * for an element if the stack is empty.
+	 * @param timeout how long to wait.
+	 * @param unit the unit of <tt>timeout</tt>.
+	 * @return the top of the stack, <tt>null</tt> if the stack stayed empty.
+	 * @throws InterruptedException if the thread is interrupted while waiting.
+	 */
+	public @Nullable T poll(long timeout, @Nonnull TimeUnit unit) throws InterruptedException {
+		long nanos = unit.toNanos(timeout);
+		this.lock.lockInterruptibly();
+		try {
+			while (this.size == 0) {
+				if (nanos <= 0L)
+					return null;
+				
+				nanos = this.notEmpty.awaitNanos(nanos);
+			}
+			
+			return this.extract();
+		} finally {
+			this.lock.unlock();
+		}
+	}
+	
+	/**
+	 * Pops the top-most element off the stack and returns it, waiting for an element if the stack is empty.
+	 * @return the top of the stack.
+	 * @throws InterruptedException if the thread is interrupted while waiting.
+	 */
+	public @Nonnull T take() throws InterruptedException {
+		this.lock.lockInterruptibly();
+		try {
+			while (this.size == 0)
+				this.notEmpty.await();
+			
+			return this.extract();
+		} finally {
+			this.lock.unlock();
+		}
+	}
+	
+	/**
+	 * Peeks at an element in the stack.
+	 * @param index the index of the element on the stack (0 represents the top of the stack).
+	 * @return the <tt>index</tt>th element of the stack.
+	 * @throws IndexOutOfBoundsException if <tt>index</tt> is out of this stack's bounds.
+	 * @throws NoSuchElementException if the stack is empty.
+	 */
+	@SuppressWarnings("unchecked")
+	public @Nonnull T peek(int index) {
+		this.lock.lock();
+		try {
+			if (this.size == 0)
+				throw new NoSuchElementException();
+			
+			if (index < 0 || index >= this.size)
+				throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.size);
+			
+			return (T) this.elements[this.size - 1 - index];
+		} finally {
+			this.lock.unlock();
+		}
+	}
+	
+	/**
+	 * Peeks at the first element in the stack.
+	 * @return the first element of the stack.
+	 * @throws NoSuchElementException if the stack is empty.
+	 */
+	public @Nonnull T top() {
+		return peek(0);
+	}
+	
+	/**
+	 * Peeks at the last element in the stack.
+	 * @return the last element of the stack.
+	 * @throws NoSuchElementException if the stack is empty.
+	 */
+	@SuppressWarnings("unchecked")
+	public @Nonnull T bottom() {
+		this.lock.lock();
+		try {
+			if (this.size == 0)
+				throw new NoSuchElementException();
+			
+			return (T) this.elements[0];
+		} finally {
+			this.lock.unlock();
+		}
+	}
+	
+	/**
+	 * Returns <tt>true</tt> if the stack is empty.
+	 * @return <tt>true</tt> if the stack is empty, <tt>false</tt>
+	 * otherwise.
+	 */
+	public boolean isEmpty() {
+		return this.size() == 0;
+	}
+	
+	/**
+	 * Returns the size of the stack.
+	 * @return size of the stack.
+	 */
+	public int size() {
+		this.lock.lock();
+		try {
+			return this.size;
+		} finally {
+			this.lock.unlock();
+		}
+	}
+	
+	/**
+	 * Returns the maximum number of elements in the stack.
+	 * @return the capacity of the stack.
+	 */
+	public int getCapacity() {
+		return this.elements.length;
+	}
+	
+	/**
+	 * Returns the number of elements which can be pushed onto the stack without waiting.
+	 * @return the remaining capacity of the stack.
+	 */
+	public int remainingCapacity() {
+		return this.elements.length - this.size();
+	}
+	
+	private void insert(T thing) {
+		this.elements[this.size++] = thing;
+		this.notEmpty.signal();
+	}
+	
+	@SuppressWarnings("unchecked")
+	private T extract() {
+		T thing = (T) this.elements[--this.size];
+		this.elements[this.size] = null;
+		this.notFull.signal();
+		return thing;
+	}
+	
+}
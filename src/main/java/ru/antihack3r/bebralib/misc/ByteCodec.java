@@ -0,0 +1,419 @@
+/*
+ * This file is a part of bebralib -- you can get yo copy at https://github.com/antihack3r/bebralib
+ *
+ * This code is free software. It comes without any warranty, to the extent permitted by
+ * applicable law. You can redistribute it and/or modify it under the terms of the
+ * Do What The Fuck You Want To Public License, Version 2, as published by Sam Hocevar.
+ * See http://www.wtfpl.net/ for more details.
+ */
+
+package ru.antihack3r.bebralib.misc;
+
+import javax.annotation.Nonnull;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Table-driven hexadecimal and Base64 encoding of bytes, which can write straight into
+ * a {@code char[]}, a {@link StringBuilder} or a {@link ByteBuffer}. Hexadecimal is written
+ * in lower case, and Base64 uses the standard alphabet with padding (RFC 4648), the same as
+ * {@link java.util.Base64#getEncoder()}.
+ */
+public class ByteCodec {
+	
+	/**
+	 * The two hexadecimal digits of every byte value, one after another.
+	 */
+	private static final char[] HEX_PAIRS = new char[512];
+	private static final char[] BASE64 = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/".toCharArray();
+	
+	/**
+	 * The value of every hexadecimal and Base64 digit, -1 for the other characters.
+	 */
+	private static final byte[] HEX_VALUES = new byte[128];
+	private static final byte[] BASE64_VALUES = new byte[128];
+	
+	/**
+	 * The length of the scratch buffer of each thread. Longer texts are encoded through it in chunks
+	 * of {@link ByteCodec#HEX_CHUNK} or {@link ByteCodec#BASE64_CHUNK} bytes.
+	 */
+	private static final int MAX_SCRATCH = 1024;
+	private static final int HEX_CHUNK = MAX_SCRATCH / 2;
+	private static final int BASE64_CHUNK = MAX_SCRATCH / 4 * 3;
+	
+	private static final ThreadLocal<char[]> SCRATCH = ThreadLocal.withInitial(() -> new char[MAX_SCRATCH]);
+	
+	static {
+		char[] digits = "0123456789abcdef".toCharArray();
+		for (int i = 0; i < 256; i++) {
+			HEX_PAIRS[2 * i] = digits[i >>> 4];
+			HEX_PAIRS[2 * i + 1] = digits[i & 0xF];
+		}
+		
+		Arrays.fill(HEX_VALUES, (byte) -1);
+		for (int i = 0; i < 10; i++)
+			HEX_VALUES['0' + i] = (byte) i;
+		
+		for (int i = 0; i < 6; i++) {
+			HEX_VALUES['a' + i] = (byte) (10 + i);
+			HEX_VALUES['A' + i] = (byte) (10 + i);
+		}
+		
+		Arrays.fill(BASE64_VALUES, (byte) -1);
+		for (int i = 0; i < BASE64.length; i++)
+			BASE64_VALUES[BASE64[i]] = (byte) i;
+	}
+	
+	private ByteCodec() {}
+	
+	/**
+	 * Returns the length of the hexadecimal representation of <tt>length</tt> bytes.
+	 * @param length the number of bytes.
+	 * @return the number of characters.
+	 */
+	public static int hexLength(int length) {
+		return length * 2;
+	}
+	
+	/**
+	 * Writes <tt>length</tt> bytes of <tt>array</tt>, starting at <tt>offset</tt>,
+	 * in hexadecimal into <tt>output</tt>, starting at <tt>outputOffset</tt>.
+	 * @param array the bytes to be encoded.
+	 * @param offset the index of the first byte to be encoded.
+	 * @param length the number of bytes to be encoded.
+	 * @param output the array to write the characters into.
+	 * @param outputOffset the index of the first character.
+	 * @return the number of characters written.
+	 * @throws IndexOutOfBoundsException if any of the ranges is out of the arrays' bounds.
+	 */
+	public static int encodeHex(@Nonnull byte[] array, int offset, int length, @Nonnull char[] output, int outputOffset) {
+		checkRange(array.length, offset, length);
+		checkRange(output.length, outputOffset, hexLength(length));
+		
+		for (int i = offset, end = offset + length; i < end; i++) {
+			int pair = (array[i] & 0xFF) << 1;
+			output[outputOffset++] = HEX_PAIRS[pair];
+			output[outputOffset++] = HEX_PAIRS[pair + 1];
+		}
+		
+		return hexLength(length);
+	}
+	
+	/**
+	 * Appends <tt>length</tt> bytes of <tt>array</tt>, starting at <tt>offset</tt>,
+	 * in hexadecimal to <tt>builder</tt>.
+	 * @param builder the builder to append the characters to.
+	 * @param array the bytes to be encoded.
+	 * @param offset the index of the first byte to be encoded.
+	 * @param length the number of bytes to be encoded.
+	 * @return <tt>builder</tt>.
+	 * @throws IndexOutOfBoundsException if the range is out of the array's bounds.
+	 */
+	public static @Nonnull StringBuilder appendHex(@Nonnull StringBuilder builder, @Nonnull byte[] array, int offset, int length) {
+		checkRange(array.length, offset, length);
+		builder.ensureCapacity(builder.length() + hexLength(length));
+		
+		char[] chars = SCRATCH.get();
+		for (int end = offset + length; offset < end; offset += HEX_CHUNK) {
+			int chunk = Math.min(HEX_CHUNK, end - offset);
+			builder.append(chars, 0, encodeHex(array, offset, chunk, chars, 0));
+		}
+		
+		return builder;
+	}
+	
+	/**
+	 * Writes <tt>length</tt> bytes of <tt>array</tt>, starting at <tt>offset</tt>, in hexadecimal
+	 * into <tt>output</tt> as ASCII bytes, starting at its position, which is moved after them.
+	 * @param array the bytes to be encoded.
+	 * @param offset the index of the first byte to be encoded.
+	 * @param length the number of bytes to be encoded.
+	 * @param output the buffer to write the characters into.
+	 * @return the number of bytes written.
+	 * @throws IndexOutOfBoundsException if the range is out of the array's bounds.
+	 * @throws BufferOverflowException if the characters don't fit into <tt>output</tt>.
+	 */
+	public static int encodeHex(@Nonnull byte[] array, int offset, int length, @Nonnull ByteBuffer output) {
+		checkRange(array.length, offset, length);
+		if (output.remaining() < hexLength(length))
+			throw new BufferOverflowException();
+		
+		for (int i = offset, end = offset + length; i < end; i++) {
+			int pair = (array[i] & 0xFF) << 1;
+			output.put((byte) HEX_PAIRS[pair]).put((byte) HEX_PAIRS[pair + 1]);
+		}
+		
+		return hexLength(length);
+	}
+	
+	/**
+	 * Encodes a byte array in hexadecimal.
+	 * @param array the bytes to be encoded.
+	 * @return the hexadecimal representation of the bytes.
+	 */
+	public static @Nonnull String toHex(@Nonnull byte[] array) {
+		return toHex(array, 0, array.length);
+	}
+	
+	/**
+	 * Encodes <tt>length</tt> bytes of <tt>array</tt>, starting at <tt>offset</tt>, in hexadecimal.
+	 * Short representations are encoded in a buffer of the calling thread, so the resulting
+	 * {@link String} is the only thing allocated; longer ones are encoded through that buffer
+	 * in chunks into a {@link StringBuilder} of the exact length.
+	 * @param array the bytes to be encoded.
+	 * @param offset the index of the first byte to be encoded.
+	 * @param length the number of bytes to be encoded.
+	 * @return the hexadecimal representation of the bytes.
+	 * @throws IndexOutOfBoundsException if the range is out of the array's bounds.
+	 */
+	public static @Nonnull String toHex(@Nonnull byte[] array, int offset, int length) {
+		if (length > HEX_CHUNK)
+			return appendHex(new StringBuilder(hexLength(length)), array, offset, length).toString();
+		
+		char[] chars = SCRATCH.get();
+		return new String(chars, 0, encodeHex(array, offset, length, chars, 0));
+	}
+	
+	/**
+	 * Decodes a hexadecimal representation into <tt>output</tt>, starting at <tt>offset</tt>.
+	 * Both upper and lower case digits are accepted.
+	 * @param value the hexadecimal representation.
+	 * @param output the array to write the bytes into.
+	 * @param offset the index of the first byte.
+	 * @return the number of bytes written.
+	 * @throws IllegalArgumentException if <tt>value</tt> is not a valid hexadecimal representation.
+	 * @throws IndexOutOfBoundsException if the bytes don't fit into <tt>output</tt>.
+	 */
+	public static int decodeHex(@Nonnull CharSequence value, @Nonnull byte[] output, int offset) {
+		if (value.length() % 2 != 0)
+			throw new IllegalArgumentException("the length of a hexadecimal representation is odd");
+		
+		int length = value.length() / 2;
+		checkRange(output.length, offset, length);
+		
+		for (int i = 0; i < length; i++) {
+			int high = digit(HEX_VALUES, value.charAt(2 * i));
+			int low = digit(HEX_VALUES, value.charAt(2 * i + 1));
+			output[offset + i] = (byte) (high << 4 | low);
+		}
+		
+		return length;
+	}
+	
+	/**
+	 * Decodes a hexadecimal representation. Both upper and lower case digits are accepted.
+	 * @param value the hexadecimal representation.
+	 * @return the decoded bytes.
+	 * @throws IllegalArgumentException if <tt>value</tt> is not a valid hexadecimal representation.
+	 */
+	public static @Nonnull byte[] decodeHex(@Nonnull CharSequence value) {
+		byte[] result = new byte[value.length() / 2];
+		decodeHex(value, result, 0);
+		return result;
+	}
+	
+	/**
+	 * Returns the length of the Base64 representation of <tt>length</tt> bytes, with padding.
+	 * @param length the number of bytes.
+	 * @return the number of characters.
+	 */
+	public static int base64Length(int length) {
+		return (length + 2) / 3 * 4;
+	}
+	
+	/**
+	 * Writes <tt>length</tt> bytes of <tt>array</tt>, starting at <tt>offset</tt>,
+	 * in Base64 into <tt>output</tt>, starting at <tt>outputOffset</tt>.
+	 * @param array the bytes to be encoded.
+	 * @param offset the index of the first byte to be encoded.
+	 * @param length the number of bytes to be encoded.
+	 * @param output the array to write the characters into.
+	 * @param outputOffset the index of the first character.
+	 * @return the number of characters written.
+	 * @throws IndexOutOfBoundsException if any of the ranges is out of the arrays' bounds.
+	 */
+	public static int encodeBase64(@Nonnull byte[] array, int offset, int length, @Nonnull char[] output, int outputOffset) {
+		checkRange(array.length, offset, length);
+		checkRange(output.length, outputOffset, base64Length(length));
+		
+		int end = offset + length - length % 3;
+		for (int i = offset; i < end; i += 3) {
+			int bits = (array[i] & 0xFF) << 16 | (array[i + 1] & 0xFF) << 8 | (array[i + 2] & 0xFF);
+			output[outputOffset++] = BASE64[bits >>> 18];
+			output[outputOffset++] = BASE64[bits >>> 12 & 0x3F];
+			output[outputOffset++] = BASE64[bits >>> 6 & 0x3F];
+			output[outputOffset++] = BASE64[bits & 0x3F];
+		}
+		
+		if (end < offset + length) {
+			int bits = (array[end] & 0xFF) << 16 | (end + 1 < offset + length? (array[end + 1] & 0xFF) << 8: 0);
+			output[outputOffset++] = BASE64[bits >>> 18];
+			output[outputOffset++] = BASE64[bits >>> 12 & 0x3F];
+			output[outputOffset++] = end + 1 < offset + length? BASE64[bits >>> 6 & 0x3F]: '=';
+			output[outputOffset] = '=';
+		}
+		
+		return base64Length(length);
+	}
+	
+	/**
+	 * Appends <tt>length</tt> bytes of <tt>array</tt>, starting at <tt>offset</tt>,
+	 * in Base64 to <tt>builder</tt>.
+	 * @param builder the builder to append the characters to.
+	 * @param array the bytes to be encoded.
+	 * @param offset the index of the first byte to be encoded.
+	 * @param length the number of bytes to be encoded.
+	 * @return <tt>builder</tt>.
+	 * @throws IndexOutOfBoundsException if the range is out of the array's bounds.
+	 */
+	public static @Nonnull StringBuilder appendBase64(@Nonnull StringBuilder builder, @Nonnull byte[] array, int offset, int length) {
+		checkRange(array.length, offset, length);
+		builder.ensureCapacity(builder.length() + base64Length(length));
+		
+		char[] chars = SCRATCH.get();
+		for (int end = offset + length; offset < end; offset += BASE64_CHUNK) {
+			int chunk = Math.min(BASE64_CHUNK, end - offset);
+			builder.append(chars, 0, encodeBase64(array, offset, chunk, chars, 0));
+		}
+		
+		return builder;
+	}
+	
+	/**
+	 * Writes <tt>length</tt> bytes of <tt>array</tt>, starting at <tt>offset</tt>, in Base64
+	 * into <tt>output</tt> as ASCII bytes, starting at its position, which is moved after them.
+	 * @param array the bytes to be encoded.
+	 * @param offset the index of the first byte to be encoded.
+	 * @param length the number of bytes to be encoded.
+	 * @param output the buffer to write the characters into.
+	 * @return the number of bytes written.
+	 * @throws IndexOutOfBoundsException if the range is out of the array's bounds.
+	 * @throws BufferOverflowException if the characters don't fit into <tt>output</tt>.
+	 */
+	public static int encodeBase64(@Nonnull byte[] array, int offset, int length, @Nonnull ByteBuffer output) {
+		checkRange(array.length, offset, length);
+		int encoded = base64Length(length);
+		if (output.remaining() < encoded)
+			throw new BufferOverflowException();
+		
+		char[] chars = SCRATCH.get();
+		for (int end = offset + length; offset < end; offset += BASE64_CHUNK) {
+			int written = encodeBase64(array, offset, Math.min(BASE64_CHUNK, end - offset), chars, 0);
+			for (int i = 0; i < written; i++)
+				output.put((byte) chars[i]);
+		}
+		
+		return encoded;
+	}
+	
+	/**
+	 * Encodes a byte array in Base64.
+	 * @param array the bytes to be encoded.
+	 * @return the Base64 representation of the bytes.
+	 */
+	public static @Nonnull String toBase64(@Nonnull byte[] array) {
+		return toBase64(array, 0, array.length);
+	}
+	
+	/**
+	 * Encodes <tt>length</tt> bytes of <tt>array</tt>, starting at <tt>offset</tt>, in Base64.
+	 * Short representations are encoded in a buffer of the calling thread, so the resulting
+	 * {@link String} is the only thing allocated; longer ones are encoded through that buffer
+	 * in chunks into a {@link StringBuilder} of the exact length.
+	 * @param array the bytes to be encoded.
+	 * @param offset the index of the first byte to be encoded.
+	 * @param length the number of bytes to be encoded.
+	 * @return the Base64 representation of the bytes.
+	 * @throws IndexOutOfBoundsException if the range is out of the array's bounds.
+	 */
+	public static @Nonnull String toBase64(@Nonnull byte[] array, int offset, int length) {
+		if (length > BASE64_CHUNK)
+			return appendBase64(new StringBuilder(base64Length(length)), array, offset, length).toString();
+		
+		char[] chars = SCRATCH.get();
+		return new String(chars, 0, encodeBase64(array, offset, length, chars, 0));
+	}
+	
+	/**
+	 * Returns the number of bytes a Base64 representation decodes into.
+	 * @param value the Base64 representation, with or without padding.
+	 * @return the number of bytes.
+	 * @throws IllegalArgumentException if <tt>value</tt> has an invalid length.
+	 */
+	public static int decodedBase64Length(@Nonnull CharSequence value) {
+		int length = value.length();
+		if (length % 4 == 0 && length > 0 && value.charAt(length - 1) == '=')
+			length -= value.charAt(length - 2) == '='? 2: 1;
+		
+		if (length % 4 == 1)
+			throw new IllegalArgumentException("invalid length of a Base64 representation");
+		
+		return length / 4 * 3 + Math.max(0, length % 4 - 1);
+	}
+	
+	/**
+	 * Decodes a Base64 representation into <tt>output</tt>, starting at <tt>offset</tt>.
+	 * Padding is accepted, but not required.
+	 * @param value the Base64 representation.
+	 * @param output the array to write the bytes into.
+	 * @param offset the index of the first byte.
+	 * @return the number of bytes written.
+	 * @throws IllegalArgumentException if <tt>value</tt> is not a valid Base64 representation.
+	 * @throws IndexOutOfBoundsException if the bytes don't fit into <tt>output</tt>.
+	 */
+	public static int decodeBase64(@Nonnull CharSequence value, @Nonnull byte[] output, int offset) {
+		int decoded = decodedBase64Length(value);
+		checkRange(output.length, offset, decoded);
+		
+		int end = offset + decoded;
+		int full = offset + decoded / 3 * 3;
+		int i = 0;
+		for (; offset < full; offset += 3, i += 4) {
+			int bits = digit(BASE64_VALUES, value.charAt(i)) << 18
+				| digit(BASE64_VALUES, value.charAt(i + 1)) << 12
+				| digit(BASE64_VALUES, value.charAt(i + 2)) << 6
+				| digit(BASE64_VALUES, value.charAt(i + 3));
+			output[offset] = (byte) (bits >>> 16);
+			output[offset + 1] = (byte) (bits >>> 8);
+			output[offset + 2] = (byte) bits;
+		}
+		
+		if (offset < end) {
+			int bits = digit(BASE64_VALUES, value.charAt(i)) << 18 | digit(BASE64_VALUES, value.charAt(i + 1)) << 12;
+			output[offset] = (byte) (bits >>> 16);
+			if (offset + 1 < end) {
+				bits |= digit(BASE64_VALUES, value.charAt(i + 2)) << 6;
+				output[offset + 1] = (byte) (bits >>> 8);
+			}
+		}
+		
+		return decoded;
+	}
+	
+	/**
+	 * Decodes a Base64 representation. Padding is accepted, but not required.
+	 * @param value the Base64 representation.
+	 * @return the decoded bytes.
+	 * @throws IllegalArgumentException if <tt>value</tt> is not a valid Base64 representation.
+	 */
+	public static @Nonnull byte[] decodeBase64(@Nonnull CharSequence value) {
+		byte[] result = new byte[decodedBase64Length(value)];
+		decodeBase64(value, result, 0);
+		return result;
+	}
+	
+	private static int digit(byte[] values, char c) {
+		int digit = c < values.length? values[c]: -1;
+		if (digit < 0)
+			throw new IllegalArgumentException("invalid character: '" + c + "'");
+		
+		return digit;
+	}
+	
+	private static void checkRange(int arrayLength, int offset, int length) {
+		if (offset < 0 || length < 0 || offset > arrayLength - length)
+			throw new IndexOutOfBoundsException();
+	}
+	
+}
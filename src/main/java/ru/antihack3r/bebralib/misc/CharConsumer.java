@@ -0,0 +1,37 @@
+/*
+ * This file is a part of bebralib -- you can get yo copy at https://github.com/antihack3r/bebralib
+ *
+ * This code is free software. It comes without any warranty, to the extent permitted by
+ * applicable law. You can redistribute it and/or modify it under the terms of the
+ * Do What The Fuck You Want To Public License, Version 2, as published by Sam Hocevar.
+ * See http://www.wtfpl.net/ for more details.
+ */
+
+package ru.antihack3r.bebralib.misc;
+
+import java.util.function.Consumer;
+
+/**
+ * An operation which accepts a single <tt>char</tt>-valued argument, which can also be used where
+ * a {@link Consumer} of {@link Character} is expected.
+ * @see java.util.function.IntConsumer
+ */
+@FunctionalInterface
+public interface CharConsumer extends Consumer<Character> {
+	
+	/**
+	 * Performs this operation on the given argument.
+	 * @param value the input argument.
+	 */
+	void accept(char value);
+	
+	/**
+	 * Performs this operation on the given argument, unboxing it.
+	 * @param value the input argument.
+	 */
+	@Override
+	default void accept(Character value) {
+		accept(value.charValue());
+	}
+	
+}
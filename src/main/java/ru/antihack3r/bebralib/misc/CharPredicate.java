@@ -0,0 +1,39 @@
+/*
+ * This file is a part of bebralib -- you can get yo copy at https://github.com/antihack3r/bebralib
+ *
+ * This code is free software. It comes without any warranty, to the extent permitted by
+ * applicable law. You can redistribute it and/or modify it under the terms of the
+ * Do What The Fuck You Want To Public License, Version 2, as published by Sam Hocevar.
+ * See http://www.wtfpl.net/ for more details.
+ */
+
+package ru.antihack3r.bebralib.misc;
+
+import java.util.function.Predicate;
+
+/**
+ * A predicate of one <tt>char</tt>-valued argument, which can also be used where
+ * a {@link Predicate} of {@link Character} is expected.
+ * @see java.util.function.IntPredicate
+ */
+@FunctionalInterface
+public interface CharPredicate extends Predicate<Character> {
+	
+	/**
+	 * Evaluates this predicate on the given argument.
+	 * @param value the input argument.
+	 * @return <tt>true</tt> if the input argument matches the predicate, <tt>false</tt> otherwise.
+	 */
+	boolean test(char value);
+	
+	/**
+	 * Evaluates this predicate on the given argument, unboxing it.
+	 * @param value the input argument.
+	 * @return <tt>true</tt> if the input argument matches the predicate, <tt>false</tt> otherwise.
+	 */
+	@Override
+	default boolean test(Character value) {
+		return test(value.charValue());
+	}
+	
+}
@@ -0,0 +1,316 @@
+/*
+ * This file is a part of bebralib -- you can get yo copy at https://github.com/antihack3r/bebralib
+ *
+ * This code is free software. It comes without any warranty, to the extent permitted by
+ * applicable law. You can redistribute it and/or modify it under the terms of the
+ * Do What The Fuck You Want To Public License, Version 2, as published by Sam Hocevar.
+ * See http://www.wtfpl.net/ for more details.
+ */
+
+package ru.antihack3r.bebralib.misc;
+
+import javax.annotation.Nonnull;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * A stack of <tt>double</tt> values, with the same contract as {@link Stack} but without boxing.
+ * The values are kept in a <tt>double[]</tt> with the top of the stack at its end, so pushing
+ * and popping take amortized constant time and allocate nothing once the stack has grown
+ * to its working size. It is meant to be used inside a single thread; see
+ * {@link DoubleStack#synchronizedStack()} for a thread-safe one.
+ */
+public class DoubleStack {
+	
+	private static final double[] EMPTY = {};
+	
+	/**
+	 * The values of the stack, the bottom at index 0 and the top at <tt>size - 1</tt>.
+	 */
+	private double[] values;
+	private int size;
+	
+	/**
+	 * Constructs a new empty {@link DoubleStack}.
+	 */
+	public DoubleStack() {
+		this.values = EMPTY;
+	}
+	
+	/**
+	 * Constructs a new empty {@link DoubleStack} which can hold <tt>initialCapacity</tt>
+	 * values before it has to grow.
+	 * @param initialCapacity the initial capacity of the stack.
+	 * @throws IllegalArgumentException if <tt>initialCapacity</tt> is negative.
+	 */
+	public DoubleStack(int initialCapacity) {
+		if (initialCapacity < 0)
+			throw new IllegalArgumentException("Illegal Capacity: " + initialCapacity);
+		
+		this.values = initialCapacity == 0? EMPTY: new double[initialCapacity];
+	}
+	
+	/**
+	 * Constructs a new {@link DoubleStack}, containing values of the specified array,
+	 * in the order that they are in the specified array.
+	 */
+	public DoubleStack(@Nonnull double[] initialValues) {
+		int length = initialValues.length;
+		this.values = length == 0? EMPTY: new double[length];
+		for (int i = 0; i < length; i++)
+			this.values[i] = initialValues[length - 1 - i];
+		
+		this.size = length;
+	}
+	
+	/**
+	 * Constructs a new empty {@link DoubleStack} which can be used from any number of threads at once.
+	 * Every method of the returned stack holds its monitor.
+	 * @return a new thread-safe {@link DoubleStack}.
+	 */
+	public static @Nonnull DoubleStack synchronizedStack() {
+		return new Synchronized();
+	}
+	
+	/**
+	 * Pushes the given value onto the top of the stack.
+	 * @param value the value that must be pushed to the top of the stack.
+	 */
+	public void push(double value) {
+		if (this.size == this.values.length)
+			this.grow(this.size + 1);
+		
+		this.values[this.size++] = value;
+	}
+	
+	/**
+	 * Pushes the values of the given array onto the stack, one by one,
+	 * so that the last value of the array ends up at the top.
+	 * @param values the values that must be pushed onto the stack.
+	 */
+	public void pushAll(@Nonnull double[] values) {
+		this.ensureCapacity(this.size + values.length);
+		System.arraycopy(values, 0, this.values, this.size, values.length);
+		this.size += values.length;
+	}
+	
+	/**
+	 * Pops the top-most value off the stack and returns it.
+	 * @return the top of the stack.
+	 * @throws NoSuchElementException if the stack is empty.
+	 */
+	public double popDouble() {
+		if (this.size == 0)
+			throw new NoSuchElementException();
+		
+		return this.values[--this.size];
+	}
+	
+	/**
+	 * Pops <tt>count</tt> values off the stack into <tt>output</tt>, in the order they are popped,
+	 * so the former top of the stack ends up at index 0.
+	 * @param output the array to write the values into.
+	 * @param count the number of values to be popped.
+	 * @throws NoSuchElementException if the stack has fewer than <tt>count</tt> values.
+	 * @throws IndexOutOfBoundsException if <tt>count</tt> is negative or greater than the length of <tt>output</tt>.
+	 */
+	public void popInto(@Nonnull double[] output, int count) {
+		if (count < 0 || count > output.length)
+			throw new IndexOutOfBoundsException("Count: " + count + ", Length: " + output.length);
+		
+		if (count > this.size)
+			throw new NoSuchElementException();
+		
+		for (int i = 0; i < count; i++)
+			output[i] = this.values[--this.size];
+	}
+	
+	/**
+	 * Peeks at a value in the stack.
+	 * @param index the index of the value on the stack (0 represents the top of the stack).
+	 * @return the <tt>index</tt>th value of the stack.
+	 * @throws IndexOutOfBoundsException if <tt>index</tt> is out of this stack's bounds.
+	 * @throws NoSuchElementException if the stack is empty.
+	 */
+	public double peekDouble(int index) {
+		if (this.size == 0)
+			throw new NoSuchElementException();
+		
+		if (index < 0 || index >= this.size)
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.size);
+		
+		return this.values[this.size - 1 - index];
+	}
+	
+	/**
+	 * Peeks at the first value in the stack.
+	 * @return the first value of the stack.
+	 * @throws NoSuchElementException if the stack is empty.
+	 */
+	public double topDouble() {
+		return peekDouble(0);
+	}
+	
+	/**
+	 * Peeks at the last value in the stack.
+	 * @return the last value of the stack.
+	 * @throws NoSuchElementException if the stack is empty.
+	 */
+	public double bottomDouble() {
+		return peekDouble(this.size - 1);
+	}
+	
+	/**
+	 * Returns <tt>true</tt> if the stack is empty.
+	 * @return <tt>true</tt> if the stack is empty, <tt>false</tt>
+	 * otherwise.
+	 */
+	public boolean isEmpty() {
+		return this.size == 0;
+	}
+	
+	/**
+	 * Returns the size of the stack.
+	 * @return size of the stack.
+	 */
+	public int size() {
+		return this.size;
+	}
+	
+	/**
+	 * Removes every value from the stack. The capacity is left as it is.
+	 */
+	public void clear() {
+		this.size = 0;
+	}
+	
+	/**
+	 * Returns the values of the stack in a new array, the top of the stack at index 0.
+	 * @return an array containing the values of the stack.
+	 */
+	public @Nonnull double[] toArray() {
+		double[] result = new double[this.size];
+		for (int i = 0; i < this.size; i++)
+			result[i] = this.values[this.size - 1 - i];
+		
+		return result;
+	}
+	
+	/**
+	 * Makes sure the stack can hold at least <tt>capacity</tt> values without growing.
+	 * @param capacity the desired capacity.
+	 */
+	public void ensureCapacity(int capacity) {
+		if (capacity > this.values.length)
+			this.grow(capacity);
+	}
+	
+	/**
+	 * Shrinks the capacity of the stack to its size.
+	 */
+	public void trimToSize() {
+		if (this.size < this.values.length)
+			this.values = this.size == 0? EMPTY: Arrays.copyOf(this.values, this.size);
+	}
+	
+	private void grow(int capacity) {
+		if (capacity < 0)
+			throw new OutOfMemoryError();
+		
+		int length = this.values.length;
+		int newLength = length + (length >> 1);
+		if (newLength < capacity)
+			newLength = Math.max(capacity, 10);
+		
+		this.values = Arrays.copyOf(this.values, newLength);
+	}
+	
+	private static final class Synchronized extends DoubleStack {
+		
+		@Override
+		public void push(double value) {
+			synchronized (this) {
+				super.push(value);
+			}
+		}
+		
+		@Override
+		public void pushAll(@Nonnull double[] values) {
+			synchronized (this) {
+				super.pushAll(values);
+			}
+		}
+		
+		@Override
+		public double popDouble() {
+			synchronized (this) {
+				return super.popDouble();
+			}
+		}
+		
+		@Override
+		public void popInto(@Nonnull double[] output, int count) {
+			synchronized (this) {
+				super.popInto(output, count);
+			}
+		}
+		
+		@Override
+		public double peekDouble(int index) {
+			synchronized (this) {
+				return super.peekDouble(index);
+			}
+		}
+		
+		@Override
+		public double bottomDouble() {
+			synchronized (this) {
+				return super.bottomDouble();
+			}
+		}
+		
+		@Override
+		public boolean isEmpty() {
+			synchronized (this) {
+				return super.isEmpty();
+			}
+		}
+		
+		@Override
+		public int size() {
+			synchronized (this) {
+				return super.size();
+			}
+		}
+		
+		@Override
+		public void clear() {
+			synchronized (this) {
+				super.clear();
+			}
+		}
+		
+		@Override
+		public @Nonnull double[] toArray() {
+			synchronized (this) {
+				return super.toArray();
+			}
+		}
+		
+		@Override
+		public void ensureCapacity(int capacity) {
+			synchronized (this) {
+				super.ensureCapacity(capacity);
+			}
+		}
+		
+		@Override
+		public void trimToSize() {
+			synchronized (this) {
+				super.trimToSize();
+			}
+		}
+		
+	}
+	
+}
@@ -0,0 +1,180 @@
+/*
+ * This file is a part of bebralib -- you can get yo copy at https://github.com/antihack3r/bebralib
+ *
+ * This code is free software. It comes without any warranty, to the extent permitted by
+ * applicable law. You can redistribute it and/or modify it under the terms of the
+ * Do What The Fuck You Want To Public License, Version 2, as published by Sam Hocevar.
+ * See http://www.wtfpl.net/ for more details.
+ */
+
+package ru.antihack3r.bebralib.misc;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A thread-safe stack which never blocks, with the same contract as {@link Stack}.
+ * The elements are kept in a linked list, the top of which is swapped with a single
+ * compare-and-set on every push and pop, so threads never wait for each other to release a lock.
+ * Every node knows the size of the stack beneath it and its bottom node, so neither {@link LockFreeStack#size()}
+ * nor {@link LockFreeStack#bottom()} walks the list.
+ * @param <T> The element type for the stack.
+ */
+public class LockFreeStack<T> {
+	
+	/**
+	 * The top of the stack, <tt>null</tt> if the stack is empty.
+	 */
+	private final AtomicReference<Node<T>> head = new AtomicReference<>();
+	
+	/**
+	 * Constructs a new empty {@link LockFreeStack}.
+	 */
+	public LockFreeStack() {}
+	
+	/**
+	 * Constructs a new {@link LockFreeStack}, containing elements of the specified collection,
+	 * in the order that they are in the specified collection.
+	 */
+	public LockFreeStack(@Nonnull Collection<T> initialElements) {
+		this.pushReversed(new ArrayList<>(initialElements));
+	}
+	
+	/**
+	 * Constructs a new {@link LockFreeStack}, containing elements of the specified array,
+	 * in the order that they are in the specified array.
+	 */
+	public LockFreeStack(@Nonnull T[] initialElements) {
+		this.pushReversed(Arrays.asList(initialElements));
+	}
+	
+	private void pushReversed(List<T> elements) {
+		Node<T> node = null;
+		for (int i = elements.size() - 1; i >= 0; i--)
+			node = new Node<>(elements.get(i), node);
+		
+		this.head.set(node);
+	}
+	
+	/**
+	 * Pushes the given element onto the top of the stack.
+	 * @param thing the element that must be pushed to the top of the stack.
+	 */
+	public void push(@Nullable T thing) {
+		Node<T> top;
+		Node<T> node;
+		do {
+			top = this.head.get();
+			node = new Node<>(thing, top);
+		} while (!this.head.compareAndSet(top, node));
+	}
+	
+	/**
+	 * Pops the top-most element off the stack and returns it.
+	 * @return the top of the stack.
+	 * @throws NoSuchElementException if the stack is empty.
+	 */
+	public @Nullable T pop() {
+		Node<T> top;
+		do {
+			top = this.head.get();
+			if (top == null)
+				throw new NoSuchElementException();
+		} while (!this.head.compareAndSet(top, top.next));
+		
+		return top.item;
+	}
+	
+	/**
+	 * Peeks at an element in the stack. The element is looked up in the stack as it was
+	 * when this method was called, walking <tt>index</tt> elements down from the top.
+	 * @param index the index of the element on the stack (0 represents the top of the stack).
+	 * @return the <tt>index</tt>th element of the stack.
+	 * @throws IndexOutOfBoundsException if <tt>index</tt> is out of this stack's bounds.
+	 * @throws NoSuchElementException if the stack is empty.
+	 */
+	public @Nullable T peek(int index) {
+		Node<T> node = this.head.get();
+		if (node == null)
+			throw new NoSuchElementException();
+		
+		if (index < 0 || index >= node.size)
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + node.size);
+		
+		for (int i = 0; i < index; i++)
+			node = node.next;
+		
+		return node.item;
+	}
+	
+	/**
+	 * Peeks at the first element in the stack.
+	 * @return the first element of the stack.
+	 * @throws NoSuchElementException if the stack is empty.
+	 */
+	public @Nullable T top() {
+		return peek(0);
+	}
+	
+	/**
+	 * Peeks at the last element in the stack.
+	 * @return the last element of the stack.
+	 * @throws NoSuchElementException if the stack is empty.
+	 */
+	public @Nullable T bottom() {
+		Node<T> node = this.head.get();
+		if (node == null)
+			throw new NoSuchElementException();
+		
+		return node.bottom.item;
+	}
+	
+	/**
+	 * Returns <tt>true</tt> if the stack is empty.
+	 * @return <tt>true</tt> if the stack is empty, <tt>false</tt>
+	 * otherwise.
+	 */
+	public boolean isEmpty() {
+		return this.head.get() == null;
+	}
+	
+	/**
+	 * Returns the size of the stack.
+	 * @return size of the stack.
+	 */
+	public int size() {
+		Node<T> top = this.head.get();
+		return top == null? 0: top.size;
+	}
+	
+	private static final class Node<T> {
+		
+		private final T item;
+		private final Node<T> next;
+		
+		/**
+		 * The number of elements from this node to the bottom of the stack.
+		 */
+		private final int size;
+		
+		/**
+		 * The node at the bottom of the stack, which is this one if {@link Node#next} is <tt>null</tt>.
+		 */
+		private final Node<T> bottom;
+		
+		private Node(T item, Node<T> next) {
+			this.item = item;
+			this.next = next;
+			this.size = next == null? 1: next.size + 1;
+			this.bottom = next == null? this: next.bottom;
+		}
+		
+	}
+	
+}
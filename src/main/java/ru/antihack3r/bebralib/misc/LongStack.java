@@ -0,0 +1,316 @@
+/*
+ * This file is a part of bebralib -- you can get yo copy at https://github.com/antihack3r/bebralib
+ *
+ * This code is free software. It comes without any warranty, to the extent permitted by
+ * applicable law. You can redistribute it and/or modify it under the terms of the
+ * Do What The Fuck You Want To Public License, Version 2, as published by Sam Hocevar.
+ * See http://www.wtfpl.net/ for more details.
+ */
+
+package ru.antihack3r.bebralib.misc;
+
+import javax.annotation.Nonnull;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * A stack of <tt>long</tt> values, with the same contract as {@link Stack} but without boxing.
+ * The values are kept in a <tt>long[]</tt> with the top of the stack at its end, so pushing
+ * and popping take amortized constant time and allocate nothing once the stack has grown
+ * to its working size. It is meant to be used inside a single thread; see
+ * {@link LongStack#synchronizedStack()} for a thread-safe one.
+ */
+public class LongStack {
+	
+	private static final long[] EMPTY = {};
+	
+	/**
+	 * The values of the stack, the bottom at index 0 and the top at <tt>size - 1</tt>.
+	 */
+	private long[] values;
+	private int size;
+	
+	/**
+	 * Constructs a new empty {@link LongStack}.
+	 */
+	public LongStack() {
+		this.values = EMPTY;
+	}
+	
+	/**
+	 * Constructs a new empty {@link LongStack} which can hold <tt>initialCapacity</tt>
+	 * values before it has to grow.
+	 * @param initialCapacity the initial capacity of the stack.
+	 * @throws IllegalArgumentException if <tt>initialCapacity</tt> is negative.
+	 */
+	public LongStack(int initialCapacity) {
+		if (initialCapacity < 0)
+			throw new IllegalArgumentException("Illegal Capacity: " + initialCapacity);
+		
+		this.values = initialCapacity == 0? EMPTY: new long[initialCapacity];
+	}
+	
+	/**
+	 * Constructs a new {@link LongStack}, containing values of the specified array,
+	 * in the order that they are in the specified array.
+	 */
+	public LongStack(@Nonnull long[] initialValues) {
+		int length = initialValues.length;
+		this.values = length == 0? EMPTY: new long[length];
+		for (int i = 0; i < length; i++)
+			this.values[i] = initialValues[length - 1 - i];
+		
+		this.size = length;
+	}
+	
+	/**
+	 * Constructs a new empty {@link LongStack} which can be used from any number of threads at once.
+	 * Every method of the returned stack holds its monitor.
+	 * @return a new thread-safe {@link LongStack}.
+	 */
+	public static @Nonnull LongStack synchronizedStack() {
+		return new Synchronized();
+	}
+	
+	/**
+	 * Pushes the given value onto the top of the stack.
+	 * @param value the value that must be pushed to the top of the stack.
+	 */
+	public void push(long value) {
+		if (this.size == this.values.length)
+			this.grow(this.size + 1);
+		
+		this.values[this.size++] = value;
+	}
+	
+	/**
+	 * Pushes the values of the given array onto the stack, one by one,
+	 * so that the last value of the array ends up at the top.
+	 * @param values the values that must be pushed onto the stack.
+	 */
+	public void pushAll(@Nonnull long[] values) {
+		this.ensureCapacity(this.size + values.length);
+		System.arraycopy(values, 0, this.values, this.size, values.length);
+		this.size += values.length;
+	}
+	
+	/**
+	 * Pops the top-most value off the stack and returns it.
+	 * @return the top of the stack.
+	 * @throws NoSuchElementException if the stack is empty.
+	 */
+	public long popLong() {
+		if (this.size == 0)
+			throw new NoSuchElementException();
+		
+		return this.values[--this.size];
+	}
+	
+	/**
+	 * Pops <tt>count</tt> values off the stack into <tt>output</tt>, in the order they are popped,
+	 * so the former top of the stack ends up at index 0.
+	 * @param output the array to write the values into.
+	 * @param count the number of values to be popped.
+	 * @throws NoSuchElementException if the stack has fewer than <tt>count</tt> values.
+	 * @throws IndexOutOfBoundsException if <tt>count</tt> is negative or greater than the length of <tt>output</tt>.
+	 */
+	public void popInto(@Nonnull long[] output, int count) {
+		if (count < 0 || count > output.length)
+			throw new IndexOutOfBoundsException("Count: " + count + ", Length: " + output.length);
+		
+		if (count > this.size)
+			throw new NoSuchElementException();
+		
+		for (int i = 0; i < count; i++)
+			output[i] = this.values[--this.size];
+	}
+	
+	/**
+	 * Peeks at a value in the stack.
+	 * @param index the index of the value on the stack (0 represents the top of the stack).
+	 * @return the <tt>index</tt>th value of the stack.
+	 * @throws IndexOutOfBoundsException if <tt>index</tt> is out of this stack's bounds.
+	 * @throws NoSuchElementException if the stack is empty.
+	 */
+	public long peekLong(int index) {
+		if (this.size == 0)
+			throw new NoSuchElementException();
+		
+		if (index < 0 || index >= this.size)
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.size);
+		
+		return this.values[this.size - 1 - index];
+	}
+	
+	/**
+	 * Peeks at the first value in the stack.
+	 * @return the first value of the stack.
+	 * @throws NoSuchElementException if the stack is empty.
+	 */
+	public long topLong() {
+		return peekLong(0);
+	}
+	
+	/**
+	 * Peeks at the last value in the stack.
+	 * @return the last value of the stack.
+	 * @throws NoSuchElementException if the stack is empty.
+	 */
+	public long bottomLong() {
+		return peekLong(this.size - 1);
+	}
+	
+	/**
+	 * Returns <tt>true</tt> if the stack is empty.
+	 * @return <tt>true</tt> if the stack is empty, <tt>false</tt>
+	 * otherwise.
+	 */
+	public boolean isEmpty() {
+		return this.size == 0;
+	}
+	
+	/**
+	 * Returns the size of the stack.
+	 * @return size of the stack.
+	 */
+	public int size() {
+		return this.size;
+	}
+	
+	/**
+	 * Removes every value from the stack. The capacity is left as it is.
+	 */
+	public void clear() {
+		this.size = 0;
+	}
+	
+	/**
+	 * Returns the values of the stack in a new array, the top of the stack at index 0.
+	 * @return an array containing the values of the stack.
+	 */
+	public @Nonnull long[] toArray() {
+		long[] result = new long[this.size];
+		for (int i = 0; i < this.size; i++)
+			result[i] = this.values[this.size - 1 - i];
+		
+		return result;
+	}
+	
+	/**
+	 * Makes sure the stack can hold at least <tt>capacity</tt> values without growing.
+	 * @param capacity the desired capacity.
+	 */
+	public void ensureCapacity(int capacity) {
+		if (capacity > this.values.length)
+			this.grow(capacity);
+	}
+	
+	/**
+	 * Shrinks the capacity of the stack to its size.
+	 */
+	public void trimToSize() {
+		if (this.size < this.values.length)
+			this.values = this.size == 0? EMPTY: Arrays.copyOf(this.values, this.size);
+	}
+	
+	private void grow(int capacity) {
+		if (capacity < 0)
+			throw new OutOfMemoryError();
+		
+		int length = this.values.length;
+		int newLength = length + (length >> 1);
+		if (newLength < capacity)
+			newLength = Math.max(capacity, 10);
+		
+		this.values = Arrays.copyOf(this.values, newLength);
+	}
+	
+	private static final class Synchronized extends LongStack {
+		
+		@Override
+		public void push(long value) {
+			synchronized (this) {
+				super.push(value);
+			}
+		}
+		
+		@Override
+		public void pushAll(@Nonnull long[] values) {
+			synchronized (this) {
+				super.pushAll(values);
+			}
+		}
+		
+		@Override
+		public long popLong() {
+			synchronized (this) {
+				return super.popLong();
+			}
+		}
+		
+		@Override
+		public void popInto(@Nonnull long[] output, int count) {
+			synchronized (this) {
+				super.popInto(output, count);
+			}
+		}
+		
+		@Override
+		public long peekLong(int index) {
+			synchronized (this) {
+				return super.peekLong(index);
+			}
+		}
+		
+		@Override
+		public long bottomLong() {
+			synchronized (this) {
+				return super.bottomLong();
+			}
+		}
+		
+		@Override
+		public boolean isEmpty() {
+			synchronized (this) {
+				return super.isEmpty();
+			}
+		}
+		
+		@Override
+		public int size() {
+			synchronized (this) {
+				return super.size();
+			}
+		}
+		
+		@Override
+		public void clear() {
+			synchronized (this) {
+				super.clear();
+			}
+		}
+		
+		@Override
+		public @Nonnull long[] toArray() {
+			synchronized (this) {
+				return super.toArray();
+			}
+		}
+		
+		@Override
+		public void ensureCapacity(int capacity) {
+			synchronized (this) {
+				super.ensureCapacity(capacity);
+			}
+		}
+		
+		@Override
+		public void trimToSize() {
+			synchronized (this) {
+				super.trimToSize();
+			}
+		}
+		
+	}
+	
+}
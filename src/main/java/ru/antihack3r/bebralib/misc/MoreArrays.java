@@ -9,19 +9,96 @@
 
 package ru.antihack3r.bebralib.misc;
 
+import ru.antihack3r.bebralib.list.BooleanArrayList;
+import ru.antihack3r.bebralib.list.BooleanArrayView;
+import ru.antihack3r.bebralib.list.ByteArrayList;
+import ru.antihack3r.bebralib.list.ByteArrayView;
+import ru.antihack3r.bebralib.list.CharArrayList;
+import ru.antihack3r.bebralib.list.CharArrayView;
+import ru.antihack3r.bebralib.list.DoubleArrayList;
+import ru.antihack3r.bebralib.list.DoubleArrayView;
+import ru.antihack3r.bebralib.list.FloatArrayList;
+import ru.antihack3r.bebralib.list.FloatArrayView;
+import ru.antihack3r.bebralib.list.IntArrayList;
+import ru.antihack3r.bebralib.list.IntArrayView;
+import ru.antihack3r.bebralib.list.LongArrayList;
+import ru.antihack3r.bebralib.list.LongArrayView;
+import ru.antihack3r.bebralib.list.ShortArrayList;
+import ru.antihack3r.bebralib.list.ShortArrayView;
+import ru.antihack3r.bebralib.math.Meth;
+
 import java.lang.reflect.Array;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 import java.util.function.Consumer;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoublePredicate;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+import java.util.function.LongConsumer;
+import java.util.function.LongPredicate;
+import java.util.function.LongUnaryOperator;
 import java.util.function.Predicate;
-import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
  * Some more array utilities.
  */
 public class MoreArrays {
 	
+	/**
+	 * The number of elements the parallel methods hand to a single thread at once. It's a multiple of 64,
+	 * so no two threads ever write the same word of a match mask.
+	 */
+	private static final int PARALLEL_BLOCK = 8192;
+	
+	private static volatile int parallelThreshold = 1 << 20;
+	
+	/**
+	 * The length below which {@link MoreArrays#radixSort(int[])} and its siblings fall back to {@link Arrays#sort(int[])},
+	 * which is faster for short arrays.
+	 */
+	private static final int RADIX_SORT_THRESHOLD = 256;
+	
+	/**
+	 * The empty array of every component type {@link MoreArrays#newArray(Class, int)} was asked for,
+	 * which new arrays of the type are copied from instead of being made by reflection.
+	 */
+	private static final ClassValue<Object[]> EMPTY_ARRAYS = new ClassValue<Object[]>() {
+		@Override
+		protected Object[] computeValue(Class<?> type) {
+			return (Object[]) Array.newInstance(type, 0);
+		}
+	};
+	
+	/**
+	 * Returns the smallest length of an array which the parallel methods split between threads.
+	 * Shorter arrays are processed on the calling thread.
+	 * @return the parallel threshold.
+	 */
+	public static int getParallelThreshold() {
+		return parallelThreshold;
+	}
+	
+	/**
+	 * Sets the smallest length of an array which the parallel methods split between threads.
+	 * @param threshold the new parallel threshold.
+	 * @throws IllegalArgumentException if <tt>threshold</tt> is negative.
+	 */
+	public static void setParallelThreshold(int threshold) {
+		if (threshold < 0) throw new IllegalArgumentException("threshold is negative");
+		parallelThreshold = threshold;
+	}
+	
 	/**
 	 * Performs an action for each component of a given array.
 	 * @param array An array whose elements should be filtered.
@@ -112,14 +189,67 @@ public class MoreArrays {
 			action.accept(thing);
 	}
 	
+	/**
+	 * Filters the given array with a given predicate, without boxing its elements.
+	 * The predicate is called once for each element, in order, and the result is allocated with its exact size.
+	 * @param array an array that should be filtered.
+	 * @param predicate a predicate that should be used.
+	 * @return a filtered array.
+	 */
+	public static byte[] filter(byte[] array, BytePredicate predicate) {
+		long[] matches = new long[(array.length + 63) >>> 6];
+		int count = 0;
+		for (int i = 0; i < array.length; i++) {
+			if (predicate.test(array[i])) {
+				matches[i >>> 6] |= 1L << i;
+				count++;
+			}
+		}
+		
+		byte[] result = new byte[count];
+		int counter = 0;
+		for (int word = 0; counter < count; word++)
+			for (long bits = matches[word]; bits != 0L; bits &= bits - 1)
+				result[counter++] = array[word << 6 | Long.numberOfTrailingZeros(bits)];
+		
+		return result;
+	}
+	
 	/**
 	 * Filters the given array with a given predicate.
 	 * @param array an array that should be filtered.
 	 * @param predicate a predicate that should be used.
 	 * @return a filtered array.
+	 * @see MoreArrays#filter(byte[], BytePredicate)
 	 */
 	public static byte[] filter(byte[] array, Predicate<Byte> predicate) {
-		return asByteArray(asList(array).stream().filter(predicate).collect(Collectors.toList()));
+		return filter(array, (BytePredicate) predicate::test);
+	}
+	
+	/**
+	 * Filters the given array with a given predicate, without boxing its elements.
+	 * The predicate is called once for each element, in order, and the result is allocated with its exact size.
+	 * @param array an array that should be filtered.
+	 * @param predicate a predicate that should be used.
+	 * @return a filtered array.
+	 */
+	public static short[] filter(short[] array, ShortPredicate predicate) {
+		long[] matches = new long[(array.length + 63) >>> 6];
+		int count = 0;
+		for (int i = 0; i < array.length; i++) {
+			if (predicate.test(array[i])) {
+				matches[i >>> 6] |= 1L << i;
+				count++;
+			}
+		}
+		
+		short[] result = new short[count];
+		int counter = 0;
+		for (int word = 0; counter < count; word++)
+			for (long bits = matches[word]; bits != 0L; bits &= bits - 1)
+				result[counter++] = array[word << 6 | Long.numberOfTrailingZeros(bits)];
+		
+		return result;
 	}
 	
 	/**
@@ -127,9 +257,49 @@ public class MoreArrays {
 	 * @param array an array that should be filtered.
 	 * @param predicate a predicate that should be used.
 	 * @return a filtered array.
+	 * @see MoreArrays#filter(short[], ShortPredicate)
 	 */
 	public static short[] filter(short[] array, Predicate<Short> predicate) {
-		return asShortArray(asList(array).stream().filter(predicate).collect(Collectors.toList()));
+		return filter(array, (ShortPredicate) predicate::test);
+	}
+	
+	/**
+	 * Filters the given array with a given predicate, without boxing its elements.
+	 * The predicate is called once for each element, in order, and the result is allocated with its exact size.
+	 * @param array an array that should be filtered.
+	 * @param predicate a predicate that should be used.
+	 * @return a filtered array.
+	 */
+	@SuppressWarnings("overloads")
+	public static int[] filter(int[] array, IntPredicate predicate) {
+		long[] matches = new long[(array.length + 63) >>> 6];
+		int count = 0;
+		for (int i = 0; i < array.length; i++) {
+			if (predicate.test(array[i])) {
+				matches[i >>> 6] |= 1L << i;
+				count++;
+			}
+		}
+		
+		int[] result = new int[count];
+		int counter = 0;
+		for (int word = 0; counter < count; word++)
+			for (long bits = matches[word]; bits != 0L; bits &= bits - 1)
+				result[counter++] = array[word << 6 | Long.numberOfTrailingZeros(bits)];
+		
+		return result;
+	}
+	
+	/**
+	 * Filters the given array with a given predicate, without boxing its elements.
+	 * Lambdas and method references passed to <tt>filter</tt> pick this overload.
+	 * @param array an array that should be filtered.
+	 * @param predicate a predicate that should be used.
+	 * @return a filtered array.
+	 * @see MoreArrays#filter(int[], IntPredicate)
+	 */
+	public static int[] filter(int[] array, UnboxingIntPredicate predicate) {
+		return filter(array, (IntPredicate) predicate);
 	}
 	
 	/**
@@ -137,9 +307,51 @@ public class MoreArrays {
 	 * @param array an array that should be filtered.
 	 * @param predicate a predicate that should be used.
 	 * @return a filtered array.
+	 * @deprecated boxes every element, use {@link MoreArrays#filter(int[], IntPredicate)} instead.
 	 */
+	@Deprecated
+	@SuppressWarnings("overloads")
 	public static int[] filter(int[] array, Predicate<Integer> predicate) {
-		return asIntArray(asList(array).stream().filter(predicate).collect(Collectors.toList()));
+		return filter(array, (IntPredicate) predicate::test);
+	}
+	
+	/**
+	 * Filters the given array with a given predicate, without boxing its elements.
+	 * The predicate is called once for each element, in order, and the result is allocated with its exact size.
+	 * @param array an array that should be filtered.
+	 * @param predicate a predicate that should be used.
+	 * @return a filtered array.
+	 */
+	@SuppressWarnings("overloads")
+	public static long[] filter(long[] array, LongPredicate predicate) {
+		long[] matches = new long[(array.length + 63) >>> 6];
+		int count = 0;
+		for (int i = 0; i < array.length; i++) {
+			if (predicate.test(array[i])) {
+				matches[i >>> 6] |= 1L << i;
+				count++;
+			}
+		}
+		
+		long[] result = new long[count];
+		int counter = 0;
+		for (int word = 0; counter < count; word++)
+			for (long bits = matches[word]; bits != 0L; bits &= bits - 1)
+				result[counter++] = array[word << 6 | Long.numberOfTrailingZeros(bits)];
+		
+		return result;
+	}
+	
+	/**
+	 * Filters the given array with a given predicate, without boxing its elements.
+	 * Lambdas and method references passed to <tt>filter</tt> pick this overload.
+	 * @param array an array that should be filtered.
+	 * @param predicate a predicate that should be used.
+	 * @return a filtered array.
+	 * @see MoreArrays#filter(long[], LongPredicate)
+	 */
+	public static long[] filter(long[] array, UnboxingLongPredicate predicate) {
+		return filter(array, (LongPredicate) predicate);
 	}
 	
 	/**
@@ -147,9 +359,38 @@ public class MoreArrays {
 	 * @param array an array that should be filtered.
 	 * @param predicate a predicate that should be used.
 	 * @return a filtered array.
+	 * @deprecated boxes every element, use {@link MoreArrays#filter(long[], LongPredicate)} instead.
 	 */
+	@Deprecated
+	@SuppressWarnings("overloads")
 	public static long[] filter(long[] array, Predicate<Long> predicate) {
-		return asLongArray(asList(array).stream().filter(predicate).collect(Collectors.toList()));
+		return filter(array, (LongPredicate) predicate::test);
+	}
+	
+	/**
+	 * Filters the given array with a given predicate, without boxing its elements.
+	 * The predicate is called once for each element, in order, and the result is allocated with its exact size.
+	 * @param array an array that should be filtered.
+	 * @param predicate a predicate that should be used.
+	 * @return a filtered array.
+	 */
+	public static float[] filter(float[] array, FloatPredicate predicate) {
+		long[] matches = new long[(array.length + 63) >>> 6];
+		int count = 0;
+		for (int i = 0; i < array.length; i++) {
+			if (predicate.test(array[i])) {
+				matches[i >>> 6] |= 1L << i;
+				count++;
+			}
+		}
+		
+		float[] result = new float[count];
+		int counter = 0;
+		for (int word = 0; counter < count; word++)
+			for (long bits = matches[word]; bits != 0L; bits &= bits - 1)
+				result[counter++] = array[word << 6 | Long.numberOfTrailingZeros(bits)];
+		
+		return result;
 	}
 	
 	/**
@@ -157,49 +398,2779 @@ public class MoreArrays {
 	 * @param array an array that should be filtered.
 	 * @param predicate a predicate that should be used.
 	 * @return a filtered array.
+	 * @see MoreArrays#filter(float[], FloatPredicate)
 	 */
 	public static float[] filter(float[] array, Predicate<Float> predicate) {
-		return asFloatArray(asList(array).stream().filter(predicate).collect(Collectors.toList()));
+		return filter(array, (FloatPredicate) predicate::test);
+	}
+	
+	/**
+	 * Filters the given array with a given predicate, without boxing its elements.
+	 * The predicate is called once for each element, in order, and the result is allocated with its exact size.
+	 * @param array an array that should be filtered.
+	 * @param predicate a predicate that should be used.
+	 * @return a filtered array.
+	 */
+	@SuppressWarnings("overloads")
+	public static double[] filter(double[] array, DoublePredicate predicate) {
+		long[] matches = new long[(array.length + 63) >>> 6];
+		int count = 0;
+		for (int i = 0; i < array.length; i++) {
+			if (predicate.test(array[i])) {
+				matches[i >>> 6] |= 1L << i;
+				count++;
+			}
+		}
+		
+		double[] result = new double[count];
+		int counter = 0;
+		for (int word = 0; counter < count; word++)
+			for (long bits = matches[word]; bits != 0L; bits &= bits - 1)
+				result[counter++] = array[word << 6 | Long.numberOfTrailingZeros(bits)];
+		
+		return result;
+	}
+	
+	/**
+	 * Filters the given array with a given predicate, without boxing its elements.
+	 * Lambdas and method references passed to <tt>filter</tt> pick this overload.
+	 * @param array an array that should be filtered.
+	 * @param predicate a predicate that should be used.
+	 * @return a filtered array.
+	 * @see MoreArrays#filter(double[], DoublePredicate)
+	 */
+	public static double[] filter(double[] array, UnboxingDoublePredicate predicate) {
+		return filter(array, (DoublePredicate) predicate);
+	}
+	
+	/**
+	 * Filters the given array with a given predicate.
+	 * @param array an array that should be filtered.
+	 * @param predicate a predicate that should be used.
+	 * @return a filtered array.
+	 * @deprecated boxes every element, use {@link MoreArrays#filter(double[], DoublePredicate)} instead.
+	 */
+	@Deprecated
+	@SuppressWarnings("overloads")
+	public static double[] filter(double[] array, Predicate<Double> predicate) {
+		return filter(array, (DoublePredicate) predicate::test);
+	}
+	
+	/**
+	 * Filters the given array with a given predicate, without boxing its elements.
+	 * The predicate is called once for each element, in order, and the result is allocated with its exact size.
+	 * @param array an array that should be filtered.
+	 * @param predicate a predicate that should be used.
+	 * @return a filtered array.
+	 */
+	public static boolean[] filter(boolean[] array, BooleanPredicate predicate) {
+		long[] matches = new long[(array.length + 63) >>> 6];
+		int count = 0;
+		for (int i = 0; i < array.length; i++) {
+			if (predicate.test(array[i])) {
+				matches[i >>> 6] |= 1L << i;
+				count++;
+			}
+		}
+		
+		boolean[] result = new boolean[count];
+		int counter = 0;
+		for (int word = 0; counter < count; word++)
+			for (long bits = matches[word]; bits != 0L; bits &= bits - 1)
+				result[counter++] = array[word << 6 | Long.numberOfTrailingZeros(bits)];
+		
+		return result;
+	}
+	
+	/**
+	 * Filters the given array with a given predicate.
+	 * @param array an array that should be filtered.
+	 * @param predicate a predicate that should be used.
+	 * @return a filtered array.
+	 * @see MoreArrays#filter(boolean[], BooleanPredicate)
+	 */
+	public static boolean[] filter(boolean[] array, Predicate<Boolean> predicate) {
+		return filter(array, (BooleanPredicate) predicate::test);
+	}
+	
+	/**
+	 * Filters the given array with a given predicate, without boxing its elements.
+	 * The predicate is called once for each element, in order, and the result is allocated with its exact size.
+	 * @param array an array that should be filtered.
+	 * @param predicate a predicate that should be used.
+	 * @return a filtered array.
+	 */
+	public static char[] filter(char[] array, CharPredicate predicate) {
+		long[] matches = new long[(array.length + 63) >>> 6];
+		int count = 0;
+		for (int i = 0; i < array.length; i++) {
+			if (predicate.test(array[i])) {
+				matches[i >>> 6] |= 1L << i;
+				count++;
+			}
+		}
+		
+		char[] result = new char[count];
+		int counter = 0;
+		for (int word = 0; counter < count; word++)
+			for (long bits = matches[word]; bits != 0L; bits &= bits - 1)
+				result[counter++] = array[word << 6 | Long.numberOfTrailingZeros(bits)];
+		
+		return result;
+	}
+	
+	/**
+	 * Filters the given array with a given predicate.
+	 * @param array an array that should be filtered.
+	 * @param predicate a predicate that should be used.
+	 * @return a filtered array.
+	 * @see MoreArrays#filter(char[], CharPredicate)
+	 */
+	public static char[] filter(char[] array, Predicate<Character> predicate) {
+		return filter(array, (CharPredicate) predicate::test);
 	}
 	
 	/**
 	 * Filters the given array with a given predicate.
+	 * The predicate is called once for each element, in order, and the result is allocated with its exact size.
 	 * @param array an array that should be filtered.
 	 * @param predicate a predicate that should be used.
 	 * @return a filtered array.
 	 */
-	public static double[] filter(double[] array, Predicate<Double> predicate) {
-		return asDoubleArray(asList(array).stream().filter(predicate).collect(Collectors.toList()));
+	public static <T> T[] filter(T[] array, Predicate<? super T> predicate) {
+		long[] matches = new long[(array.length + 63) >>> 6];
+		int count = 0;
+		for (int i = 0; i < array.length; i++) {
+			if (predicate.test(array[i])) {
+				matches[i >>> 6] |= 1L << i;
+				count++;
+			}
+		}
+		
+		T[] result = newArray(array, count);
+		int counter = 0;
+		for (int word = 0; counter < count; word++)
+			for (long bits = matches[word]; bits != 0L; bits &= bits - 1)
+				result[counter++] = array[word << 6 | Long.numberOfTrailingZeros(bits)];
+		
+		return result;
+	}
+	
+	/**
+	 * Filters the given array with a given predicate, splitting the work between the threads of the common pool
+	 * if the array has at least {@link MoreArrays#getParallelThreshold()} elements.
+	 * The predicate may be called from several threads at once, in no particular order.
+	 * @param array an array that should be filtered.
+	 * @param predicate a predicate that should be used.
+	 * @return a filtered array, in the original order.
+	 */
+	public static byte[] parallelFilter(byte[] array, BytePredicate predicate) {
+		if (array.length < parallelThreshold)
+			return filter(array, predicate);
+		
+		long[] matches = new long[(array.length + 63) >>> 6];
+		int[] offsets = parallelMark(array.length, matches, i -> predicate.test(array[i]));
+		byte[] result = new byte[offsets[offsets.length - 1]];
+		parallelGather(array.length, matches, offsets, (from, to) -> result[to] = array[from]);
+		return result;
+	}
+	
+	/**
+	 * Filters the given array with a given predicate, splitting the work between the threads of the common pool
+	 * if the array has at least {@link MoreArrays#getParallelThreshold()} elements.
+	 * The predicate may be called from several threads at once, in no particular order.
+	 * @param array an array that should be filtered.
+	 * @param predicate a predicate that should be used.
+	 * @return a filtered array, in the original order.
+	 */
+	public static short[] parallelFilter(short[] array, ShortPredicate predicate) {
+		if (array.length < parallelThreshold)
+			return filter(array, predicate);
+		
+		long[] matches = new long[(array.length + 63) >>> 6];
+		int[] offsets = parallelMark(array.length, matches, i -> predicate.test(array[i]));
+		short[] result = new short[offsets[offsets.length - 1]];
+		parallelGather(array.length, matches, offsets, (from, to) -> result[to] = array[from]);
+		return result;
+	}
+	
+	/**
+	 * Filters the given array with a given predicate, splitting the work between the threads of the common pool
+	 * if the array has at least {@link MoreArrays#getParallelThreshold()} elements.
+	 * The predicate may be called from several threads at once, in no particular order.
+	 * @param array an array that should be filtered.
+	 * @param predicate a predicate that should be used.
+	 * @return a filtered array, in the original order.
+	 */
+	public static int[] parallelFilter(int[] array, IntPredicate predicate) {
+		if (array.length < parallelThreshold)
+			return filter(array, predicate);
+		
+		long[] matches = new long[(array.length + 63) >>> 6];
+		int[] offsets = parallelMark(array.length, matches, i -> predicate.test(array[i]));
+		int[] result = new int[offsets[offsets.length - 1]];
+		parallelGather(array.length, matches, offsets, (from, to) -> result[to] = array[from]);
+		return result;
+	}
+	
+	/**
+	 * Filters the given array with a given predicate, splitting the work between the threads of the common pool
+	 * if the array has at least {@link MoreArrays#getParallelThreshold()} elements.
+	 * The predicate may be called from several threads at once, in no particular order.
+	 * @param array an array that should be filtered.
+	 * @param predicate a predicate that should be used.
+	 * @return a filtered array, in the original order.
+	 */
+	public static long[] parallelFilter(long[] array, LongPredicate predicate) {
+		if (array.length < parallelThreshold)
+			return filter(array, predicate);
+		
+		long[] matches = new long[(array.length + 63) >>> 6];
+		int[] offsets = parallelMark(array.length, matches, i -> predicate.test(array[i]));
+		long[] result = new long[offsets[offsets.length - 1]];
+		parallelGather(array.length, matches, offsets, (from, to) -> result[to] = array[from]);
+		return result;
+	}
+	
+	/**
+	 * Filters the given array with a given predicate, splitting the work between the threads of the common pool
+	 * if the array has at least {@link MoreArrays#getParallelThreshold()} elements.
+	 * The predicate may be called from several threads at once, in no particular order.
+	 * @param array an array that should be filtered.
+	 * @param predicate a predicate that should be used.
+	 * @return a filtered array, in the original order.
+	 */
+	public static float[] parallelFilter(float[] array, FloatPredicate predicate) {
+		if (array.length < parallelThreshold)
+			return filter(array, predicate);
+		
+		long[] matches = new long[(array.length + 63) >>> 6];
+		int[] offsets = parallelMark(array.length, matches, i -> predicate.test(array[i]));
+		float[] result = new float[offsets[offsets.length - 1]];
+		parallelGather(array.length, matches, offsets, (from, to) -> result[to] = array[from]);
+		return result;
+	}
+	
+	/**
+	 * Filters the given array with a given predicate, splitting the work between the threads of the common pool
+	 * if the array has at least {@link MoreArrays#getParallelThreshold()} elements.
+	 * The predicate may be called from several threads at once, in no particular order.
+	 * @param array an array that should be filtered.
+	 * @param predicate a predicate that should be used.
+	 * @return a filtered array, in the original order.
+	 */
+	public static double[] parallelFilter(double[] array, DoublePredicate predicate) {
+		if (array.length < parallelThreshold)
+			return filter(array, predicate);
+		
+		long[] matches = new long[(array.length + 63) >>> 6];
+		int[] offsets = parallelMark(array.length, matches, i -> predicate.test(array[i]));
+		double[] result = new double[offsets[offsets.length - 1]];
+		parallelGather(array.length, matches, offsets, (from, to) -> result[to] = array[from]);
+		return result;
+	}
+	
+	/**
+	 * Filters the given array with a given predicate, splitting the work between the threads of the common pool
+	 * if the array has at least {@link MoreArrays#getParallelThreshold()} elements.
+	 * The predicate may be called from several threads at once, in no particular order.
+	 * @param array an array that should be filtered.
+	 * @param predicate a predicate that should be used.
+	 * @return a filtered array, in the original order.
+	 */
+	public static boolean[] parallelFilter(boolean[] array, BooleanPredicate predicate) {
+		if (array.length < parallelThreshold)
+			return filter(array, predicate);
+		
+		long[] matches = new long[(array.length + 63) >>> 6];
+		int[] offsets = parallelMark(array.length, matches, i -> predicate.test(array[i]));
+		boolean[] result = new boolean[offsets[offsets.length - 1]];
+		parallelGather(array.length, matches, offsets, (from, to) -> result[to] = array[from]);
+		return result;
+	}
+	
+	/**
+	 * Filters the given array with a given predicate, splitting the work between the threads of the common pool
+	 * if the array has at least {@link MoreArrays#getParallelThreshold()} elements.
+	 * The predicate may be called from several threads at once, in no particular order.
+	 * @param array an array that should be filtered.
+	 * @param predicate a predicate that should be used.
+	 * @return a filtered array, in the original order.
+	 */
+	public static char[] parallelFilter(char[] array, CharPredicate predicate) {
+		if (array.length < parallelThreshold)
+			return filter(array, predicate);
+		
+		long[] matches = new long[(array.length + 63) >>> 6];
+		int[] offsets = parallelMark(array.length, matches, i -> predicate.test(array[i]));
+		char[] result = new char[offsets[offsets.length - 1]];
+		parallelGather(array.length, matches, offsets, (from, to) -> result[to] = array[from]);
+		return result;
+	}
+	
+	/**
+	 * Filters the given array with a given predicate, splitting the work between the threads of the common pool
+	 * if the array has at least {@link MoreArrays#getParallelThreshold()} elements.
+	 * The predicate may be called from several threads at once, in no particular order.
+	 * @param array an array that should be filtered.
+	 * @param predicate a predicate that should be used.
+	 * @return a filtered array, in the original order.
+	 */
+	public static <T> T[] parallelFilter(T[] array, Predicate<? super T> predicate) {
+		if (array.length < parallelThreshold)
+			return filter(array, predicate);
+		
+		long[] matches = new long[(array.length + 63) >>> 6];
+		int[] offsets = parallelMark(array.length, matches, i -> predicate.test(array[i]));
+		T[] result = newArray(array, offsets[offsets.length - 1]);
+		parallelGather(array.length, matches, offsets, (from, to) -> result[to] = array[from]);
+		return result;
+	}
+	
+	/**
+	 * Performs an action for each component of a given array, splitting the work between the threads
+	 * of the common pool if the array has at least {@link MoreArrays#getParallelThreshold()} elements.
+	 * The action may be called from several threads at once, in no particular order.
+	 * @param array an array whose elements should be processed.
+	 * @param action an action that should be performed on each component of a given array.
+	 */
+	public static void parallelForEach(byte[] array, ByteConsumer action) {
+		parallelRanges(array.length, (from, to) -> {
+			for (int i = from; i < to; i++)
+				action.accept(array[i]);
+		});
+	}
+	
+	/**
+	 * Performs an action for each component of a given array, splitting the work between the threads
+	 * of the common pool if the array has at least {@link MoreArrays#getParallelThreshold()} elements.
+	 * The action may be called from several threads at once, in no particular order.
+	 * @param array an array whose elements should be processed.
+	 * @param action an action that should be performed on each component of a given array.
+	 */
+	public static void parallelForEach(short[] array, ShortConsumer action) {
+		parallelRanges(array.length, (from, to) -> {
+			for (int i = from; i < to; i++)
+				action.accept(array[i]);
+		});
+	}
+	
+	/**
+	 * Performs an action for each component of a given array, splitting the work between the threads
+	 * of the common pool if the array has at least {@link MoreArrays#getParallelThreshold()} elements.
+	 * The action may be called from several threads at once, in no particular order.
+	 * @param array an array whose elements should be processed.
+	 * @param action an action that should be performed on each component of a given array.
+	 */
+	public static void parallelForEach(int[] array, IntConsumer action) {
+		parallelRanges(array.length, (from, to) -> {
+			for (int i = from; i < to; i++)
+				action.accept(array[i]);
+		});
+	}
+	
+	/**
+	 * Performs an action for each component of a given array, splitting the work between the threads
+	 * of the common pool if the array has at least {@link MoreArrays#getParallelThreshold()} elements.
+	 * The action may be called from several threads at once, in no particular order.
+	 * @param array an array whose elements should be processed.
+	 * @param action an action that should be performed on each component of a given array.
+	 */
+	public static void parallelForEach(long[] array, LongConsumer action) {
+		parallelRanges(array.length, (from, to) -> {
+			for (int i = from; i < to; i++)
+				action.accept(array[i]);
+		});
+	}
+	
+	/**
+	 * Performs an action for each component of a given array, splitting the work between the threads
+	 * of the common pool if the array has at least {@link MoreArrays#getParallelThreshold()} elements.
+	 * The action may be called from several threads at once, in no particular order.
+	 * @param array an array whose elements should be processed.
+	 * @param action an action that should be performed on each component of a given array.
+	 */
+	public static void parallelForEach(float[] array, FloatConsumer action) {
+		parallelRanges(array.length, (from, to) -> {
+			for (int i = from; i < to; i++)
+				action.accept(array[i]);
+		});
+	}
+	
+	/**
+	 * Performs an action for each component of a given array, splitting the work between the threads
+	 * of the common pool if the array has at least {@link MoreArrays#getParallelThreshold()} elements.
+	 * The action may be called from several threads at once, in no particular order.
+	 * @param array an array whose elements should be processed.
+	 * @param action an action that should be performed on each component of a given array.
+	 */
+	public static void parallelForEach(double[] array, DoubleConsumer action) {
+		parallelRanges(array.length, (from, to) -> {
+			for (int i = from; i < to; i++)
+				action.accept(array[i]);
+		});
+	}
+	
+	/**
+	 * Performs an action for each component of a given array, splitting the work between the threads
+	 * of the common pool if the array has at least {@link MoreArrays#getParallelThreshold()} elements.
+	 * The action may be called from several threads at once, in no particular order.
+	 * @param array an array whose elements should be processed.
+	 * @param action an action that should be performed on each component of a given array.
+	 */
+	public static void parallelForEach(boolean[] array, BooleanConsumer action) {
+		parallelRanges(array.length, (from, to) -> {
+			for (int i = from; i < to; i++)
+				action.accept(array[i]);
+		});
+	}
+	
+	/**
+	 * Performs an action for each component of a given array, splitting the work between the threads
+	 * of the common pool if the array has at least {@link MoreArrays#getParallelThreshold()} elements.
+	 * The action may be called from several threads at once, in no particular order.
+	 * @param array an array whose elements should be processed.
+	 * @param action an action that should be performed on each component of a given array.
+	 */
+	public static void parallelForEach(char[] array, CharConsumer action) {
+		parallelRanges(array.length, (from, to) -> {
+			for (int i = from; i < to; i++)
+				action.accept(array[i]);
+		});
+	}
+	
+	/**
+	 * Performs an action for each component of a given array, splitting the work between the threads
+	 * of the common pool if the array has at least {@link MoreArrays#getParallelThreshold()} elements.
+	 * The action may be called from several threads at once, in no particular order.
+	 * @param array an array whose elements should be processed.
+	 * @param action an action that should be performed on each component of a given array.
+	 */
+	public static <T> void parallelForEach(T[] array, Consumer<? super T> action) {
+		parallelRanges(array.length, (from, to) -> {
+			for (int i = from; i < to; i++)
+				action.accept(array[i]);
+		});
+	}
+	
+	/**
+	 * Applies a function to each component of a given array, splitting the work between the threads
+	 * of the common pool if the array has at least {@link MoreArrays#getParallelThreshold()} elements.
+	 * The function may be called from several threads at once, in no particular order.
+	 * @param array an array whose elements should be mapped.
+	 * @param mapper a function that should be applied to each component of a given array.
+	 * @return a new array containing the results, in the original order.
+	 */
+	public static byte[] parallelMap(byte[] array, ByteUnaryOperator mapper) {
+		byte[] result = new byte[array.length];
+		parallelRanges(array.length, (from, to) -> {
+			for (int i = from; i < to; i++)
+				result[i] = mapper.applyAsByte(array[i]);
+		});
+		
+		return result;
+	}
+	
+	/**
+	 * Applies a function to each component of a given array, splitting the work between the threads
+	 * of the common pool if the array has at least {@link MoreArrays#getParallelThreshold()} elements.
+	 * The function may be called from several threads at once, in no particular order.
+	 * @param array an array whose elements should be mapped.
+	 * @param mapper a function that should be applied to each component of a given array.
+	 * @return a new array containing the results, in the original order.
+	 */
+	public static short[] parallelMap(short[] array, ShortUnaryOperator mapper) {
+		short[] result = new short[array.length];
+		parallelRanges(array.length, (from, to) -> {
+			for (int i = from; i < to; i++)
+				result[i] = mapper.applyAsShort(array[i]);
+		});
+		
+		return result;
+	}
+	
+	/**
+	 * Applies a function to each component of a given array, splitting the work between the threads
+	 * of the common pool if the array has at least {@link MoreArrays#getParallelThreshold()} elements.
+	 * The function may be called from several threads at once, in no particular order.
+	 * @param array an array whose elements should be mapped.
+	 * @param mapper a function that should be applied to each component of a given array.
+	 * @return a new array containing the results, in the original order.
+	 */
+	public static int[] parallelMap(int[] array, IntUnaryOperator mapper) {
+		int[] result = new int[array.length];
+		parallelRanges(array.length, (from, to) -> {
+			for (int i = from; i < to; i++)
+				result[i] = mapper.applyAsInt(array[i]);
+		});
+		
+		return result;
+	}
+	
+	/**
+	 * Applies a function to each component of a given array, splitting the work between the threads
+	 * of the common pool if the array has at least {@link MoreArrays#getParallelThreshold()} elements.
+	 * The function may be called from several threads at once, in no particular order.
+	 * @param array an array whose elements should be mapped.
+	 * @param mapper a function that should be applied to each component of a given array.
+	 * @return a new array containing the results, in the original order.
+	 */
+	public static long[] parallelMap(long[] array, LongUnaryOperator mapper) {
+		long[] result = new long[array.length];
+		parallelRanges(array.length, (from, to) -> {
+			for (int i = from; i < to; i++)
+				result[i] = mapper.applyAsLong(array[i]);
+		});
+		
+		return result;
+	}
+	
+	/**
+	 * Applies a function to each component of a given array, splitting the work between the threads
+	 * of the common pool if the array has at least {@link MoreArrays#getParallelThreshold()} elements.
+	 * The function may be called from several threads at once, in no particular order.
+	 * @param array an array whose elements should be mapped.
+	 * @param mapper a function that should be applied to each component of a given array.
+	 * @return a new array containing the results, in the original order.
+	 */
+	public static float[] parallelMap(float[] array, FloatUnaryOperator mapper) {
+		float[] result = new float[array.length];
+		parallelRanges(array.length, (from, to) -> {
+			for (int i = from; i < to; i++)
+				result[i] = mapper.applyAsFloat(array[i]);
+		});
+		
+		return result;
+	}
+	
+	/**
+	 * Applies a function to each component of a given array, splitting the work between the threads
+	 * of the common pool if the array has at least {@link MoreArrays#getParallelThreshold()} elements.
+	 * The function may be called from several threads at once, in no particular order.
+	 * @param array an array whose elements should be mapped.
+	 * @param mapper a function that should be applied to each component of a given array.
+	 * @return a new array containing the results, in the original order.
+	 */
+	public static double[] parallelMap(double[] array, DoubleUnaryOperator mapper) {
+		double[] result = new double[array.length];
+		parallelRanges(array.length, (from, to) -> {
+			for (int i = from; i < to; i++)
+				result[i] = mapper.applyAsDouble(array[i]);
+		});
+		
+		return result;
+	}
+	
+	/**
+	 * Applies a function to each component of a given array, splitting the work between the threads
+	 * of the common pool if the array has at least {@link MoreArrays#getParallelThreshold()} elements.
+	 * The function may be called from several threads at once, in no particular order.
+	 * @param array an array whose elements should be mapped.
+	 * @param mapper a function that should be applied to each component of a given array.
+	 * @return a new array containing the results, in the original order.
+	 */
+	public static boolean[] parallelMap(boolean[] array, BooleanUnaryOperator mapper) {
+		boolean[] result = new boolean[array.length];
+		parallelRanges(array.length, (from, to) -> {
+			for (int i = from; i < to; i++)
+				result[i] = mapper.applyAsBoolean(array[i]);
+		});
+		
+		return result;
+	}
+	
+	/**
+	 * Applies a function to each component of a given array, splitting the work between the threads
+	 * of the common pool if the array has at least {@link MoreArrays#getParallelThreshold()} elements.
+	 * The function may be called from several threads at once, in no particular order.
+	 * @param array an array whose elements should be mapped.
+	 * @param mapper a function that should be applied to each component of a given array.
+	 * @return a new array containing the results, in the original order.
+	 */
+	public static char[] parallelMap(char[] array, CharUnaryOperator mapper) {
+		char[] result = new char[array.length];
+		parallelRanges(array.length, (from, to) -> {
+			for (int i = from; i < to; i++)
+				result[i] = mapper.applyAsChar(array[i]);
+		});
+		
+		return result;
+	}
+	
+	/**
+	 * Applies a function to each component of a given array, splitting the work between the threads
+	 * of the common pool if the array has at least {@link MoreArrays#getParallelThreshold()} elements.
+	 * The function may be called from several threads at once, in no particular order.
+	 * @param array an array whose elements should be mapped.
+	 * @param mapper a function that should be applied to each component of a given array.
+	 * @param generator a function making a new array of the desired type and size.
+	 * @return a new array containing the results, in the original order.
+	 */
+	public static <T, R> R[] parallelMap(T[] array, Function<? super T, ? extends R> mapper, IntFunction<R[]> generator) {
+		R[] result = generator.apply(array.length);
+		parallelRanges(array.length, (from, to) -> {
+			for (int i = from; i < to; i++)
+				result[i] = mapper.apply(array[i]);
+		});
+		
+		return result;
+	}
+	
+	/**
+	 * Returns the sum of the elements of a given array, accumulated in a <tt>long</tt>.
+	 * @param array an array whose elements should be summed.
+	 * @return the sum of the elements.
+	 */
+	public static long sum(int[] array) {
+		return sum(array, 0, array.length);
+	}
+	
+	/**
+	 * Returns the sum of the elements in the range <tt>[fromIndex, toIndex)</tt> of a given array, accumulated in a <tt>long</tt>.
+	 * @param array an array whose elements should be summed.
+	 * @param fromIndex the index of the first element, inclusive.
+	 * @param toIndex the index of the last element, exclusive.
+	 * @return the sum of the elements.
+	 * @throws IndexOutOfBoundsException if the range is out of the array's bounds.
+	 */
+	public static long sum(int[] array, int fromIndex, int toIndex) {
+		checkRange(array.length, fromIndex, toIndex);
+		long sum = 0;
+		for (int i = fromIndex; i < toIndex; i++)
+			sum += array[i];
+		
+		return sum;
+	}
+	
+	/**
+	 * Returns the smallest element of a given array.
+	 * @param array an array whose elements should be compared.
+	 * @return the smallest element.
+	 * @throws NoSuchElementException if the array is empty.
+	 */
+	public static int min(int[] array) {
+		return min(array, 0, array.length);
+	}
+	
+	/**
+	 * Returns the smallest element in the range <tt>[fromIndex, toIndex)</tt> of a given array.
+	 * @param array an array whose elements should be compared.
+	 * @param fromIndex the index of the first element, inclusive.
+	 * @param toIndex the index of the last element, exclusive.
+	 * @return the smallest element.
+	 * @throws IndexOutOfBoundsException if the range is out of the array's bounds.
+	 * @throws NoSuchElementException if the range is empty.
+	 */
+	public static int min(int[] array, int fromIndex, int toIndex) {
+		checkRange(array.length, fromIndex, toIndex);
+		if (fromIndex == toIndex)
+			throw new NoSuchElementException();
+		
+		int min = array[fromIndex];
+		for (int i = fromIndex + 1; i < toIndex; i++)
+			min = Math.min(min, array[i]);
+		
+		return min;
+	}
+	
+	/**
+	 * Returns the largest element of a given array.
+	 * @param array an array whose elements should be compared.
+	 * @return the largest element.
+	 * @throws NoSuchElementException if the array is empty.
+	 */
+	public static int max(int[] array) {
+		return max(array, 0, array.length);
+	}
+	
+	/**
+	 * Returns the largest element in the range <tt>[fromIndex, toIndex)</tt> of a given array.
+	 * @param array an array whose elements should be compared.
+	 * @param fromIndex the index of the first element, inclusive.
+	 * @param toIndex the index of the last element, exclusive.
+	 * @return the largest element.
+	 * @throws IndexOutOfBoundsException if the range is out of the array's bounds.
+	 * @throws NoSuchElementException if the range is empty.
+	 */
+	public static int max(int[] array, int fromIndex, int toIndex) {
+		checkRange(array.length, fromIndex, toIndex);
+		if (fromIndex == toIndex)
+			throw new NoSuchElementException();
+		
+		int max = array[fromIndex];
+		for (int i = fromIndex + 1; i < toIndex; i++)
+			max = Math.max(max, array[i]);
+		
+		return max;
+	}
+	
+	/**
+	 * Returns the index of the first smallest element of a given array.
+	 * @param array an array whose elements should be compared.
+	 * @return the index of the smallest element, or <tt>-1</tt> if there's none.
+	 */
+	public static int argMin(int[] array) {
+		return argMin(array, 0, array.length);
+	}
+	
+	/**
+	 * Returns the index of the first smallest element in the range <tt>[fromIndex, toIndex)</tt> of a given array.
+	 * @param array an array whose elements should be compared.
+	 * @param fromIndex the index of the first element, inclusive.
+	 * @param toIndex the index of the last element, exclusive.
+	 * @return the index of the smallest element, or <tt>-1</tt> if there's none.
+	 * @throws IndexOutOfBoundsException if the range is out of the array's bounds.
+	 */
+	public static int argMin(int[] array, int fromIndex, int toIndex) {
+		checkRange(array.length, fromIndex, toIndex);
+		if (fromIndex == toIndex)
+			return -1;
+		
+		int index = fromIndex;
+		for (int i = fromIndex + 1; i < toIndex; i++)
+			if (array[i] < array[index])
+				index = i;
+		
+		return index;
+	}
+	
+	/**
+	 * Returns the index of the first largest element of a given array.
+	 * @param array an array whose elements should be compared.
+	 * @return the index of the largest element, or <tt>-1</tt> if there's none.
+	 */
+	public static int argMax(int[] array) {
+		return argMax(array, 0, array.length);
+	}
+	
+	/**
+	 * Returns the index of the first largest element in the range <tt>[fromIndex, toIndex)</tt> of a given array.
+	 * @param array an array whose elements should be compared.
+	 * @param fromIndex the index of the first element, inclusive.
+	 * @param toIndex the index of the last element, exclusive.
+	 * @return the index of the largest element, or <tt>-1</tt> if there's none.
+	 * @throws IndexOutOfBoundsException if the range is out of the array's bounds.
+	 */
+	public static int argMax(int[] array, int fromIndex, int toIndex) {
+		checkRange(array.length, fromIndex, toIndex);
+		if (fromIndex == toIndex)
+			return -1;
+		
+		int index = fromIndex;
+		for (int i = fromIndex + 1; i < toIndex; i++)
+			if (array[i] > array[index])
+				index = i;
+		
+		return index;
+	}
+	
+	/**
+	 * Returns the dot product of two arrays of the same length, accumulated in a <tt>long</tt>.
+	 * @param first the first array.
+	 * @param second the second array.
+	 * @return the sum of the products of the elements at the same indices.
+	 * @throws IllegalArgumentException if the arrays have different lengths.
+	 */
+	public static long dot(int[] first, int[] second) {
+		checkLengths(first.length, second.length);
+		return dot(first, second, 0, first.length);
+	}
+	
+	/**
+	 * Returns the dot product of the ranges <tt>[fromIndex, toIndex)</tt> of two arrays, accumulated in a <tt>long</tt>.
+	 * @param first the first array.
+	 * @param second the second array.
+	 * @param fromIndex the index of the first element, inclusive.
+	 * @param toIndex the index of the last element, exclusive.
+	 * @return the sum of the products of the elements at the same indices.
+	 * @throws IndexOutOfBoundsException if the range is out of either array's bounds.
+	 */
+	public static long dot(int[] first, int[] second, int fromIndex, int toIndex) {
+		checkRange(first.length, fromIndex, toIndex);
+		checkRange(second.length, fromIndex, toIndex);
+		long sum = 0;
+		for (int i = fromIndex; i < toIndex; i++)
+			sum += (long) first[i] * second[i];
+		
+		return sum;
+	}
+	
+	/**
+	 * Computes <tt>y[i] += alpha * x[i]</tt> for every index of two arrays of the same length.
+	 * @param alpha the factor of <tt>x</tt>.
+	 * @param x the array which is scaled and added.
+	 * @param y the array which is added to, in place.
+	 * @throws IllegalArgumentException if the arrays have different lengths.
+	 */
+	public static void axpy(int alpha, int[] x, int[] y) {
+		checkLengths(x.length, y.length);
+		axpy(alpha, x, y, 0, x.length);
+	}
+	
+	/**
+	 * Computes <tt>y[i] += alpha * x[i]</tt> for every index in the range <tt>[fromIndex, toIndex)</tt>.
+	 * @param alpha the factor of <tt>x</tt>.
+	 * @param x the array which is scaled and added.
+	 * @param y the array which is added to, in place.
+	 * @param fromIndex the index of the first element, inclusive.
+	 * @param toIndex the index of the last element, exclusive.
+	 * @throws IndexOutOfBoundsException if the range is out of either array's bounds.
+	 */
+	public static void axpy(int alpha, int[] x, int[] y, int fromIndex, int toIndex) {
+		checkRange(x.length, fromIndex, toIndex);
+		checkRange(y.length, fromIndex, toIndex);
+		for (int i = fromIndex; i < toIndex; i++)
+			y[i] += alpha * x[i];
+	}
+	
+	/**
+	 * Multiplies every element of a given array by <tt>factor</tt>, in place.
+	 * @param array an array whose elements should be scaled.
+	 * @param factor the factor.
+	 */
+	public static void scale(int[] array, int factor) {
+		scale(array, factor, 0, array.length);
+	}
+	
+	/**
+	 * Multiplies every element in the range <tt>[fromIndex, toIndex)</tt> of a given array by <tt>factor</tt>, in place.
+	 * @param array an array whose elements should be scaled.
+	 * @param factor the factor.
+	 * @param fromIndex the index of the first element, inclusive.
+	 * @param toIndex the index of the last element, exclusive.
+	 * @throws IndexOutOfBoundsException if the range is out of the array's bounds.
+	 */
+	public static void scale(int[] array, int factor, int fromIndex, int toIndex) {
+		checkRange(array.length, fromIndex, toIndex);
+		for (int i = fromIndex; i < toIndex; i++)
+			array[i] *= factor;
+	}
+	
+	/**
+	 * Clamps every element of a given array between <tt>minValue</tt> and <tt>maxValue</tt>, in place.
+	 * @param array an array whose elements should be clamped.
+	 * @param minValue the minimum value.
+	 * @param maxValue the maximum value.
+	 * @see Meth#clamp(int, int, int)
+	 */
+	public static void clamp(int[] array, int minValue, int maxValue) {
+		clamp(array, minValue, maxValue, 0, array.length);
+	}
+	
+	/**
+	 * Clamps every element in the range <tt>[fromIndex, toIndex)</tt> of a given array
+	 * between <tt>minValue</tt> and <tt>maxValue</tt>, in place.
+	 * @param array an array whose elements should be clamped.
+	 * @param minValue the minimum value.
+	 * @param maxValue the maximum value.
+	 * @param fromIndex the index of the first element, inclusive.
+	 * @param toIndex the index of the last element, exclusive.
+	 * @throws IndexOutOfBoundsException if the range is out of the array's bounds.
+	 * @see Meth#clamp(int, int, int)
+	 */
+	public static void clamp(int[] array, int minValue, int maxValue, int fromIndex, int toIndex) {
+		checkRange(array.length, fromIndex, toIndex);
+		for (int i = fromIndex; i < toIndex; i++)
+			array[i] = Meth.clamp(array[i], minValue, maxValue);
+	}
+	
+	/**
+	 * Replaces every element of a given array with the sum of it and all the elements before it, in place.
+	 * @param array an array whose elements should be summed.
+	 */
+	public static void prefixSum(int[] array) {
+		prefixSum(array, 0, array.length);
+	}
+	
+	/**
+	 * Replaces every element in the range <tt>[fromIndex, toIndex)</tt> of a given array with the sum of it
+	 * and all the elements of the range before it, in place.
+	 * @param array an array whose elements should be summed.
+	 * @param fromIndex the index of the first element, inclusive.
+	 * @param toIndex the index of the last element, exclusive.
+	 * @throws IndexOutOfBoundsException if the range is out of the array's bounds.
+	 */
+	public static void prefixSum(int[] array, int fromIndex, int toIndex) {
+		checkRange(array.length, fromIndex, toIndex);
+		for (int i = fromIndex + 1; i < toIndex; i++)
+			array[i] += array[i - 1];
+	}
+	
+	/**
+	 * Returns the sum of the elements of a given array.
+	 * @param array an array whose elements should be summed.
+	 * @return the sum of the elements.
+	 */
+	public static long sum(long[] array) {
+		return sum(array, 0, array.length);
+	}
+	
+	/**
+	 * Returns the sum of the elements in the range <tt>[fromIndex, toIndex)</tt> of a given array.
+	 * @param array an array whose elements should be summed.
+	 * @param fromIndex the index of the first element, inclusive.
+	 * @param toIndex the index of the last element, exclusive.
+	 * @return the sum of the elements.
+	 * @throws IndexOutOfBoundsException if the range is out of the array's bounds.
+	 */
+	public static long sum(long[] array, int fromIndex, int toIndex) {
+		checkRange(array.length, fromIndex, toIndex);
+		long sum = 0;
+		for (int i = fromIndex; i < toIndex; i++)
+			sum += array[i];
+		
+		return sum;
+	}
+	
+	/**
+	 * Returns the smallest element of a given array.
+	 * @param array an array whose elements should be compared.
+	 * @return the smallest element.
+	 * @throws NoSuchElementException if the array is empty.
+	 */
+	public static long min(long[] array) {
+		return min(array, 0, array.length);
+	}
+	
+	/**
+	 * Returns the smallest element in the range <tt>[fromIndex, toIndex)</tt> of a given array.
+	 * @param array an array whose elements should be compared.
+	 * @param fromIndex the index of the first element, inclusive.
+	 * @param toIndex the index of the last element, exclusive.
+	 * @return the smallest element.
+	 * @throws IndexOutOfBoundsException if the range is out of the array's bounds.
+	 * @throws NoSuchElementException if the range is empty.
+	 */
+	public static long min(long[] array, int fromIndex, int toIndex) {
+		checkRange(array.length, fromIndex, toIndex);
+		if (fromIndex == toIndex)
+			throw new NoSuchElementException();
+		
+		long min = array[fromIndex];
+		for (int i = fromIndex + 1; i < toIndex; i++)
+			min = Math.min(min, array[i]);
+		
+		return min;
+	}
+	
+	/**
+	 * Returns the largest element of a given array.
+	 * @param array an array whose elements should be compared.
+	 * @return the largest element.
+	 * @throws NoSuchElementException if the array is empty.
+	 */
+	public static long max(long[] array) {
+		return max(array, 0, array.length);
+	}
+	
+	/**
+	 * Returns the largest element in the range <tt>[fromIndex, toIndex)</tt> of a given array.
+	 * @param array an array whose elements should be compared.
+	 * @param fromIndex the index of the first element, inclusive.
+	 * @param toIndex the index of the last element, exclusive.
+	 * @return the largest element.
+	 * @throws IndexOutOfBoundsException if the range is out of the array's bounds.
+	 * @throws NoSuchElementException if the range is empty.
+	 */
+	public static long max(long[] array, int fromIndex, int toIndex) {
+		checkRange(array.length, fromIndex, toIndex);
+		if (fromIndex == toIndex)
+			throw new NoSuchElementException();
+		
+		long max = array[fromIndex];
+		for (int i = fromIndex + 1; i < toIndex; i++)
+			max = Math.max(max, array[i]);
+		
+		return max;
+	}
+	
+	/**
+	 * Returns the index of the first smallest element of a given array.
+	 * @param array an array whose elements should be compared.
+	 * @return the index of the smallest element, or <tt>-1</tt> if there's none.
+	 */
+	public static int argMin(long[] array) {
+		return argMin(array, 0, array.length);
+	}
+	
+	/**
+	 * Returns the index of the first smallest element in the range <tt>[fromIndex, toIndex)</tt> of a given array.
+	 * @param array an array whose elements should be compared.
+	 * @param fromIndex the index of the first element, inclusive.
+	 * @param toIndex the index of the last element, exclusive.
+	 * @return the index of the smallest element, or <tt>-1</tt> if there's none.
+	 * @throws IndexOutOfBoundsException if the range is out of the array's bounds.
+	 */
+	public static int argMin(long[] array, int fromIndex, int toIndex) {
+		checkRange(array.length, fromIndex, toIndex);
+		if (fromIndex == toIndex)
+			return -1;
+		
+		int index = fromIndex;
+		for (int i = fromIndex + 1; i < toIndex; i++)
+			if (array[i] < array[index])
+				index = i;
+		
+		return index;
+	}
+	
+	/**
+	 * Returns the index of the first largest element of a given array.
+	 * @param array an array whose elements should be compared.
+	 * @return the index of the largest element, or <tt>-1</tt> if there's none.
+	 */
+	public static int argMax(long[] array) {
+		return argMax(array, 0, array.length);
+	}
+	
+	/**
+	 * Returns the index of the first largest element in the range <tt>[fromIndex, toIndex)</tt> of a given array.
+	 * @param array an array whose elements should be compared.
+	 * @param fromIndex the index of the first element, inclusive.
+	 * @param toIndex the index of the last element, exclusive.
+	 * @return the index of the largest element, or <tt>-1</tt> if there's none.
+	 * @throws IndexOutOfBoundsException if the range is out of the array's bounds.
+	 */
+	public static int argMax(long[] array, int fromIndex, int toIndex) {
+		checkRange(array.length, fromIndex, toIndex);
+		if (fromIndex == toIndex)
+			return -1;
+		
+		int index = fromIndex;
+		for (int i = fromIndex + 1; i < toIndex; i++)
+			if (array[i] > array[index])
+				index = i;
+		
+		return index;
+	}
+	
+	/**
+	 * Returns the dot product of two arrays of the same length.
+	 * @param first the first array.
+	 * @param second the second array.
+	 * @return the sum of the products of the elements at the same indices.
+	 * @throws IllegalArgumentException if the arrays have different lengths.
+	 */
+	public static long dot(long[] first, long[] second) {
+		checkLengths(first.length, second.length);
+		return dot(first, second, 0, first.length);
+	}
+	
+	/**
+	 * Returns the dot product of the ranges <tt>[fromIndex, toIndex)</tt> of two arrays.
+	 * @param first the first array.
+	 * @param second the second array.
+	 * @param fromIndex the index of the first element, inclusive.
+	 * @param toIndex the index of the last element, exclusive.
+	 * @return the sum of the products of the elements at the same indices.
+	 * @throws IndexOutOfBoundsException if the range is out of either array's bounds.
+	 */
+	public static long dot(long[] first, long[] second, int fromIndex, int toIndex) {
+		checkRange(first.length, fromIndex, toIndex);
+		checkRange(second.length, fromIndex, toIndex);
+		long sum = 0;
+		for (int i = fromIndex; i < toIndex; i++)
+			sum += first[i] * second[i];
+		
+		return sum;
+	}
+	
+	/**
+	 * Computes <tt>y[i] += alpha * x[i]</tt> for every index of two arrays of the same length.
+	 * @param alpha the factor of <tt>x</tt>.
+	 * @param x the array which is scaled and added.
+	 * @param y the array which is added to, in place.
+	 * @throws IllegalArgumentException if the arrays have different lengths.
+	 */
+	public static void axpy(long alpha, long[] x, long[] y) {
+		checkLengths(x.length, y.length);
+		axpy(alpha, x, y, 0, x.length);
+	}
+	
+	/**
+	 * Computes <tt>y[i] += alpha * x[i]</tt> for every index in the range <tt>[fromIndex, toIndex)</tt>.
+	 * @param alpha the factor of <tt>x</tt>.
+	 * @param x the array which is scaled and added.
+	 * @param y the array which is added to, in place.
+	 * @param fromIndex the index of the first element, inclusive.
+	 * @param toIndex the index of the last element, exclusive.
+	 * @throws IndexOutOfBoundsException if the range is out of either array's bounds.
+	 */
+	public static void axpy(long alpha, long[] x, long[] y, int fromIndex, int toIndex) {
+		checkRange(x.length, fromIndex, toIndex);
+		checkRange(y.length, fromIndex, toIndex);
+		for (int i = fromIndex; i < toIndex; i++)
+			y[i] += alpha * x[i];
+	}
+	
+	/**
+	 * Multiplies every element of a given array by <tt>factor</tt>, in place.
+	 * @param array an array whose elements should be scaled.
+	 * @param factor the factor.
+	 */
+	public static void scale(long[] array, long factor) {
+		scale(array, factor, 0, array.length);
+	}
+	
+	/**
+	 * Multiplies every element in the range <tt>[fromIndex, toIndex)</tt> of a given array by <tt>factor</tt>, in place.
+	 * @param array an array whose elements should be scaled.
+	 * @param factor the factor.
+	 * @param fromIndex the index of the first element, inclusive.
+	 * @param toIndex the index of the last element, exclusive.
+	 * @throws IndexOutOfBoundsException if the range is out of the array's bounds.
+	 */
+	public static void scale(long[] array, long factor, int fromIndex, int toIndex) {
+		checkRange(array.length, fromIndex, toIndex);
+		for (int i = fromIndex; i < toIndex; i++)
+			array[i] *= factor;
+	}
+	
+	/**
+	 * Clamps every element of a given array between <tt>minValue</tt> and <tt>maxValue</tt>, in place.
+	 * @param array an array whose elements should be clamped.
+	 * @param minValue the minimum value.
+	 * @param maxValue the maximum value.
+	 * @see Meth#clamp(long, long, long)
+	 */
+	public static void clamp(long[] array, long minValue, long maxValue) {
+		clamp(array, minValue, maxValue, 0, array.length);
+	}
+	
+	/**
+	 * Clamps every element in the range <tt>[fromIndex, toIndex)</tt> of a given array
+	 * between <tt>minValue</tt> and <tt>maxValue</tt>, in place.
+	 * @param array an array whose elements should be clamped.
+	 * @param minValue the minimum value.
+	 * @param maxValue the maximum value.
+	 * @param fromIndex the index of the first element, inclusive.
+	 * @param toIndex the index of the last element, exclusive.
+	 * @throws IndexOutOfBoundsException if the range is out of the array's bounds.
+	 * @see Meth#clamp(long, long, long)
+	 */
+	public static void clamp(long[] array, long minValue, long maxValue, int fromIndex, int toIndex) {
+		checkRange(array.length, fromIndex, toIndex);
+		for (int i = fromIndex; i < toIndex; i++)
+			array[i] = Meth.clamp(array[i], minValue, maxValue);
+	}
+	
+	/**
+	 * Replaces every element of a given array with the sum of it and all the elements before it, in place.
+	 * @param array an array whose elements should be summed.
+	 */
+	public static void prefixSum(long[] array) {
+		prefixSum(array, 0, array.length);
+	}
+	
+	/**
+	 * Replaces every element in the range <tt>[fromIndex, toIndex)</tt> of a given array with the sum of it
+	 * and all the elements of the range before it, in place.
+	 * @param array an array whose elements should be summed.
+	 * @param fromIndex the index of the first element, inclusive.
+	 * @param toIndex the index of the last element, exclusive.
+	 * @throws IndexOutOfBoundsException if the range is out of the array's bounds.
+	 */
+	public static void prefixSum(long[] array, int fromIndex, int toIndex) {
+		checkRange(array.length, fromIndex, toIndex);
+		for (int i = fromIndex + 1; i < toIndex; i++)
+			array[i] += array[i - 1];
+	}
+	
+	/**
+	 * Returns the sum of the elements of a given array, accumulated in a <tt>double</tt>.
+	 * @param array an array whose elements should be summed.
+	 * @return the sum of the elements.
+	 */
+	public static double sum(float[] array) {
+		return sum(array, 0, array.length);
+	}
+	
+	/**
+	 * Returns the sum of the elements in the range <tt>[fromIndex, toIndex)</tt> of a given array, accumulated in a <tt>double</tt>.
+	 * @param array an array whose elements should be summed.
+	 * @param fromIndex the index of the first element, inclusive.
+	 * @param toIndex the index of the last element, exclusive.
+	 * @return the sum of the elements.
+	 * @throws IndexOutOfBoundsException if the range is out of the array's bounds.
+	 */
+	public static double sum(float[] array, int fromIndex, int toIndex) {
+		checkRange(array.length, fromIndex, toIndex);
+		double sum = 0;
+		for (int i = fromIndex; i < toIndex; i++)
+			sum += array[i];
+		
+		return sum;
+	}
+	
+	/**
+	 * Returns the smallest element of a given array. If any of the elements is NaN, the result is NaN.
+	 * @param array an array whose elements should be compared.
+	 * @return the smallest element.
+	 * @throws NoSuchElementException if the array is empty.
+	 */
+	public static float min(float[] array) {
+		return min(array, 0, array.length);
+	}
+	
+	/**
+	 * Returns the smallest element in the range <tt>[fromIndex, toIndex)</tt> of a given array. If any of the elements is NaN, the result is NaN.
+	 * @param array an array whose elements should be compared.
+	 * @param fromIndex the index of the first element, inclusive.
+	 * @param toIndex the index of the last element, exclusive.
+	 * @return the smallest element.
+	 * @throws IndexOutOfBoundsException if the range is out of the array's bounds.
+	 * @throws NoSuchElementException if the range is empty.
+	 */
+	public static float min(float[] array, int fromIndex, int toIndex) {
+		checkRange(array.length, fromIndex, toIndex);
+		if (fromIndex == toIndex)
+			throw new NoSuchElementException();
+		
+		float min = array[fromIndex];
+		for (int i = fromIndex + 1; i < toIndex; i++)
+			min = Math.min(min, array[i]);
+		
+		return min;
+	}
+	
+	/**
+	 * Returns the largest element of a given array. If any of the elements is NaN, the result is NaN.
+	 * @param array an array whose elements should be compared.
+	 * @return the largest element.
+	 * @throws NoSuchElementException if the array is empty.
+	 */
+	public static float max(float[] array) {
+		return max(array, 0, array.length);
+	}
+	
+	/**
+	 * Returns the largest element in the range <tt>[fromIndex, toIndex)</tt> of a given array. If any of the elements is NaN, the result is NaN.
+	 * @param array an array whose elements should be compared.
+	 * @param fromIndex the index of the first element, inclusive.
+	 * @param toIndex the index of the last element, exclusive.
+	 * @return the largest element.
+	 * @throws IndexOutOfBoundsException if the range is out of the array's bounds.
+	 * @throws NoSuchElementException if the range is empty.
+	 */
+	public static float max(float[] array, int fromIndex, int toIndex) {
+		checkRange(array.length, fromIndex, toIndex);
+		if (fromIndex == toIndex)
+			throw new NoSuchElementException();
+		
+		float max = array[fromIndex];
+		for (int i = fromIndex + 1; i < toIndex; i++)
+			max = Math.max(max, array[i]);
+		
+		return max;
+	}
+	
+	/**
+	 * Returns the index of the first smallest element of a given array. NaNs are skipped.
+	 * @param array an array whose elements should be compared.
+	 * @return the index of the smallest element, or <tt>-1</tt> if there's none.
+	 */
+	public static int argMin(float[] array) {
+		return argMin(array, 0, array.length);
+	}
+	
+	/**
+	 * Returns the index of the first smallest element in the range <tt>[fromIndex, toIndex)</tt> of a given array. NaNs are skipped.
+	 * @param array an array whose elements should be compared.
+	 * @param fromIndex the index of the first element, inclusive.
+	 * @param toIndex the index of the last element, exclusive.
+	 * @return the index of the smallest element, or <tt>-1</tt> if there's none.
+	 * @throws IndexOutOfBoundsException if the range is out of the array's bounds.
+	 */
+	public static int argMin(float[] array, int fromIndex, int toIndex) {
+		checkRange(array.length, fromIndex, toIndex);
+		int index = -1;
+		for (int i = fromIndex; i < toIndex; i++)
+			if (array[i] == array[i] && (index < 0 || array[i] < array[index]))
+				index = i;
+		
+		return index;
+	}
+	
+	/**
+	 * Returns the index of the first largest element of a given array. NaNs are skipped.
+	 * @param array an array whose elements should be compared.
+	 * @return the index of the largest element, or <tt>-1</tt> if there's none.
+	 */
+	public static int argMax(float[] array) {
+		return argMax(array, 0, array.length);
+	}
+	
+	/**
+	 * Returns the index of the first largest element in the range <tt>[fromIndex, toIndex)</tt> of a given array. NaNs are skipped.
+	 * @param array an array whose elements should be compared.
+	 * @param fromIndex the index of the first element, inclusive.
+	 * @param toIndex the index of the last element, exclusive.
+	 * @return the index of the largest element, or <tt>-1</tt> if there's none.
+	 * @throws IndexOutOfBoundsException if the range is out of the array's bounds.
+	 */
+	public static int argMax(float[] array, int fromIndex, int toIndex) {
+		checkRange(array.length, fromIndex, toIndex);
+		int index = -1;
+		for (int i = fromIndex; i < toIndex; i++)
+			if (array[i] == array[i] && (index < 0 || array[i] > array[index]))
+				index = i;
+		
+		return index;
+	}
+	
+	/**
+	 * Returns the dot product of two arrays of the same length, accumulated in a <tt>double</tt>.
+	 * @param first the first array.
+	 * @param second the second array.
+	 * @return the sum of the products of the elements at the same indices.
+	 * @throws IllegalArgumentException if the arrays have different lengths.
+	 */
+	public static double dot(float[] first, float[] second) {
+		checkLengths(first.length, second.length);
+		return dot(first, second, 0, first.length);
+	}
+	
+	/**
+	 * Returns the dot product of the ranges <tt>[fromIndex, toIndex)</tt> of two arrays, accumulated in a <tt>double</tt>.
+	 * @param first the first array.
+	 * @param second the second array.
+	 * @param fromIndex the index of the first element, inclusive.
+	 * @param toIndex the index of the last element, exclusive.
+	 * @return the sum of the products of the elements at the same indices.
+	 * @throws IndexOutOfBoundsException if the range is out of either array's bounds.
+	 */
+	public static double dot(float[] first, float[] second, int fromIndex, int toIndex) {
+		checkRange(first.length, fromIndex, toIndex);
+		checkRange(second.length, fromIndex, toIndex);
+		double sum = 0;
+		for (int i = fromIndex; i < toIndex; i++)
+			sum += (double) first[i] * second[i];
+		
+		return sum;
+	}
+	
+	/**
+	 * Computes <tt>y[i] += alpha * x[i]</tt> for every index of two arrays of the same length.
+	 * @param alpha the factor of <tt>x</tt>.
+	 * @param x the array which is scaled and added.
+	 * @param y the array which is added to, in place.
+	 * @throws IllegalArgumentException if the arrays have different lengths.
+	 */
+	public static void axpy(float alpha, float[] x, float[] y) {
+		checkLengths(x.length, y.length);
+		axpy(alpha, x, y, 0, x.length);
+	}
+	
+	/**
+	 * Computes <tt>y[i] += alpha * x[i]</tt> for every index in the range <tt>[fromIndex, toIndex)</tt>.
+	 * @param alpha the factor of <tt>x</tt>.
+	 * @param x the array which is scaled and added.
+	 * @param y the array which is added to, in place.
+	 * @param fromIndex the index of the first element, inclusive.
+	 * @param toIndex the index of the last element, exclusive.
+	 * @throws IndexOutOfBoundsException if the range is out of either array's bounds.
+	 */
+	public static void axpy(float alpha, float[] x, float[] y, int fromIndex, int toIndex) {
+		checkRange(x.length, fromIndex, toIndex);
+		checkRange(y.length, fromIndex, toIndex);
+		for (int i = fromIndex; i < toIndex; i++)
+			y[i] += alpha * x[i];
+	}
+	
+	/**
+	 * Multiplies every element of a given array by <tt>factor</tt>, in place.
+	 * @param array an array whose elements should be scaled.
+	 * @param factor the factor.
+	 */
+	public static void scale(float[] array, float factor) {
+		scale(array, factor, 0, array.length);
+	}
+	
+	/**
+	 * Multiplies every element in the range <tt>[fromIndex, toIndex)</tt> of a given array by <tt>factor</tt>, in place.
+	 * @param array an array whose elements should be scaled.
+	 * @param factor the factor.
+	 * @param fromIndex the index of the first element, inclusive.
+	 * @param toIndex the index of the last element, exclusive.
+	 * @throws IndexOutOfBoundsException if the range is out of the array's bounds.
+	 */
+	public static void scale(float[] array, float factor, int fromIndex, int toIndex) {
+		checkRange(array.length, fromIndex, toIndex);
+		for (int i = fromIndex; i < toIndex; i++)
+			array[i] *= factor;
+	}
+	
+	/**
+	 * Clamps every element of a given array between <tt>minValue</tt> and <tt>maxValue</tt>, in place.
+	 * @param array an array whose elements should be clamped.
+	 * @param minValue the minimum value.
+	 * @param maxValue the maximum value.
+	 * @see Meth#clamp(float, float, float)
+	 */
+	public static void clamp(float[] array, float minValue, float maxValue) {
+		clamp(array, minValue, maxValue, 0, array.length);
+	}
+	
+	/**
+	 * Clamps every element in the range <tt>[fromIndex, toIndex)</tt> of a given array
+	 * between <tt>minValue</tt> and <tt>maxValue</tt>, in place.
+	 * @param array an array whose elements should be clamped.
+	 * @param minValue the minimum value.
+	 * @param maxValue the maximum value.
+	 * @param fromIndex the index of the first element, inclusive.
+	 * @param toIndex the index of the last element, exclusive.
+	 * @throws IndexOutOfBoundsException if the range is out of the array's bounds.
+	 * @see Meth#clamp(float, float, float)
+	 */
+	public static void clamp(float[] array, float minValue, float maxValue, int fromIndex, int toIndex) {
+		checkRange(array.length, fromIndex, toIndex);
+		for (int i = fromIndex; i < toIndex; i++)
+			array[i] = Meth.clamp(array[i], minValue, maxValue);
+	}
+	
+	/**
+	 * Replaces every element of a given array with the sum of it and all the elements before it, in place.
+	 * @param array an array whose elements should be summed.
+	 */
+	public static void prefixSum(float[] array) {
+		prefixSum(array, 0, array.length);
+	}
+	
+	/**
+	 * Replaces every element in the range <tt>[fromIndex, toIndex)</tt> of a given array with the sum of it
+	 * and all the elements of the range before it, in place.
+	 * @param array an array whose elements should be summed.
+	 * @param fromIndex the index of the first element, inclusive.
+	 * @param toIndex the index of the last element, exclusive.
+	 * @throws IndexOutOfBoundsException if the range is out of the array's bounds.
+	 */
+	public static void prefixSum(float[] array, int fromIndex, int toIndex) {
+		checkRange(array.length, fromIndex, toIndex);
+		for (int i = fromIndex + 1; i < toIndex; i++)
+			array[i] += array[i - 1];
+	}
+	
+	/**
+	 * Returns the sum of the elements of a given array.
+	 * @param array an array whose elements should be summed.
+	 * @return the sum of the elements.
+	 */
+	public static double sum(double[] array) {
+		return sum(array, 0, array.length);
+	}
+	
+	/**
+	 * Returns the sum of the elements in the range <tt>[fromIndex, toIndex)</tt> of a given array.
+	 * @param array an array whose elements should be summed.
+	 * @param fromIndex the index of the first element, inclusive.
+	 * @param toIndex the index of the last element, exclusive.
+	 * @return the sum of the elements.
+	 * @throws IndexOutOfBoundsException if the range is out of the array's bounds.
+	 */
+	public static double sum(double[] array, int fromIndex, int toIndex) {
+		checkRange(array.length, fromIndex, toIndex);
+		double sum = 0;
+		for (int i = fromIndex; i < toIndex; i++)
+			sum += array[i];
+		
+		return sum;
+	}
+	
+	/**
+	 * Returns the smallest element of a given array. If any of the elements is NaN, the result is NaN.
+	 * @param array an array whose elements should be compared.
+	 * @return the smallest element.
+	 * @throws NoSuchElementException if the array is empty.
+	 */
+	public static double min(double[] array) {
+		return min(array, 0, array.length);
+	}
+	
+	/**
+	 * Returns the smallest element in the range <tt>[fromIndex, toIndex)</tt> of a given array. If any of the elements is NaN, the result is NaN.
+	 * @param array an array whose elements should be compared.
+	 * @param fromIndex the index of the first element, inclusive.
+	 * @param toIndex the index of the last element, exclusive.
+	 * @return the smallest element.
+	 * @throws IndexOutOfBoundsException if the range is out of the array's bounds.
+	 * @throws NoSuchElementException if the range is empty.
+	 */
+	public static double min(double[] array, int fromIndex, int toIndex) {
+		checkRange(array.length, fromIndex, toIndex);
+		if (fromIndex == toIndex)
+			throw new NoSuchElementException();
+		
+		double min = array[fromIndex];
+		for (int i = fromIndex + 1; i < toIndex; i++)
+			min = Math.min(min, array[i]);
+		
+		return min;
+	}
+	
+	/**
+	 * Returns the largest element of a given array. If any of the elements is NaN, the result is NaN.
+	 * @param array an array whose elements should be compared.
+	 * @return the largest element.
+	 * @throws NoSuchElementException if the array is empty.
+	 */
+	public static double max(double[] array) {
+		return max(array, 0, array.length);
+	}
+	
+	/**
+	 * Returns the largest element in the range <tt>[fromIndex, toIndex)</tt> of a given array. If any of the elements is NaN, the result is NaN.
+	 * @param array an array whose elements should be compared.
+	 * @param fromIndex the index of the first element, inclusive.
+	 * @param toIndex the index of the last element, exclusive.
+	 * @return the largest element.
+	 * @throws IndexOutOfBoundsException if the range is out of the array's bounds.
+	 * @throws NoSuchElementException if the range is empty.
+	 */
+	public static double max(double[] array, int fromIndex, int toIndex) {
+		checkRange(array.length, fromIndex, toIndex);
+		if (fromIndex == toIndex)
+			throw new NoSuchElementException();
+		
+		double max = array[fromIndex];
+		for (int i = fromIndex + 1; i < toIndex; i++)
+			max = Math.max(max, array[i]);
+		
+		return max;
+	}
+	
+	/**
+	 * Returns the index of the first smallest element of a given array. NaNs are skipped.
+	 * @param array an array whose elements should be compared.
+	 * @return the index of the smallest element, or <tt>-1</tt> if there's none.
+	 */
+	public static int argMin(double[] array) {
+		return argMin(array, 0, array.length);
+	}
+	
+	/**
+	 * Returns the index of the first smallest element in the range <tt>[fromIndex, toIndex)</tt> of a given array. NaNs are skipped.
+	 * @param array an array whose elements should be compared.
+	 * @param fromIndex the index of the first element, inclusive.
+	 * @param toIndex the index of the last element, exclusive.
+	 * @return the index of the smallest element, or <tt>-1</tt> if there's none.
+	 * @throws IndexOutOfBoundsException if the range is out of the array's bounds.
+	 */
+	public static int argMin(double[] array, int fromIndex, int toIndex) {
+		checkRange(array.length, fromIndex, toIndex);
+		int index = -1;
+		for (int i = fromIndex; i < toIndex; i++)
+			if (array[i] == array[i] && (index < 0 || array[i] < array[index]))
+				index = i;
+		
+		return index;
+	}
+	
+	/**
+	 * Returns the index of the first largest element of a given array. NaNs are skipped.
+	 * @param array an array whose elements should be compared.
+	 * @return the index of the largest element, or <tt>-1</tt> if there's none.
+	 */
+	public static int argMax(double[] array) {
+		return argMax(array, 0, array.length);
+	}
+	
+	/**
+	 * Returns the index of the first largest element in the range <tt>[fromIndex, toIndex)</tt> of a given array. NaNs are skipped.
+	 * @param array an array whose elements should be compared.
+	 * @param fromIndex the index of the first element, inclusive.
+	 * @param toIndex the index of the last element, exclusive.
+	 * @return the index of the largest element, or <tt>-1</tt> if there's none.
+	 * @throws IndexOutOfBoundsException if the range is out of the array's bounds.
+	 */
+	public static int argMax(double[] array, int fromIndex, int toIndex) {
+		checkRange(array.length, fromIndex, toIndex);
+		int index = -1;
+		for (int i = fromIndex; i < toIndex; i++)
+			if (array[i] == array[i] && (index < 0 || array[i] > array[index]))
+				index = i;
+		
+		return index;
+	}
+	
+	/**
+	 * Returns the dot product of two arrays of the same length.
+	 * @param first the first array.
+	 * @param second the second array.
+	 * @return the sum of the products of the elements at the same indices.
+	 * @throws IllegalArgumentException if the arrays have different lengths.
+	 */
+	public static double dot(double[] first, double[] second) {
+		checkLengths(first.length, second.length);
+		return dot(first, second, 0, first.length);
+	}
+	
+	/**
+	 * Returns the dot product of the ranges <tt>[fromIndex, toIndex)</tt> of two arrays.
+	 * @param first the first array.
+	 * @param second the second array.
+	 * @param fromIndex the index of the first element, inclusive.
+	 * @param toIndex the index of the last element, exclusive.
+	 * @return the sum of the products of the elements at the same indices.
+	 * @throws IndexOutOfBoundsException if the range is out of either array's bounds.
+	 */
+	public static double dot(double[] first, double[] second, int fromIndex, int toIndex) {
+		checkRange(first.length, fromIndex, toIndex);
+		checkRange(second.length, fromIndex, toIndex);
+		double sum = 0;
+		for (int i = fromIndex; i < toIndex; i++)
+			sum += first[i] * second[i];
+		
+		return sum;
+	}
+	
+	/**
+	 * Computes <tt>y[i] += alpha * x[i]</tt> for every index of two arrays of the same length.
+	 * @param alpha the factor of <tt>x</tt>.
+	 * @param x the array which is scaled and added.
+	 * @param y the array which is added to, in place.
+	 * @throws IllegalArgumentException if the arrays have different lengths.
+	 */
+	public static void axpy(double alpha, double[] x, double[] y) {
+		checkLengths(x.length, y.length);
+		axpy(alpha, x, y, 0, x.length);
+	}
+	
+	/**
+	 * Computes <tt>y[i] += alpha * x[i]</tt> for every index in the range <tt>[fromIndex, toIndex)</tt>.
+	 * @param alpha the factor of <tt>x</tt>.
+	 * @param x the array which is scaled and added.
+	 * @param y the array which is added to, in place.
+	 * @param fromIndex the index of the first element, inclusive.
+	 * @param toIndex the index of the last element, exclusive.
+	 * @throws IndexOutOfBoundsException if the range is out of either array's bounds.
+	 */
+	public static void axpy(double alpha, double[] x, double[] y, int fromIndex, int toIndex) {
+		checkRange(x.length, fromIndex, toIndex);
+		checkRange(y.length, fromIndex, toIndex);
+		for (int i = fromIndex; i < toIndex; i++)
+			y[i] += alpha * x[i];
+	}
+	
+	/**
+	 * Multiplies every element of a given array by <tt>factor</tt>, in place.
+	 * @param array an array whose elements should be scaled.
+	 * @param factor the factor.
+	 */
+	public static void scale(double[] array, double factor) {
+		scale(array, factor, 0, array.length);
+	}
+	
+	/**
+	 * Multiplies every element in the range <tt>[fromIndex, toIndex)</tt> of a given array by <tt>factor</tt>, in place.
+	 * @param array an array whose elements should be scaled.
+	 * @param factor the factor.
+	 * @param fromIndex the index of the first element, inclusive.
+	 * @param toIndex the index of the last element, exclusive.
+	 * @throws IndexOutOfBoundsException if the range is out of the array's bounds.
+	 */
+	public static void scale(double[] array, double factor, int fromIndex, int toIndex) {
+		checkRange(array.length, fromIndex, toIndex);
+		for (int i = fromIndex; i < toIndex; i++)
+			array[i] *= factor;
+	}
+	
+	/**
+	 * Clamps every element of a given array between <tt>minValue</tt> and <tt>maxValue</tt>, in place.
+	 * @param array an array whose elements should be clamped.
+	 * @param minValue the minimum value.
+	 * @param maxValue the maximum value.
+	 * @see Meth#clamp(double, double, double)
+	 */
+	public static void clamp(double[] array, double minValue, double maxValue) {
+		clamp(array, minValue, maxValue, 0, array.length);
+	}
+	
+	/**
+	 * Clamps every element in the range <tt>[fromIndex, toIndex)</tt> of a given array
+	 * between <tt>minValue</tt> and <tt>maxValue</tt>, in place.
+	 * @param array an array whose elements should be clamped.
+	 * @param minValue the minimum value.
+	 * @param maxValue the maximum value.
+	 * @param fromIndex the index of the first element, inclusive.
+	 * @param toIndex the index of the last element, exclusive.
+	 * @throws IndexOutOfBoundsException if the range is out of the array's bounds.
+	 * @see Meth#clamp(double, double, double)
+	 */
+	public static void clamp(double[] array, double minValue, double maxValue, int fromIndex, int toIndex) {
+		checkRange(array.length, fromIndex, toIndex);
+		for (int i = fromIndex; i < toIndex; i++)
+			array[i] = Meth.clamp(array[i], minValue, maxValue);
+	}
+	
+	/**
+	 * Replaces every element of a given array with the sum of it and all the elements before it, in place.
+	 * @param array an array whose elements should be summed.
+	 */
+	public static void prefixSum(double[] array) {
+		prefixSum(array, 0, array.length);
+	}
+	
+	/**
+	 * Replaces every element in the range <tt>[fromIndex, toIndex)</tt> of a given array with the sum of it
+	 * and all the elements of the range before it, in place.
+	 * @param array an array whose elements should be summed.
+	 * @param fromIndex the index of the first element, inclusive.
+	 * @param toIndex the index of the last element, exclusive.
+	 * @throws IndexOutOfBoundsException if the range is out of the array's bounds.
+	 */
+	public static void prefixSum(double[] array, int fromIndex, int toIndex) {
+		checkRange(array.length, fromIndex, toIndex);
+		for (int i = fromIndex + 1; i < toIndex; i++)
+			array[i] += array[i - 1];
+	}
+	
+	/**
+	 * Counts the occurrences of each value from <tt>minValue</tt> to <tt>maxValue</tt> in a given array.
+	 * Values out of that range are ignored.
+	 * @param array an array whose elements should be counted.
+	 * @param minValue the smallest value to be counted.
+	 * @param maxValue the largest value to be counted.
+	 * @return an array holding the number of occurrences of <tt>minValue + i</tt> at index <tt>i</tt>.
+	 * @throws IllegalArgumentException if <tt>maxValue</tt> is less than <tt>minValue</tt> or the range is too wide.
+	 */
+	public static int[] histogram(int[] array, int minValue, int maxValue) {
+		int[] counts = new int[histogramBins(minValue, maxValue)];
+		countValues(array, 0, array.length, minValue, maxValue, counts);
+		return counts;
+	}
+	
+	/**
+	 * Counts the elements of a given array in each of <tt>bins</tt> equal bins between <tt>minValue</tt> and <tt>maxValue</tt>.
+	 * A bin includes its lower bound, and the last one includes <tt>maxValue</tt> too.
+	 * Elements out of that range and NaNs are ignored.
+	 * @param array an array whose elements should be counted.
+	 * @param minValue the lower bound of the first bin.
+	 * @param maxValue the upper bound of the last bin.
+	 * @param bins the number of bins.
+	 * @return an array holding the number of elements in each bin.
+	 * @throws IllegalArgumentException if <tt>bins</tt> isn't positive or <tt>minValue</tt> isn't less than <tt>maxValue</tt>.
+	 */
+	public static int[] histogram(float[] array, float minValue, float maxValue, int bins) {
+		checkBins(minValue, maxValue, bins);
+		int[] counts = new int[bins];
+		countValues(array, 0, array.length, minValue, maxValue, counts);
+		return counts;
+	}
+	
+	/**
+	 * Counts the elements of a given array in each of <tt>bins</tt> equal bins between <tt>minValue</tt> and <tt>maxValue</tt>.
+	 * A bin includes its lower bound, and the last one includes <tt>maxValue</tt> too.
+	 * Elements out of that range and NaNs are ignored.
+	 * @param array an array whose elements should be counted.
+	 * @param minValue the lower bound of the first bin.
+	 * @param maxValue the upper bound of the last bin.
+	 * @param bins the number of bins.
+	 * @return an array holding the number of elements in each bin.
+	 * @throws IllegalArgumentException if <tt>bins</tt> isn't positive or <tt>minValue</tt> isn't less than <tt>maxValue</tt>.
+	 */
+	public static int[] histogram(double[] array, double minValue, double maxValue, int bins) {
+		checkBins(minValue, maxValue, bins);
+		int[] counts = new int[bins];
+		countValues(array, 0, array.length, minValue, maxValue, counts);
+		return counts;
+	}
+	
+	/**
+	 * Returns the sum of the elements of a given array, splitting the work between the threads
+	 * of the common pool if the array has at least {@link MoreArrays#getParallelThreshold()} elements.
+	 * @param array an array whose elements should be summed.
+	 * @return the sum of the elements.
+	 */
+	public static long parallelSum(int[] array) {
+		long[] sums = new long[parallelBlocks(array.length)];
+		parallelRanges(array.length, (from, to) -> sums[from / PARALLEL_BLOCK] = sum(array, from, to));
+		return sum(sums);
+	}
+	
+	/**
+	 * Returns the smallest element of a given array, splitting the work between the threads
+	 * of the common pool if the array has at least {@link MoreArrays#getParallelThreshold()} elements.
+	 * @param array an array whose elements should be compared.
+	 * @return the smallest element.
+	 * @throws NoSuchElementException if the array is empty.
+	 */
+	public static int parallelMin(int[] array) {
+		if (array.length == 0)
+			throw new NoSuchElementException();
+		
+		int[] results = new int[parallelBlocks(array.length)];
+		parallelRanges(array.length, (from, to) -> results[from / PARALLEL_BLOCK] = min(array, from, to));
+		return min(results);
+	}
+	
+	/**
+	 * Returns the largest element of a given array, splitting the work between the threads
+	 * of the common pool if the array has at least {@link MoreArrays#getParallelThreshold()} elements.
+	 * @param array an array whose elements should be compared.
+	 * @return the largest element.
+	 * @throws NoSuchElementException if the array is empty.
+	 */
+	public static int parallelMax(int[] array) {
+		if (array.length == 0)
+			throw new NoSuchElementException();
+		
+		int[] results = new int[parallelBlocks(array.length)];
+		parallelRanges(array.length, (from, to) -> results[from / PARALLEL_BLOCK] = max(array, from, to));
+		return max(results);
+	}
+	
+	/**
+	 * Returns the index of the first smallest element of a given array, splitting the work between the threads
+	 * of the common pool if the array has at least {@link MoreArrays#getParallelThreshold()} elements.
+	 * @param array an array whose elements should be compared.
+	 * @return the index of the smallest element, or <tt>-1</tt> if there's none.
+	 */
+	public static int parallelArgMin(int[] array) {
+		int[] indices = new int[parallelBlocks(array.length)];
+		parallelRanges(array.length, (from, to) -> indices[from / PARALLEL_BLOCK] = argMin(array, from, to));
+		int index = -1;
+		for (int candidate: indices)
+			if (candidate >= 0 && (index < 0 || array[candidate] < array[index]))
+				index = candidate;
+		
+		return index;
+	}
+	
+	/**
+	 * Returns the index of the first largest element of a given array, splitting the work between the threads
+	 * of the common pool if the array has at least {@link MoreArrays#getParallelThreshold()} elements.
+	 * @param array an array whose elements should be compared.
+	 * @return the index of the largest element, or <tt>-1</tt> if there's none.
+	 */
+	public static int parallelArgMax(int[] array) {
+		int[] indices = new int[parallelBlocks(array.length)];
+		parallelRanges(array.length, (from, to) -> indices[from / PARALLEL_BLOCK] = argMax(array, from, to));
+		int index = -1;
+		for (int candidate: indices)
+			if (candidate >= 0 && (index < 0 || array[candidate] > array[index]))
+				index = candidate;
+		
+		return index;
+	}
+	
+	/**
+	 * Returns the dot product of two arrays of the same length, splitting the work between the threads
+	 * of the common pool if the array has at least {@link MoreArrays#getParallelThreshold()} elements.
+	 * @param first the first array.
+	 * @param second the second array.
+	 * @return the sum of the products of the elements at the same indices.
+	 * @throws IllegalArgumentException if the arrays have different lengths.
+	 */
+	public static long parallelDot(int[] first, int[] second) {
+		checkLengths(first.length, second.length);
+		long[] sums = new long[parallelBlocks(first.length)];
+		parallelRanges(first.length, (from, to) -> sums[from / PARALLEL_BLOCK] = dot(first, second, from, to));
+		return sum(sums);
+	}
+	
+	/**
+	 * Computes <tt>y[i] += alpha * x[i]</tt> for every index of two arrays of the same length,
+	 * splitting the work between the threads
+	 * of the common pool if the array has at least {@link MoreArrays#getParallelThreshold()} elements.
+	 * @param alpha the factor of <tt>x</tt>.
+	 * @param x the array which is scaled and added.
+	 * @param y the array which is added to, in place.
+	 * @throws IllegalArgumentException if the arrays have different lengths.
+	 */
+	public static void parallelAxpy(int alpha, int[] x, int[] y) {
+		checkLengths(x.length, y.length);
+		parallelRanges(x.length, (from, to) -> axpy(alpha, x, y, from, to));
+	}
+	
+	/**
+	 * Multiplies every element of a given array by <tt>factor</tt> in place, splitting the work between the threads
+	 * of the common pool if the array has at least {@link MoreArrays#getParallelThreshold()} elements.
+	 * @param array an array whose elements should be scaled.
+	 * @param factor the factor.
+	 */
+	public static void parallelScale(int[] array, int factor) {
+		parallelRanges(array.length, (from, to) -> scale(array, factor, from, to));
+	}
+	
+	/**
+	 * Clamps every element of a given array between <tt>minValue</tt> and <tt>maxValue</tt> in place,
+	 * splitting the work between the threads
+	 * of the common pool if the array has at least {@link MoreArrays#getParallelThreshold()} elements.
+	 * @param array an array whose elements should be clamped.
+	 * @param minValue the minimum value.
+	 * @param maxValue the maximum value.
+	 */
+	public static void parallelClamp(int[] array, int minValue, int maxValue) {
+		parallelRanges(array.length, (from, to) -> clamp(array, minValue, maxValue, from, to));
+	}
+	
+	/**
+	 * Replaces every element of a given array with the sum of it and all the elements before it in place,
+	 * splitting the work between the threads
+	 * of the common pool if the array has at least {@link MoreArrays#getParallelThreshold()} elements.
+	 * @param array an array whose elements should be summed.
+	 */
+	public static void parallelPrefixSum(int[] array) {
+		int blocks = parallelBlocks(array.length);
+		parallelRanges(array.length, (from, to) -> prefixSum(array, from, to));
+		int[] carries = new int[blocks];
+		for (int block = 1; block < blocks; block++)
+			carries[block] = carries[block - 1] + array[block * PARALLEL_BLOCK - 1];
+		
+		parallelRanges(array.length, (from, to) -> {
+			int carry = carries[from / PARALLEL_BLOCK];
+			if (carry != 0)
+				for (int i = from; i < to; i++)
+					array[i] += carry;
+		});
+	}
+	
+	/**
+	 * Returns the sum of the elements of a given array, splitting the work between the threads
+	 * of the common pool if the array has at least {@link MoreArrays#getParallelThreshold()} elements.
+	 * @param array an array whose elements should be summed.
+	 * @return the sum of the elements.
+	 */
+	public static long parallelSum(long[] array) {
+		long[] sums = new long[parallelBlocks(array.length)];
+		parallelRanges(array.length, (from, to) -> sums[from / PARALLEL_BLOCK] = sum(array, from, to));
+		return sum(sums);
+	}
+	
+	/**
+	 * Returns the smallest element of a given array, splitting the work between the threads
+	 * of the common pool if the array has at least {@link MoreArrays#getParallelThreshold()} elements.
+	 * @param array an array whose elements should be compared.
+	 * @return the smallest element.
+	 * @throws NoSuchElementException if the array is empty.
+	 */
+	public static long parallelMin(long[] array) {
+		if (array.length == 0)
+			throw new NoSuchElementException();
+		
+		long[] results = new long[parallelBlocks(array.length)];
+		parallelRanges(array.length, (from, to) -> results[from / PARALLEL_BLOCK] = min(array, from, to));
+		return min(results);
+	}
+	
+	/**
+	 * Returns the largest element of a given array, splitting the work between the threads
+	 * of the common pool if the array has at least {@link MoreArrays#getParallelThreshold()} elements.
+	 * @param array an array whose elements should be compared.
+	 * @return the largest element.
+	 * @throws NoSuchElementException if the array is empty.
+	 */
+	public static long parallelMax(long[] array) {
+		if (array.length == 0)
+			throw new NoSuchElementException();
+		
+		long[] results = new long[parallelBlocks(array.length)];
+		parallelRanges(array.length, (from, to) -> results[from / PARALLEL_BLOCK] = max(array, from, to));
+		return max(results);
+	}
+	
+	/**
+	 * Returns the index of the first smallest element of a given array, splitting the work between the threads
+	 * of the common pool if the array has at least {@link MoreArrays#getParallelThreshold()} elements.
+	 * @param array an array whose elements should be compared.
+	 * @return the index of the smallest element, or <tt>-1</tt> if there's none.
+	 */
+	public static int parallelArgMin(long[] array) {
+		int[] indices = new int[parallelBlocks(array.length)];
+		parallelRanges(array.length, (from, to) -> indices[from / PARALLEL_BLOCK] = argMin(array, from, to));
+		int index = -1;
+		for (int candidate: indices)
+			if (candidate >= 0 && (index < 0 || array[candidate] < array[index]))
+				index = candidate;
+		
+		return index;
+	}
+	
+	/**
+	 * Returns the index of the first largest element of a given array, splitting the work between the threads
+	 * of the common pool if the array has at least {@link MoreArrays#getParallelThreshold()} elements.
+	 * @param array an array whose elements should be compared.
+	 * @return the index of the largest element, or <tt>-1</tt> if there's none.
+	 */
+	public static int parallelArgMax(long[] array) {
+		int[] indices = new int[parallelBlocks(array.length)];
+		parallelRanges(array.length, (from, to) -> indices[from / PARALLEL_BLOCK] = argMax(array, from, to));
+		int index = -1;
+		for (int candidate: indices)
+			if (candidate >= 0 && (index < 0 || array[candidate] > array[index]))
+				index = candidate;
+		
+		return index;
+	}
+	
+	/**
+	 * Returns the dot product of two arrays of the same length, splitting the work between the threads
+	 * of the common pool if the array has at least {@link MoreArrays#getParallelThreshold()} elements.
+	 * @param first the first array.
+	 * @param second the second array.
+	 * @return the sum of the products of the elements at the same indices.
+	 * @throws IllegalArgumentException if the arrays have different lengths.
+	 */
+	public static long parallelDot(long[] first, long[] second) {
+		checkLengths(first.length, second.length);
+		long[] sums = new long[parallelBlocks(first.length)];
+		parallelRanges(first.length, (from, to) -> sums[from / PARALLEL_BLOCK] = dot(first, second, from, to));
+		return sum(sums);
+	}
+	
+	/**
+	 * Computes <tt>y[i] += alpha * x[i]</tt> for every index of two arrays of the same length,
+	 * splitting the work between the threads
+	 * of the common pool if the array has at least {@link MoreArrays#getParallelThreshold()} elements.
+	 * @param alpha the factor of <tt>x</tt>.
+	 * @param x the array which is scaled and added.
+	 * @param y the array which is added to, in place.
+	 * @throws IllegalArgumentException if the arrays have different lengths.
+	 */
+	public static void parallelAxpy(long alpha, long[] x, long[] y) {
+		checkLengths(x.length, y.length);
+		parallelRanges(x.length, (from, to) -> axpy(alpha, x, y, from, to));
+	}
+	
+	/**
+	 * Multiplies every element of a given array by <tt>factor</tt> in place, splitting the work between the threads
+	 * of the common pool if the array has at least {@link MoreArrays#getParallelThreshold()} elements.
+	 * @param array an array whose elements should be scaled.
+	 * @param factor the factor.
+	 */
+	public static void parallelScale(long[] array, long factor) {
+		parallelRanges(array.length, (from, to) -> scale(array, factor, from, to));
+	}
+	
+	/**
+	 * Clamps every element of a given array between <tt>minValue</tt> and <tt>maxValue</tt> in place,
+	 * splitting the work between the threads
+	 * of the common pool if the array has at least {@link MoreArrays#getParallelThreshold()} elements.
+	 * @param array an array whose elements should be clamped.
+	 * @param minValue the minimum value.
+	 * @param maxValue the maximum value.
+	 */
+	public static void parallelClamp(long[] array, long minValue, long maxValue) {
+		parallelRanges(array.length, (from, to) -> clamp(array, minValue, maxValue, from, to));
+	}
+	
+	/**
+	 * Replaces every element of a given array with the sum of it and all the elements before it in place,
+	 * splitting the work between the threads
+	 * of the common pool if the array has at least {@link MoreArrays#getParallelThreshold()} elements.
+	 * @param array an array whose elements should be summed.
+	 */
+	public static void parallelPrefixSum(long[] array) {
+		int blocks = parallelBlocks(array.length);
+		parallelRanges(array.length, (from, to) -> prefixSum(array, from, to));
+		long[] carries = new long[blocks];
+		for (int block = 1; block < blocks; block++)
+			carries[block] = carries[block - 1] + array[block * PARALLEL_BLOCK - 1];
+		
+		parallelRanges(array.length, (from, to) -> {
+			long carry = carries[from / PARALLEL_BLOCK];
+			if (carry != 0)
+				for (int i = from; i < to; i++)
+					array[i] += carry;
+		});
+	}
+	
+	/**
+	 * Returns the sum of the elements of a given array, splitting the work between the threads
+	 * of the common pool if the array has at least {@link MoreArrays#getParallelThreshold()} elements.
+	 * The elements are added in a different order than by {@link MoreArrays#sum(float[])}, so the result may differ by rounding.
+	 * @param array an array whose elements should be summed.
+	 * @return the sum of the elements.
+	 */
+	public static double parallelSum(float[] array) {
+		double[] sums = new double[parallelBlocks(array.length)];
+		parallelRanges(array.length, (from, to) -> sums[from / PARALLEL_BLOCK] = sum(array, from, to));
+		return sum(sums);
+	}
+	
+	/**
+	 * Returns the smallest element of a given array, splitting the work between the threads
+	 * of the common pool if the array has at least {@link MoreArrays#getParallelThreshold()} elements.
+	 * @param array an array whose elements should be compared.
+	 * @return the smallest element.
+	 * @throws NoSuchElementException if the array is empty.
+	 */
+	public static float parallelMin(float[] array) {
+		if (array.length == 0)
+			throw new NoSuchElementException();
+		
+		float[] results = new float[parallelBlocks(array.length)];
+		parallelRanges(array.length, (from, to) -> results[from / PARALLEL_BLOCK] = min(array, from, to));
+		return min(results);
+	}
+	
+	/**
+	 * Returns the largest element of a given array, splitting the work between the threads
+	 * of the common pool if the array has at least {@link MoreArrays#getParallelThreshold()} elements.
+	 * @param array an array whose elements should be compared.
+	 * @return the largest element.
+	 * @throws NoSuchElementException if the array is empty.
+	 */
+	public static float parallelMax(float[] array) {
+		if (array.length == 0)
+			throw new NoSuchElementException();
+		
+		float[] results = new float[parallelBlocks(array.length)];
+		parallelRanges(array.length, (from, to) -> results[from / PARALLEL_BLOCK] = max(array, from, to));
+		return max(results);
+	}
+	
+	/**
+	 * Returns the index of the first smallest element of a given array, splitting the work between the threads
+	 * of the common pool if the array has at least {@link MoreArrays#getParallelThreshold()} elements. NaNs are skipped.
+	 * @param array an array whose elements should be compared.
+	 * @return the index of the smallest element, or <tt>-1</tt> if there's none.
+	 */
+	public static int parallelArgMin(float[] array) {
+		int[] indices = new int[parallelBlocks(array.length)];
+		parallelRanges(array.length, (from, to) -> indices[from / PARALLEL_BLOCK] = argMin(array, from, to));
+		int index = -1;
+		for (int candidate: indices)
+			if (candidate >= 0 && (index < 0 || array[candidate] < array[index]))
+				index = candidate;
+		
+		return index;
+	}
+	
+	/**
+	 * Returns the index of the first largest element of a given array, splitting the work between the threads
+	 * of the common pool if the array has at least {@link MoreArrays#getParallelThreshold()} elements. NaNs are skipped.
+	 * @param array an array whose elements should be compared.
+	 * @return the index of the largest element, or <tt>-1</tt> if there's none.
+	 */
+	public static int parallelArgMax(float[] array) {
+		int[] indices = new int[parallelBlocks(array.length)];
+		parallelRanges(array.length, (from, to) -> indices[from / PARALLEL_BLOCK] = argMax(array, from, to));
+		int index = -1;
+		for (int candidate: indices)
+			if (candidate >= 0 && (index < 0 || array[candidate] > array[index]))
+				index = candidate;
+		
+		return index;
+	}
+	
+	/**
+	 * Returns the dot product of two arrays of the same length, splitting the work between the threads
+	 * of the common pool if the array has at least {@link MoreArrays#getParallelThreshold()} elements.
+	 * @param first the first array.
+	 * @param second the second array.
+	 * @return the sum of the products of the elements at the same indices.
+	 * @throws IllegalArgumentException if the arrays have different lengths.
+	 */
+	public static double parallelDot(float[] first, float[] second) {
+		checkLengths(first.length, second.length);
+		double[] sums = new double[parallelBlocks(first.length)];
+		parallelRanges(first.length, (from, to) -> sums[from / PARALLEL_BLOCK] = dot(first, second, from, to));
+		return sum(sums);
+	}
+	
+	/**
+	 * Computes <tt>y[i] += alpha * x[i]</tt> for every index of two arrays of the same length,
+	 * splitting the work between the threads
+	 * of the common pool if the array has at least {@link MoreArrays#getParallelThreshold()} elements.
+	 * @param alpha the factor of <tt>x</tt>.
+	 * @param x the array which is scaled and added.
+	 * @param y the array which is added to, in place.
+	 * @throws IllegalArgumentException if the arrays have different lengths.
+	 */
+	public static void parallelAxpy(float alpha, float[] x, float[] y) {
+		checkLengths(x.length, y.length);
+		parallelRanges(x.length, (from, to) -> axpy(alpha, x, y, from, to));
+	}
+	
+	/**
+	 * Multiplies every element of a given array by <tt>factor</tt> in place, splitting the work between the threads
+	 * of the common pool if the array has at least {@link MoreArrays#getParallelThreshold()} elements.
+	 * @param array an array whose elements should be scaled.
+	 * @param factor the factor.
+	 */
+	public static void parallelScale(float[] array, float factor) {
+		parallelRanges(array.length, (from, to) -> scale(array, factor, from, to));
+	}
+	
+	/**
+	 * Clamps every element of a given array between <tt>minValue</tt> and <tt>maxValue</tt> in place,
+	 * splitting the work between the threads
+	 * of the common pool if the array has at least {@link MoreArrays#getParallelThreshold()} elements.
+	 * @param array an array whose elements should be clamped.
+	 * @param minValue the minimum value.
+	 * @param maxValue the maximum value.
+	 */
+	public static void parallelClamp(float[] array, float minValue, float maxValue) {
+		parallelRanges(array.length, (from, to) -> clamp(array, minValue, maxValue, from, to));
+	}
+	
+	/**
+	 * Replaces every element of a given array with the sum of it and all the elements before it in place,
+	 * splitting the work between the threads
+	 * of the common pool if the array has at least {@link MoreArrays#getParallelThreshold()} elements.
+	 * The elements are added in a different order than by {@link MoreArrays#prefixSum(float[])}, so the result may differ by rounding.
+	 * @param array an array whose elements should be summed.
+	 */
+	public static void parallelPrefixSum(float[] array) {
+		int blocks = parallelBlocks(array.length);
+		parallelRanges(array.length, (from, to) -> prefixSum(array, from, to));
+		float[] carries = new float[blocks];
+		for (int block = 1; block < blocks; block++)
+			carries[block] = carries[block - 1] + array[block * PARALLEL_BLOCK - 1];
+		
+		parallelRanges(array.length, (from, to) -> {
+			float carry = carries[from / PARALLEL_BLOCK];
+			if (carry != 0)
+				for (int i = from; i < to; i++)
+					array[i] += carry;
+		});
+	}
+	
+	/**
+	 * Returns the sum of the elements of a given array, splitting the work between the threads
+	 * of the common pool if the array has at least {@link MoreArrays#getParallelThreshold()} elements.
+	 * The elements are added in a different order than by {@link MoreArrays#sum(double[])}, so the result may differ by rounding.
+	 * @param array an array whose elements should be summed.
+	 * @return the sum of the elements.
+	 */
+	public static double parallelSum(double[] array) {
+		double[] sums = new double[parallelBlocks(array.length)];
+		parallelRanges(array.length, (from, to) -> sums[from / PARALLEL_BLOCK] = sum(array, from, to));
+		return sum(sums);
+	}
+	
+	/**
+	 * Returns the smallest element of a given array, splitting the work between the threads
+	 * of the common pool if the array has at least {@link MoreArrays#getParallelThreshold()} elements.
+	 * @param array an array whose elements should be compared.
+	 * @return the smallest element.
+	 * @throws NoSuchElementException if the array is empty.
+	 */
+	public static double parallelMin(double[] array) {
+		if (array.length == 0)
+			throw new NoSuchElementException();
+		
+		double[] results = new double[parallelBlocks(array.length)];
+		parallelRanges(array.length, (from, to) -> results[from / PARALLEL_BLOCK] = min(array, from, to));
+		return min(results);
+	}
+	
+	/**
+	 * Returns the largest element of a given array, splitting the work between the threads
+	 * of the common pool if the array has at least {@link MoreArrays#getParallelThreshold()} elements.
+	 * @param array an array whose elements should be compared.
+	 * @return the largest element.
+	 * @throws NoSuchElementException if the array is empty.
+	 */
+	public static double parallelMax(double[] array) {
+		if (array.length == 0)
+			throw new NoSuchElementException();
+		
+		double[] results = new double[parallelBlocks(array.length)];
+		parallelRanges(array.length, (from, to) -> results[from / PARALLEL_BLOCK] = max(array, from, to));
+		return max(results);
+	}
+	
+	/**
+	 * Returns the index of the first smallest element of a given array, splitting the work between the threads
+	 * of the common pool if the array has at least {@link MoreArrays#getParallelThreshold()} elements. NaNs are skipped.
+	 * @param array an array whose elements should be compared.
+	 * @return the index of the smallest element, or <tt>-1</tt> if there's none.
+	 */
+	public static int parallelArgMin(double[] array) {
+		int[] indices = new int[parallelBlocks(array.length)];
+		parallelRanges(array.length, (from, to) -> indices[from / PARALLEL_BLOCK] = argMin(array, from, to));
+		int index = -1;
+		for (int candidate: indices)
+			if (candidate >= 0 && (index < 0 || array[candidate] < array[index]))
+				index = candidate;
+		
+		return index;
+	}
+	
+	/**
+	 * Returns the index of the first largest element of a given array, splitting the work between the threads
+	 * of the common pool if the array has at least {@link MoreArrays#getParallelThreshold()} elements. NaNs are skipped.
+	 * @param array an array whose elements should be compared.
+	 * @return the index of the largest element, or <tt>-1</tt> if there's none.
+	 */
+	public static int parallelArgMax(double[] array) {
+		int[] indices = new int[parallelBlocks(array.length)];
+		parallelRanges(array.length, (from, to) -> indices[from / PARALLEL_BLOCK] = argMax(array, from, to));
+		int index = -1;
+		for (int candidate: indices)
+			if (candidate >= 0 && (index < 0 || array[candidate] > array[index]))
+				index = candidate;
+		
+		return index;
+	}
+	
+	/**
+	 * Returns the dot product of two arrays of the same length, splitting the work between the threads
+	 * of the common pool if the array has at least {@link MoreArrays#getParallelThreshold()} elements.
+	 * @param first the first array.
+	 * @param second the second array.
+	 * @return the sum of the products of the elements at the same indices.
+	 * @throws IllegalArgumentException if the arrays have different lengths.
+	 */
+	public static double parallelDot(double[] first, double[] second) {
+		checkLengths(first.length, second.length);
+		double[] sums = new double[parallelBlocks(first.length)];
+		parallelRanges(first.length, (from, to) -> sums[from / PARALLEL_BLOCK] = dot(first, second, from, to));
+		return sum(sums);
+	}
+	
+	/**
+	 * Computes <tt>y[i] += alpha * x[i]</tt> for every index of two arrays of the same length,
+	 * splitting the work between the threads
+	 * of the common pool if the array has at least {@link MoreArrays#getParallelThreshold()} elements.
+	 * @param alpha the factor of <tt>x</tt>.
+	 * @param x the array which is scaled and added.
+	 * @param y the array which is added to, in place.
+	 * @throws IllegalArgumentException if the arrays have different lengths.
+	 */
+	public static void parallelAxpy(double alpha, double[] x, double[] y) {
+		checkLengths(x.length, y.length);
+		parallelRanges(x.length, (from, to) -> axpy(alpha, x, y, from, to));
+	}
+	
+	/**
+	 * Multiplies every element of a given array by <tt>factor</tt> in place, splitting the work between the threads
+	 * of the common pool if the array has at least {@link MoreArrays#getParallelThreshold()} elements.
+	 * @param array an array whose elements should be scaled.
+	 * @param factor the factor.
+	 */
+	public static void parallelScale(double[] array, double factor) {
+		parallelRanges(array.length, (from, to) -> scale(array, factor, from, to));
+	}
+	
+	/**
+	 * Clamps every element of a given array between <tt>minValue</tt> and <tt>maxValue</tt> in place,
+	 * splitting the work between the threads
+	 * of the common pool if the array has at least {@link MoreArrays#getParallelThreshold()} elements.
+	 * @param array an array whose elements should be clamped.
+	 * @param minValue the minimum value.
+	 * @param maxValue the maximum value.
+	 */
+	public static void parallelClamp(double[] array, double minValue, double maxValue) {
+		parallelRanges(array.length, (from, to) -> clamp(array, minValue, maxValue, from, to));
+	}
+	
+	/**
+	 * Replaces every element of a given array with the sum of it and all the elements before it in place,
+	 * splitting the work between the threads
+	 * of the common pool if the array has at least {@link MoreArrays#getParallelThreshold()} elements.
+	 * The elements are added in a different order than by {@link MoreArrays#prefixSum(double[])}, so the result may differ by rounding.
+	 * @param array an array whose elements should be summed.
+	 */
+	public static void parallelPrefixSum(double[] array) {
+		int blocks = parallelBlocks(array.length);
+		parallelRanges(array.length, (from, to) -> prefixSum(array, from, to));
+		double[] carries = new double[blocks];
+		for (int block = 1; block < blocks; block++)
+			carries[block] = carries[block - 1] + array[block * PARALLEL_BLOCK - 1];
+		
+		parallelRanges(array.length, (from, to) -> {
+			double carry = carries[from / PARALLEL_BLOCK];
+			if (carry != 0)
+				for (int i = from; i < to; i++)
+					array[i] += carry;
+		});
+	}
+	
+	/**
+	 * Counts the occurrences of each value from <tt>minValue</tt> to <tt>maxValue</tt> in a given array,
+	 * splitting the work between the threads
+	 * of the common pool if the array has at least {@link MoreArrays#getParallelThreshold()} elements.
+	 * Values out of that range are ignored.
+	 * @param array an array whose elements should be counted.
+	 * @param minValue the smallest value to be counted.
+	 * @param maxValue the largest value to be counted.
+	 * @return an array holding the number of occurrences of <tt>minValue + i</tt> at index <tt>i</tt>.
+	 * @throws IllegalArgumentException if <tt>maxValue</tt> is less than <tt>minValue</tt> or the range is too wide.
+	 */
+	public static int[] parallelHistogram(int[] array, int minValue, int maxValue) {
+		int bins = histogramBins(minValue, maxValue);
+		return parallelCount(array.length, bins, (from, to, counts) -> countValues(array, from, to, minValue, maxValue, counts));
+	}
+	
+	/**
+	 * Counts the elements of a given array in each of <tt>bins</tt> equal bins between <tt>minValue</tt> and <tt>maxValue</tt>,
+	 * splitting the work between the threads
+	 * of the common pool if the array has at least {@link MoreArrays#getParallelThreshold()} elements.
+	 * A bin includes its lower bound, and the last one includes <tt>maxValue</tt> too.
+	 * Elements out of that range and NaNs are ignored.
+	 * @param array an array whose elements should be counted.
+	 * @param minValue the lower bound of the first bin.
+	 * @param maxValue the upper bound of the last bin.
+	 * @param bins the number of bins.
+	 * @return an array holding the number of elements in each bin.
+	 * @throws IllegalArgumentException if <tt>bins</tt> isn't positive or <tt>minValue</tt> isn't less than <tt>maxValue</tt>.
+	 */
+	public static int[] parallelHistogram(float[] array, float minValue, float maxValue, int bins) {
+		checkBins(minValue, maxValue, bins);
+		return parallelCount(array.length, bins, (from, to, counts) -> countValues(array, from, to, minValue, maxValue, counts));
+	}
+	
+	/**
+	 * Counts the elements of a given array in each of <tt>bins</tt> equal bins between <tt>minValue</tt> and <tt>maxValue</tt>,
+	 * splitting the work between the threads
+	 * of the common pool if the array has at least {@link MoreArrays#getParallelThreshold()} elements.
+	 * A bin includes its lower bound, and the last one includes <tt>maxValue</tt> too.
+	 * Elements out of that range and NaNs are ignored.
+	 * @param array an array whose elements should be counted.
+	 * @param minValue the lower bound of the first bin.
+	 * @param maxValue the upper bound of the last bin.
+	 * @param bins the number of bins.
+	 * @return an array holding the number of elements in each bin.
+	 * @throws IllegalArgumentException if <tt>bins</tt> isn't positive or <tt>minValue</tt> isn't less than <tt>maxValue</tt>.
+	 */
+	public static int[] parallelHistogram(double[] array, double minValue, double maxValue, int bins) {
+		checkBins(minValue, maxValue, bins);
+		return parallelCount(array.length, bins, (from, to, counts) -> countValues(array, from, to, minValue, maxValue, counts));
+	}
+	
+	/**
+	 * Sorts a given array into ascending order with an LSD radix sort,
+	 * which takes linear time but needs a buffer as large as the array.
+	 * @param array an array which should be sorted.
+	 */
+	public static void radixSort(int[] array) {
+		radixSort(array, 0, array.length);
+	}
+	
+	/**
+	 * Sorts the range <tt>[fromIndex, toIndex)</tt> of a given array into ascending order
+	 * with an LSD radix sort, which takes linear time but needs a buffer as large as the range.
+	 * @param array an array which should be sorted.
+	 * @param fromIndex the index of the first element, inclusive.
+	 * @param toIndex the index of the last element, exclusive.
+	 * @throws IndexOutOfBoundsException if the range is out of the array's bounds.
+	 */
+	public static void radixSort(int[] array, int fromIndex, int toIndex) {
+		checkRange(array.length, fromIndex, toIndex);
+		if (toIndex - fromIndex < RADIX_SORT_THRESHOLD) {
+			Arrays.sort(array, fromIndex, toIndex);
+			return;
+		}
+		
+		for (int i = fromIndex; i < toIndex; i++)
+			array[i] ^= Integer.MIN_VALUE;
+		
+		radixSortKeys(array, null, fromIndex, toIndex);
+		for (int i = fromIndex; i < toIndex; i++)
+			array[i] ^= Integer.MIN_VALUE;
+	}
+	
+	/**
+	 * Sorts a given array into ascending order, splitting the work between the threads
+	 * of the common pool if the array has at least {@link MoreArrays#getParallelThreshold()} elements.
+	 * @param array an array which should be sorted.
+	 */
+	public static void parallelSort(int[] array) {
+		if (array.length < parallelThreshold)
+			Arrays.sort(array);
+		else
+			parallelSort(array, defaultGrainSize(array.length));
+	}
+	
+	/**
+	 * Sorts a given array into ascending order with a parallel merge sort.
+	 * Parts of at most <tt>grainSize</tt> elements are sorted by a single thread of the common pool
+	 * and then merged.
+	 * @param array an array which should be sorted.
+	 * @param grainSize the length of the largest part sorted by a single thread.
+	 * @throws IllegalArgumentException if <tt>grainSize</tt> isn't positive.
+	 */
+	public static void parallelSort(int[] array, int grainSize) {
+		if (grainSize <= 0)
+			throw new IllegalArgumentException("Illegal grain size: " + grainSize);
+		
+		if (array.length <= grainSize)
+			Arrays.sort(array);
+		else
+			ForkJoinPool.commonPool().invoke(new IntMergeSort(array, new int[array.length], 0, array.length, grainSize));
+	}
+	
+	/**
+	 * Returns the permutation which sorts a given array into ascending order, leaving the array as it is.
+	 * Equal elements keep their relative order.
+	 * @param array an array which should be sorted.
+	 * @return the indices of the elements of the array, in the order of the elements.
+	 */
+	public static int[] argsort(int[] array) {
+		int[] keys = new int[array.length];
+		int[] indices = new int[array.length];
+		for (int i = 0; i < array.length; i++) {
+			keys[i] = array[i] ^ Integer.MIN_VALUE;
+			indices[i] = i;
+		}
+		
+		radixSortKeys(keys, indices, 0, keys.length);
+		return indices;
+	}
+	
+	/**
+	 * Sorts a given array into ascending order with an LSD radix sort,
+	 * which takes linear time but needs a buffer as large as the array.
+	 * @param array an array which should be sorted.
+	 */
+	public static void radixSort(long[] array) {
+		radixSort(array, 0, array.length);
+	}
+	
+	/**
+	 * Sorts the range <tt>[fromIndex, toIndex)</tt> of a given array into ascending order
+	 * with an LSD radix sort, which takes linear time but needs a buffer as large as the range.
+	 * @param array an array which should be sorted.
+	 * @param fromIndex the index of the first element, inclusive.
+	 * @param toIndex the index of the last element, exclusive.
+	 * @throws IndexOutOfBoundsException if the range is out of the array's bounds.
+	 */
+	public static void radixSort(long[] array, int fromIndex, int toIndex) {
+		checkRange(array.length, fromIndex, toIndex);
+		if (toIndex - fromIndex < RADIX_SORT_THRESHOLD) {
+			Arrays.sort(array, fromIndex, toIndex);
+			return;
+		}
+		
+		for (int i = fromIndex; i < toIndex; i++)
+			array[i] ^= Long.MIN_VALUE;
+		
+		radixSortKeys(array, null, fromIndex, toIndex);
+		for (int i = fromIndex; i < toIndex; i++)
+			array[i] ^= Long.MIN_VALUE;
+	}
+	
+	/**
+	 * Sorts a given array into ascending order, splitting the work between the threads
+	 * of the common pool if the array has at least {@link MoreArrays#getParallelThreshold()} elements.
+	 * @param array an array which should be sorted.
+	 */
+	public static void parallelSort(long[] array) {
+		if (array.length < parallelThreshold)
+			Arrays.sort(array);
+		else
+			parallelSort(array, defaultGrainSize(array.length));
+	}
+	
+	/**
+	 * Sorts a given array into ascending order with a parallel merge sort.
+	 * Parts of at most <tt>grainSize</tt> elements are sorted by a single thread of the common pool
+	 * and then merged.
+	 * @param array an array which should be sorted.
+	 * @param grainSize the length of the largest part sorted by a single thread.
+	 * @throws IllegalArgumentException if <tt>grainSize</tt> isn't positive.
+	 */
+	public static void parallelSort(long[] array, int grainSize) {
+		if (grainSize <= 0)
+			throw new IllegalArgumentException("Illegal grain size: " + grainSize);
+		
+		if (array.length <= grainSize)
+			Arrays.sort(array);
+		else
+			ForkJoinPool.commonPool().invoke(new LongMergeSort(array, new long[array.length], 0, array.length, grainSize));
+	}
+	
+	/**
+	 * Returns the permutation which sorts a given array into ascending order, leaving the array as it is.
+	 * Equal elements keep their relative order.
+	 * @param array an array which should be sorted.
+	 * @return the indices of the elements of the array, in the order of the elements.
+	 */
+	public static int[] argsort(long[] array) {
+		long[] keys = new long[array.length];
+		int[] indices = new int[array.length];
+		for (int i = 0; i < array.length; i++) {
+			keys[i] = array[i] ^ Long.MIN_VALUE;
+			indices[i] = i;
+		}
+		
+		radixSortKeys(keys, indices, 0, keys.length);
+		return indices;
+	}
+	
+	/**
+	 * Sorts a given array into ascending order in the same order as {@link Arrays#sort(float[])}, NaNs last with an LSD radix sort,
+	 * which takes linear time but needs a buffer as large as the array.
+	 * @param array an array which should be sorted.
+	 */
+	public static void radixSort(float[] array) {
+		radixSort(array, 0, array.length);
+	}
+	
+	/**
+	 * Sorts the range <tt>[fromIndex, toIndex)</tt> of a given array into ascending order in the same order as {@link Arrays#sort(float[])}, NaNs last
+	 * with an LSD radix sort, which takes linear time but needs a buffer as large as the range.
+	 * @param array an array which should be sorted.
+	 * @param fromIndex the index of the first element, inclusive.
+	 * @param toIndex the index of the last element, exclusive.
+	 * @throws IndexOutOfBoundsException if the range is out of the array's bounds.
+	 */
+	public static void radixSort(float[] array, int fromIndex, int toIndex) {
+		checkRange(array.length, fromIndex, toIndex);
+		if (toIndex - fromIndex < RADIX_SORT_THRESHOLD) {
+			Arrays.sort(array, fromIndex, toIndex);
+			return;
+		}
+		
+		int[] keys = new int[toIndex - fromIndex];
+		for (int i = fromIndex; i < toIndex; i++)
+			keys[i - fromIndex] = floatKey(array[i]);
+		
+		radixSortKeys(keys, null, 0, keys.length);
+		for (int i = fromIndex; i < toIndex; i++)
+			array[i] = floatFromKey(keys[i - fromIndex]);
+	}
+	
+	/**
+	 * Sorts a given array into ascending order in the same order as {@link Arrays#sort(float[])}, NaNs last, splitting the work between the threads
+	 * of the common pool if the array has at least {@link MoreArrays#getParallelThreshold()} elements.
+	 * @param array an array which should be sorted.
+	 */
+	public static void parallelSort(float[] array) {
+		if (array.length < parallelThreshold)
+			Arrays.sort(array);
+		else
+			parallelSort(array, defaultGrainSize(array.length));
+	}
+	
+	/**
+	 * Sorts a given array into ascending order in the same order as {@link Arrays#sort(float[])}, NaNs last with a parallel merge sort.
+	 * Parts of at most <tt>grainSize</tt> elements are sorted by a single thread of the common pool
+	 * and then merged.
+	 * @param array an array which should be sorted.
+	 * @param grainSize the length of the largest part sorted by a single thread.
+	 * @throws IllegalArgumentException if <tt>grainSize</tt> isn't positive.
+	 */
+	public static void parallelSort(float[] array, int grainSize) {
+		if (grainSize <= 0)
+			throw new IllegalArgumentException("Illegal grain size: " + grainSize);
+		
+		if (array.length <= grainSize)
+			Arrays.sort(array);
+		else
+			ForkJoinPool.commonPool().invoke(new FloatMergeSort(array, new float[array.length], 0, array.length, grainSize));
+	}
+	
+	/**
+	 * Returns the permutation which sorts a given array into ascending order in the same order as {@link Arrays#sort(float[])}, NaNs last, leaving the array as it is.
+	 * Equal elements keep their relative order.
+	 * @param array an array which should be sorted.
+	 * @return the indices of the elements of the array, in the order of the elements.
+	 */
+	public static int[] argsort(float[] array) {
+		int[] keys = new int[array.length];
+		int[] indices = new int[array.length];
+		for (int i = 0; i < array.length; i++) {
+			keys[i] = floatKey(array[i]);
+			indices[i] = i;
+		}
+		
+		radixSortKeys(keys, indices, 0, keys.length);
+		return indices;
+	}
+	
+	/**
+	 * Sorts a given array into ascending order in the same order as {@link Arrays#sort(double[])}, NaNs last with an LSD radix sort,
+	 * which takes linear time but needs a buffer as large as the array.
+	 * @param array an array which should be sorted.
+	 */
+	public static void radixSort(double[] array) {
+		radixSort(array, 0, array.length);
+	}
+	
+	/**
+	 * Sorts the range <tt>[fromIndex, toIndex)</tt> of a given array into ascending order in the same order as {@link Arrays#sort(double[])}, NaNs last
+	 * with an LSD radix sort, which takes linear time but needs a buffer as large as the range.
+	 * @param array an array which should be sorted.
+	 * @param fromIndex the index of the first element, inclusive.
+	 * @param toIndex the index of the last element, exclusive.
+	 * @throws IndexOutOfBoundsException if the range is out of the array's bounds.
+	 */
+	public static void radixSort(double[] array, int fromIndex, int toIndex) {
+		checkRange(array.length, fromIndex, toIndex);
+		if (toIndex - fromIndex < RADIX_SORT_THRESHOLD) {
+			Arrays.sort(array, fromIndex, toIndex);
+			return;
+		}
+		
+		long[] keys = new long[toIndex - fromIndex];
+		for (int i = fromIndex; i < toIndex; i++)
+			keys[i - fromIndex] = doubleKey(array[i]);
+		
+		radixSortKeys(keys, null, 0, keys.length);
+		for (int i = fromIndex; i < toIndex; i++)
+			array[i] = doubleFromKey(keys[i - fromIndex]);
+	}
+	
+	/**
+	 * Sorts a given array into ascending order in the same order as {@link Arrays#sort(double[])}, NaNs last, splitting the work between the threads
+	 * of the common pool if the array has at least {@link MoreArrays#getParallelThreshold()} elements.
+	 * @param array an array which should be sorted.
+	 */
+	public static void parallelSort(double[] array) {
+		if (array.length < parallelThreshold)
+			Arrays.sort(array);
+		else
+			parallelSort(array, defaultGrainSize(array.length));
 	}
 	
 	/**
-	 * Filters the given array with a given predicate.
-	 * @param array an array that should be filtered.
-	 * @param predicate a predicate that should be used.
-	 * @return a filtered array.
+	 * Sorts a given array into ascending order in the same order as {@link Arrays#sort(double[])}, NaNs last with a parallel merge sort.
+	 * Parts of at most <tt>grainSize</tt> elements are sorted by a single thread of the common pool
+	 * and then merged.
+	 * @param array an array which should be sorted.
+	 * @param grainSize the length of the largest part sorted by a single thread.
+	 * @throws IllegalArgumentException if <tt>grainSize</tt> isn't positive.
 	 */
-	public static boolean[] filter(boolean[] array, Predicate<Boolean> predicate) {
-		return asBooleanArray(asList(array).stream().filter(predicate).collect(Collectors.toList()));
+	public static void parallelSort(double[] array, int grainSize) {
+		if (grainSize <= 0)
+			throw new IllegalArgumentException("Illegal grain size: " + grainSize);
+		
+		if (array.length <= grainSize)
+			Arrays.sort(array);
+		else
+			ForkJoinPool.commonPool().invoke(new DoubleMergeSort(array, new double[array.length], 0, array.length, grainSize));
 	}
 	
 	/**
-	 * Filters the given array with a given predicate.
-	 * @param array an array that should be filtered.
-	 * @param predicate a predicate that should be used.
-	 * @return a filtered array.
+	 * Returns the permutation which sorts a given array into ascending order in the same order as {@link Arrays#sort(double[])}, NaNs last, leaving the array as it is.
+	 * Equal elements keep their relative order.
+	 * @param array an array which should be sorted.
+	 * @return the indices of the elements of the array, in the order of the elements.
 	 */
-	public static char[] filter(char[] array, Predicate<Character> predicate) {
-		return asCharArray(asList(array).stream().filter(predicate).collect(Collectors.toList()));
+	public static int[] argsort(double[] array) {
+		long[] keys = new long[array.length];
+		int[] indices = new int[array.length];
+		for (int i = 0; i < array.length; i++) {
+			keys[i] = doubleKey(array[i]);
+			indices[i] = i;
+		}
+		
+		radixSortKeys(keys, indices, 0, keys.length);
+		return indices;
 	}
 	
 	/**
-	 * Filters the given array with a given predicate.
-	 * @param array an array that should be filtered.
-	 * @param predicate a predicate that should be used.
-	 * @return a filtered array.
+	 * Returns the permutation which sorts a given array according to <tt>comparator</tt>, leaving the array as it is.
+	 * Equal elements keep their relative order.
+	 * @param array an array which should be sorted.
+	 * @param comparator a comparator to be used to sort the array.
+	 * @return the indices of the elements of the array, in the order of the elements.
 	 */
-	public static <T> T[] filter(T[] array, Predicate<? super T> predicate) {
-		return asArray(Arrays.stream(array).filter(predicate).collect(Collectors.toList()));
+	public static <T> int[] argsort(T[] array, Comparator<? super T> comparator) {
+		Integer[] indices = new Integer[array.length];
+		for (int i = 0; i < array.length; i++)
+			indices[i] = i;
+		
+		Arrays.sort(indices, (first, second) -> comparator.compare(array[first], array[second]));
+		int[] result = new int[array.length];
+		for (int i = 0; i < array.length; i++)
+			result[i] = indices[i];
+		
+		return result;
 	}
 	
 	/**
@@ -310,6 +3281,206 @@ public class MoreArrays {
 		return arrayList;
 	}
 	
+	/**
+	 * Returns a fixed-size list backed by the given array. Nothing is copied, and
+	 * changes to the list write through to the array.
+	 * @param array the array backing the list.
+	 * @return a list view of the array.
+	 * @see ByteArrayView
+	 */
+	public static ByteArrayView asListView(byte[] array) {
+		return new ByteArrayView(array);
+	}
+	
+	/**
+	 * Returns a fixed-size list backed by the range <tt>[fromIndex, toIndex)</tt> of the given array.
+	 * Nothing is copied, and changes to the list write through to the array.
+	 * @param array the array backing the list.
+	 * @param fromIndex the index of the first element of the view, inclusive.
+	 * @param toIndex the index of the last element of the view, exclusive.
+	 * @return a list view of the range.
+	 * @throws IndexOutOfBoundsException if the range is out of the array's bounds.
+	 * @see ByteArrayView
+	 */
+	public static ByteArrayView asListView(byte[] array, int fromIndex, int toIndex) {
+		return new ByteArrayView(array, fromIndex, toIndex);
+	}
+	
+	/**
+	 * Returns a fixed-size list backed by the given array. Nothing is copied, and
+	 * changes to the list write through to the array.
+	 * @param array the array backing the list.
+	 * @return a list view of the array.
+	 * @see ShortArrayView
+	 */
+	public static ShortArrayView asListView(short[] array) {
+		return new ShortArrayView(array);
+	}
+	
+	/**
+	 * Returns a fixed-size list backed by the range <tt>[fromIndex, toIndex)</tt> of the given array.
+	 * Nothing is copied, and changes to the list write through to the array.
+	 * @param array the array backing the list.
+	 * @param fromIndex the index of the first element of the view, inclusive.
+	 * @param toIndex the index of the last element of the view, exclusive.
+	 * @return a list view of the range.
+	 * @throws IndexOutOfBoundsException if the range is out of the array's bounds.
+	 * @see ShortArrayView
+	 */
+	public static ShortArrayView asListView(short[] array, int fromIndex, int toIndex) {
+		return new ShortArrayView(array, fromIndex, toIndex);
+	}
+	
+	/**
+	 * Returns a fixed-size list backed by the given array. Nothing is copied, and
+	 * changes to the list write through to the array.
+	 * @param array the array backing the list.
+	 * @return a list view of the array.
+	 * @see IntArrayView
+	 */
+	public static IntArrayView asListView(int[] array) {
+		return new IntArrayView(array);
+	}
+	
+	/**
+	 * Returns a fixed-size list backed by the range <tt>[fromIndex, toIndex)</tt> of the given array.
+	 * Nothing is copied, and changes to the list write through to the array.
+	 * @param array the array backing the list.
+	 * @param fromIndex the index of the first element of the view, inclusive.
+	 * @param toIndex the index of the last element of the view, exclusive.
+	 * @return a list view of the range.
+	 * @throws IndexOutOfBoundsException if the range is out of the array's bounds.
+	 * @see IntArrayView
+	 */
+	public static IntArrayView asListView(int[] array, int fromIndex, int toIndex) {
+		return new IntArrayView(array, fromIndex, toIndex);
+	}
+	
+	/**
+	 * Returns a fixed-size list backed by the given array. Nothing is copied, and
+	 * changes to the list write through to the array.
+	 * @param array the array backing the list.
+	 * @return a list view of the array.
+	 * @see LongArrayView
+	 */
+	public static LongArrayView asListView(long[] array) {
+		return new LongArrayView(array);
+	}
+	
+	/**
+	 * Returns a fixed-size list backed by the range <tt>[fromIndex, toIndex)</tt> of the given array.
+	 * Nothing is copied, and changes to the list write through to the array.
+	 * @param array the array backing the list.
+	 * @param fromIndex the index of the first element of the view, inclusive.
+	 * @param toIndex the index of the last element of the view, exclusive.
+	 * @return a list view of the range.
+	 * @throws IndexOutOfBoundsException if the range is out of the array's bounds.
+	 * @see LongArrayView
+	 */
+	public static LongArrayView asListView(long[] array, int fromIndex, int toIndex) {
+		return new LongArrayView(array, fromIndex, toIndex);
+	}
+	
+	/**
+	 * Returns a fixed-size list backed by the given array. Nothing is copied, and
+	 * changes to the list write through to the array.
+	 * @param array the array backing the list.
+	 * @return a list view of the array.
+	 * @see FloatArrayView
+	 */
+	public static FloatArrayView asListView(float[] array) {
+		return new FloatArrayView(array);
+	}
+	
+	/**
+	 * Returns a fixed-size list backed by the range <tt>[fromIndex, toIndex)</tt> of the given array.
+	 * Nothing is copied, and changes to the list write through to the array.
+	 * @param array the array backing the list.
+	 * @param fromIndex the index of the first element of the view, inclusive.
+	 * @param toIndex the index of the last element of the view, exclusive.
+	 * @return a list view of the range.
+	 * @throws IndexOutOfBoundsException if the range is out of the array's bounds.
+	 * @see FloatArrayView
+	 */
+	public static FloatArrayView asListView(float[] array, int fromIndex, int toIndex) {
+		return new FloatArrayView(array, fromIndex, toIndex);
+	}
+	
+	/**
+	 * Returns a fixed-size list backed by the given array. Nothing is copied, and
+	 * changes to the list write through to the array.
+	 * @param array the array backing the list.
+	 * @return a list view of the array.
+	 * @see DoubleArrayView
+	 */
+	public static DoubleArrayView asListView(double[] array) {
+		return new DoubleArrayView(array);
+	}
+	
+	/**
+	 * Returns a fixed-size list backed by the range <tt>[fromIndex, toIndex)</tt> of the given array.
+	 * Nothing is copied, and changes to the list write through to the array.
+	 * @param array the array backing the list.
+	 * @param fromIndex the index of the first element of the view, inclusive.
+	 * @param toIndex the index of the last element of the view, exclusive.
+	 * @return a list view of the range.
+	 * @throws IndexOutOfBoundsException if the range is out of the array's bounds.
+	 * @see DoubleArrayView
+	 */
+	public static DoubleArrayView asListView(double[] array, int fromIndex, int toIndex) {
+		return new DoubleArrayView(array, fromIndex, toIndex);
+	}
+	
+	/**
+	 * Returns a fixed-size list backed by the given array. Nothing is copied, and
+	 * changes to the list write through to the array.
+	 * @param array the array backing the list.
+	 * @return a list view of the array.
+	 * @see BooleanArrayView
+	 */
+	public static BooleanArrayView asListView(boolean[] array) {
+		return new BooleanArrayView(array);
+	}
+	
+	/**
+	 * Returns a fixed-size list backed by the range <tt>[fromIndex, toIndex)</tt> of the given array.
+	 * Nothing is copied, and changes to the list write through to the array.
+	 * @param array the array backing the list.
+	 * @param fromIndex the index of the first element of the view, inclusive.
+	 * @param toIndex the index of the last element of the view, exclusive.
+	 * @return a list view of the range.
+	 * @throws IndexOutOfBoundsException if the range is out of the array's bounds.
+	 * @see BooleanArrayView
+	 */
+	public static BooleanArrayView asListView(boolean[] array, int fromIndex, int toIndex) {
+		return new BooleanArrayView(array, fromIndex, toIndex);
+	}
+	
+	/**
+	 * Returns a fixed-size list backed by the given array. Nothing is copied, and
+	 * changes to the list write through to the array.
+	 * @param array the array backing the list.
+	 * @return a list view of the array.
+	 * @see CharArrayView
+	 */
+	public static CharArrayView asListView(char[] array) {
+		return new CharArrayView(array);
+	}
+	
+	/**
+	 * Returns a fixed-size list backed by the range <tt>[fromIndex, toIndex)</tt> of the given array.
+	 * Nothing is copied, and changes to the list write through to the array.
+	 * @param array the array backing the list.
+	 * @param fromIndex the index of the first element of the view, inclusive.
+	 * @param toIndex the index of the last element of the view, exclusive.
+	 * @return a list view of the range.
+	 * @throws IndexOutOfBoundsException if the range is out of the array's bounds.
+	 * @see CharArrayView
+	 */
+	public static CharArrayView asListView(char[] array, int fromIndex, int toIndex) {
+		return new CharArrayView(array, fromIndex, toIndex);
+	}
+	
 	/**
 	 * Adds elements if the given {@link List} to a new array.
 	 * @param list a {@link List} which elements should be added to a new array.
@@ -317,6 +3488,12 @@ public class MoreArrays {
 	 * that they are present in the list.
 	 */
 	public static byte[] asByteArray(List<Byte> list) {
+		if (list instanceof ByteArrayList)
+			return ((ByteArrayList) list).toByteArray();
+		
+		if (list instanceof ByteArrayView)
+			return ((ByteArrayView) list).toByteArray();
+		
 		byte[] newArray = new byte[list.size()];
 		int counter = 0;
 		for (byte thing: list) {
@@ -334,6 +3511,12 @@ public class MoreArrays {
 	 * that they are present in the list.
 	 */
 	public static short[] asShortArray(List<Short> list) {
+		if (list instanceof ShortArrayList)
+			return ((ShortArrayList) list).toShortArray();
+		
+		if (list instanceof ShortArrayView)
+			return ((ShortArrayView) list).toShortArray();
+		
 		short[] newArray = new short[list.size()];
 		int counter = 0;
 		for (short thing: list) {
@@ -351,6 +3534,12 @@ public class MoreArrays {
 	 * that they are present in the list.
 	 */
 	public static int[] asIntArray(List<Integer> list) {
+		if (list instanceof IntArrayList)
+			return ((IntArrayList) list).toIntArray();
+		
+		if (list instanceof IntArrayView)
+			return ((IntArrayView) list).toIntArray();
+		
 		int[] newArray = new int[list.size()];
 		int counter = 0;
 		for (int thing: list) {
@@ -368,6 +3557,12 @@ public class MoreArrays {
 	 * that they are present in the list.
 	 */
 	public static long[] asLongArray(List<Long> list) {
+		if (list instanceof LongArrayList)
+			return ((LongArrayList) list).toLongArray();
+		
+		if (list instanceof LongArrayView)
+			return ((LongArrayView) list).toLongArray();
+		
 		long[] newArray = new long[list.size()];
 		int counter = 0;
 		for (long thing: list) {
@@ -385,6 +3580,12 @@ public class MoreArrays {
 	 * that they are present in the list.
 	 */
 	public static float[] asFloatArray(List<Float> list) {
+		if (list instanceof FloatArrayList)
+			return ((FloatArrayList) list).toFloatArray();
+		
+		if (list instanceof FloatArrayView)
+			return ((FloatArrayView) list).toFloatArray();
+		
 		float[] newArray = new float[list.size()];
 		int counter = 0;
 		for (float thing: list) {
@@ -402,6 +3603,12 @@ public class MoreArrays {
 	 * that they are present in the list.
 	 */
 	public static double[] asDoubleArray(List<Double> list) {
+		if (list instanceof DoubleArrayList)
+			return ((DoubleArrayList) list).toDoubleArray();
+		
+		if (list instanceof DoubleArrayView)
+			return ((DoubleArrayView) list).toDoubleArray();
+		
 		double[] newArray = new double[list.size()];
 		int counter = 0;
 		for (double thing: list) {
@@ -419,6 +3626,12 @@ public class MoreArrays {
 	 * that they are present in the list.
 	 */
 	public static boolean[] asBooleanArray(List<Boolean> list) {
+		if (list instanceof BooleanArrayList)
+			return ((BooleanArrayList) list).toBooleanArray();
+		
+		if (list instanceof BooleanArrayView)
+			return ((BooleanArrayView) list).toBooleanArray();
+		
 		boolean[] newArray = new boolean[list.size()];
 		int counter = 0;
 		for (boolean thing: list) {
@@ -436,6 +3649,12 @@ public class MoreArrays {
 	 * that they are present in the list.
 	 */
 	public static char[] asCharArray(List<Character> list) {
+		if (list instanceof CharArrayList)
+			return ((CharArrayList) list).toCharArray();
+		
+		if (list instanceof CharArrayView)
+			return ((CharArrayView) list).toCharArray();
+		
 		char[] newArray = new char[list.size()];
 		int counter = 0;
 		for (char thing: list) {
@@ -448,24 +3667,597 @@ public class MoreArrays {
 	
 	/**
 	 * Adds elements if the given {@link List} to a new array.
+	 * A {@link List} doesn't know its element type, so the type of the array is the most specific class
+	 * shared by all the non-null elements (<tt>Object</tt> if there are none);
+	 * prefer {@link MoreArrays#asArray(List, Class)} when the type is known.
 	 * @param list a {@link List} which elements should be added to a new array.
 	 * @return a new array containing the elements of the given {@link List} in the order
 	 * that they are present in the list.
 	 */
 	public static <T> T[] asArray(List<T> list) {
-		return list.stream().toArray((size) -> newArray(list.getClass().getComponentType(), size));
+		Object[] elements = list.toArray();
+		Class<?> type = null;
+		for (Object element: elements) {
+			if (element == null)
+				continue;
+			
+			if (type == null)
+				type = element.getClass();
+			
+			while (!type.isInstance(element))
+				type = type.getSuperclass();
+		}
+		
+		T[] newArray = newArray(type == null? Object.class: type, elements.length);
+		System.arraycopy(elements, 0, newArray, 0, elements.length);
+		return newArray;
+	}
+	
+	/**
+	 * Adds elements if the given {@link List} to a new array of the given type.
+	 * @param list a {@link List} which elements should be added to a new array.
+	 * @param typeOfArray the component type of the new array.
+	 * @return a new array containing the elements of the given {@link List} in the order
+	 * that they are present in the list.
+	 * @throws ArrayStoreException if an element isn't an instance of <tt>typeOfArray</tt>.
+	 */
+	public static <T> T[] asArray(List<? extends T> list, Class<T> typeOfArray) {
+		return list.toArray(newArray(typeOfArray, list.size()));
+	}
+	
+	/**
+	 * Adds elements if the given {@link List} to a new array made by <tt>generator</tt>.
+	 * @param list a {@link List} which elements should be added to a new array.
+	 * @param generator a function producing a new array of the given size, e.g. <tt>String[]::new</tt>.
+	 * @return a new array containing the elements of the given {@link List} in the order
+	 * that they are present in the list.
+	 */
+	public static <T> T[] asArray(List<? extends T> list, IntFunction<T[]> generator) {
+		return list.toArray(generator.apply(list.size()));
 	}
 	
 	/**
 	 * Makes a new array instance of the specified type and size.
+	 * The empty array of every type is made once and shared, which is safe as it can't be changed.
 	 * @param typeOfArray a type for a new array.
 	 * @param size a size for a new array.
-	 * @throws IllegalArgumentException if <tt>size</tt> is negative.
+	 * @throws IllegalArgumentException if <tt>size</tt> is negative or <tt>typeOfArray</tt> is a primitive type.
 	 */
 	@SuppressWarnings("unchecked")
 	public static <T> T[] newArray(Class<?> typeOfArray, int size) {
 		if (size < 0) throw new IllegalArgumentException("size is negative");
-		return (T[]) Array.newInstance(typeOfArray, size);
+		if (typeOfArray.isPrimitive()) throw new IllegalArgumentException(typeOfArray + " is a primitive type");
+		T[] empty = (T[]) EMPTY_ARRAYS.get(typeOfArray);
+		return size == 0? empty: Arrays.copyOf(empty, size);
+	}
+	
+	/**
+	 * Makes a new array instance of the same type as <tt>array</tt> and the specified size.
+	 * @param array an array which type should be used for a new array.
+	 * @param size a size for a new array.
+	 * @throws IllegalArgumentException if <tt>size</tt> is negative.
+	 */
+	public static <T> T[] newArray(T[] array, int size) {
+		return newArray(array.getClass().getComponentType(), size);
+	}
+	
+	/**
+	 * Runs <tt>range</tt> over consecutive blocks of <tt>[0, length)</tt>, in parallel if
+	 * <tt>length</tt> reaches the parallel threshold.
+	 */
+	private static void parallelRanges(int length, IntBiConsumer range) {
+		if (length < parallelThreshold) {
+			range.accept(0, length);
+			return;
+		}
+		
+		IntStream.range(0, (length + PARALLEL_BLOCK - 1) / PARALLEL_BLOCK).parallel()
+			.forEach(block -> range.accept(block * PARALLEL_BLOCK, Math.min(length, (block + 1) * PARALLEL_BLOCK)));
+	}
+	
+	/**
+	 * Marks the indices matching <tt>test</tt> in <tt>matches</tt>, block by block in parallel.
+	 * @return the index in the result at which each block starts, followed by the total number of matches.
+	 */
+	private static int[] parallelMark(int length, long[] matches, IntPredicate test) {
+		int blocks = (length + PARALLEL_BLOCK - 1) / PARALLEL_BLOCK;
+		int[] offsets = new int[blocks + 1];
+		IntStream.range(0, blocks).parallel().forEach(block -> {
+			int count = 0;
+			for (int i = block * PARALLEL_BLOCK, end = Math.min(length, i + PARALLEL_BLOCK); i < end; i++) {
+				if (test.test(i)) {
+					matches[i >>> 6] |= 1L << i;
+					count++;
+				}
+			}
+			
+			offsets[block + 1] = count;
+		});
+		
+		for (int block = 0; block < blocks; block++)
+			offsets[block + 1] += offsets[block];
+		
+		return offsets;
+	}
+	
+	/**
+	 * Hands each marked index and its index in the result to <tt>copier</tt>, block by block in parallel.
+	 */
+	private static void parallelGather(int length, long[] matches, int[] offsets, IntBiConsumer copier) {
+		IntStream.range(0, offsets.length - 1).parallel().forEach(block -> {
+			int counter = offsets[block];
+			int end = (Math.min(length, (block + 1) * PARALLEL_BLOCK) + 63) >>> 6;
+			for (int word = block * PARALLEL_BLOCK >>> 6; word < end; word++)
+				for (long bits = matches[word]; bits != 0L; bits &= bits - 1)
+					copier.accept(word << 6 | Long.numberOfTrailingZeros(bits), counter++);
+		});
+	}
+	
+	/**
+	 * Returns the number of blocks {@link MoreArrays#parallelRanges(int, IntBiConsumer)} splits <tt>length</tt> elements into,
+	 * so the result of a range can be stored at index <tt>from / PARALLEL_BLOCK</tt>.
+	 */
+	private static int parallelBlocks(int length) {
+		return length < parallelThreshold? 1: (length + PARALLEL_BLOCK - 1) / PARALLEL_BLOCK;
+	}
+	
+	/**
+	 * Adds up the counts <tt>counter</tt> makes over consecutive blocks of <tt>[0, length)</tt>, in parallel if
+	 * <tt>length</tt> reaches the parallel threshold. Each thread counts into its own array.
+	 */
+	private static int[] parallelCount(int length, int bins, RangeCounter counter) {
+		if (length < parallelThreshold) {
+			int[] counts = new int[bins];
+			counter.count(0, length, counts);
+			return counts;
+		}
+		
+		return IntStream.range(0, (length + PARALLEL_BLOCK - 1) / PARALLEL_BLOCK).parallel().collect(
+			() -> new int[bins],
+			(counts, block) -> counter.count(block * PARALLEL_BLOCK, Math.min(length, (block + 1) * PARALLEL_BLOCK), counts),
+			(counts, other) -> {
+				for (int i = 0; i < bins; i++)
+					counts[i] += other[i];
+			});
+	}
+	
+	private static void countValues(int[] array, int fromIndex, int toIndex, int minValue, int maxValue, int[] counts) {
+		for (int i = fromIndex; i < toIndex; i++) {
+			int value = array[i];
+			if (value >= minValue && value <= maxValue)
+				counts[value - minValue]++;
+		}
+	}
+	
+	private static void countValues(float[] array, int fromIndex, int toIndex, float minValue, float maxValue, int[] counts) {
+		double scale = counts.length / ((double) maxValue - minValue);
+		for (int i = fromIndex; i < toIndex; i++) {
+			float value = array[i];
+			if (value >= minValue && value <= maxValue)
+				counts[Math.min((int) ((value - (double) minValue) * scale), counts.length - 1)]++;
+		}
+	}
+	
+	private static void countValues(double[] array, int fromIndex, int toIndex, double minValue, double maxValue, int[] counts) {
+		double scale = counts.length / (maxValue - minValue);
+		for (int i = fromIndex; i < toIndex; i++) {
+			double value = array[i];
+			if (value >= minValue && value <= maxValue)
+				counts[Math.min((int) ((value - minValue) * scale), counts.length - 1)]++;
+		}
+	}
+	
+	private static int histogramBins(int minValue, int maxValue) {
+		long bins = (long) maxValue - minValue + 1;
+		if (bins <= 0 || bins > Integer.MAX_VALUE - 8)
+			throw new IllegalArgumentException("Illegal range: [" + minValue + ", " + maxValue + "]");
+		
+		return (int) bins;
+	}
+	
+	private static void checkBins(double minValue, double maxValue, int bins) {
+		if (bins <= 0)
+			throw new IllegalArgumentException("Illegal number of bins: " + bins);
+		
+		if (!(minValue < maxValue) || Double.isInfinite(maxValue - minValue))
+			throw new IllegalArgumentException("Illegal range: [" + minValue + ", " + maxValue + "]");
+	}
+	
+	private static void checkRange(int length, int fromIndex, int toIndex) {
+		if (fromIndex < 0 || fromIndex > toIndex || toIndex > length)
+			throw new IndexOutOfBoundsException("Range [" + fromIndex + ", " + toIndex + ") out of bounds for length " + length);
+	}
+	
+	private static void checkLengths(int first, int second) {
+		if (first != second)
+			throw new IllegalArgumentException("Lengths differ: " + first + " != " + second);
+	}
+	
+	/**
+	 * Sorts the range <tt>[fromIndex, toIndex)</tt> of <tt>keys</tt> as unsigned numbers, one byte at a time,
+	 * moving <tt>indices</tt> along with them if it isn't <tt>null</tt>.
+	 * Passes in which all the keys have the same byte are skipped.
+	 */
+	private static void radixSortKeys(int[] keys, int[] indices, int fromIndex, int toIndex) {
+		int length = toIndex - fromIndex;
+		if (length < 2)
+			return;
+		
+		int[][] counts = new int[4][256];
+		for (int i = fromIndex; i < toIndex; i++) {
+			int key = keys[i];
+			for (int digit = 0; digit < 4; digit++)
+				counts[digit][(key >>> (digit << 3)) & 0xFF]++;
+		}
+		
+		int[] source = keys;
+		int[] target = new int[length];
+		int[] sourceIndices = indices;
+		int[] targetIndices = indices == null? null: new int[length];
+		int sourceOffset = fromIndex;
+		int targetOffset = 0;
+		for (int digit = 0; digit < 4; digit++) {
+			int shift = digit << 3;
+			int[] offsets = counts[digit];
+			if (offsets[(keys[fromIndex] >>> shift) & 0xFF] == length)
+				continue;
+			
+			for (int value = 0, sum = 0; value < 256; value++) {
+				int count = offsets[value];
+				offsets[value] = sum + targetOffset;
+				sum += count;
+			}
+			
+			for (int i = sourceOffset, end = sourceOffset + length; i < end; i++) {
+				int key = source[i];
+				int position = offsets[(key >>> shift) & 0xFF]++;
+				target[position] = key;
+				if (sourceIndices != null)
+					targetIndices[position] = sourceIndices[i];
+			}
+			
+			int[] keySwap = source;
+			source = target;
+			target = keySwap;
+			int[] indexSwap = sourceIndices;
+			sourceIndices = targetIndices;
+			targetIndices = indexSwap;
+			int offsetSwap = sourceOffset;
+			sourceOffset = targetOffset;
+			targetOffset = offsetSwap;
+		}
+		
+		if (source != keys) {
+			System.arraycopy(source, 0, keys, fromIndex, length);
+			if (indices != null)
+				System.arraycopy(sourceIndices, 0, indices, fromIndex, length);
+		}
+	}
+	
+	/**
+	 * Sorts the range <tt>[fromIndex, toIndex)</tt> of <tt>keys</tt> as unsigned numbers, one byte at a time,
+	 * moving <tt>indices</tt> along with them if it isn't <tt>null</tt>.
+	 * Passes in which all the keys have the same byte are skipped.
+	 */
+	private static void radixSortKeys(long[] keys, int[] indices, int fromIndex, int toIndex) {
+		int length = toIndex - fromIndex;
+		if (length < 2)
+			return;
+		
+		int[][] counts = new int[8][256];
+		for (int i = fromIndex; i < toIndex; i++) {
+			long key = keys[i];
+			for (int digit = 0; digit < 8; digit++)
+				counts[digit][(int) (key >>> (digit << 3)) & 0xFF]++;
+		}
+		
+		long[] source = keys;
+		long[] target = new long[length];
+		int[] sourceIndices = indices;
+		int[] targetIndices = indices == null? null: new int[length];
+		int sourceOffset = fromIndex;
+		int targetOffset = 0;
+		for (int digit = 0; digit < 8; digit++) {
+			int shift = digit << 3;
+			int[] offsets = counts[digit];
+			if (offsets[(int) (keys[fromIndex] >>> shift) & 0xFF] == length)
+				continue;
+			
+			for (int value = 0, sum = 0; value < 256; value++) {
+				int count = offsets[value];
+				offsets[value] = sum + targetOffset;
+				sum += count;
+			}
+			
+			for (int i = sourceOffset, end = sourceOffset + length; i < end; i++) {
+				long key = source[i];
+				int position = offsets[(int) (key >>> shift) & 0xFF]++;
+				target[position] = key;
+				if (sourceIndices != null)
+					targetIndices[position] = sourceIndices[i];
+			}
+			
+			long[] keySwap = source;
+			source = target;
+			target = keySwap;
+			int[] indexSwap = sourceIndices;
+			sourceIndices = targetIndices;
+			targetIndices = indexSwap;
+			int offsetSwap = sourceOffset;
+			sourceOffset = targetOffset;
+			targetOffset = offsetSwap;
+		}
+		
+		if (source != keys) {
+			System.arraycopy(source, 0, keys, fromIndex, length);
+			if (indices != null)
+				System.arraycopy(sourceIndices, 0, indices, fromIndex, length);
+		}
+	}
+	
+	/**
+	 * Maps a <tt>float</tt> to an <tt>int</tt> which compares as an unsigned number the same as
+	 * {@link Float#compare(float, float)} compares the <tt>float</tt>s.
+	 */
+	private static int floatKey(float value) {
+		int bits = Float.floatToIntBits(value);
+		return bits ^ (bits >> 31 | Integer.MIN_VALUE);
+	}
+	
+	private static float floatFromKey(int key) {
+		return Float.intBitsToFloat(key ^ (~key >> 31 | Integer.MIN_VALUE));
+	}
+	
+	/**
+	 * Maps a <tt>double</tt> to a <tt>long</tt> which compares as an unsigned number the same as
+	 * {@link Double#compare(double, double)} compares the <tt>double</tt>s.
+	 */
+	private static long doubleKey(double value) {
+		long bits = Double.doubleToLongBits(value);
+		return bits ^ (bits >> 63 | Long.MIN_VALUE);
+	}
+	
+	private static double doubleFromKey(long key) {
+		return Double.longBitsToDouble(key ^ (~key >> 63 | Long.MIN_VALUE));
+	}
+	
+	/**
+	 * Returns a grain size which gives every thread of the common pool a few parts to sort.
+	 */
+	private static int defaultGrainSize(int length) {
+		return Math.max(PARALLEL_BLOCK, length / (ForkJoinPool.getCommonPoolParallelism() << 2));
+	}
+	
+	/**
+	 * Sorts parts of at most <tt>grainSize</tt> elements with {@link Arrays#sort(int[], int, int)} and merges them,
+	 * splitting the work between the threads of a {@link ForkJoinPool}.
+	 */
+	private static final class IntMergeSort extends RecursiveAction {
+		
+		private static final long serialVersionUID = 1L;
+		
+		private final int[] array;
+		private final int[] buffer;
+		private final int fromIndex;
+		private final int toIndex;
+		private final int grainSize;
+		
+		private IntMergeSort(int[] array, int[] buffer, int fromIndex, int toIndex, int grainSize) {
+			this.array = array;
+			this.buffer = buffer;
+			this.fromIndex = fromIndex;
+			this.toIndex = toIndex;
+			this.grainSize = grainSize;
+		}
+		
+		@Override
+		protected void compute() {
+			if (this.toIndex - this.fromIndex <= this.grainSize) {
+				Arrays.sort(this.array, this.fromIndex, this.toIndex);
+				return;
+			}
+			
+			int middle = (this.fromIndex + this.toIndex) >>> 1;
+			invokeAll(new IntMergeSort(this.array, this.buffer, this.fromIndex, middle, this.grainSize),
+				new IntMergeSort(this.array, this.buffer, middle, this.toIndex, this.grainSize));
+			if (this.array[middle - 1] <= this.array[middle])
+				return;
+			
+			System.arraycopy(this.array, this.fromIndex, this.buffer, this.fromIndex, middle - this.fromIndex);
+			int first = this.fromIndex;
+			int second = middle;
+			int target = this.fromIndex;
+			while (first < middle && second < this.toIndex) {
+				int left = this.buffer[first];
+				int right = this.array[second];
+				if (left <= right) {
+					this.array[target++] = left;
+					first++;
+				} else {
+					this.array[target++] = right;
+					second++;
+				}
+			}
+			
+			System.arraycopy(this.buffer, first, this.array, target, middle - first);
+		}
+		
+	}
+	
+	/**
+	 * Sorts parts of at most <tt>grainSize</tt> elements with {@link Arrays#sort(long[], int, int)} and merges them,
+	 * splitting the work between the threads of a {@link ForkJoinPool}.
+	 */
+	private static final class LongMergeSort extends RecursiveAction {
+		
+		private static final long serialVersionUID = 1L;
+		
+		private final long[] array;
+		private final long[] buffer;
+		private final int fromIndex;
+		private final int toIndex;
+		private final int grainSize;
+		
+		private LongMergeSort(long[] array, long[] buffer, int fromIndex, int toIndex, int grainSize) {
+			this.array = array;
+			this.buffer = buffer;
+			this.fromIndex = fromIndex;
+			this.toIndex = toIndex;
+			this.grainSize = grainSize;
+		}
+		
+		@Override
+		protected void compute() {
+			if (this.toIndex - this.fromIndex <= this.grainSize) {
+				Arrays.sort(this.array, this.fromIndex, this.toIndex);
+				return;
+			}
+			
+			int middle = (this.fromIndex + this.toIndex) >>> 1;
+			invokeAll(new LongMergeSort(this.array, this.buffer, this.fromIndex, middle, this.grainSize),
+				new LongMergeSort(this.array, this.buffer, middle, this.toIndex, this.grainSize));
+			if (this.array[middle - 1] <= this.array[middle])
+				return;
+			
+			System.arraycopy(this.array, this.fromIndex, this.buffer, this.fromIndex, middle - this.fromIndex);
+			int first = this.fromIndex;
+			int second = middle;
+			int target = this.fromIndex;
+			while (first < middle && second < this.toIndex) {
+				long left = this.buffer[first];
+				long right = this.array[second];
+				if (left <= right) {
+					this.array[target++] = left;
+					first++;
+				} else {
+					this.array[target++] = right;
+					second++;
+				}
+			}
+			
+			System.arraycopy(this.buffer, first, this.array, target, middle - first);
+		}
+		
+	}
+	
+	/**
+	 * Sorts parts of at most <tt>grainSize</tt> elements with {@link Arrays#sort(float[], int, int)} and merges them,
+	 * splitting the work between the threads of a {@link ForkJoinPool}.
+	 */
+	private static final class FloatMergeSort extends RecursiveAction {
+		
+		private static final long serialVersionUID = 1L;
+		
+		private final float[] array;
+		private final float[] buffer;
+		private final int fromIndex;
+		private final int toIndex;
+		private final int grainSize;
+		
+		private FloatMergeSort(float[] array, float[] buffer, int fromIndex, int toIndex, int grainSize) {
+			this.array = array;
+			this.buffer = buffer;
+			this.fromIndex = fromIndex;
+			this.toIndex = toIndex;
+			this.grainSize = grainSize;
+		}
+		
+		@Override
+		protected void compute() {
+			if (this.toIndex - this.fromIndex <= this.grainSize) {
+				Arrays.sort(this.array, this.fromIndex, this.toIndex);
+				return;
+			}
+			
+			int middle = (this.fromIndex + this.toIndex) >>> 1;
+			invokeAll(new FloatMergeSort(this.array, this.buffer, this.fromIndex, middle, this.grainSize),
+				new FloatMergeSort(this.array, this.buffer, middle, this.toIndex, this.grainSize));
+			if (Float.compare(this.array[middle - 1], this.array[middle]) <= 0)
+				return;
+			
+			System.arraycopy(this.array, this.fromIndex, this.buffer, this.fromIndex, middle - this.fromIndex);
+			int first = this.fromIndex;
+			int second = middle;
+			int target = this.fromIndex;
+			while (first < middle && second < this.toIndex) {
+				float left = this.buffer[first];
+				float right = this.array[second];
+				if (Float.compare(left, right) <= 0) {
+					this.array[target++] = left;
+					first++;
+				} else {
+					this.array[target++] = right;
+					second++;
+				}
+			}
+			
+			System.arraycopy(this.buffer, first, this.array, target, middle - first);
+		}
+		
+	}
+	
+	/**
+	 * Sorts parts of at most <tt>grainSize</tt> elements with {@link Arrays#sort(double[], int, int)} and merges them,
+	 * splitting the work between the threads of a {@link ForkJoinPool}.
+	 */
+	private static final class DoubleMergeSort extends RecursiveAction {
+		
+		private static final long serialVersionUID = 1L;
+		
+		private final double[] array;
+		private final double[] buffer;
+		private final int fromIndex;
+		private final int toIndex;
+		private final int grainSize;
+		
+		private DoubleMergeSort(double[] array, double[] buffer, int fromIndex, int toIndex, int grainSize) {
+			this.array = array;
+			this.buffer = buffer;
+			this.fromIndex = fromIndex;
+			this.toIndex = toIndex;
+			this.grainSize = grainSize;
+		}
+		
+		@Override
+		protected void compute() {
+			if (this.toIndex - this.fromIndex <= this.grainSize) {
+				Arrays.sort(this.array, this.fromIndex, this.toIndex);
+				return;
+			}
+			
+			int middle = (this.fromIndex + this.toIndex) >>> 1;
+			invokeAll(new DoubleMergeSort(this.array, this.buffer, this.fromIndex, middle, this.grainSize),
+				new DoubleMergeSort(this.array, this.buffer, middle, this.toIndex, this.grainSize));
+			if (Double.compare(this.array[middle - 1], this.array[middle]) <= 0)
+				return;
+			
+			System.arraycopy(this.array, this.fromIndex, this.buffer, this.fromIndex, middle - this.fromIndex);
+			int first = this.fromIndex;
+			int second = middle;
+			int target = this.fromIndex;
+			while (first < middle && second < this.toIndex) {
+				double left = this.buffer[first];
+				double right = this.array[second];
+				if (Double.compare(left, right) <= 0) {
+					this.array[target++] = left;
+					first++;
+				} else {
+					this.array[target++] = right;
+					second++;
+				}
+			}
+			
+			System.arraycopy(this.buffer, first, this.array, target, middle - first);
+		}
+		
+	}
+	
+	private interface IntBiConsumer {
+		void accept(int first, int second);
+	}
+	
+	private interface RangeCounter {
+		void count(int fromIndex, int toIndex, int[] counts);
 	}
 	
 }
@@ -9,11 +9,23 @@
 
 package ru.antihack3r.bebralib.misc;
 
+import ru.antihack3r.bebralib.list.DoubleArrayList;
+import ru.antihack3r.bebralib.list.IntArrayList;
+import ru.antihack3r.bebralib.list.LongArrayList;
+import ru.antihack3r.bebralib.list.NonNullList;
+
 import javax.annotation.Nonnull;
 import java.util.*;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.function.*;
 import java.util.stream.Collector;
 import java.util.stream.Collectors;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 
 /**
  * Some more list utilities.
@@ -54,6 +66,129 @@ public class MoreLists {
 		};
 	}
 	
+	/**
+	 * Collects to an {@link ArrayList} which can hold {@code expectedSize} values before it has to grow.
+	 * In a parallel stream every partial result is presized, so prefer {@link MoreLists#toConcurrentList()} there.
+	 * @param expectedSize the expected number of values.
+	 * @return an {@link ArrayList} containing the values in the original order.
+	 * @param <T> a type of value in the list.
+	 * @throws IllegalArgumentException if {@code expectedSize} is negative.
+	 */
+	public static <T> Collector<T, ?, ArrayList<T>> toArrayList(int expectedSize) {
+		if (expectedSize < 0)
+			throw new IllegalArgumentException("Illegal Capacity: " + expectedSize);
+		
+		return Collector.of(() -> new ArrayList<>(expectedSize), ArrayList::add,
+			(left, right) -> { left.addAll(right); return left; },
+			Collector.Characteristics.IDENTITY_FINISH);
+	}
+	
+	/**
+	 * Collects the non-null values to a {@link NonNullList}, skipping the <tt>null</tt>s
+	 * the same way {@link NonNullList#NonNullList(Collection)} does.
+	 * @return a {@link NonNullList} containing the non-null values in the original order.
+	 * @param <T> a type of value in the list.
+	 */
+	public static <T> Collector<T, ?, NonNullList<T>> toNonNullList() {
+		return Collector.of(NonNullList<T>::new,
+			(list, value) -> { if (value != null) list.add(value); },
+			(left, right) -> { left.addAll(right); return left; },
+			Collector.Characteristics.IDENTITY_FINISH);
+	}
+	
+	/**
+	 * Collects to an {@link ArrayList}, in no particular order. In a parallel stream every partial result
+	 * appends to a chunk of its own, merging only links the chunks together, and they are copied
+	 * into the result just once at the end, instead of being merged pairwise.
+	 * @return an {@link ArrayList} containing the values in no particular order.
+	 * @param <T> a type of value in the list.
+	 */
+	public static <T> Collector<T, ?, ArrayList<T>> toConcurrentList() {
+		return Collector.of(ChunkedList<T>::new, ChunkedList::add, ChunkedList::merge, ChunkedList::toArrayList,
+			Collector.Characteristics.UNORDERED);
+	}
+	
+	/**
+	 * Collects <tt>int</tt>s to an {@link IntArrayList}, which keeps them unboxed.
+	 * @return an {@link IntArrayList} containing the values in the original order.
+	 */
+	public static Collector<Integer, ?, IntArrayList> toIntArrayList() {
+		return Collector.of(IntArrayList::new, IntArrayList::add,
+			(left, right) -> { left.addAll(right.toIntArray()); return left; },
+			Collector.Characteristics.IDENTITY_FINISH);
+	}
+	
+	/**
+	 * Collects a {@link IntStream} to an {@link IntArrayList}, without boxing the values.
+	 * A sequential stream of a known size is collected into a list of exactly that capacity.
+	 * @param stream a stream which values should be collected.
+	 * @return an {@link IntArrayList} containing the values in the original order.
+	 */
+	public static @Nonnull IntArrayList toIntArrayList(@Nonnull IntStream stream) {
+		if (stream.isParallel())
+			return stream.collect(IntArrayList::new, IntArrayList::add, (left, right) -> left.addAll(right.toIntArray()));
+		
+		Spliterator.OfInt spliterator = stream.spliterator();
+		long size = spliterator.getExactSizeIfKnown();
+		IntArrayList list = size >= 0 && size <= Integer.MAX_VALUE? new IntArrayList((int) size): new IntArrayList();
+		spliterator.forEachRemaining((IntConsumer) list::add);
+		return list;
+	}
+	
+	/**
+	 * Collects <tt>long</tt>s to an {@link LongArrayList}, which keeps them unboxed.
+	 * @return an {@link LongArrayList} containing the values in the original order.
+	 */
+	public static Collector<Long, ?, LongArrayList> toLongArrayList() {
+		return Collector.of(LongArrayList::new, LongArrayList::add,
+			(left, right) -> { left.addAll(right.toLongArray()); return left; },
+			Collector.Characteristics.IDENTITY_FINISH);
+	}
+	
+	/**
+	 * Collects a {@link LongStream} to an {@link LongArrayList}, without boxing the values.
+	 * A sequential stream of a known size is collected into a list of exactly that capacity.
+	 * @param stream a stream which values should be collected.
+	 * @return an {@link LongArrayList} containing the values in the original order.
+	 */
+	public static @Nonnull LongArrayList toLongArrayList(@Nonnull LongStream stream) {
+		if (stream.isParallel())
+			return stream.collect(LongArrayList::new, LongArrayList::add, (left, right) -> left.addAll(right.toLongArray()));
+		
+		Spliterator.OfLong spliterator = stream.spliterator();
+		long size = spliterator.getExactSizeIfKnown();
+		LongArrayList list = size >= 0 && size <= Integer.MAX_VALUE? new LongArrayList((int) size): new LongArrayList();
+		spliterator.forEachRemaining((LongConsumer) list::add);
+		return list;
+	}
+	
+	/**
+	 * Collects <tt>double</tt>s to an {@link DoubleArrayList}, which keeps them unboxed.
+	 * @return an {@link DoubleArrayList} containing the values in the original order.
+	 */
+	public static Collector<Double, ?, DoubleArrayList> toDoubleArrayList() {
+		return Collector.of(DoubleArrayList::new, DoubleArrayList::add,
+			(left, right) -> { left.addAll(right.toDoubleArray()); return left; },
+			Collector.Characteristics.IDENTITY_FINISH);
+	}
+	
+	/**
+	 * Collects a {@link DoubleStream} to an {@link DoubleArrayList}, without boxing the values.
+	 * A sequential stream of a known size is collected into a list of exactly that capacity.
+	 * @param stream a stream which values should be collected.
+	 * @return an {@link DoubleArrayList} containing the values in the original order.
+	 */
+	public static @Nonnull DoubleArrayList toDoubleArrayList(@Nonnull DoubleStream stream) {
+		if (stream.isParallel())
+			return stream.collect(DoubleArrayList::new, DoubleArrayList::add, (left, right) -> left.addAll(right.toDoubleArray()));
+		
+		Spliterator.OfDouble spliterator = stream.spliterator();
+		long size = spliterator.getExactSizeIfKnown();
+		DoubleArrayList list = size >= 0 && size <= Integer.MAX_VALUE? new DoubleArrayList((int) size): new DoubleArrayList();
+		spliterator.forEachRemaining((DoubleConsumer) list::add);
+		return list;
+	}
+	
 	/**
 	 * Filters {@code list} using a given {@code predicate}.
 	 * @param list a list which needs to be filtered.
@@ -75,4 +210,655 @@ public class MoreLists {
 		return list.stream().sorted(comparator).collect(Collectors.toList());
 	}
 	
+	/**
+	 * Removes the elements of {@code list} which don't match {@code predicate}, without making a new list.
+	 * An {@link ArrayList} is compacted in a single pass which moves every kept element at most once;
+	 * any other list is filtered with {@link List#removeIf(Predicate)}, as not every list that can be
+	 * changed can have elements removed.<br>
+	 * If {@code predicate} throws an exception while an {@link ArrayList} is compacted, the elements
+	 * which have already been tested and don't match it are removed, and the rest are left as they were.
+	 * @param list a list which needs to be filtered.
+	 * @param predicate a predicate the kept elements match.
+	 * @return {@code true} if any elements were removed.
+	 * @param <T> a type of value in {@code list}.
+	 * @throws UnsupportedOperationException if {@code list} can't be changed and an element has to be removed.
+	 */
+	public static <T> boolean filterInPlace(@Nonnull List<T> list, @Nonnull Predicate<? super T> predicate) {
+		if (!(list instanceof ArrayList))
+			return list.removeIf(predicate.negate());
+		
+		int size = list.size();
+		int kept = 0;
+		int tested = 0;
+		try {
+			for (; tested < size; tested++) {
+				T element = list.get(tested);
+				if (predicate.test(element)) {
+					if (kept != tested)
+						list.set(kept, element);
+					
+					kept++;
+				}
+			}
+		} finally {
+			// the elements between the kept ones and the untested ones have already been moved or rejected
+			if (kept != tested)
+				list.subList(kept, tested).clear();
+		}
+		
+		return kept != size;
+	}
+	
+	/**
+	 * Sorts {@code list} using a given {@code comparator}, without making a new list.
+	 * The sort is stable, and an {@link ArrayList} is sorted right in its backing array.
+	 * @param list a list which needs to be sorted.
+	 * @param comparator a comparator to be used to sort {@code list}.
+	 * @return {@code list}.
+	 * @param <T> a type of value in {@code list}.
+	 */
+	public static <T, L extends List<T>> @Nonnull L sortInPlace(@Nonnull L list, @Nonnull Comparator<? super T> comparator) {
+		list.sort(comparator);
+		return list;
+	}
+	
+	/**
+	 * Returns a read-only view of the elements of {@code list} which match {@code predicate}.
+	 * Nothing is filtered in advance: the predicate is called as the view is read, at most once per element,
+	 * so reading only the first few elements never looks at the rest of the list.
+	 * {@link List#size()} has to filter the whole list, though.
+	 * {@code list} must not be changed while the view is in use.
+	 * @param list a list which needs to be filtered.
+	 * @param predicate a predicate the elements of the view match.
+	 * @return a lazily filtered view of {@code list}.
+	 * @param <T> a type of value in {@code list}.
+	 */
+	public static <T> @Nonnull List<T> filteredView(@Nonnull List<? extends T> list, @Nonnull Predicate<? super T> predicate) {
+		return new FilteredView<>(list, predicate);
+	}
+	
+	/**
+	 * Returns a read-only view of {@code list} with {@code mapper} applied to each element.
+	 * Nothing is mapped in advance: the mapper is called every time an element of the view is read.
+	 * The view reflects the changes of {@code list}.
+	 * @param list a list which needs to be mapped.
+	 * @param mapper a function to be applied to the elements.
+	 * @return a lazily mapped view of {@code list}.
+	 * @param <T> a type of value in {@code list}.
+	 * @param <R> a type of value in the view.
+	 */
+	public static <T, R> @Nonnull List<R> mappedView(@Nonnull List<? extends T> list, @Nonnull Function<? super T, ? extends R> mapper) {
+		return new MappedView<>(list, mapper);
+	}
+	
+	/**
+	 * Returns a read-only view of {@code list} sorted using a given {@code comparator}.
+	 * The elements are copied and heapified on the first read, in linear time, and then only as many
+	 * of them are sorted as have been read, so reading the first <tt>k</tt> elements of a list of <tt>n</tt>
+	 * takes <tt>O(n + k log n)</tt> time. The sort is stable.
+	 * Changes to {@code list} after the first read aren't reflected in the view.
+	 * @param list a list which needs to be sorted.
+	 * @param comparator a comparator to be used to sort {@code list}.
+	 * @return a lazily sorted view of {@code list}.
+	 * @param <T> a type of value in {@code list}.
+	 */
+	public static <T> @Nonnull List<T> sortedView(@Nonnull List<? extends T> list, @Nonnull Comparator<? super T> comparator) {
+		return new SortedView<>(list, comparator);
+	}
+	
+	/**
+	 * Merges lists which are already sorted by {@code comparator} into a single sorted list, in one pass.
+	 * Equal elements keep the order of the lists they come from.
+	 * @param lists lists sorted by {@code comparator}.
+	 * @param comparator a comparator the lists are sorted by.
+	 * @return a new sorted list containing the elements of all the lists.
+	 * @param <T> a type of value in the lists.
+	 */
+	public static <T> @Nonnull List<T> merge(@Nonnull List<? extends List<? extends T>> lists, @Nonnull Comparator<? super T> comparator) {
+		int size = 0;
+		for (List<? extends T> list: lists)
+			size += list.size();
+		
+		List<T> result = new ArrayList<>(size);
+		PriorityQueue<MergeCursor<T>> cursors = new PriorityQueue<>(Math.max(1, lists.size()), (first, second) -> {
+			int comparison = comparator.compare(first.head, second.head);
+			return comparison != 0? comparison: Integer.compare(first.order, second.order);
+		});
+		
+		for (int i = 0; i < lists.size(); i++) {
+			Iterator<? extends T> iterator = lists.get(i).iterator();
+			if (iterator.hasNext())
+				cursors.add(new MergeCursor<>(iterator, i));
+		}
+		
+		while (!cursors.isEmpty()) {
+			MergeCursor<T> cursor = cursors.poll();
+			result.add(cursor.head);
+			if (cursor.iterator.hasNext()) {
+				cursor.head = cursor.iterator.next();
+				cursors.add(cursor);
+			}
+		}
+		
+		return result;
+	}
+	
+	/**
+	 * Selects the {@code k} greatest elements according to {@code comparator}, without sorting all of them.
+	 * It takes <tt>O(n log k)</tt> time and keeps only {@code k} elements at once, so {@code elements}
+	 * can be a huge or lazily produced {@link Iterable}. Of equal elements, the earlier ones are preferred,
+	 * and they keep their order in the result.
+	 * @param elements elements to select from.
+	 * @param k the number of elements to select.
+	 * @param comparator a comparator to be used to compare the elements.
+	 * @return a new list of at most {@code k} greatest elements, the greatest first.
+	 * @param <T> a type of value in {@code elements}.
+	 * @throws IllegalArgumentException if {@code k} is negative.
+	 */
+	public static <T> @Nonnull List<T> topK(@Nonnull Iterable<? extends T> elements, int k, @Nonnull Comparator<? super T> comparator) {
+		if (k < 0)
+			throw new IllegalArgumentException("k is negative");
+		
+		if (k == 0)
+			return new ArrayList<>();
+		
+		// the head of the heap is the worst element kept, which is the latest one of the smallest ones
+		Comparator<RankedElement<T>> rank = (first, second) -> {
+			int comparison = comparator.compare(first.element, second.element);
+			return comparison != 0? comparison: Long.compare(second.sequence, first.sequence);
+		};
+		
+		PriorityQueue<RankedElement<T>> heap = new PriorityQueue<>(Math.min(k, 1 << 16), rank);
+		long sequence = 0;
+		for (T element: elements) {
+			if (heap.size() < k)
+				heap.add(new RankedElement<>(element, sequence));
+			else if (comparator.compare(element, heap.peek().element) > 0) {
+				heap.poll();
+				heap.add(new RankedElement<>(element, sequence));
+			}
+			
+			sequence++;
+		}
+		
+		List<RankedElement<T>> ranked = new ArrayList<>(heap);
+		ranked.sort(rank.reversed());
+		List<T> result = new ArrayList<>(ranked.size());
+		for (RankedElement<T> element: ranked)
+			result.add(element.element);
+		
+		return result;
+	}
+	
+	/**
+	 * Returns consecutive sublists of {@code list}, each of {@code size} elements except for the last one,
+	 * which may be shorter. Nothing is copied: the sublists are {@link List#subList(int, int)} views,
+	 * so {@code list} must not be structurally changed while they are in use.
+	 * @param list a list which needs to be partitioned.
+	 * @param size the size of a partition.
+	 * @return a view of the partitions of {@code list}.
+	 * @param <T> a type of value in {@code list}.
+	 * @throws IllegalArgumentException if {@code size} isn't positive.
+	 */
+	public static <T> @Nonnull List<List<T>> partition(@Nonnull List<T> list, int size) {
+		if (size <= 0)
+			throw new IllegalArgumentException("Illegal size: " + size);
+		
+		return new Windows<>(list, size, size, true);
+	}
+	
+	/**
+	 * Returns the windows of {@code size} elements of {@code list} which start every {@code step} elements.
+	 * Only full windows are returned, so a list shorter than {@code size} has none. Nothing is copied:
+	 * the windows are {@link List#subList(int, int)} views, so {@code list} must not be structurally changed
+	 * while they are in use.
+	 * @param list a list which needs to be split.
+	 * @param size the size of a window.
+	 * @param step the distance between the starts of two consecutive windows.
+	 * @return a view of the windows of {@code list}.
+	 * @param <T> a type of value in {@code list}.
+	 * @throws IllegalArgumentException if {@code size} or {@code step} isn't positive.
+	 */
+	public static <T> @Nonnull List<List<T>> windowed(@Nonnull List<T> list, int size, int step) {
+		if (size <= 0)
+			throw new IllegalArgumentException("Illegal size: " + size);
+		
+		if (step <= 0)
+			throw new IllegalArgumentException("Illegal step: " + step);
+		
+		return new Windows<>(list, size, step, false);
+	}
+	
+	/**
+	 * Returns the windows of {@code size} elements of {@code list} which start at every element,
+	 * the same as {@code windowed(list, size, 1)}.
+	 * @param list a list which needs to be split.
+	 * @param size the size of a window.
+	 * @return a view of the windows of {@code list}.
+	 * @param <T> a type of value in {@code list}.
+	 * @throws IllegalArgumentException if {@code size} isn't positive.
+	 */
+	public static <T> @Nonnull List<List<T>> sliding(@Nonnull List<T> list, int size) {
+		return windowed(list, size, 1);
+	}
+	
+	/**
+	 * Runs {@code action} on every {@link MoreLists#partition(List, int) partition} of {@code list} on {@code executor},
+	 * with as many batches in flight as there are processors, and waits until all of them are done.
+	 * @param list a list which needs to be processed.
+	 * @param batchSize the size of a batch.
+	 * @param executor an executor to run the batches on.
+	 * @param action an action to be run on each batch.
+	 * @param <T> a type of value in {@code list}.
+	 * @throws InterruptedException if the calling thread is interrupted while waiting.
+	 * @throws CompletionException if {@code action} fails or the executor rejects a batch.
+	 * @see MoreLists#forEachBatch(List, int, Executor, int, boolean, Function, Consumer)
+	 */
+	public static <T> void forEachBatch(@Nonnull List<T> list, int batchSize, @Nonnull Executor executor,
+		@Nonnull Consumer<? super List<T>> action) throws InterruptedException {
+		forEachBatch(list, batchSize, executor, Runtime.getRuntime().availableProcessors(), false,
+			batch -> { action.accept(batch); return null; }, result -> {});
+	}
+	
+	/**
+	 * Runs {@code action} on every {@link MoreLists#partition(List, int) partition} of {@code list} on {@code executor}
+	 * and hands the results to {@code onComplete}, waiting until all of them are done.<br>
+	 * <br>
+	 * At most {@code maxInFlight} batches are submitted and not yet handed over at once: when that many are,
+	 * the calling thread waits for one to complete before it submits the next one, so a slow executor
+	 * holds the batches back instead of piling them up in its queue. {@code onComplete} is always called
+	 * on the calling thread; if {@code ordered} is {@code true}, in the order of the batches,
+	 * otherwise in the order they complete.<br>
+	 * <br>
+	 * If a batch fails, no more batches are submitted, the ones in flight are waited for, and the first
+	 * failure is thrown. {@code list} must not be structurally changed until the method returns.
+	 * @param list a list which needs to be processed.
+	 * @param batchSize the size of a batch.
+	 * @param executor an executor to run the batches on.
+	 * @param maxInFlight the largest number of batches in flight at once.
+	 * @param ordered whether the results should be handed over in the order of the batches.
+	 * @param action a function to be run on each batch.
+	 * @param onComplete a consumer of the results of the batches.
+	 * @param <T> a type of value in {@code list}.
+	 * @param <R> a type of the results of the batches.
+	 * @throws IllegalArgumentException if {@code batchSize} or {@code maxInFlight} isn't positive.
+	 * @throws InterruptedException if the calling thread is interrupted while waiting.
+	 * @throws CompletionException if {@code action} or {@code onComplete} fails or the executor rejects a batch.
+	 */
+	public static <T, R> void forEachBatch(@Nonnull List<T> list, int batchSize, @Nonnull Executor executor, int maxInFlight,
+		boolean ordered, @Nonnull Function<? super List<T>, ? extends R> action,
+		@Nonnull Consumer<? super R> onComplete) throws InterruptedException {
+		if (maxInFlight <= 0)
+			throw new IllegalArgumentException("Illegal maxInFlight: " + maxInFlight);
+		
+		List<List<T>> batches = partition(list, batchSize);
+		BlockingQueue<BatchResult<R>> completed = new LinkedBlockingQueue<>();
+		Map<Integer, BatchResult<R>> early = new HashMap<>();
+		int submitted = 0;
+		int running = 0;
+		int delivered = 0;
+		Throwable failure = null;
+		while (running > 0 || failure == null && submitted < batches.size()) {
+			if (failure == null && submitted < batches.size() && submitted - delivered < maxInFlight) {
+				int index = submitted;
+				List<T> batch = batches.get(index);
+				try {
+					executor.execute(() -> {
+						try {
+							completed.add(new BatchResult<>(index, action.apply(batch), null));
+						} catch (Throwable t) {
+							completed.add(new BatchResult<>(index, null, t));
+						}
+					});
+				} catch (RuntimeException e) {
+					failure = e;
+					continue;
+				}
+				
+				submitted++;
+				running++;
+				continue;
+			}
+			
+			BatchResult<R> result = completed.take();
+			running--;
+			if (result.error != null) {
+				if (failure == null)
+					failure = result.error;
+				
+				continue;
+			}
+			
+			if (failure != null)
+				continue;
+			
+			try {
+				if (!ordered) {
+					onComplete.accept(result.result);
+					delivered++;
+					continue;
+				}
+				
+				early.put(result.index, result);
+				for (BatchResult<R> next; (next = early.remove(delivered)) != null; delivered++)
+					onComplete.accept(next.result);
+			} catch (RuntimeException e) {
+				failure = e;
+			}
+		}
+		
+		if (failure != null)
+			throw failure instanceof CompletionException? (CompletionException) failure: new CompletionException(failure);
+	}
+	
+	/**
+	 * A container which appends to a chunk of its own and takes over the chunks of the containers merged into it.
+	 */
+	private static final class ChunkedList<T> {
+		
+		private final ArrayList<T> chunk = new ArrayList<>();
+		private final List<ArrayList<T>> chunks = new ArrayList<>(Collections.singletonList(this.chunk));
+		
+		private ChunkedList() {}
+		
+		private void add(T value) {
+			this.chunk.add(value);
+		}
+		
+		private ChunkedList<T> merge(ChunkedList<T> other) {
+			this.chunks.addAll(other.chunks);
+			return this;
+		}
+		
+		private ArrayList<T> toArrayList() {
+			int size = 0;
+			for (ArrayList<T> chunk: this.chunks)
+				size += chunk.size();
+			
+			ArrayList<T> result = new ArrayList<>(size);
+			for (ArrayList<T> chunk: this.chunks)
+				result.addAll(chunk);
+			
+			return result;
+		}
+		
+	}
+	
+	private static final class FilteredView<T> extends AbstractList<T> {
+		
+		private final Iterator<? extends T> remaining;
+		private final Predicate<? super T> predicate;
+		private final List<T> matches = new ArrayList<>();
+		
+		private FilteredView(List<? extends T> list, Predicate<? super T> predicate) {
+			this.remaining = list.iterator();
+			this.predicate = predicate;
+		}
+		
+		@Override
+		public T get(int index) {
+			if (index < 0 || !this.reach(index))
+				throw new IndexOutOfBoundsException("Index: " + index);
+			
+			return this.matches.get(index);
+		}
+		
+		@Override
+		public int size() {
+			this.reach(Integer.MAX_VALUE);
+			return this.matches.size();
+		}
+		
+		@Override
+		public boolean isEmpty() {
+			return !this.reach(0);
+		}
+		
+		@Override
+		public @Nonnull Iterator<T> iterator() {
+			return new Iterator<T>() {
+				private int cursor;
+				
+				@Override
+				public boolean hasNext() {
+					return FilteredView.this.reach(this.cursor);
+				}
+				
+				@Override
+				public T next() {
+					if (!this.hasNext())
+						throw new NoSuchElementException();
+					
+					return FilteredView.this.matches.get(this.cursor++);
+				}
+			};
+		}
+		
+		/**
+		 * Filters the list until the match at {@code index} is found.
+		 * @return {@code true} if the view has an element at {@code index}.
+		 */
+		private boolean reach(int index) {
+			while (this.matches.size() <= index && this.remaining.hasNext()) {
+				T element = this.remaining.next();
+				if (this.predicate.test(element))
+					this.matches.add(element);
+			}
+			
+			return index < this.matches.size();
+		}
+		
+	}
+	
+	private static final class MappedView<T, R> extends AbstractList<R> {
+		
+		private final List<? extends T> list;
+		private final Function<? super T, ? extends R> mapper;
+		
+		private MappedView(List<? extends T> list, Function<? super T, ? extends R> mapper) {
+			this.list = list;
+			this.mapper = mapper;
+		}
+		
+		@Override
+		public R get(int index) {
+			return this.mapper.apply(this.list.get(index));
+		}
+		
+		@Override
+		public int size() {
+			return this.list.size();
+		}
+		
+		@Override
+		public @Nonnull Iterator<R> iterator() {
+			Iterator<? extends T> iterator = this.list.iterator();
+			return new Iterator<R>() {
+				@Override
+				public boolean hasNext() {
+					return iterator.hasNext();
+				}
+				
+				@Override
+				public R next() {
+					return MappedView.this.mapper.apply(iterator.next());
+				}
+			};
+		}
+		
+	}
+	
+	private static final class SortedView<T> extends AbstractList<T> implements RandomAccess {
+		
+		private final List<? extends T> list;
+		private final Comparator<? super T> comparator;
+		
+		/**
+		 * The first {@code heapSize} elements form a binary min-heap, ordered by the comparator and then by
+		 * the original index in {@code indices}; the rest are the smallest elements, sorted from the end backwards.
+		 */
+		private Object[] elements;
+		private int[] indices;
+		private int heapSize;
+		
+		private SortedView(List<? extends T> list, Comparator<? super T> comparator) {
+			this.list = list;
+			this.comparator = comparator;
+		}
+		
+		@Override
+		@SuppressWarnings("unchecked")
+		public T get(int index) {
+			this.heapify();
+			int size = this.elements.length;
+			if (index < 0 || index >= size)
+				throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+			
+			while (size - this.heapSize <= index)
+				this.popMin();
+			
+			return (T) this.elements[size - 1 - index];
+		}
+		
+		@Override
+		public int size() {
+			return this.elements == null? this.list.size(): this.elements.length;
+		}
+		
+		private void heapify() {
+			if (this.elements != null)
+				return;
+			
+			this.elements = this.list.toArray();
+			this.indices = new int[this.elements.length];
+			for (int i = 0; i < this.indices.length; i++)
+				this.indices[i] = i;
+			
+			this.heapSize = this.elements.length;
+			for (int i = (this.heapSize >>> 1) - 1; i >= 0; i--)
+				this.siftDown(i);
+		}
+		
+		/**
+		 * Moves the smallest element of the heap into the slot the heap gives up.
+		 */
+		private void popMin() {
+			Object min = this.elements[0];
+			this.heapSize--;
+			this.elements[0] = this.elements[this.heapSize];
+			this.indices[0] = this.indices[this.heapSize];
+			this.siftDown(0);
+			this.elements[this.heapSize] = min;
+		}
+		
+		private void siftDown(int position) {
+			Object element = this.elements[position];
+			int index = this.indices[position];
+			while (true) {
+				int child = (position << 1) + 1;
+				if (child >= this.heapSize)
+					break;
+				
+				if (child + 1 < this.heapSize && this.less(child + 1, child))
+					child++;
+				
+				if (!this.less(this.elements[child], this.indices[child], element, index))
+					break;
+				
+				this.elements[position] = this.elements[child];
+				this.indices[position] = this.indices[child];
+				position = child;
+			}
+			
+			this.elements[position] = element;
+			this.indices[position] = index;
+		}
+		
+		private boolean less(int first, int second) {
+			return this.less(this.elements[first], this.indices[first], this.elements[second], this.indices[second]);
+		}
+		
+		@SuppressWarnings("unchecked")
+		private boolean less(Object first, int firstIndex, Object second, int secondIndex) {
+			int comparison = this.comparator.compare((T) first, (T) second);
+			return comparison < 0 || comparison == 0 && firstIndex < secondIndex;
+		}
+		
+	}
+	
+	private static final class Windows<T> extends AbstractList<List<T>> implements RandomAccess {
+		
+		private final List<T> list;
+		private final int size;
+		private final int step;
+		private final boolean partial;
+		
+		private Windows(List<T> list, int size, int step, boolean partial) {
+			this.list = list;
+			this.size = size;
+			this.step = step;
+			this.partial = partial;
+		}
+		
+		@Override
+		public List<T> get(int index) {
+			int count = this.size();
+			if (index < 0 || index >= count)
+				throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + count);
+			
+			int from = index * this.step;
+			return this.list.subList(from, Math.min(this.list.size(), from + this.size));
+		}
+		
+		@Override
+		public int size() {
+			long length = this.list.size();
+			if (this.partial)
+				return (int) ((length + this.step - 1) / this.step);
+			
+			return length < this.size? 0: (int) ((length - this.size) / this.step + 1);
+		}
+		
+	}
+	
+	private static final class BatchResult<R> {
+		
+		private final int index;
+		private final R result;
+		private final Throwable error;
+		
+		private BatchResult(int index, R result, Throwable error) {
+			this.index = index;
+			this.result = result;
+			this.error = error;
+		}
+		
+	}
+	
+	private static final class RankedElement<T> {
+		
+		private final T element;
+		private final long sequence;
+		
+		private RankedElement(T element, long sequence) {
+			this.element = element;
+			this.sequence = sequence;
+		}
+		
+	}
+	
+	private static final class MergeCursor<T> {
+		
+		private final Iterator<? extends T> iterator;
+		private final int order;
+		private T head;
+		
+		private MergeCursor(Iterator<? extends T> iterator, int order) {
+			this.iterator = iterator;
+			this.order = order;
+			this.head = iterator.next();
+		}
+		
+	}
+	
 }
@@ -0,0 +1,159 @@
+/*
+ * This file is a part of bebralib -- you can get yo copy at https://github.com/antihack3r/bebralib
+ *
+ * This code is free software. It comes without any warranty, to the extent permitted by
+ * applicable law. You can redistribute it and/or modify it under the terms of the
+ * Do What The Fuck You Want To Public License, Version 2, as published by Sam Hocevar.
+ * See http://www.wtfpl.net/ for more details.
+ */
+
+package ru.antihack3r.bebralib.misc;
+
+import javax.annotation.Nonnull;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.NoSuchElementException;
+
+/**
+ * A thread-safe stack of fixed-width records kept outside the Java heap, in an {@link OffHeapStorage},
+ * with the same contract as {@link Stack}, except that it doesn't accept <tt>null</tt> elements.
+ * Elements are converted to and from their records by a {@link RecordCodec}.<br>
+ * <br>
+ * The memory is released by {@link OffHeapStack#close()}, after which the stack must not be used.
+ * @param <T> The element type for the stack.
+ */
+public class OffHeapStack<T> implements Closeable {
+	
+	private final RecordCodec<T> codec;
+	private final OffHeapStorage storage;
+	
+	/**
+	 * The number of elements; the bottom of the stack is record 0 and the top is record <tt>size - 1</tt>.
+	 */
+	private int size;
+	
+	/**
+	 * Constructs a new empty {@link OffHeapStack} kept in direct buffers.
+	 * @param codec the codec converting the elements to and from their records.
+	 */
+	public OffHeapStack(@Nonnull RecordCodec<T> codec) {
+		this.codec = codec;
+		this.storage = new OffHeapStorage(codec.getSize());
+	}
+	
+	/**
+	 * Constructs a new empty {@link OffHeapStack} kept in a memory-mapped file.
+	 * The file is created if it doesn't exist and truncated if it does.
+	 * @param codec the codec converting the elements to and from their records.
+	 * @param file the path of the file.
+	 * @throws IOException if the file can't be opened.
+	 */
+	public OffHeapStack(@Nonnull RecordCodec<T> codec, @Nonnull Path file) throws IOException {
+		this.codec = codec;
+		this.storage = new OffHeapStorage(codec.getSize(), file);
+	}
+	
+	/**
+	 * Pushes the given element onto the top of the stack.
+	 * @param thing the element that must be pushed to the top of the stack.
+	 * @throws NullPointerException if <tt>thing</tt> is <tt>null</tt>.
+	 */
+	public void push(@Nonnull T thing) {
+		synchronized (this) {
+			if (this.size == Integer.MAX_VALUE)
+				throw new OutOfMemoryError();
+			
+			this.storage.ensureCapacity(this.size + 1L);
+			this.codec.write(this.storage.segment(this.size), this.storage.offset(this.size), thing);
+			this.size++;
+		}
+	}
+	
+	/**
+	 * Pops the top-most element off the stack and returns it.
+	 * @return the top of the stack.
+	 * @throws NoSuchElementException if the stack is empty.
+	 */
+	public @Nonnull T pop() {
+		synchronized (this) {
+			T thing = this.peek(0);
+			this.size--;
+			return thing;
+		}
+	}
+	
+	/**
+	 * Peeks at an element in the stack.
+	 * @param index the index of the element on the stack (0 represents the top of the stack).
+	 * @return the <tt>index</tt>th element of the stack.
+	 * @throws IndexOutOfBoundsException if <tt>index</tt> is out of this stack's bounds.
+	 * @throws NoSuchElementException if the stack is empty.
+	 */
+	public @Nonnull T peek(int index) {
+		synchronized (this) {
+			if (this.size == 0)
+				throw new NoSuchElementException();
+			
+			if (index < 0 || index >= this.size)
+				throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.size);
+			
+			long record = this.size - 1L - index;
+			return this.codec.read(this.storage.segment(record), this.storage.offset(record));
+		}
+	}
+	
+	/**
+	 * Peeks at the first element in the stack.
+	 * @return the first element of the stack.
+	 * @throws NoSuchElementException if the stack is empty.
+	 */
+	public @Nonnull T top() {
+		return peek(0);
+	}
+	
+	/**
+	 * Peeks at the last element in the stack.
+	 * @return the last element of the stack.
+	 * @throws NoSuchElementException if the stack is empty.
+	 */
+	public @Nonnull T bottom() {
+		synchronized (this) {
+			return peek(this.size - 1);
+		}
+	}
+	
+	/**
+	 * Returns <tt>true</tt> if the stack is empty.
+	 * @return <tt>true</tt> if the stack is empty, <tt>false</tt>
+	 * otherwise.
+	 */
+	public boolean isEmpty() {
+		synchronized (this) {
+			return this.size == 0;
+		}
+	}
+	
+	/**
+	 * Returns the size of the stack.
+	 * @return size of the stack.
+	 */
+	public int size() {
+		synchronized (this) {
+			return this.size;
+		}
+	}
+	
+	/**
+	 * Releases the memory of the stack and closes its file, if any.
+	 * @throws IOException if the file can't be closed.
+	 */
+	@Override
+	public void close() throws IOException {
+		synchronized (this) {
+			this.size = 0;
+			this.storage.close();
+		}
+	}
+	
+}
@@ -0,0 +1,401 @@
+/*
+ * This file is a part of bebralib -- you can get yo copy at https://github.com/antihack3r/bebralib
+ *
+ * This code is free software. It comes without any warranty, to the extent permitted by
+ * applicable law. You can redistribute it and/or modify it under the terms of the
+ * Do What The Fuck You Want To Public License, Version 2, as published by Sam Hocevar.
+ * See http://www.wtfpl.net/ for more details.
+ */
+
+package ru.antihack3r.bebralib.misc;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Fixed-width records kept outside the Java heap, in direct {@link ByteBuffer}s or in a memory-mapped file,
+ * so the garbage collector never has to scan them. The records are spread over segments
+ * of equal size, which are added as the capacity grows, so the storage can hold far more than
+ * a single buffer's two gigabytes.<br>
+ * <br>
+ * The memory is released by {@link OffHeapStorage#close()} instead of waiting for the garbage collector,
+ * when the runtime allows it. The storage must not be used from several threads at once.
+ * @see RecordCodec
+ */
+public class OffHeapStorage implements Closeable {
+	
+	/**
+	 * The default size of a segment, in bytes.
+	 */
+	public static final int DEFAULT_SEGMENT_SIZE = 1 << 20;
+	
+	/**
+	 * Frees the memory of a direct or mapped buffer, or <tt>null</tt> if the runtime doesn't let us.
+	 */
+	private static final MethodHandle FREE;
+	
+	static {
+		MethodHandle free;
+		try {
+			Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+			Field field = unsafeClass.getDeclaredField("theUnsafe");
+			field.setAccessible(true);
+			free = MethodHandles.lookup().findVirtual(unsafeClass, "invokeCleaner",
+				MethodType.methodType(void.class, ByteBuffer.class)).bindTo(field.get(null));
+		} catch (ReflectiveOperationException | RuntimeException exception) {
+			try {
+				MethodHandle cleaner = MethodHandles.lookup().unreflect(Class.forName("sun.nio.ch.DirectBuffer").getMethod("cleaner"));
+				MethodHandle clean = MethodHandles.lookup().unreflect(Class.forName("sun.misc.Cleaner").getMethod("clean"));
+				free = MethodHandles.filterReturnValue(cleaner, clean).asType(MethodType.methodType(void.class, ByteBuffer.class));
+			} catch (ReflectiveOperationException | RuntimeException ignored) {
+				free = null;
+			}
+		}
+		
+		FREE = free;
+	}
+	
+	private final int recordSize;
+	
+	/**
+	 * The base 2 logarithm of the number of records in a segment.
+	 */
+	private final int shift;
+	private final int mask;
+	
+	/**
+	 * The channel of the mapped file, <tt>null</tt> if the records are kept in direct buffers.
+	 */
+	private final @Nullable FileChannel channel;
+	
+	private ByteBuffer[] segments = new ByteBuffer[0];
+	private int segmentCount;
+	private boolean closed;
+	
+	/**
+	 * Constructs a new empty {@link OffHeapStorage} kept in direct buffers.
+	 * @param recordSize the size of a record, in bytes.
+	 * @throws IllegalArgumentException if <tt>recordSize</tt> is not positive.
+	 */
+	public OffHeapStorage(int recordSize) {
+		this(recordSize, DEFAULT_SEGMENT_SIZE);
+	}
+	
+	/**
+	 * Constructs a new empty {@link OffHeapStorage} kept in direct buffers.
+	 * @param recordSize the size of a record, in bytes.
+	 * @param segmentSize the desired size of a segment, in bytes. It's rounded down to the largest
+	 * power of two of records that fits, but a segment always holds at least one record.
+	 * @throws IllegalArgumentException if <tt>recordSize</tt> or <tt>segmentSize</tt> is not positive.
+	 */
+	public OffHeapStorage(int recordSize, int segmentSize) {
+		this(recordSize, segmentSize, null);
+	}
+	
+	/**
+	 * Constructs a new empty {@link OffHeapStorage} kept in a memory-mapped file.
+	 * The file is created if it doesn't exist and truncated if it does.
+	 * It is left on the disk after the storage is closed.
+	 * @param recordSize the size of a record, in bytes.
+	 * @param file the path of the file.
+	 * @throws IllegalArgumentException if <tt>recordSize</tt> is not positive.
+	 * @throws IOException if the file can't be opened.
+	 */
+	public OffHeapStorage(int recordSize, @Nonnull Path file) throws IOException {
+		this(recordSize, DEFAULT_SEGMENT_SIZE, open(recordSize, file));
+	}
+	
+	private OffHeapStorage(int recordSize, int segmentSize, @Nullable FileChannel channel) {
+		if (recordSize <= 0 || segmentSize <= 0) {
+			IllegalArgumentException exception = new IllegalArgumentException("recordSize and segmentSize must be positive");
+			if (channel != null) {
+				try {
+					channel.close();
+				} catch (IOException suppressed) {
+					exception.addSuppressed(suppressed);
+				}
+			}
+			
+			throw exception;
+		}
+		
+		this.recordSize = recordSize;
+		this.shift = 31 - Integer.numberOfLeadingZeros(Math.max(1, segmentSize / recordSize));
+		this.mask = (1 << this.shift) - 1;
+		this.channel = channel;
+	}
+	
+	/**
+	 * Returns the size of a record.
+	 * @return the size of a record, in bytes.
+	 */
+	public int getRecordSize() {
+		return this.recordSize;
+	}
+	
+	/**
+	 * Returns the number of records the storage can hold without growing.
+	 * @return the capacity of the storage, in records.
+	 */
+	public long getCapacity() {
+		return (long) this.segmentCount << this.shift;
+	}
+	
+	/**
+	 * Makes sure the storage can hold at least <tt>capacity</tt> records, adding segments if needed.
+	 * The contents of the new records are undefined.
+	 * @param capacity the desired capacity, in records.
+	 * @throws IllegalStateException if the storage is closed.
+	 * @throws UncheckedIOException if the file can't be grown.
+	 */
+	public void ensureCapacity(long capacity) {
+		this.checkOpen();
+		long needed = (capacity + this.mask) >>> this.shift;
+		if (needed > Integer.MAX_VALUE)
+			throw new OutOfMemoryError();
+		
+		if (needed > this.segments.length)
+			this.segments = Arrays.copyOf(this.segments, (int) Math.max(needed, Math.min(Integer.MAX_VALUE, 2L * this.segments.length)));
+		
+		// a segment is only counted once it exists, so a failed allocation or mapping leaves the storage as it was
+		while (this.segmentCount < needed) {
+			this.segments[this.segmentCount] = this.newSegment(this.segmentCount);
+			this.segmentCount++;
+		}
+	}
+	
+	/**
+	 * Opens the file of a storage, validating the record size first so an invalid one doesn't truncate the file.
+	 */
+	private static FileChannel open(int recordSize, Path file) throws IOException {
+		if (recordSize <= 0)
+			throw new IllegalArgumentException("recordSize and segmentSize must be positive");
+		
+		return FileChannel.open(file, StandardOpenOption.CREATE,
+			StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE);
+	}
+	
+	private ByteBuffer newSegment(int index) {
+		int size = (this.mask + 1) * this.recordSize;
+		if (this.channel == null)
+			return ByteBuffer.allocateDirect(size).order(ByteOrder.nativeOrder());
+		
+		try {
+			return this.channel.map(FileChannel.MapMode.READ_WRITE, (long) index * size, size).order(ByteOrder.nativeOrder());
+		} catch (IOException exception) {
+			throw new UncheckedIOException(exception);
+		}
+	}
+	
+	/**
+	 * Returns the segment holding a record. The record starts at {@link OffHeapStorage#offset(long)}
+	 * in the segment, which must only be accessed with absolute gets and puts.
+	 * @param index the index of the record.
+	 * @return the segment holding the record.
+	 * @throws IndexOutOfBoundsException if <tt>index</tt> is out of the storage's capacity.
+	 * @throws IllegalStateException if the storage is closed.
+	 */
+	public @Nonnull ByteBuffer segment(long index) {
+		this.checkOpen();
+		if (index < 0L || index >= this.getCapacity())
+			throw new IndexOutOfBoundsException("Index: " + index + ", Capacity: " + this.getCapacity());
+		
+		return this.segments[(int) (index >>> this.shift)];
+	}
+	
+	/**
+	 * Returns the offset of a record in its segment.
+	 * @param index the index of the record.
+	 * @return the offset of the record, in bytes.
+	 * @see OffHeapStorage#segment(long)
+	 */
+	public int offset(long index) {
+		return (int) (index & this.mask) * this.recordSize;
+	}
+	
+	/**
+	 * Reads a <tt>long</tt> field of a record.
+	 * @param index the index of the record.
+	 * @param field the offset of the field in the record, in bytes.
+	 * @return the value of the field.
+	 */
+	public long getLong(long index, int field) {
+		return this.segment(index).getLong(this.offset(index) + field);
+	}
+	
+	/**
+	 * Writes a <tt>long</tt> field of a record.
+	 * @param index the index of the record.
+	 * @param field the offset of the field in the record, in bytes.
+	 * @param value the new value of the field.
+	 */
+	public void putLong(long index, int field, long value) {
+		this.segment(index).putLong(this.offset(index) + field, value);
+	}
+	
+	/**
+	 * Reads an <tt>int</tt> field of a record.
+	 * @param index the index of the record.
+	 * @param field the offset of the field in the record, in bytes.
+	 * @return the value of the field.
+	 */
+	public int getInt(long index, int field) {
+		return this.segment(index).getInt(this.offset(index) + field);
+	}
+	
+	/**
+	 * Writes an <tt>int</tt> field of a record.
+	 * @param index the index of the record.
+	 * @param field the offset of the field in the record, in bytes.
+	 * @param value the new value of the field.
+	 */
+	public void putInt(long index, int field, int value) {
+		this.segment(index).putInt(this.offset(index) + field, value);
+	}
+	
+	/**
+	 * Reads a <tt>double</tt> field of a record.
+	 * @param index the index of the record.
+	 * @param field the offset of the field in the record, in bytes.
+	 * @return the value of the field.
+	 */
+	public double getDouble(long index, int field) {
+		return this.segment(index).getDouble(this.offset(index) + field);
+	}
+	
+	/**
+	 * Writes a <tt>double</tt> field of a record.
+	 * @param index the index of the record.
+	 * @param field the offset of the field in the record, in bytes.
+	 * @param value the new value of the field.
+	 */
+	public void putDouble(long index, int field, double value) {
+		this.segment(index).putDouble(this.offset(index) + field, value);
+	}
+	
+	/**
+	 * Copies <tt>count</tt> records starting at <tt>from</tt> to the records starting at <tt>to</tt>.
+	 * The ranges may overlap. The records are copied in runs which don't cross the edge
+	 * of a source or a target segment, with a single bulk put per run.
+	 * @param from the index of the first record to be copied.
+	 * @param to the index the first record should be copied to.
+	 * @param count the number of records to be copied.
+	 * @throws IndexOutOfBoundsException if any of the ranges is out of the storage's capacity.
+	 * Nothing is copied in that case.
+	 */
+	public void move(long from, long to, long count) {
+		if (count <= 0L || from == to)
+			return;
+		
+		this.segment(from);
+		this.segment(from + count - 1);
+		this.segment(to);
+		this.segment(to + count - 1);
+		
+		long segmentLength = this.mask + 1;
+		if (from > to) {
+			for (long done = 0L; done < count;) {
+				long source = from + done;
+				long target = to + done;
+				int run = (int) Math.min(count - done,
+					Math.min(segmentLength - (source & this.mask), segmentLength - (target & this.mask)));
+				this.copy(source, target, run);
+				done += run;
+			}
+		} else {
+			// the run ending at the end of the ranges goes first, so no record is overwritten before it's copied
+			for (long left = count; left > 0L;) {
+				int run = (int) Math.min(left,
+					Math.min(((from + left - 1) & this.mask) + 1, ((to + left - 1) & this.mask) + 1));
+				left -= run;
+				this.copy(from + left, to + left, run);
+			}
+		}
+	}
+	
+	/**
+	 * Copies a run of records which lies within a single source segment and a single target segment.
+	 * The source and the target may overlap if they're in the same segment.
+	 */
+	private void copy(long from, long to, int count) {
+		ByteBuffer source = this.segments[(int) (from >>> this.shift)].duplicate();
+		int offset = this.offset(from);
+		source.position(offset);
+		source.limit(offset + count * this.recordSize);
+		
+		ByteBuffer target = this.segments[(int) (to >>> this.shift)].duplicate();
+		target.position(this.offset(to));
+		target.put(source);
+	}
+	
+	/**
+	 * Returns <tt>true</tt> if the storage has been closed.
+	 * @return <tt>true</tt> if the storage has been closed, <tt>false</tt> otherwise.
+	 */
+	public boolean isClosed() {
+		return this.closed;
+	}
+	
+	/**
+	 * Releases the memory of the storage and closes the file, if any. Any buffer returned
+	 * by {@link OffHeapStorage#segment(long)} must not be used afterwards. Closing an already closed
+	 * storage has no effect.
+	 * @throws IOException if the file can't be closed.
+	 */
+	@Override
+	public void close() throws IOException {
+		if (this.closed)
+			return;
+		
+		this.closed = true;
+		try {
+			for (int i = 0; i < this.segmentCount; i++) {
+				if (this.segments[i] != null)
+					free(this.segments[i]);
+				
+				this.segments[i] = null;
+			}
+			
+			this.segmentCount = 0;
+		} finally {
+			if (this.channel != null)
+				this.channel.close();
+		}
+	}
+	
+	private void checkOpen() {
+		if (this.closed)
+			throw new IllegalStateException("the storage is closed");
+	}
+	
+	/**
+	 * Releases the memory of a direct or mapped buffer right away, if the runtime allows it;
+	 * otherwise it's released when the buffer is garbage collected.
+	 * The buffer must not be used afterwards.
+	 * @param buffer the buffer to be freed.
+	 */
+	public static void free(@Nonnull ByteBuffer buffer) {
+		if (FREE == null || !buffer.isDirect())
+			return;
+		
+		try {
+			FREE.invokeExact(buffer);
+		} catch (Throwable ignored) {
+			// the buffer is a view or a slice; the garbage collector will take care of it
+		}
+	}
+	
+}
@@ -51,7 +51,7 @@ public class Pair<K, V> implements Map.Entry<K, V>, Cloneable {
 	 */
 	@Override
 	public @Nullable V getValue() {
-		return null;
+		return value;
 	}
 	
 	/**
@@ -0,0 +1,127 @@
+/*
+ * This file is a part of bebralib -- you can get yo copy at https://github.com/antihack3r/bebralib
+ *
+ * This code is free software. It comes without any warranty, to the extent permitted by
+ * applicable law. You can redistribute it and/or modify it under the terms of the
+ * Do What The Fuck You Want To Public License, Version 2, as published by Sam Hocevar.
+ * See http://www.wtfpl.net/ for more details.
+ */
+
+package ru.antihack3r.bebralib.misc;
+
+import javax.annotation.Nonnull;
+import java.nio.ByteBuffer;
+
+/**
+ * Converts values to and from fixed-width records, so they can be kept in an {@link OffHeapStorage}.
+ * Records are read and written with absolute gets and puts only, so the position of the buffer is never changed.
+ * @param <T> the type of the values.
+ */
+public interface RecordCodec<T> {
+	
+	/**
+	 * Stores an <tt>int</tt> in four bytes.
+	 */
+	RecordCodec<Integer> INT = new RecordCodec<Integer>() {
+		@Override
+		public int getSize() {
+			return Integer.BYTES;
+		}
+		
+		@Override
+		public @Nonnull Integer read(@Nonnull ByteBuffer buffer, int offset) {
+			return buffer.getInt(offset);
+		}
+		
+		@Override
+		public void write(@Nonnull ByteBuffer buffer, int offset, @Nonnull Integer value) {
+			buffer.putInt(offset, value);
+		}
+	};
+	
+	/**
+	 * Stores a <tt>long</tt> in eight bytes.
+	 */
+	RecordCodec<Long> LONG = new RecordCodec<Long>() {
+		@Override
+		public int getSize() {
+			return Long.BYTES;
+		}
+		
+		@Override
+		public @Nonnull Long read(@Nonnull ByteBuffer buffer, int offset) {
+			return buffer.getLong(offset);
+		}
+		
+		@Override
+		public void write(@Nonnull ByteBuffer buffer, int offset, @Nonnull Long value) {
+			buffer.putLong(offset, value);
+		}
+	};
+	
+	/**
+	 * Stores a <tt>double</tt> in eight bytes.
+	 */
+	RecordCodec<Double> DOUBLE = new RecordCodec<Double>() {
+		@Override
+		public int getSize() {
+			return Double.BYTES;
+		}
+		
+		@Override
+		public @Nonnull Double read(@Nonnull ByteBuffer buffer, int offset) {
+			return buffer.getDouble(offset);
+		}
+		
+		@Override
+		public void write(@Nonnull ByteBuffer buffer, int offset, @Nonnull Double value) {
+			buffer.putDouble(offset, value);
+		}
+	};
+	
+	/**
+	 * Stores a {@link Pair} of two <tt>long</tt>s in sixteen bytes, the key first.
+	 * Neither the key nor the value may be <tt>null</tt>.
+	 */
+	RecordCodec<Pair<Long, Long>> LONG_PAIR = new RecordCodec<Pair<Long, Long>>() {
+		@Override
+		public int getSize() {
+			return 2 * Long.BYTES;
+		}
+		
+		@Override
+		public @Nonnull Pair<Long, Long> read(@Nonnull ByteBuffer buffer, int offset) {
+			return new Pair<>(buffer.getLong(offset), buffer.getLong(offset + Long.BYTES));
+		}
+		
+		@Override
+		public void write(@Nonnull ByteBuffer buffer, int offset, @Nonnull Pair<Long, Long> value) {
+			buffer.putLong(offset, value.getKey());
+			buffer.putLong(offset + Long.BYTES, value.getValue());
+		}
+	};
+	
+	/**
+	 * Returns the size of a record.
+	 * @return the size of a record, in bytes.
+	 */
+	int getSize();
+	
+	/**
+	 * Reads a value from the record starting at <tt>offset</tt>.
+	 * @param buffer the buffer holding the record.
+	 * @param offset the offset of the record in <tt>buffer</tt>.
+	 * @return the value of the record.
+	 */
+	@Nonnull T read(@Nonnull ByteBuffer buffer, int offset);
+	
+	/**
+	 * Writes a value into the record starting at <tt>offset</tt>.
+	 * @param buffer the buffer holding the record.
+	 * @param offset the offset of the record in <tt>buffer</tt>.
+	 * @param value the value to be written.
+	 * @throws NullPointerException if <tt>value</tt> or any of its parts which can't be <tt>null</tt> is <tt>null</tt>.
+	 */
+	void write(@Nonnull ByteBuffer buffer, int offset, @Nonnull T value);
+	
+}
@@ -14,10 +14,12 @@ import javax.annotation.Nullable;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.NoSuchElementException;
 
 /**
- * A thread-safe stack. The top of the stack is at the beginning of the delegate.
+ * A thread-safe stack. The top of the stack is at the end of the delegate,
+ * so pushing and popping don't move the other elements.
  * @param <T> The element type for the stack.
  */
 public class Stack<T> {
@@ -40,6 +42,7 @@ public class Stack<T> {
 	 */
 	public Stack(@Nonnull Collection<T> initialElements) {
 		this.delegate = new ArrayList<>(initialElements);
+		Collections.reverse(this.delegate);
 	}
 	
 	/**
@@ -48,6 +51,7 @@ public class Stack<T> {
 	 */
 	public Stack(@Nonnull T[] initialElements) {
 		this.delegate = new ArrayList<>(Arrays.asList(initialElements));
+		Collections.reverse(this.delegate);
 	}
 	
 	/**
@@ -56,7 +60,7 @@ public class Stack<T> {
 	 */
 	public void push(@Nullable T thing) {
 		synchronized (this) {
-			this.delegate.add(0, thing);
+			this.delegate.add(thing);
 		}
 	}
 	
@@ -70,7 +74,7 @@ public class Stack<T> {
 			if (this.delegate.isEmpty())
 				throw new NoSuchElementException();
 			
-			return this.delegate.remove(0);
+			return this.delegate.remove(this.delegate.size() - 1);
 		}
 	}
 	
@@ -86,7 +90,10 @@ public class Stack<T> {
 			if (this.delegate.isEmpty())
 				throw new NoSuchElementException();
 			
-			return this.delegate.get(index);
+			if (index < 0 || index >= this.delegate.size())
+				throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.delegate.size());
+			
+			return this.delegate.get(this.delegate.size() - 1 - index);
 		}
 	}
 	
@@ -98,14 +105,16 @@ public class Stack<T> {
 	public @Nullable T top() {
 		return peek(0);
 	}
-
+	
 	/**
 	 * Peeks at the last element in the stack.
 	 * @return the last element of the stack.
 	 * @throws NoSuchElementException if the stack is empty.
 	 */
 	public @Nullable T bottom() {
-		return peek(this.delegate.size() - 1);
+		synchronized (this) {
+			return peek(this.delegate.size() - 1);
+		}
 	}
 	
 	/**
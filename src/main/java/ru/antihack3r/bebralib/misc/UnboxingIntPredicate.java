@@ -0,0 +1,43 @@
+/*
+ * This file is a part of bebralib -- you can get yo copy at https://github.com/antihack3r/bebralib
+ *
+ * This code is free software. It comes without any warranty, to the extent permitted by
+ * applicable law. You can redistribute it and/or modify it under the terms of the
+ * Do What The Fuck You Want To Public License, Version 2, as published by Sam Hocevar.
+ * See http://www.wtfpl.net/ for more details.
+ */
+
+package ru.antihack3r.bebralib.misc;
+
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+
+/**
+ * A {@link IntPredicate} which can also be used where a {@link Predicate} of {@link Integer} is expected.
+ * {@link MoreArrays#filter(int[], UnboxingIntPredicate)} takes it so that a lambda passed to <tt>filter</tt>
+ * doesn't have to choose between the {@link IntPredicate} and the deprecated {@link Predicate} overloads.
+ * @see BytePredicate
+ */
+@FunctionalInterface
+public interface UnboxingIntPredicate extends IntPredicate, Predicate<Integer> {
+	
+	/**
+	 * Evaluates this predicate on the given argument, unboxing it.
+	 * @param value the input argument.
+	 * @return <tt>true</tt> if the input argument matches the predicate, <tt>false</tt> otherwise.
+	 */
+	@Override
+	default boolean test(Integer value) {
+		return test(value.intValue());
+	}
+	
+	/**
+	 * Returns a predicate that represents the logical negation of this predicate.
+	 * @return a predicate that represents the logical negation of this predicate.
+	 */
+	@Override
+	default UnboxingIntPredicate negate() {
+		return value -> !test(value);
+	}
+	
+}
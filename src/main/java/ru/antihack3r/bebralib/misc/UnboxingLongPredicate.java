@@ -0,0 +1,43 @@
+/*
+ * This file is a part of bebralib -- you can get yo copy at https://github.com/antihack3r/bebralib
+ *
+ * This code is free software. It comes without any warranty, to the extent permitted by
+ * applicable law. You can redistribute it and/or modify it under the terms of the
+ * Do What The Fuck You Want To Public License, Version 2, as published by Sam Hocevar.
+ * See http://www.wtfpl.net/ for more details.
+ */
+
+package ru.antihack3r.bebralib.misc;
+
+import java.util.function.LongPredicate;
+import java.util.function.Predicate;
+
+/**
+ * A {@link LongPredicate} which can also be used where a {@link Predicate} of {@link Long} is expected.
+ * {@link MoreArrays#filter(long[], UnboxingLongPredicate)} takes it so that a lambda passed to <tt>filter</tt>
+ * doesn't have to choose between the {@link LongPredicate} and the deprecated {@link Predicate} overloads.
+ * @see BytePredicate
+ */
+@FunctionalInterface
+public interface UnboxingLongPredicate extends LongPredicate, Predicate<Long> {
+	
+	/**
+	 * Evaluates this predicate on the given argument, unboxing it.
+	 * @param value the input argument.
+	 * @return <tt>true</tt> if the input argument matches the predicate, <tt>false</tt> otherwise.
+	 */
+	@Override
+	default boolean test(Long value) {
+		return test(value.longValue());
+	}
+	
+	/**
+	 * Returns a predicate that represents the logical negation of this predicate.
+	 * @return a predicate that represents the logical negation of this predicate.
+	 */
+	@Override
+	default UnboxingLongPredicate negate() {
+		return value -> !test(value);
+	}
+	
+}
@@ -0,0 +1,144 @@
+/*
+ * This file is a part of bebralib -- you can get yo copy at https://github.com/antihack3r/bebralib
+ *
+ * This code is free software. It comes without any warranty, to the extent permitted by
+ * applicable law. You can redistribute it and/or modify it under the terms of the
+ * Do What The Fuck You Want To Public License, Version 2, as published by Sam Hocevar.
+ * See http://www.wtfpl.net/ for more details.
+ */
+
+package ru.antihack3r.bebralib.misc;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A work-stealing deque, after Chase and Lev. A single owner thread pushes and pops elements
+ * at the bottom, like a stack, while any other thread can steal the oldest element from the top.
+ * The owner only contends with the thieves for the last element, and none of the methods block.
+ * It doesn't accept <tt>null</tt> elements, as <tt>null</tt> is what an empty deque returns.<br>
+ * <br>
+ * {@link WorkStealingDeque#push(Object)} and {@link WorkStealingDeque#pop()} must only be called
+ * by the owner; the other methods can be called by any thread.
+ * @param <T> The element type for the deque.
+ */
+public class WorkStealingDeque<T> {
+	
+	private static final int INITIAL_CAPACITY = 32;
+	
+	/**
+	 * The index of the oldest element, which is the next one to be stolen.
+	 */
+	private final AtomicLong top = new AtomicLong();
+	
+	/**
+	 * The index after the newest element, which is only written by the owner.
+	 */
+	private volatile long bottom;
+	
+	/**
+	 * The circular array of elements, the length of which is a power of two.
+	 */
+	private volatile AtomicReferenceArray<T> array = new AtomicReferenceArray<>(INITIAL_CAPACITY);
+	
+	/**
+	 * Constructs a new empty {@link WorkStealingDeque}.
+	 */
+	public WorkStealingDeque() {}
+	
+	/**
+	 * Pushes the given element onto the bottom of the deque. Must only be called by the owner.
+	 * @param thing the element that must be pushed.
+	 */
+	public void push(@Nonnull T thing) {
+		Objects.requireNonNull(thing);
+		long b = this.bottom;
+		long t = this.top.get();
+		AtomicReferenceArray<T> a = this.array;
+		if (b - t >= a.length())
+			this.array = a = grow(a, t, b);
+		
+		a.set((int) b & (a.length() - 1), thing);
+		this.bottom = b + 1;
+	}
+	
+	/**
+	 * Pops the newest element off the bottom of the deque. Must only be called by the owner.
+	 * @return the newest element, <tt>null</tt> if the deque is empty.
+	 */
+	public @Nullable T pop() {
+		long b = this.bottom - 1;
+		AtomicReferenceArray<T> a = this.array;
+		this.bottom = b;
+		long t = this.top.get();
+		if (t > b) {
+			this.bottom = b + 1;
+			return null;
+		}
+		
+		int index = (int) b & (a.length() - 1);
+		T thing = a.get(index);
+		if (t == b) {
+			if (!this.top.compareAndSet(t, t + 1))
+				thing = null;
+			
+			this.bottom = b + 1;
+		} else {
+			a.set(index, null);
+		}
+		
+		return thing;
+	}
+	
+	/**
+	 * Steals the oldest element off the top of the deque. Can be called by any thread.
+	 * @return the oldest element, <tt>null</tt> if the deque is empty.
+	 */
+	public @Nullable T steal() {
+		while (true) {
+			long t = this.top.get();
+			long b = this.bottom;
+			if (t >= b)
+				return null;
+			
+			AtomicReferenceArray<T> a = this.array;
+			T thing = a.get((int) t & (a.length() - 1));
+			if (this.top.compareAndSet(t, t + 1))
+				return thing;
+		}
+	}
+	
+	/**
+	 * Returns <tt>true</tt> if the deque is empty. The answer may be out of date by the time it's returned.
+	 * @return <tt>true</tt> if the deque is empty, <tt>false</tt>
+	 * otherwise.
+	 */
+	public boolean isEmpty() {
+		return this.size() == 0;
+	}
+	
+	/**
+	 * Returns the size of the deque. The answer may be out of date by the time it's returned.
+	 * @return size of the deque.
+	 */
+	public int size() {
+		long size = this.bottom - this.top.get();
+		return size <= 0L? 0: (int) Math.min(size, Integer.MAX_VALUE);
+	}
+	
+	private static <T> AtomicReferenceArray<T> grow(AtomicReferenceArray<T> array, long top, long bottom) {
+		int length = array.length() << 1;
+		if (length <= 0)
+			throw new OutOfMemoryError();
+		
+		AtomicReferenceArray<T> result = new AtomicReferenceArray<>(length);
+		for (long i = top; i < bottom; i++)
+			result.set((int) i & (length - 1), array.get((int) i & (array.length() - 1)));
+		
+		return result;
+	}
+	
+}
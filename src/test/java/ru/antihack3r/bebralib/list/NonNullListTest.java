@@ -0,0 +1,123 @@
+/*
+ * This file is a part of bebralib -- you can get yo copy at https://github.com/antihack3r/bebralib
+ *
+ * This code is free software. It comes without any warranty, to the extent permitted by
+ * applicable law. You can redistribute it and/or modify it under the terms of the
+ * Do What The Fuck You Want To Public License, Version 2, as published by Sam Hocevar.
+ * See http://www.wtfpl.net/ for more details.
+ */
+
+package ru.antihack3r.bebralib.list;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.ListIterator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class NonNullListTest {
+	
+	@Test
+	public void constructorSkipsNulls() {
+		assertEquals(Arrays.asList("a", "b"), new NonNullList<>(Arrays.asList(null, "a", null, "b", null)));
+		assertEquals(Arrays.asList("a", "b"), new NonNullList<>(Arrays.asList("a", "b")));
+	}
+	
+	@Test
+	public void addAllRejectsNullsWithoutAddingAnything() {
+		NonNullList<String> list = new NonNullList<>(Arrays.asList("a"));
+		try {
+			list.addAll(Arrays.asList("b", null));
+			fail();
+		} catch (NullPointerException expected) {}
+		
+		try {
+			list.addAll(0, Arrays.asList(null, "b"));
+			fail();
+		} catch (NullPointerException expected) {}
+		
+		assertEquals(Arrays.asList("a"), list);
+	}
+	
+	@Test
+	public void subListRejectsNulls() {
+		NonNullList<String> list = new NonNullList<>(Arrays.asList("a", "b", "c", "d"));
+		List<String> subList = list.subList(1, 4);
+		try {
+			subList.set(1, null);
+			fail();
+		} catch (NullPointerException expected) {}
+		
+		try {
+			subList.subList(0, 2).set(0, null);
+			fail();
+		} catch (NullPointerException expected) {}
+		
+		try {
+			ListIterator<String> iterator = subList.listIterator();
+			iterator.next();
+			iterator.set(null);
+			fail();
+		} catch (NullPointerException expected) {}
+		
+		try {
+			subList.replaceAll(element -> element.equals("c")? null: element + element);
+			fail();
+		} catch (NullPointerException expected) {}
+		
+		try {
+			subList.subList(1, 3).replaceAll(element -> null);
+			fail();
+		} catch (NullPointerException expected) {}
+		
+		try {
+			subList.add(null);
+			fail();
+		} catch (NullPointerException expected) {}
+		
+		assertEquals(Arrays.asList("a", "b", "c", "d"), list);
+		
+		subList.set(0, "x");
+		subList.subList(1, 3).replaceAll(String::toUpperCase);
+		assertEquals(Arrays.asList("a", "x", "C", "D"), list);
+	}
+	
+	@Test
+	public void replaceAllRejectsNullsWithoutReplacingAnything() {
+		NonNullList<String> list = new NonNullList<>(Arrays.asList("a", "b", "c"));
+		try {
+			list.replaceAll(element -> element.equals("c")? null: element + element);
+			fail();
+		} catch (NullPointerException expected) {}
+		
+		try {
+			list.replaceAll(element -> null);
+			fail();
+		} catch (NullPointerException expected) {}
+		
+		assertEquals(Arrays.asList("a", "b", "c"), list);
+		
+		list.replaceAll(String::toUpperCase);
+		assertEquals(Arrays.asList("A", "B", "C"), list);
+		assertEquals(Arrays.asList("A", "B", "C"), new NonNullList<>(list));
+	}
+	
+	@Test
+	public void singleElementOperationsRejectNulls() {
+		List<String> list = new NonNullList<>(new ArrayList<>(Arrays.asList("a")));
+		for (Runnable operation: Arrays.<Runnable>asList(() -> list.add(null), () -> list.add(0, null), () -> list.set(0, null))) {
+			try {
+				operation.run();
+				fail();
+			} catch (NullPointerException expected) {}
+		}
+		
+		assertEquals(Arrays.asList("a"), list);
+		assertEquals(-1, list.indexOf(null));
+	}
+	
+}
@@ -0,0 +1,84 @@
+/*
+ * This file is a part of bebralib -- you can get yo copy at https://github.com/antihack3r/bebralib
+ *
+ * This code is free software. It comes without any warranty, to the extent permitted by
+ * applicable law. You can redistribute it and/or modify it under the terms of the
+ * Do What The Fuck You Want To Public License, Version 2, as published by Sam Hocevar.
+ * See http://www.wtfpl.net/ for more details.
+ */
+
+package ru.antihack3r.bebralib.list;
+
+import org.junit.Test;
+import ru.antihack3r.bebralib.misc.Pair;
+import ru.antihack3r.bebralib.misc.RecordCodec;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class OffHeapListTest {
+	
+	@Test
+	public void failedWriteLeavesListUnchanged() throws IOException {
+		try (OffHeapList<Pair<Long, Long>> list = new OffHeapList<>(RecordCodec.LONG_PAIR)) {
+			list.addAll(Arrays.asList(new Pair<>(1L, 2L), new Pair<>(3L, 4L), new Pair<>(5L, 6L)));
+			List<Pair<Long, Long>> before = Arrays.asList(new Pair<>(1L, 2L), new Pair<>(3L, 4L), new Pair<>(5L, 6L));
+			
+			// the key is written before the null value fails to unbox
+			Pair<Long, Long> broken = new Pair<>(7L, null);
+			
+			try {
+				list.addAll(Arrays.asList(new Pair<>(9L, 9L), broken));
+				fail();
+			} catch (NullPointerException expected) {}
+			assertEquals(before, list);
+			
+			try {
+				list.add(1, broken);
+				fail();
+			} catch (NullPointerException expected) {}
+			assertEquals(before, list);
+			
+			try {
+				list.set(1, broken);
+				fail();
+			} catch (NullPointerException expected) {}
+			assertEquals(before, list);
+		}
+	}
+	
+	@Test
+	public void addAllIsSeenByIterators() throws IOException {
+		try (OffHeapList<Long> list = new OffHeapList<>(RecordCodec.LONG)) {
+			list.addAll(Arrays.asList(1L, 2L));
+			Iterator<Long> iterator = list.iterator();
+			list.addAll(Arrays.asList(3L, 4L));
+			try {
+				iterator.next();
+				fail();
+			} catch (ConcurrentModificationException expected) {}
+		}
+	}
+	
+	@Test
+	public void editsKeepOrder() throws IOException {
+		try (OffHeapList<Long> list = new OffHeapList<>(RecordCodec.LONG)) {
+			list.addAll(Arrays.asList(1L, 2L, 4L));
+			list.add(2, 3L);
+			list.add(0, 0L);
+			list.add(5, 5L);
+			assertEquals(Arrays.asList(0L, 1L, 2L, 3L, 4L, 5L), list);
+			
+			assertEquals(Long.valueOf(3L), list.set(3, 33L));
+			assertEquals(Long.valueOf(0L), list.remove(0));
+			assertEquals(Arrays.asList(1L, 2L, 33L, 4L, 5L), list);
+		}
+	}
+	
+}
@@ -0,0 +1,111 @@
+/*
+ * This file is a part of bebralib -- you can get yo copy at https://github.com/antihack3r/bebralib
+ *
+ * This code is free software. It comes without any warranty, to the extent permitted by
+ * applicable law. You can redistribute it and/or modify it under the terms of the
+ * Do What The Fuck You Want To Public License, Version 2, as published by Sam Hocevar.
+ * See http://www.wtfpl.net/ for more details.
+ */
+
+package ru.antihack3r.bebralib.math;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+public class FastHashTest {
+	
+	/**
+	 * The messages of the wyhash test vectors, each hashed with its index as the seed.
+	 */
+	private static final String[] MESSAGES = {
+		"",
+		"a",
+		"abc",
+		"message digest",
+		"abcdefghijklmnopqrstuvwxyz",
+		"ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789",
+		"12345678901234567890123456789012345678901234567890123456789012345678901234567890"
+	};
+	
+	@Test
+	public void wyHashMatchesFinal4Vectors() {
+		assertVectors(FastHash.WY_HASH, 0x93228A4DE0EEC5A2L, 0xC5BAC3DB178713C4L, 0xA97F2F7B1D9B3314L, 0x786D1F1DF3801DF4L,
+			0xDCA5A8138AD37C87L, 0xB9E734F117CFAF70L, 0x6CC5EAB49A92D617L);
+	}
+	
+	@Test
+	public void xxHash64MatchesReference() {
+		assertEquals(0xEF46DB3751D8E999L, FastHash.XX_HASH_64.hash(new byte[0]));
+		assertEquals(0xD24EC4F1A98C6E5BL, FastHash.XX_HASH_64.hash(bytes("a")));
+		assertEquals(0x44BC2CF5AD770999L, FastHash.XX_HASH_64.hash(bytes("abc")));
+		assertEquals(0xFBCEA83C8A378BF1L, FastHash.XX_HASH_64.hash(bytes("Nobody inspects the spammish repetition")));
+		assertVectors(FastHash.XX_HASH_64, 0xEF46DB3751D8E999L, 0xDEC2BC81C3CD46C6L, 0x53A0B8B27057DAF7L, 0x86F352DA5BA5A419L,
+			0x8A0B265CBF1E0984L, 0xFF21B43A15FA7C34L, 0xAE9A9CD64CD94D21L);
+	}
+	
+	@Test
+	public void murmur3MatchesReference() {
+		// h1 of MurmurHash3_x64_128, e.g. "hello" is cbd8a7b341bd9b02 5b1e906a48ae1d19
+		assertEquals(0L, FastHash.MURMUR3_64.hash(new byte[0]));
+		assertEquals(0xCBD8A7B341BD9B02L, FastHash.MURMUR3_64.hash(bytes("hello")));
+		assertEquals(0xE34BBC7BBC071B6CL, FastHash.MURMUR3_64.hash(bytes("The quick brown fox jumps over the lazy dog")));
+		assertVectors(FastHash.MURMUR3_64, 0x0L, 0x47EAE1073748CF70L, 0x95D00D60704BC676L, 0x98F10701997C0F4BL,
+			0xB0912CE798331376L, 0x03D049969785CDB6L, 0xA8F13089884B937BL);
+	}
+	
+	@Test
+	public void everyInputMatchesTheByteArray() {
+		Random random = new Random(17);
+		for (FastHash hash: FastHash.values()) {
+			for (int length = 0; length < 300; length++) {
+				byte[] bytes = new byte[length];
+				random.nextBytes(bytes);
+				long seed = random.nextLong();
+				long expected = hash.hash(bytes, seed);
+				
+				ByteBuffer direct = ByteBuffer.allocateDirect(length).order(ByteOrder.BIG_ENDIAN);
+				direct.put(bytes).flip();
+				assertEquals(expected, hash.hash(direct, seed));
+				assertEquals(expected, hash.hash(ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN), seed));
+				
+				FastHash.Streaming streaming = hash.newStreaming(seed);
+				for (int offset = 0; offset < length;) {
+					int chunk = Math.min(length - offset, random.nextInt(70));
+					streaming.update(bytes, offset, chunk);
+					offset += chunk;
+				}
+				assertEquals(expected, streaming.getValue());
+				assertEquals(hash.hash(new byte[0], seed), streaming.reset().getValue());
+				
+				// no surrogates, which getBytes would replace while FastHash hashes them as they are
+				char[] chars = new char[length];
+				for (int i = 0; i < length; i++)
+					chars[i] = (char) random.nextInt(0xD800);
+				String string = new String(chars);
+				assertEquals(hash.hash(string.getBytes(StandardCharsets.UTF_16LE), seed), hash.hash(string, seed));
+			}
+			
+			long value = random.nextLong();
+			assertEquals(hash.hash(ByteBuffer.allocate(Long.BYTES).order(ByteOrder.LITTLE_ENDIAN).putLong(0, value).array(), 7L),
+				hash.hashLong(value, 7L));
+			assertEquals(hash.hash(ByteBuffer.allocate(Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN).putInt(0, (int) value).array(), 7L),
+				hash.hashInt((int) value, 7L));
+		}
+	}
+	
+	private static void assertVectors(FastHash hash, long... expected) {
+		for (int i = 0; i < MESSAGES.length; i++)
+			assertEquals(MESSAGES[i], expected[i], hash.hash(bytes(MESSAGES[i]), i));
+	}
+	
+	private static byte[] bytes(String value) {
+		return value.getBytes(StandardCharsets.US_ASCII);
+	}
+	
+}
@@ -0,0 +1,74 @@
+/*
+ * This file is a part of bebralib -- you can get yo copy at https://github.com/antihack3r/bebralib
+ *
+ * This code is free software. It comes without any warranty, to the extent permitted by
+ * applicable law. You can redistribute it and/or modify it under the terms of the
+ * Do What The Fuck You Want To Public License, Version 2, as published by Sam Hocevar.
+ * See http://www.wtfpl.net/ for more details.
+ */
+
+package ru.antihack3r.bebralib.math;
+
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class HashCacheTest {
+	
+	@Test
+	public void remembersArraysByIdentity() {
+		HashCache cache = new HashCache(Hash.SHA_256, 4);
+		byte[] array = "bebra".getBytes(StandardCharsets.UTF_8);
+		byte[] expected = Hash.SHA_256.compute(array);
+		assertArrayEquals(expected, cache.compute(array));
+		assertArrayEquals(expected, cache.compute(array));
+		byte[] copy = array.clone();
+		assertArrayEquals(expected, cache.compute(copy));
+		assertEquals(1L, cache.getHits());
+		assertEquals(2L, cache.getMisses());
+		
+		cache.invalidate(array);
+		assertEquals(1, cache.size());
+		assertArrayEquals(expected, cache.compute(copy));
+		assertEquals(2L, cache.getHits());
+	}
+	
+	@Test
+	public void evictsLeastRecentlyUsed() {
+		HashCache cache = new HashCache(Hash.CRC_32, 2);
+		byte[] first = {1};
+		byte[] second = {2};
+		byte[] third = {3};
+		cache.compute(first);
+		cache.compute(second);
+		cache.compute(first);
+		cache.compute(third);
+		assertEquals(2, cache.size());
+		
+		cache.resetCounters();
+		cache.compute(first);
+		cache.compute(second);
+		assertEquals(1L, cache.getHits());
+		assertEquals(1L, cache.getMisses());
+	}
+	
+	@Test
+	public void doesNotKeepArraysAlive() throws InterruptedException {
+		HashCache cache = new HashCache(Hash.CRC_32, 1000);
+		for (int i = 0; i < 100; i++)
+			cache.compute(new byte[1 << 16]);
+		
+		long deadline = System.nanoTime() + 10_000_000_000L;
+		while (cache.size() > 0 && System.nanoTime() < deadline) {
+			System.gc();
+			Thread.sleep(10);
+		}
+		
+		assertTrue("the hashes of collected arrays are still remembered", cache.size() == 0);
+	}
+	
+}
@@ -0,0 +1,140 @@
+/*
+ * This file is a part of bebralib -- you can get yo copy at https://github.com/antihack3r/bebralib
+ *
+ * This code is free software. It comes without any warranty, to the extent permitted by
+ * applicable law. You can redistribute it and/or modify it under the terms of the
+ * Do What The Fuck You Want To Public License, Version 2, as published by Sam Hocevar.
+ * See http://www.wtfpl.net/ for more details.
+ */
+
+package ru.antihack3r.bebralib.math;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.Adler32;
+import java.util.zip.CRC32;
+import java.util.zip.Checksum;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class HashConcurrencyTest {
+	
+	private static final int THREADS = 16;
+	private static final int ROUNDS = 300;
+	private static final int MAX_LENGTH = 4096;
+	
+	@Test
+	public void computeMatchesReferenceOnManyThreads() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		try {
+			CountDownLatch start = new CountDownLatch(1);
+			List<Future<?>> futures = new ArrayList<>();
+			for (int thread = 0; thread < THREADS; thread++) {
+				long seed = thread;
+				futures.add(executor.submit(() -> {
+					start.await();
+					Random random = new Random(seed);
+					for (int round = 0; round < ROUNDS; round++) {
+						byte[] buffer = new byte[random.nextInt(MAX_LENGTH)];
+						random.nextBytes(buffer);
+						for (Hash hash: Hash.values())
+							checkHash(hash, buffer, random.nextInt(buffer.length + 1));
+					}
+					
+					return null;
+				}));
+			}
+			
+			start.countDown();
+			for (Future<?> future: futures)
+				future.get();
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+	
+	@Test
+	public void checksumsMatchKnownValues() throws Exception {
+		byte[] check = "123456789".getBytes(StandardCharsets.US_ASCII);
+		assertEquals(0xCBF43926L, Hash.CRC_32.computeLong(check));
+		assertEquals(0xE3069283L, Hash.CRC_32C.computeLong(check));
+		assertEquals(0x091E01DEL, Hash.ADLER_32.computeLong(check));
+	}
+	
+	private static void checkHash(Hash hash, byte[] buffer, int split) throws Exception {
+		byte[] expected = reference(hash, buffer);
+		assertArrayEquals(hash.name(), expected, hash.compute(buffer));
+		assertArrayEquals(hash.name(), expected, hash.hasher()
+			.update(buffer, 0, split)
+			.update(ByteBuffer.wrap(buffer, split, buffer.length - split))
+			.digest());
+	}
+	
+	private static byte[] reference(Hash hash, byte[] buffer) throws Exception {
+		switch (hash) {
+			case SHA_256:
+				return MessageDigest.getInstance("SHA-256").digest(buffer);
+			case SHA_512:
+				return MessageDigest.getInstance("SHA-512").digest(buffer);
+			case MD5:
+				return MessageDigest.getInstance("MD5").digest(buffer);
+			case CRC_32:
+				return checksum(new CRC32(), buffer);
+			case CRC_32C:
+				return checksum(new BitwiseCrc32c(), buffer);
+			case ADLER_32:
+				return checksum(new Adler32(), buffer);
+			default:
+				throw new AssertionError(hash);
+		}
+	}
+	
+	private static byte[] checksum(Checksum checksum, byte[] buffer) {
+		checksum.update(buffer, 0, buffer.length);
+		return ByteBuffer.allocate(Long.BYTES).putLong(checksum.getValue()).array();
+	}
+	
+	/**
+	 * The plain bit-by-bit CRC-32C, which is available on every runtime.
+	 */
+	private static final class BitwiseCrc32c implements Checksum {
+		
+		private int crc = ~0;
+		
+		@Override
+		public void update(int b) {
+			this.crc ^= b & 0xFF;
+			for (int bit = 0; bit < 8; bit++)
+				this.crc = (this.crc >>> 1) ^ (0x82F63B78 & -(this.crc & 1));
+		}
+		
+		@Override
+		public void update(byte[] array, int offset, int length) {
+			for (int i = offset; i < offset + length; i++)
+				this.update(array[i]);
+		}
+		
+		@Override
+		public long getValue() {
+			return ~this.crc & 0xFFFFFFFFL;
+		}
+		
+		@Override
+		public void reset() {
+			this.crc = ~0;
+		}
+		
+	}
+	
+}
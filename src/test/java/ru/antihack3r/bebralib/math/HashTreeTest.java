@@ -0,0 +1,222 @@
+/*
+ * This file is a part of bebralib -- you can get yo copy at https://github.com/antihack3r/bebralib
+ *
+ * This code is free software. It comes without any warranty, to the extent permitted by
+ * applicable law. You can redistribute it and/or modify it under the terms of the
+ * Do What The Fuck You Want To Public License, Version 2, as published by Sam Hocevar.
+ * See http://www.wtfpl.net/ for more details.
+ */
+
+package ru.antihack3r.bebralib.math;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class HashTreeTest {
+	
+	@Test
+	public void buildsTheDocumentedTree() {
+		byte[] data = "0123456789".getBytes();
+		HashTree tree = HashTree.compute(Hash.SHA_256, data, 4);
+		assertEquals(3, tree.getLeafCount());
+		assertEquals(10L, tree.getLength());
+		
+		byte[][] leaves = new byte[3][];
+		for (int i = 0; i < 3; i++) {
+			leaves[i] = leaf(Arrays.copyOfRange(data, i * 4, Math.min(data.length, i * 4 + 4)));
+			assertArrayEquals(leaves[i], tree.getLeaf(i));
+		}
+		
+		// the third leaf has no pair, so it is moved up as is
+		assertArrayEquals(node(node(leaves[0], leaves[1]), leaves[2]), tree.getRoot());
+		
+		HashTree empty = HashTree.compute(Hash.SHA_256, new byte[0], 4);
+		assertEquals(1, empty.getLeafCount());
+		assertArrayEquals(leaf(new byte[0]), empty.getRoot());
+		
+		try {
+			tree.getLeaf(3);
+			fail();
+		} catch (IndexOutOfBoundsException expected) {}
+		
+		try {
+			HashTree.compute(Hash.SHA_256, data, 0);
+			fail();
+		} catch (IllegalArgumentException expected) {}
+	}
+	
+	@Test
+	public void everySourceGivesTheSameTree() throws IOException {
+		byte[] data = random(10_000, 1);
+		byte[] root = HashTree.compute(Hash.SHA_512, data, 64).getRoot();
+		
+		ForkJoinPool pool = new ForkJoinPool(3);
+		try {
+			assertArrayEquals(root, HashTree.compute(Hash.SHA_512, data, 64, pool).getRoot());
+		} finally {
+			pool.shutdown();
+		}
+		
+		ByteBuffer buffer = ByteBuffer.allocateDirect(data.length + 5);
+		buffer.position(5);
+		buffer.put(data).position(5);
+		assertArrayEquals(root, HashTree.compute(Hash.SHA_512, buffer, 64).getRoot());
+		assertEquals(5, buffer.position());
+		
+		Path file = Files.createTempFile("bebralib", ".bin");
+		try {
+			Files.write(file, data);
+			assertArrayEquals(root, HashTree.compute(Hash.SHA_512, file, 64).getRoot());
+		} finally {
+			Files.delete(file);
+		}
+	}
+	
+	@Test
+	public void diffFindsChangedAndExtraChunks() {
+		byte[] data = random(1000, 2);
+		HashTree tree = HashTree.compute(Hash.MD5, data, 100);
+		assertEquals(0, tree.diff(HashTree.compute(Hash.MD5, data.clone(), 100)).length);
+		
+		byte[] changed = Arrays.copyOf(data, 1250);
+		changed[150]++;
+		changed[999]++;
+		HashTree other = HashTree.compute(Hash.MD5, changed, 100);
+		assertArrayEquals(new int[] {1, 9, 10, 11, 12}, tree.diff(other));
+		assertArrayEquals(new int[] {1, 9, 10, 11, 12}, other.diff(tree));
+		
+		try {
+			tree.diff(HashTree.compute(Hash.MD5, data, 50));
+			fail();
+		} catch (IllegalArgumentException expected) {}
+		
+		try {
+			tree.diff(HashTree.compute(Hash.SHA_256, data, 100));
+			fail();
+		} catch (IllegalArgumentException expected) {}
+	}
+	
+	@Test
+	public void verifyChecksOneChunk() throws IOException {
+		byte[] data = random(1000, 3);
+		HashTree tree = HashTree.compute(Hash.CRC_32C, data, 128);
+		for (int i = 0; i < tree.getLeafCount(); i++)
+			assertTrue(tree.verify(ByteBuffer.wrap(data), i));
+		
+		byte[] changed = data.clone();
+		changed[300]++;
+		assertFalse(tree.verify(ByteBuffer.wrap(changed), 2));
+		assertTrue(tree.verify(ByteBuffer.wrap(changed), 3));
+		
+		// shorter data: the chunk is cut, or starts past the end
+		assertFalse(tree.verify(ByteBuffer.wrap(data, 0, 900), 7));
+		assertFalse(tree.verify(ByteBuffer.wrap(data, 0, 500), 7));
+		assertTrue(tree.verify(ByteBuffer.wrap(data, 0, 500), 2));
+		
+		try {
+			tree.verify(ByteBuffer.wrap(data), 8);
+			fail();
+		} catch (IndexOutOfBoundsException expected) {}
+		
+		Path file = Files.createTempFile("bebralib", ".bin");
+		try {
+			Files.write(file, data);
+			try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+				assertTrue(tree.verify(channel, 7));
+				channel.truncate(200);
+				assertFalse(tree.verify(channel, 7));
+				assertTrue(tree.verify(channel, 0));
+			}
+		} finally {
+			Files.delete(file);
+		}
+	}
+	
+	@Test
+	public void rehashMatchesAFullBuild() throws IOException {
+		byte[] data = random(1000, 4);
+		HashTree tree = HashTree.compute(Hash.SHA_256, data, 64);
+		
+		byte[] changed = data.clone();
+		changed[70]++;
+		assertTree(HashTree.compute(Hash.SHA_256, changed, 64), tree.rehash(changed, 1));
+		
+		byte[] longer = Arrays.copyOf(changed, 1300);
+		longer[1200] = 1;
+		assertTree(HashTree.compute(Hash.SHA_256, longer, 64), tree.rehash(longer, 1));
+		
+		byte[] shorter = Arrays.copyOf(changed, 300);
+		assertTree(HashTree.compute(Hash.SHA_256, shorter, 64), tree.rehash(ByteBuffer.wrap(shorter), 1));
+		
+		try {
+			tree.rehash(shorter, 5);
+			fail();
+		} catch (IndexOutOfBoundsException expected) {}
+		
+		Path file = Files.createTempFile("bebralib", ".bin");
+		try {
+			Files.write(file, longer);
+			try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+				assertTree(HashTree.compute(Hash.SHA_256, longer, 64), tree.rehash(channel, 1));
+			}
+		} finally {
+			Files.delete(file);
+		}
+	}
+	
+	@Test
+	public void rejectsMoreLeavesThanFitInAnArray() throws IOException {
+		// a sparse file with 2^26 one-byte chunks, whose SHA-256 leaves take 2^31 bytes
+		Path file = Files.createTempFile("bebralib", ".bin");
+		try {
+			try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+				raf.setLength(1L << 26);
+			}
+			
+			try {
+				HashTree.compute(Hash.SHA_256, file, 1);
+				fail();
+			} catch (IllegalArgumentException expected) {}
+		} finally {
+			Files.delete(file);
+		}
+	}
+	
+	private static void assertTree(HashTree expected, HashTree actual) {
+		assertEquals(expected.getLength(), actual.getLength());
+		assertEquals(expected.getLeafCount(), actual.getLeafCount());
+		assertEquals(0, expected.diff(actual).length);
+		assertArrayEquals(expected.getRoot(), actual.getRoot());
+	}
+	
+	private static byte[] leaf(byte[] chunk) {
+		return Hash.SHA_256.newHasher().update(new byte[] {0x00}).update(chunk).digest();
+	}
+	
+	private static byte[] node(byte[] left, byte[] right) {
+		return Hash.SHA_256.newHasher().update(new byte[] {0x01}).update(left).update(right).digest();
+	}
+	
+	private static byte[] random(int length, long seed) {
+		byte[] array = new byte[length];
+		new Random(seed).nextBytes(array);
+		return array;
+	}
+	
+}
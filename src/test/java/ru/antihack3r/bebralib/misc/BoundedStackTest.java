@@ -0,0 +1,195 @@
+/*
+ * This file is a part of bebralib -- you can get yo copy at https://github.com/antihack3r/bebralib
+ *
+ * This code is free software. It comes without any warranty, to the extent permitted by
+ * applicable law. You can redistribute it and/or modify it under the terms of the
+ * Do What The Fuck You Want To Public License, Version 2, as published by Sam Hocevar.
+ * See http://www.wtfpl.net/ for more details.
+ */
+
+package ru.antihack3r.bebralib.misc;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class BoundedStackTest {
+	
+	@Test
+	public void keepsLastInFirstOutWithinCapacity() {
+		BoundedStack<String> stack = new BoundedStack<>(2);
+		assertNull(stack.poll());
+		assertTrue(stack.offer("a"));
+		assertTrue(stack.offer("b"));
+		assertFalse(stack.offer("c"));
+		assertEquals("b", stack.top());
+		assertEquals("a", stack.bottom());
+		assertEquals(0, stack.remainingCapacity());
+		
+		assertEquals("b", stack.pop());
+		assertEquals("a", stack.pop());
+		try {
+			stack.pop();
+			fail();
+		} catch (NoSuchElementException expected) {}
+	}
+	
+	@Test
+	public void pushAndTakeBlockUntilTheOtherSideMoves() throws InterruptedException {
+		BoundedStack<String> stack = new BoundedStack<>(1);
+		stack.push("a");
+		
+		Thread pusher = new Thread(() -> {
+			try {
+				stack.push("b");
+			} catch (InterruptedException e) {
+				throw new RuntimeException(e);
+			}
+		});
+		pusher.start();
+		awaitBlocked(pusher);
+		assertEquals(1, stack.size());
+		assertEquals("a", stack.pop());
+		pusher.join();
+		assertEquals("b", stack.top());
+		
+		AtomicReference<String> took = new AtomicReference<>();
+		stack.pop();
+		Thread taker = new Thread(() -> {
+			try {
+				took.set(stack.take());
+			} catch (InterruptedException e) {
+				throw new RuntimeException(e);
+			}
+		});
+		taker.start();
+		awaitBlocked(taker);
+		assertNull(took.get());
+		stack.push("c");
+		taker.join();
+		assertEquals("c", took.get());
+		assertTrue(stack.isEmpty());
+	}
+	
+	@Test
+	public void timedOperationsGiveUp() throws InterruptedException {
+		BoundedStack<String> stack = new BoundedStack<>(1);
+		long start = System.nanoTime();
+		assertNull(stack.poll(50, TimeUnit.MILLISECONDS));
+		assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(50));
+		
+		stack.push("a");
+		start = System.nanoTime();
+		assertFalse(stack.offer("b", 50, TimeUnit.MILLISECONDS));
+		assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(50));
+		assertEquals("a", stack.top());
+		assertEquals(1, stack.size());
+		
+		assertEquals("a", stack.poll(0, TimeUnit.MILLISECONDS));
+		assertTrue(stack.offer("c", 0, TimeUnit.MILLISECONDS));
+	}
+	
+	@Test
+	public void blockedOperationsCanBeInterrupted() throws InterruptedException {
+		BoundedStack<String> stack = new BoundedStack<>(1);
+		AtomicReference<Throwable> thrown = new AtomicReference<>();
+		
+		Thread taker = new Thread(() -> {
+			try {
+				stack.take();
+			} catch (Throwable t) {
+				thrown.set(t);
+			}
+		});
+		taker.start();
+		awaitBlocked(taker);
+		taker.interrupt();
+		taker.join();
+		assertTrue(thrown.get() instanceof InterruptedException);
+		
+		stack.push("a");
+		thrown.set(null);
+		Thread pusher = new Thread(() -> {
+			try {
+				stack.offer("b", 1, TimeUnit.HOURS);
+			} catch (Throwable t) {
+				thrown.set(t);
+			}
+		});
+		pusher.start();
+		awaitBlocked(pusher);
+		pusher.interrupt();
+		pusher.join();
+		assertTrue(thrown.get() instanceof InterruptedException);
+		assertEquals("a", stack.top());
+		assertEquals(1, stack.size());
+	}
+	
+	@Test
+	public void producersAndConsumersKeepEveryElementOnce() throws InterruptedException {
+		int producers = 4;
+		int consumers = 4;
+		int perProducer = 25_000;
+		BoundedStack<Integer> stack = new BoundedStack<>(16);
+		AtomicIntegerArray taken = new AtomicIntegerArray(producers * perProducer);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Thread> threads = new ArrayList<>();
+		for (int p = 0; p < producers; p++) {
+			int base = p * perProducer;
+			threads.add(new Thread(() -> {
+				try {
+					start.await();
+					for (int i = 0; i < perProducer; i++)
+						stack.push(base + i);
+				} catch (InterruptedException e) {
+					throw new RuntimeException(e);
+				}
+			}));
+		}
+		
+		for (int c = 0; c < consumers; c++) {
+			threads.add(new Thread(() -> {
+				try {
+					start.await();
+					for (int i = 0; i < producers * perProducer / consumers; i++)
+						taken.incrementAndGet(stack.take());
+				} catch (InterruptedException e) {
+					throw new RuntimeException(e);
+				}
+			}));
+		}
+		
+		for (Thread thread: threads)
+			thread.start();
+		start.countDown();
+		for (Thread thread: threads)
+			thread.join();
+		
+		assertTrue(stack.isEmpty());
+		for (int i = 0; i < taken.length(); i++)
+			assertEquals("element " + i, 1, taken.get(i));
+	}
+	
+	/**
+	 * Waits until the thread parks, which is what a blocked push or take does.
+	 */
+	private static void awaitBlocked(Thread thread) throws InterruptedException {
+		while (thread.getState() != Thread.State.WAITING && thread.getState() != Thread.State.TIMED_WAITING) {
+			assertTrue(thread.isAlive());
+			Thread.sleep(1);
+		}
+	}
+	
+}
@@ -0,0 +1,84 @@
+/*
+ * This file is a part of bebralib -- you can get yo copy at https://github.com/antihack3r/bebralib
+ *
+ * This code is free software. It comes without any warranty, to the extent permitted by
+ * applicable law. You can redistribute it and/or modify it under the terms of the
+ * Do What The Fuck You Want To Public License, Version 2, as published by Sam Hocevar.
+ * See http://www.wtfpl.net/ for more details.
+ */
+
+package ru.antihack3r.bebralib.misc;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class ByteCodecTest {
+	
+	/**
+	 * Lengths around the edges of the scratch buffer and its chunks, in bytes.
+	 */
+	private static final int[] LENGTHS = {0, 1, 2, 3, 4, 511, 512, 513, 767, 768, 769, 770, 1024, 1536, 4099, 100_000};
+	
+	@Test
+	public void hexMatchesFormat() {
+		Random random = new Random(1);
+		for (int length: LENGTHS) {
+			byte[] bytes = randomBytes(random, length);
+			StringBuilder expected = new StringBuilder();
+			for (byte b: bytes)
+				expected.append(String.format("%02x", b & 0xFF));
+			
+			assertEquals(expected.toString(), ByteCodec.toHex(bytes));
+			assertEquals("prefix" + expected, ByteCodec.appendHex(new StringBuilder("prefix"), bytes, 0, length).toString());
+			assertArrayEquals(bytes, ByteCodec.decodeHex(expected.toString().toUpperCase()));
+		}
+	}
+	
+	@Test
+	public void base64MatchesJdkEncoder() {
+		Random random = new Random(2);
+		for (int length: LENGTHS) {
+			byte[] bytes = randomBytes(random, length);
+			String expected = Base64.getEncoder().encodeToString(bytes);
+			assertEquals(expected, ByteCodec.toBase64(bytes));
+			assertEquals("prefix" + expected, ByteCodec.appendBase64(new StringBuilder("prefix"), bytes, 0, length).toString());
+			
+			ByteBuffer buffer = ByteBuffer.allocate(expected.length());
+			assertEquals(expected.length(), ByteCodec.encodeBase64(bytes, 0, length, buffer));
+			assertEquals(expected, new String(buffer.array(), StandardCharsets.US_ASCII));
+			assertArrayEquals(bytes, ByteCodec.decodeBase64(expected));
+		}
+	}
+	
+	@Test
+	public void encodesRanges() {
+		byte[] bytes = randomBytes(new Random(3), 2000);
+		assertEquals(ByteCodec.toHex(Arrays.copyOfRange(bytes, 7, 1807)), ByteCodec.toHex(bytes, 7, 1800));
+		assertEquals(Base64.getEncoder().encodeToString(Arrays.copyOfRange(bytes, 5, 1805)), ByteCodec.toBase64(bytes, 5, 1800));
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsInvalidHex() {
+		ByteCodec.decodeHex("0g");
+	}
+	
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void rejectsRangesOutOfBounds() {
+		ByteCodec.toBase64(new byte[10], 5, 6);
+	}
+	
+	private static byte[] randomBytes(Random random, int length) {
+		byte[] bytes = new byte[length];
+		random.nextBytes(bytes);
+		return bytes;
+	}
+	
+}
@@ -0,0 +1,85 @@
+/*
+ * This file is a part of bebralib -- you can get yo copy at https://github.com/antihack3r/bebralib
+ *
+ * This code is free software. It comes without any warranty, to the extent permitted by
+ * applicable law. You can redistribute it and/or modify it under the terms of the
+ * Do What The Fuck You Want To Public License, Version 2, as published by Sam Hocevar.
+ * See http://www.wtfpl.net/ for more details.
+ */
+
+package ru.antihack3r.bebralib.misc;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class LockFreeStackTest {
+	
+	@Test
+	public void bottomFollowsPushesAndPops() {
+		LockFreeStack<String> stack = new LockFreeStack<>(Arrays.asList("a", "b", "c"));
+		assertEquals("c", stack.bottom());
+		assertEquals("a", stack.top());
+		
+		stack.push("d");
+		assertEquals("c", stack.bottom());
+		assertEquals(4, stack.size());
+		
+		stack.pop();
+		stack.pop();
+		stack.pop();
+		assertEquals("c", stack.bottom());
+		assertEquals("c", stack.top());
+		
+		stack.pop();
+		assertTrue(stack.isEmpty());
+		stack.push("e");
+		assertEquals("e", stack.bottom());
+	}
+	
+	@Test
+	public void concurrentPushesAndPopsKeepEveryElement() throws InterruptedException {
+		int threads = 8;
+		int perThread = 10_000;
+		LockFreeStack<Integer> stack = new LockFreeStack<>();
+		CountDownLatch start = new CountDownLatch(1);
+		List<Thread> workers = new ArrayList<>();
+		for (int t = 0; t < threads; t++) {
+			int base = t * perThread;
+			Thread worker = new Thread(() -> {
+				try {
+					start.await();
+				} catch (InterruptedException e) {
+					throw new RuntimeException(e);
+				}
+				
+				for (int i = 0; i < perThread; i++) {
+					stack.push(base + i);
+					if ((i & 1) == 1)
+						stack.pop();
+				}
+			});
+			worker.start();
+			workers.add(worker);
+		}
+		
+		start.countDown();
+		for (Thread worker: workers)
+			worker.join();
+		
+		assertEquals(threads * perThread / 2, stack.size());
+		int popped = 0;
+		while (!stack.isEmpty()) {
+			stack.pop();
+			popped++;
+		}
+		assertEquals(threads * perThread / 2, popped);
+	}
+	
+}
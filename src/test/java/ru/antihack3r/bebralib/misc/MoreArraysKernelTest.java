@@ -0,0 +1,178 @@
+/*
+ * This file is a part of bebralib -- you can get yo copy at https://github.com/antihack3r/bebralib
+ *
+ * This code is free software. It comes without any warranty, to the extent permitted by
+ * applicable law. You can redistribute it and/or modify it under the terms of the
+ * Do What The Fuck You Want To Public License, Version 2, as published by Sam Hocevar.
+ * See http://www.wtfpl.net/ for more details.
+ */
+
+package ru.antihack3r.bebralib.misc;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class MoreArraysKernelTest {
+	
+	private static final int[] LENGTHS = {1, 2, 7, 64, 1000, 100_003};
+	
+	@Test
+	public void intKernelsMatchLoops() {
+		Random random = new Random(8);
+		for (int length: LENGTHS) {
+			int[] array = random.ints(length, -1000, 1000).toArray();
+			int[] other = random.ints(length, -1000, 1000).toArray();
+			
+			long sum = 0;
+			long dot = 0;
+			int argMin = 0;
+			int argMax = 0;
+			for (int i = 0; i < length; i++) {
+				sum += array[i];
+				dot += (long) array[i] * other[i];
+				if (array[i] < array[argMin])
+					argMin = i;
+				if (array[i] > array[argMax])
+					argMax = i;
+			}
+			
+			assertEquals(sum, MoreArrays.sum(array));
+			assertEquals(dot, MoreArrays.dot(array, other));
+			assertEquals(array[argMin], MoreArrays.min(array));
+			assertEquals(array[argMax], MoreArrays.max(array));
+			assertEquals(argMin, MoreArrays.argMin(array));
+			assertEquals(argMax, MoreArrays.argMax(array));
+			assertEquals(Arrays.stream(array, 1, length).asLongStream().sum(), MoreArrays.sum(array, 1, length));
+			
+			int[] axpy = other.clone();
+			MoreArrays.axpy(3, array, axpy);
+			int[] scaled = array.clone();
+			MoreArrays.scale(scaled, -2);
+			int[] clamped = array.clone();
+			MoreArrays.clamp(clamped, -100, 250);
+			int[] prefix = array.clone();
+			MoreArrays.prefixSum(prefix);
+			for (int i = 0; i < length; i++) {
+				assertEquals(other[i] + 3 * array[i], axpy[i]);
+				assertEquals(array[i] * -2, scaled[i]);
+				assertEquals(Math.max(-100, Math.min(250, array[i])), clamped[i]);
+				assertEquals((i == 0? 0: prefix[i - 1]) + array[i], prefix[i]);
+			}
+			
+			int[] histogram = new int[201];
+			for (int value: array)
+				if (value >= -100 && value <= 100)
+					histogram[value + 100]++;
+			
+			assertArrayEquals(histogram, MoreArrays.histogram(array, -100, 100));
+		}
+	}
+	
+	@Test
+	public void doubleKernelsMatchLoops() {
+		Random random = new Random(9);
+		for (int length: LENGTHS) {
+			// small integers, so every sum is exact whatever order it's taken in
+			double[] array = random.ints(length, -1000, 1000).asDoubleStream().toArray();
+			double[] other = random.ints(length, -1000, 1000).asDoubleStream().toArray();
+			
+			double sum = 0;
+			double dot = 0;
+			int argMin = 0;
+			int argMax = 0;
+			int[] histogram = new int[5];
+			for (int i = 0; i < length; i++) {
+				sum += array[i];
+				dot += array[i] * other[i];
+				if (array[i] < array[argMin])
+					argMin = i;
+				if (array[i] > array[argMax])
+					argMax = i;
+				if (array[i] >= 0.0 && array[i] <= 500.0)
+					histogram[Math.min(4, (int) (array[i] / 100.0))]++;
+			}
+			
+			assertEquals(sum, MoreArrays.sum(array), 0.0);
+			assertEquals(dot, MoreArrays.dot(array, other), 0.0);
+			assertEquals(array[argMin], MoreArrays.min(array), 0.0);
+			assertEquals(array[argMax], MoreArrays.max(array), 0.0);
+			assertEquals(argMin, MoreArrays.argMin(array));
+			assertEquals(argMax, MoreArrays.argMax(array));
+			assertArrayEquals(histogram, MoreArrays.histogram(array, 0.0, 500.0, 5));
+			
+			double[] axpy = other.clone();
+			MoreArrays.axpy(0.5, array, axpy);
+			double[] clamped = array.clone();
+			MoreArrays.clamp(clamped, -1.5, 2.5);
+			double[] prefix = array.clone();
+			MoreArrays.prefixSum(prefix);
+			for (int i = 0; i < length; i++) {
+				assertEquals(other[i] + 0.5 * array[i], axpy[i], 0.0);
+				assertEquals(Math.max(-1.5, Math.min(2.5, array[i])), clamped[i], 0.0);
+				assertEquals((i == 0? 0.0: prefix[i - 1]) + array[i], prefix[i], 0.0);
+			}
+		}
+	}
+	
+	@Test
+	public void nansAreHandledAsDocumented() {
+		double[] array = {3.0, Double.NaN, -1.0, 7.0};
+		assertEquals(2, MoreArrays.argMin(array));
+		assertEquals(3, MoreArrays.argMax(array));
+		assertEquals(Double.NaN, MoreArrays.min(array), 0.0);
+		assertEquals(Double.NaN, MoreArrays.max(array), 0.0);
+		assertEquals(-1, MoreArrays.argMin(new double[] {Double.NaN}));
+	}
+	
+	@Test(expected = NoSuchElementException.class)
+	public void minOfEmptyArrayThrows() {
+		MoreArrays.min(new int[0]);
+	}
+	
+	@Test
+	public void parallelKernelsMatchSequential() {
+		int threshold = MoreArrays.getParallelThreshold();
+		MoreArrays.setParallelThreshold(0);
+		try {
+			Random random = new Random(10);
+			for (int length: LENGTHS) {
+				int[] ints = random.ints(length, -1000, 1000).toArray();
+				double[] doubles = random.ints(length, -1000, 1000).asDoubleStream().toArray();
+				
+				assertEquals(MoreArrays.sum(ints), MoreArrays.parallelSum(ints));
+				assertEquals(MoreArrays.min(ints), MoreArrays.parallelMin(ints));
+				assertEquals(MoreArrays.max(ints), MoreArrays.parallelMax(ints));
+				assertEquals(MoreArrays.argMin(ints), MoreArrays.parallelArgMin(ints));
+				assertEquals(MoreArrays.argMax(ints), MoreArrays.parallelArgMax(ints));
+				assertEquals(MoreArrays.dot(ints, ints), MoreArrays.parallelDot(ints, ints));
+				assertArrayEquals(MoreArrays.histogram(ints, -50, 50), MoreArrays.parallelHistogram(ints, -50, 50));
+				
+				assertEquals(MoreArrays.sum(doubles), MoreArrays.parallelSum(doubles), 0.0);
+				assertEquals(MoreArrays.argMin(doubles), MoreArrays.parallelArgMin(doubles));
+				assertEquals(MoreArrays.argMax(doubles), MoreArrays.parallelArgMax(doubles));
+				assertEquals(MoreArrays.dot(doubles, doubles), MoreArrays.parallelDot(doubles, doubles), 0.0);
+				
+				int[] prefix = ints.clone();
+				int[] parallelPrefix = ints.clone();
+				MoreArrays.prefixSum(prefix);
+				MoreArrays.parallelPrefixSum(parallelPrefix);
+				assertArrayEquals(prefix, parallelPrefix);
+				
+				double[] clamped = doubles.clone();
+				double[] parallelClamped = doubles.clone();
+				MoreArrays.clamp(clamped, -10.0, 10.0);
+				MoreArrays.parallelClamp(parallelClamped, -10.0, 10.0);
+				assertArrayEquals(clamped, parallelClamped, 0.0);
+			}
+		} finally {
+			MoreArrays.setParallelThreshold(threshold);
+		}
+	}
+	
+}
@@ -0,0 +1,104 @@
+/*
+ * This file is a part of bebralib -- you can get yo copy at https://github.com/antihack3r/bebralib
+ *
+ * This code is free software. It comes without any warranty, to the extent permitted by
+ * applicable law. You can redistribute it and/or modify it under the terms of the
+ * Do What The Fuck You Want To Public License, Version 2, as published by Sam Hocevar.
+ * See http://www.wtfpl.net/ for more details.
+ */
+
+package ru.antihack3r.bebralib.misc;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.IntPredicate;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class MoreArraysParallelTest {
+	
+	/**
+	 * Lengths around the edges of the 64-element mask words, and one large enough to be split many times.
+	 */
+	private static final int[] LENGTHS = {0, 1, 63, 64, 65, 1000, 100_003};
+	
+	@Test
+	public void parallelFilterMatchesFilter() {
+		withThreshold(() -> {
+			Random random = new Random(5);
+			for (int length: LENGTHS) {
+				int[] ints = random.ints(length).toArray();
+				IntPredicate even = value -> (value & 1) == 0;
+				assertArrayEquals(Arrays.stream(ints).filter(even).toArray(), MoreArrays.parallelFilter(ints, even));
+				
+				long[] longs = random.longs(length).toArray();
+				assertArrayEquals(Arrays.stream(longs).filter(value -> value > 0L).toArray(),
+					MoreArrays.parallelFilter(longs, value -> value > 0L));
+				
+				double[] doubles = random.doubles(length).toArray();
+				assertArrayEquals(Arrays.stream(doubles).filter(value -> value < 0.25).toArray(),
+					MoreArrays.parallelFilter(doubles, value -> value < 0.25), 0.0);
+				
+				byte[] bytes = new byte[length];
+				random.nextBytes(bytes);
+				assertArrayEquals(MoreArrays.filter(bytes, value -> value > 3), MoreArrays.parallelFilter(bytes, value -> value > 3));
+				
+				Integer[] boxed = Arrays.stream(ints).boxed().toArray(Integer[]::new);
+				assertArrayEquals(Arrays.stream(boxed).filter(value -> value % 3 == 0).toArray(Integer[]::new),
+					MoreArrays.parallelFilter(boxed, value -> value % 3 == 0));
+			}
+		});
+	}
+	
+	@Test
+	public void parallelMapMatchesStreams() {
+		withThreshold(() -> {
+			Random random = new Random(6);
+			for (int length: LENGTHS) {
+				int[] ints = random.ints(length).toArray();
+				assertArrayEquals(Arrays.stream(ints).map(value -> value * 31 + 7).toArray(),
+					MoreArrays.parallelMap(ints, value -> value * 31 + 7));
+				
+				double[] doubles = random.doubles(length).toArray();
+				assertArrayEquals(Arrays.stream(doubles).map(Math::sqrt).toArray(), MoreArrays.parallelMap(doubles, Math::sqrt), 0.0);
+				
+				Integer[] boxed = Arrays.stream(ints).boxed().toArray(Integer[]::new);
+				assertArrayEquals(Arrays.stream(boxed).map(String::valueOf).toArray(String[]::new),
+					MoreArrays.parallelMap(boxed, String::valueOf, String[]::new));
+			}
+		});
+	}
+	
+	@Test
+	public void parallelForEachVisitsEveryElementOnce() {
+		withThreshold(() -> {
+			for (int length: LENGTHS) {
+				int[] indices = new int[length];
+				Arrays.setAll(indices, i -> i);
+				AtomicIntegerArray visits = new AtomicIntegerArray(length);
+				MoreArrays.parallelForEach(indices, visits::incrementAndGet);
+				
+				for (int i = 0; i < length; i++)
+					assertEquals(1, visits.get(i));
+			}
+		});
+	}
+	
+	/**
+	 * Runs a test with the parallel threshold lowered, so even the short arrays take the parallel path.
+	 */
+	private static void withThreshold(Runnable test) {
+		int threshold = MoreArrays.getParallelThreshold();
+		MoreArrays.setParallelThreshold(0);
+		try {
+			test.run();
+		} finally {
+			MoreArrays.setParallelThreshold(threshold);
+		}
+	}
+	
+}
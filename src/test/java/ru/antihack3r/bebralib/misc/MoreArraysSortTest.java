@@ -0,0 +1,131 @@
+/*
+ * This file is a part of bebralib -- you can get yo copy at https://github.com/antihack3r/bebralib
+ *
+ * This code is free software. It comes without any warranty, to the extent permitted by
+ * applicable law. You can redistribute it and/or modify it under the terms of the
+ * Do What The Fuck You Want To Public License, Version 2, as published by Sam Hocevar.
+ * See http://www.wtfpl.net/ for more details.
+ */
+
+package ru.antihack3r.bebralib.misc;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertTrue;
+
+public class MoreArraysSortTest {
+	
+	private static final int[] LENGTHS = {0, 1, 2, 17, 1000, 100_003};
+	
+	@Test
+	public void radixSortMatchesArraysSort() {
+		Random random = new Random(11);
+		for (int length: LENGTHS) {
+			int[] ints = random.ints(length).toArray();
+			int[] expectedInts = ints.clone();
+			Arrays.sort(expectedInts);
+			MoreArrays.radixSort(ints);
+			assertArrayEquals(expectedInts, ints);
+			
+			// a narrow range, so most of the digits are the same for every key
+			long[] longs = random.longs(length, -300, 300).toArray();
+			long[] expectedLongs = longs.clone();
+			Arrays.sort(expectedLongs);
+			MoreArrays.radixSort(longs);
+			assertArrayEquals(expectedLongs, longs);
+			
+			float[] floats = specialFloats(random, length);
+			float[] expectedFloats = floats.clone();
+			Arrays.sort(expectedFloats);
+			MoreArrays.radixSort(floats);
+			assertTrue(Arrays.equals(expectedFloats, floats));
+			
+			double[] doubles = specialDoubles(random, length);
+			double[] expectedDoubles = doubles.clone();
+			Arrays.sort(expectedDoubles);
+			MoreArrays.radixSort(doubles);
+			assertTrue(Arrays.equals(expectedDoubles, doubles));
+		}
+	}
+	
+	@Test
+	public void radixSortOfRangeLeavesTheRestAlone() {
+		int[] array = new Random(12).ints(1000).toArray();
+		int[] expected = array.clone();
+		Arrays.sort(expected, 100, 900);
+		MoreArrays.radixSort(array, 100, 900);
+		assertArrayEquals(expected, array);
+	}
+	
+	@Test
+	public void parallelSortMatchesArraysSort() {
+		Random random = new Random(13);
+		for (int length: LENGTHS) {
+			for (int grainSize: new int[] {1, 7, 4096}) {
+				int[] ints = random.ints(length).toArray();
+				int[] expectedInts = ints.clone();
+				Arrays.sort(expectedInts);
+				MoreArrays.parallelSort(ints, grainSize);
+				assertArrayEquals(expectedInts, ints);
+				
+				double[] doubles = specialDoubles(random, length);
+				double[] expectedDoubles = doubles.clone();
+				Arrays.sort(expectedDoubles);
+				MoreArrays.parallelSort(doubles, grainSize);
+				assertTrue(Arrays.equals(expectedDoubles, doubles));
+			}
+		}
+	}
+	
+	@Test
+	public void argsortIsStable() {
+		Random random = new Random(14);
+		for (int length: LENGTHS) {
+			int[] ints = random.ints(length, 0, 50).toArray();
+			assertArrayEquals(stableOrder(length, Comparator.comparingInt(i -> ints[i])), MoreArrays.argsort(ints));
+			
+			double[] doubles = specialDoubles(random, length);
+			assertArrayEquals(stableOrder(length, (first, second) -> Double.compare(doubles[first], doubles[second])),
+				MoreArrays.argsort(doubles));
+			
+			String[] strings = IntStream.of(ints).mapToObj(Integer::toString).toArray(String[]::new);
+			assertArrayEquals(stableOrder(length, Comparator.comparing(i -> strings[i])),
+				MoreArrays.argsort(strings, Comparator.naturalOrder()));
+		}
+	}
+	
+	private static int[] stableOrder(int length, Comparator<Integer> comparator) {
+		return IntStream.range(0, length).boxed().sorted(comparator).mapToInt(Integer::intValue).toArray();
+	}
+	
+	/**
+	 * Random floats mixed with NaNs, infinities and both zeros.
+	 */
+	private static float[] specialFloats(Random random, int length) {
+		float[] specials = {Float.NaN, Float.NEGATIVE_INFINITY, Float.POSITIVE_INFINITY, 0.0f, -0.0f, Float.MIN_VALUE, -Float.MAX_VALUE};
+		float[] array = new float[length];
+		for (int i = 0; i < length; i++)
+			array[i] = random.nextInt(8) == 0? specials[random.nextInt(specials.length)]: (random.nextFloat() - 0.5f) * 1e6f;
+		
+		return array;
+	}
+	
+	/**
+	 * Random doubles mixed with NaNs, infinities and both zeros.
+	 */
+	private static double[] specialDoubles(Random random, int length) {
+		double[] specials = {Double.NaN, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY, 0.0, -0.0, Double.MIN_VALUE, -Double.MAX_VALUE};
+		double[] array = new double[length];
+		for (int i = 0; i < length; i++)
+			array[i] = random.nextInt(8) == 0? specials[random.nextInt(specials.length)]: random.nextGaussian() * 1e6;
+		
+		return array;
+	}
+	
+}
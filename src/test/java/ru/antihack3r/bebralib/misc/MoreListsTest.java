@@ -0,0 +1,346 @@
+/*
+ * This file is a part of bebralib -- you can get yo copy at https://github.com/antihack3r/bebralib
+ *
+ * This code is free software. It comes without any warranty, to the extent permitted by
+ * applicable law. You can redistribute it and/or modify it under the terms of the
+ * Do What The Fuck You Want To Public License, Version 2, as published by Sam Hocevar.
+ * See http://www.wtfpl.net/ for more details.
+ */
+
+package ru.antihack3r.bebralib.misc;
+
+import org.junit.Test;
+import ru.antihack3r.bebralib.list.NonNullList;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class MoreListsTest {
+	
+	@Test
+	public void collectorsKeepTheOrderOfTheStream() {
+		List<Integer> expected = IntStream.range(0, 100_000).boxed().collect(Collectors.toList());
+		for (boolean parallel: new boolean[] {false, true}) {
+			assertEquals(expected, stream(expected, parallel).collect(MoreLists.toArrayList()));
+			assertEquals(expected, stream(expected, parallel).collect(MoreLists.toArrayList(expected.size())));
+			assertEquals(expected, stream(expected, parallel).collect(MoreLists.toIntArrayList()));
+			assertEquals(expected.stream().map(Integer::longValue).collect(Collectors.toList()),
+				stream(expected, parallel).map(Integer::longValue).collect(MoreLists.toLongArrayList()));
+			assertEquals(expected.stream().map(Integer::doubleValue).collect(Collectors.toList()),
+				stream(expected, parallel).map(Integer::doubleValue).collect(MoreLists.toDoubleArrayList()));
+		}
+	}
+	
+	@Test
+	public void primitiveStreamsAreCollectedUnboxed() {
+		for (boolean parallel: new boolean[] {false, true}) {
+			IntStream ints = IntStream.range(0, 100_000);
+			LongStream longs = LongStream.range(0, 100_000);
+			DoubleStream doubles = IntStream.range(0, 100_000).asDoubleStream();
+			// filtered, so the size isn't known up front
+			IntStream filtered = IntStream.range(0, 100_000).filter(value -> value % 3 == 0);
+			
+			assertEquals(IntStream.range(0, 100_000).boxed().collect(Collectors.toList()),
+				MoreLists.toIntArrayList(parallel? ints.parallel(): ints));
+			assertEquals(LongStream.range(0, 100_000).boxed().collect(Collectors.toList()),
+				MoreLists.toLongArrayList(parallel? longs.parallel(): longs));
+			assertEquals(IntStream.range(0, 100_000).asDoubleStream().boxed().collect(Collectors.toList()),
+				MoreLists.toDoubleArrayList(parallel? doubles.parallel(): doubles));
+			assertEquals(IntStream.range(0, 100_000).filter(value -> value % 3 == 0).boxed().collect(Collectors.toList()),
+				MoreLists.toIntArrayList(parallel? filtered.parallel(): filtered));
+		}
+	}
+	
+	@Test
+	public void toNonNullListSkipsNulls() {
+		List<String> values = Arrays.asList("a", null, "b", null, null, "c");
+		NonNullList<String> list = values.parallelStream().collect(MoreLists.toNonNullList());
+		assertEquals(Arrays.asList("a", "b", "c"), list);
+	}
+	
+	@Test
+	public void toConcurrentListKeepsEveryElement() {
+		List<Integer> expected = IntStream.range(0, 100_000).boxed().collect(Collectors.toList());
+		for (boolean parallel: new boolean[] {false, true}) {
+			List<Integer> actual = stream(expected, parallel).collect(MoreLists.toConcurrentList());
+			Collections.sort(actual);
+			assertEquals(expected, actual);
+		}
+	}
+	
+	@Test
+	public void toConcurrentListLetsTheChunksGo() throws InterruptedException {
+		List<WeakReference<Object>> references = new ArrayList<>();
+		for (int i = 0; i < 10; i++)
+			collectObjects(references);
+		
+		for (int i = 0; i < 50 && references.stream().anyMatch(reference -> reference.get() != null); i++) {
+			System.gc();
+			Thread.sleep(10);
+		}
+		assertTrue(references.stream().allMatch(reference -> reference.get() == null));
+	}
+	
+	@Test
+	public void topKPrefersEarlierTies() {
+		List<String> elements = Arrays.asList("5a", "5b", "6c", "5d", "6e");
+		Comparator<String> byDigit = Comparator.comparing(element -> element.charAt(0));
+		assertEquals(Arrays.asList("6c", "5a"), MoreLists.topK(Arrays.asList("5a", "5b", "6c"), 2, byDigit));
+		assertEquals(Arrays.asList("6c", "6e", "5a", "5b"), MoreLists.topK(elements, 4, byDigit));
+		assertEquals(Arrays.asList("6c", "6e", "5a", "5b", "5d"), MoreLists.topK(elements, 10, byDigit));
+		assertEquals(Collections.emptyList(), MoreLists.topK(elements, 0, byDigit));
+	}
+	
+	@Test
+	public void topKMatchesAStableSort() {
+		Random random = new Random(15);
+		List<int[]> elements = new ArrayList<>();
+		for (int i = 0; i < 10_000; i++)
+			elements.add(new int[] {random.nextInt(100), i});
+		
+		Comparator<int[]> byValue = Comparator.comparingInt(element -> element[0]);
+		for (int k: new int[] {1, 10, 100, 9999, 10_000, 20_000}) {
+			List<int[]> expected = new ArrayList<>(elements);
+			expected.sort(byValue.reversed());
+			expected = expected.subList(0, Math.min(k, expected.size()));
+			
+			List<int[]> actual = MoreLists.topK(elements, k, byValue);
+			assertEquals(expected.size(), actual.size());
+			for (int i = 0; i < expected.size(); i++)
+				assertEquals(expected.get(i)[1], actual.get(i)[1]);
+		}
+	}
+	
+	@Test
+	public void filterInPlaceKeepsMatchingElementsInOrder() {
+		List<Integer> expected = Arrays.asList(0, 2, 4, 6, 8);
+		for (List<Integer> list: Arrays.<List<Integer>>asList(new ArrayList<>(), new LinkedList<>())) {
+			for (int i = 0; i < 10; i++)
+				list.add(i);
+			
+			assertTrue(MoreLists.filterInPlace(list, value -> value % 2 == 0));
+			assertEquals(expected, list);
+			assertFalse(MoreLists.filterInPlace(list, value -> true));
+			assertEquals(expected, list);
+		}
+	}
+	
+	@Test
+	public void filterInPlaceLeavesFixedSizeListsIntact() {
+		List<Integer> list = Arrays.asList(1, 2, 3, 4);
+		assertFalse(MoreLists.filterInPlace(list, value -> true));
+		try {
+			MoreLists.filterInPlace(list, value -> value > 2);
+			fail();
+		} catch (UnsupportedOperationException expected) {}
+		
+		assertEquals(Arrays.asList(1, 2, 3, 4), list);
+	}
+	
+	@Test
+	public void filterInPlaceLeavesNoDuplicatesWhenThePredicateThrows() {
+		List<Integer> list = new ArrayList<>(Arrays.asList(1, 2, 3, 4, 5, 6, 7));
+		try {
+			MoreLists.filterInPlace(list, value -> {
+				if (value == 5)
+					throw new IllegalStateException();
+				
+				return value % 2 == 1;
+			});
+			fail();
+		} catch (IllegalStateException expected) {}
+		
+		assertEquals(Arrays.asList(1, 3, 5, 6, 7), list);
+	}
+	
+	@Test
+	public void mergeMatchesAStableSort() {
+		Random random = new Random(16);
+		List<List<Integer>> lists = new ArrayList<>();
+		for (int i = 0; i < 7; i++)
+			lists.add(random.ints(random.nextInt(50), 0, 20).sorted().boxed().collect(Collectors.toList()));
+		lists.add(Collections.emptyList());
+		
+		List<Integer> expected = lists.stream().flatMap(List::stream).sorted().collect(Collectors.toList());
+		assertEquals(expected, MoreLists.merge(lists, Comparator.naturalOrder()));
+		
+		// equal elements come from the earlier list first
+		List<List<String>> tagged = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			int list = i;
+			tagged.add(IntStream.range(0, 4).mapToObj(value -> value + "" + list).collect(Collectors.toList()));
+		}
+		
+		assertEquals(Arrays.asList("00", "01", "02", "10", "11", "12", "20", "21", "22", "30", "31", "32"),
+			MoreLists.merge(tagged, Comparator.comparing(element -> element.charAt(0))));
+	}
+	
+	@Test
+	public void forEachBatchCapsTheBatchesInFlight() throws InterruptedException {
+		ExecutorService pool = Executors.newFixedThreadPool(8);
+		try {
+			AtomicInteger submitted = new AtomicInteger();
+			AtomicInteger delivered = new AtomicInteger();
+			AtomicInteger maxInFlight = new AtomicInteger();
+			// submissions and deliveries both happen on the calling thread, so the difference is exact
+			Executor executor = task -> {
+				maxInFlight.accumulateAndGet(submitted.incrementAndGet() - delivered.get(), Math::max);
+				pool.execute(task);
+			};
+			
+			List<Integer> list = IntStream.range(0, 100).boxed().collect(Collectors.toList());
+			for (boolean ordered: new boolean[] {false, true}) {
+				submitted.set(0);
+				delivered.set(0);
+				maxInFlight.set(0);
+				MoreLists.forEachBatch(list, 5, executor, 3, ordered, batch -> {
+					// the first batch is the slowest, so ordered delivery has to hold the others back
+					sleep(batch.get(0) == 0? 20: 1);
+					return batch;
+				}, batch -> delivered.incrementAndGet());
+				
+				assertEquals(20, submitted.get());
+				assertEquals(20, delivered.get());
+				assertEquals(3, maxInFlight.get());
+			}
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+	
+	@Test
+	public void forEachBatchDeliversInOrderOnTheCallingThread() throws InterruptedException {
+		ExecutorService pool = Executors.newFixedThreadPool(4);
+		try {
+			List<Integer> list = IntStream.range(0, 103).boxed().collect(Collectors.toList());
+			Thread caller = Thread.currentThread();
+			for (boolean ordered: new boolean[] {false, true}) {
+				List<List<Integer>> results = new ArrayList<>();
+				MoreLists.forEachBatch(list, 10, pool, 4, ordered, batch -> {
+					// later batches finish first
+					sleep(11 - batch.get(0) / 10);
+					return new ArrayList<>(batch);
+				}, batch -> {
+					assertTrue(Thread.currentThread() == caller);
+					results.add(batch);
+				});
+				
+				if (!ordered)
+					results.sort(Comparator.comparing(batch -> batch.get(0)));
+				assertEquals(MoreLists.partition(list, 10), results);
+			}
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+	
+	@Test
+	public void forEachBatchStopsSubmittingAfterAFailure() throws InterruptedException {
+		ExecutorService pool = Executors.newSingleThreadExecutor();
+		try {
+			AtomicInteger submitted = new AtomicInteger();
+			AtomicInteger finished = new AtomicInteger();
+			Executor executor = task -> {
+				submitted.incrementAndGet();
+				pool.execute(task);
+			};
+			
+			IllegalStateException failure = new IllegalStateException();
+			List<Integer> delivered = new ArrayList<>();
+			try {
+				MoreLists.forEachBatch(IntStream.range(0, 20).boxed().collect(Collectors.toList()), 1, executor, 2, true, batch -> {
+					finished.incrementAndGet();
+					if (batch.get(0) == 2)
+						throw failure;
+					
+					return batch.get(0);
+				}, delivered::add);
+				fail();
+			} catch (CompletionException expected) {
+				assertTrue(expected.getCause() == failure);
+			}
+			
+			// batches 0 and 1 fill the window, 2 and 3 are submitted as they are delivered, and 3 is waited for
+			assertEquals(4, submitted.get());
+			assertEquals(4, finished.get());
+			assertEquals(Arrays.asList(0, 1), delivered);
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+	
+	@Test
+	public void forEachBatchReportsRejection() throws InterruptedException {
+		ExecutorService pool = Executors.newSingleThreadExecutor();
+		try {
+			AtomicInteger accepted = new AtomicInteger();
+			AtomicInteger finished = new AtomicInteger();
+			Executor executor = task -> {
+				if (accepted.get() == 3)
+					throw new RejectedExecutionException();
+				
+				accepted.incrementAndGet();
+				pool.execute(task);
+			};
+			
+			try {
+				MoreLists.forEachBatch(IntStream.range(0, 10).boxed().collect(Collectors.toList()), 1, executor, 5, false, batch -> {
+					sleep(5);
+					return finished.incrementAndGet();
+				}, result -> {});
+				fail();
+			} catch (CompletionException expected) {
+				assertTrue(expected.getCause() instanceof RejectedExecutionException);
+			}
+			
+			// the batches accepted before the rejection are still waited for
+			assertEquals(3, finished.get());
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+	
+	private static <T> Stream<T> stream(List<T> list, boolean parallel) {
+		return parallel? list.parallelStream(): list.stream();
+	}
+	
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			throw new RuntimeException(e);
+		}
+	}
+	
+	/**
+	 * Collects new objects in parallel and drops the result, so nothing but {@code references} points at them.
+	 */
+	private static void collectObjects(List<WeakReference<Object>> references) {
+		List<Object> values = IntStream.range(0, 10_000).mapToObj(i -> new Object()).collect(Collectors.toList());
+		values.forEach(value -> references.add(new WeakReference<>(value)));
+		assertEquals(values.size(), values.parallelStream().collect(MoreLists.toConcurrentList()).size());
+	}
+	
+}
@@ -0,0 +1,135 @@
+/*
+ * This file is a part of bebralib -- you can get yo copy at https://github.com/antihack3r/bebralib
+ *
+ * This code is free software. It comes without any warranty, to the extent permitted by
+ * applicable law. You can redistribute it and/or modify it under the terms of the
+ * Do What The Fuck You Want To Public License, Version 2, as published by Sam Hocevar.
+ * See http://www.wtfpl.net/ for more details.
+ */
+
+package ru.antihack3r.bebralib.misc;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class OffHeapStorageTest {
+	
+	private static final int RECORD_SIZE = 12;
+	
+	@Test
+	public void moveMatchesArrayCopy() throws IOException {
+		Random random = new Random(3);
+		int capacity = 100;
+		// 4 records per segment, so most moves cross several segment edges
+		try (OffHeapStorage storage = new OffHeapStorage(RECORD_SIZE, 4 * RECORD_SIZE + 5)) {
+			storage.ensureCapacity(capacity);
+			long[] expected = new long[capacity];
+			for (int i = 0; i < capacity; i++) {
+				expected[i] = random.nextLong();
+				write(storage, i, expected[i]);
+			}
+			
+			for (int round = 0; round < 2000; round++) {
+				int count = random.nextInt(capacity / 2);
+				int from = random.nextInt(capacity - count + 1);
+				int to = random.nextInt(capacity - count + 1);
+				System.arraycopy(expected, from, expected, to, count);
+				storage.move(from, to, count);
+				
+				long[] actual = new long[capacity];
+				for (int i = 0; i < capacity; i++)
+					actual[i] = read(storage, i);
+				
+				assertArrayEquals("move(" + from + ", " + to + ", " + count + ")", expected, actual);
+			}
+		}
+	}
+	
+	@Test
+	public void moveOutOfBoundsCopiesNothing() throws IOException {
+		try (OffHeapStorage storage = new OffHeapStorage(RECORD_SIZE, 2 * RECORD_SIZE)) {
+			storage.ensureCapacity(8);
+			for (int i = 0; i < 8; i++)
+				write(storage, i, i);
+			
+			try {
+				storage.move(0, 4, 5);
+				fail();
+			} catch (IndexOutOfBoundsException expected) {}
+			
+			for (int i = 0; i < 8; i++)
+				assertEquals(i, read(storage, i));
+		}
+	}
+	
+	@Test
+	public void invalidRecordSizeKeepsTheFile() throws IOException {
+		Path file = Files.createTempFile("bebralib", ".bin");
+		try {
+			Files.write(file, new byte[] {1, 2, 3});
+			try {
+				new OffHeapStorage(0, file).close();
+				fail();
+			} catch (IllegalArgumentException expected) {}
+			
+			assertArrayEquals(new byte[] {1, 2, 3}, Files.readAllBytes(file));
+		} finally {
+			Files.delete(file);
+		}
+	}
+	
+	@Test
+	public void failedMappingAddsNoSegment() throws IOException {
+		Path file = Files.createTempFile("bebralib", ".bin");
+		try {
+			OffHeapStorage storage = new OffHeapStorage(RECORD_SIZE, file);
+			storage.ensureCapacity(1);
+			long capacity = storage.getCapacity();
+			write(storage, 0, 42L);
+			
+			// an interrupted thread closes the channel as soon as it tries to map the next segment
+			Thread.currentThread().interrupt();
+			try {
+				storage.ensureCapacity(capacity + 1);
+				fail();
+			} catch (UncheckedIOException expected) {
+			} finally {
+				Thread.interrupted();
+			}
+			
+			assertEquals(capacity, storage.getCapacity());
+			assertEquals(42L, read(storage, 0));
+			try {
+				storage.segment(capacity);
+				fail();
+			} catch (IndexOutOfBoundsException expected) {}
+			
+			storage.close();
+			assertTrue(storage.isClosed());
+		} finally {
+			Files.delete(file);
+		}
+	}
+	
+	private static void write(OffHeapStorage storage, long index, long value) {
+		storage.putLong(index, 0, value);
+		storage.putInt(index, Long.BYTES, (int) (value >>> 7));
+	}
+	
+	private static long read(OffHeapStorage storage, long index) {
+		long value = storage.getLong(index, 0);
+		assertEquals((int) (value >>> 7), storage.getInt(index, Long.BYTES));
+		return value;
+	}
+	
+}
@@ -0,0 +1,109 @@
+/*
+ * This file is a part of bebralib -- you can get yo copy at https://github.com/antihack3r/bebralib
+ *
+ * This code is free software. It comes without any warranty, to the extent permitted by
+ * applicable law. You can redistribute it and/or modify it under the terms of the
+ * Do What The Fuck You Want To Public License, Version 2, as published by Sam Hocevar.
+ * See http://www.wtfpl.net/ for more details.
+ */
+
+package ru.antihack3r.bebralib.misc;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class WorkStealingDequeTest {
+	
+	@Test
+	public void ownerPopsNewestAndThievesStealOldest() {
+		WorkStealingDeque<Integer> deque = new WorkStealingDeque<>();
+		assertNull(deque.pop());
+		assertNull(deque.steal());
+		
+		// more than the initial capacity, so the array grows
+		for (int i = 0; i < 100; i++)
+			deque.push(i);
+		assertEquals(100, deque.size());
+		
+		assertEquals(Integer.valueOf(99), deque.pop());
+		assertEquals(Integer.valueOf(0), deque.steal());
+		assertEquals(Integer.valueOf(1), deque.steal());
+		assertEquals(Integer.valueOf(98), deque.pop());
+		assertEquals(96, deque.size());
+		
+		for (int i = 97; i >= 2; i--)
+			assertEquals(Integer.valueOf(i), deque.pop());
+		assertTrue(deque.isEmpty());
+		assertNull(deque.pop());
+		assertNull(deque.steal());
+	}
+	
+	@Test
+	public void ownerRacingThievesKeepsEveryElementOnce() throws InterruptedException {
+		int thieves = 4;
+		int elements = 200_000;
+		WorkStealingDeque<Integer> deque = new WorkStealingDeque<>();
+		AtomicIntegerArray taken = new AtomicIntegerArray(elements);
+		CountDownLatch start = new CountDownLatch(1);
+		CountDownLatch pushed = new CountDownLatch(1);
+		
+		List<Thread> threads = new ArrayList<>();
+		for (int t = 0; t < thieves; t++) {
+			Thread thief = new Thread(() -> {
+				await(start);
+				// keep stealing until the owner is done and nothing is left
+				while (pushed.getCount() != 0 || !deque.isEmpty()) {
+					Integer element = deque.steal();
+					if (element != null)
+						taken.incrementAndGet(element);
+				}
+			});
+			thief.start();
+			threads.add(thief);
+		}
+		
+		Thread owner = new Thread(() -> {
+			await(start);
+			for (int i = 0; i < elements; i++) {
+				deque.push(i);
+				// pop every other time, so the deque stays short and the owner often races a thief for the last element
+				if ((i & 1) == 1) {
+					Integer element = deque.pop();
+					if (element != null)
+						taken.incrementAndGet(element);
+				}
+			}
+			
+			pushed.countDown();
+			for (Integer element = deque.pop(); element != null; element = deque.pop())
+				taken.incrementAndGet(element);
+		});
+		owner.start();
+		threads.add(owner);
+		
+		start.countDown();
+		for (Thread thread: threads)
+			thread.join();
+		
+		assertTrue(deque.isEmpty());
+		for (int i = 0; i < elements; i++)
+			assertEquals("element " + i, 1, taken.get(i));
+	}
+	
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			throw new RuntimeException(e);
+		}
+	}
+	
+}